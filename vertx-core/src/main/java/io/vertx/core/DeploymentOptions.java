@@ -52,6 +52,10 @@ public interface DeploymentOptions {
 
   DeploymentOptions setMultiThreaded(boolean multiThreaded);
 
+  boolean isElasticWorker();
+
+  DeploymentOptions setElasticWorker(boolean elasticWorker);
+
   String getIsolationGroup();
 
   DeploymentOptions setIsolationGroup(String isolationGroup);
@@ -22,6 +22,7 @@ import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.datagram.DatagramSocket;
 import io.vertx.core.datagram.DatagramSocketOptions;
 import io.vertx.core.dns.DnsClient;
+import io.vertx.core.dns.DnsClientOptions;
 import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.file.FileSystem;
 import io.vertx.core.http.HttpClient;
@@ -105,6 +106,11 @@ public interface Vertx {
    */
   DnsClient createDnsClient(int port, String host);
 
+  /**
+   * Return a {@link DnsClient} querying the servers of the options
+   */
+  DnsClient createDnsClient(DnsClientOptions options);
+
   /**
    * The shared data object
    */
@@ -95,6 +95,38 @@ public interface VertxOptions {
 
   VertxOptions setHAGroup(String haGroup);
 
+  boolean isClusterWriteBatching();
+
+  VertxOptions setClusterWriteBatching(boolean clusterWriteBatching);
+
+  int getClusterWriteBatchMaxMessages();
+
+  VertxOptions setClusterWriteBatchMaxMessages(int clusterWriteBatchMaxMessages);
+
+  int getClusterWriteBatchMaxBytes();
+
+  VertxOptions setClusterWriteBatchMaxBytes(int clusterWriteBatchMaxBytes);
+
+  boolean isTimerWheelEnabled();
+
+  VertxOptions setTimerWheelEnabled(boolean timerWheelEnabled);
+
+  long getTimerWheelTick();
+
+  VertxOptions setTimerWheelTick(long timerWheelTick);
+
+  int getOrderedExecutorBatchSize();
+
+  VertxOptions setOrderedExecutorBatchSize(int orderedExecutorBatchSize);
+
+  boolean isElasticWorkerPool();
+
+  VertxOptions setElasticWorkerPool(boolean elasticWorkerPool);
+
+  boolean isPreferNativeTransport();
+
+  VertxOptions setPreferNativeTransport(boolean preferNativeTransport);
+
   static final VertxOptionsFactory factory = ServiceHelper.loadFactory(VertxOptionsFactory.class);
 
 }
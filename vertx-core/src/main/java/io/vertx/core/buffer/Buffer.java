@@ -74,6 +74,15 @@ public interface Buffer extends ClusterSerializable {
     return factory.buffer(byteBuf);
   }
 
+  /**
+   * Create an empty buffer which links the buffers appended to it with {@link #appendBuffer} instead of copying
+   * them, so it shares their memory: changes made to an appended buffer afterwards are visible in this one. Anything
+   * else appended or set is written as usual.
+   */
+  static Buffer compositeBuffer() {
+    return factory.compositeBuffer();
+  }
+
   /**
    * Returns a {@code String} representation of the Buffer with the encoding specified by {@code enc}
    */
@@ -362,6 +371,24 @@ public interface Buffer extends ClusterSerializable {
    */
   Buffer slice(int start, int end);
 
+  /**
+   * Increases the reference count of the buffer by one.<p>
+   * Only the buffers a socket with direct read buffers enabled hands to its data handler are reference counted. Their
+   * memory goes back to the pool as soon as the handler returns, so a handler that keeps one (or a slice of it) for
+   * longer must retain it and {@link #release} it once done, or {@link #copy} it. A slice of such a buffer shares its
+   * reference count. For any other buffer this is a no-op.
+   */
+  @Fluent
+  Buffer retain();
+
+  /**
+   * Decreases the reference count of the buffer by one, returning its memory to the pool when it reaches zero. For a
+   * buffer that is not reference counted this is a no-op.
+   *
+   * @return true if the memory has been returned to the pool
+   */
+  boolean release();
+
   /**
    * Returns the Buffer as a Netty {@code ByteBuf}.<p>
    * This method is meant for internal use only.
@@ -369,6 +396,14 @@ public interface Buffer extends ClusterSerializable {
   @GenIgnore
   ByteBuf getByteBuf();
 
+  /**
+   * Returns the Buffer as a Netty {@code ByteBuf} holding its own reference to the memory, to be handed to a channel
+   * which releases it once written.<p>
+   * This method is meant for internal use only.
+   */
+  @GenIgnore
+  ByteBuf getRetainedByteBuf();
+
   static final BufferFactory factory = ServiceHelper.loadFactory(BufferFactory.class);
 
 }
@@ -54,4 +54,9 @@ public class BufferFactoryImpl implements BufferFactory {
   public Buffer buffer(ByteBuf byteBuffer) {
     return new BufferImpl(byteBuffer);
   }
+
+  @Override
+  public Buffer compositeBuffer() {
+    return BufferImpl.compositeBuffer();
+  }
 }
@@ -17,7 +17,10 @@ package io.vertx.core.buffer.impl;
 
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import io.netty.util.CharsetUtil;
 import io.vertx.core.buffer.Buffer;
 
@@ -29,17 +32,39 @@ import java.nio.charset.Charset;
  */
 public class BufferImpl implements Buffer {
 
+  /**
+   * Wrap a pooled buffer without copying it, the returned buffer owns the reference to {@code buffer} and gives it
+   * back on {@link #release}.
+   */
+  public static Buffer refCounted(ByteBuf buffer) {
+    return new BufferImpl(buffer, true);
+  }
+
+  private static final ByteBufAllocator HEAP_ALLOCATOR = new UnpooledByteBufAllocator(false);
+
+  static BufferImpl compositeBuffer() {
+    CompositeByteBuf composite = new CompositeByteBuf(HEAP_ALLOCATOR, false, Integer.MAX_VALUE);
+    BufferImpl buff = new BufferImpl(Unpooled.unreleasableBuffer(composite), false);
+    buff.composite = composite;
+    return buff;
+  }
+
   private ByteBuf buffer;
+  private final boolean refCounted;
+  // Set when appended buffers are linked as components instead of being copied
+  private CompositeByteBuf composite;
 
   BufferImpl() {
     this(0);
   }
 
   BufferImpl(int initialSizeHint) {
+    refCounted = false;
     buffer = Unpooled.unreleasableBuffer(Unpooled.buffer(initialSizeHint, Integer.MAX_VALUE));
   }
 
   BufferImpl(byte[] bytes) {
+    refCounted = false;
     buffer = Unpooled.unreleasableBuffer(Unpooled.buffer(bytes.length, Integer.MAX_VALUE)).writeBytes(bytes);
   }
 
@@ -52,11 +77,16 @@ public class BufferImpl implements Buffer {
   }
 
   BufferImpl(ByteBuf buffer) {
-    this.buffer = Unpooled.unreleasableBuffer(buffer);
+    this(Unpooled.unreleasableBuffer(buffer), false);
+  }
+
+  private BufferImpl(ByteBuf buffer, boolean refCounted) {
+    this.buffer = buffer;
+    this.refCounted = refCounted;
   }
 
   public String toString() {
-    return buffer.toString(Charset.forName("UTF-8"));
+    return buffer.toString(CharsetUtil.UTF_8);
   }
 
   public String toString(String enc) {
@@ -100,22 +130,22 @@ public class BufferImpl implements Buffer {
   }
 
   public Buffer getBuffer(int start, int end) {
-    return new BufferImpl(getBytes(start, end));
+    int len = end - start;
+    return new BufferImpl(Unpooled.buffer(len, Integer.MAX_VALUE).writeBytes(buffer, start, len));
   }
 
   public String getString(int start, int end, String enc) {
-    byte[] bytes = getBytes(start, end);
-    Charset cs = Charset.forName(enc);
-    return new String(bytes, cs);
+    return buffer.toString(start, end - start, Charset.forName(enc));
   }
 
   public String getString(int start, int end) {
-    byte[] bytes = getBytes(start, end);
-    Charset cs = Charset.forName("UTF-8");
-    return new String(bytes, cs);
+    return buffer.toString(start, end - start, CharsetUtil.UTF_8);
   }
 
   public Buffer appendBuffer(Buffer buff) {
+    if (canLink(buff)) {
+      return link(buff.getByteBuf());
+    }
     ByteBuf cb = buff.getByteBuf();
     buffer.writeBytes(buff.getByteBuf());
     cb.readerIndex(0); // Need to reset readerindex since Netty write modifies readerIndex of source!
@@ -123,6 +153,9 @@ public class BufferImpl implements Buffer {
   }
 
   public Buffer appendBuffer(Buffer buff, int offset, int len) {
+    if (canLink(buff)) {
+      return link(buff.getByteBuf().slice(offset, len));
+    }
     buffer.writeBytes(buff.getByteBuf(), offset, len);
     return this;
   }
@@ -254,23 +287,74 @@ public class BufferImpl implements Buffer {
   }
 
   public Buffer copy() {
+    if (refCounted || composite != null) {
+      // Copy onto a single heap buffer, a copy made by a pooled or composite buffer would inherit its allocator
+      return new BufferImpl(Unpooled.copiedBuffer(buffer));
+    }
     return new BufferImpl(buffer.copy());
   }
 
   public Buffer slice() {
+    if (refCounted) {
+      // Shares the reference count of this buffer
+      return new BufferImpl(buffer.slice(), true);
+    }
     return new BufferImpl(buffer.slice());
   }
 
   public Buffer slice(int start, int end) {
+    if (refCounted) {
+      return new BufferImpl(buffer.slice(start, end - start), true);
+    }
     return new BufferImpl(buffer.slice(start, end - start));
   }
 
   public ByteBuf getByteBuf() {
     // Return a duplicate so the Buffer can be written multiple times.
     // See #648
+    if (refCounted) {
+      return Unpooled.unreleasableBuffer(buffer.duplicate());
+    }
     return buffer.duplicate();
   }
 
+  public ByteBuf getRetainedByteBuf() {
+    if (refCounted) {
+      return buffer.duplicate().retain();
+    }
+    return buffer.duplicate();
+  }
+
+  public Buffer retain() {
+    if (refCounted) {
+      buffer.retain();
+    }
+    return this;
+  }
+
+  public boolean release() {
+    return refCounted && buffer.release();
+  }
+
+  private boolean canLink(Buffer buff) {
+    // A direct read buffer goes back to the pool once its handler returns so it still has to be copied
+    return composite != null && buff != this && !(buff instanceof BufferImpl && ((BufferImpl) buff).refCounted);
+  }
+
+  private Buffer link(ByteBuf buf) {
+    int len = buf.readableBytes();
+    if (len > 0) {
+      int writerIndex = composite.writerIndex();
+      if (composite.capacity() > writerIndex) {
+        // A copying append grew the composite with room to spare, the linked bytes must directly follow the written ones
+        composite.capacity(writerIndex);
+      }
+      composite.addComponent(buf);
+      composite.writerIndex(writerIndex + len);
+    }
+    return this;
+  }
+
   private Buffer append(String str, Charset charset) {
     byte[] bytes = str.getBytes(charset);
     buffer.writeBytes(bytes);
@@ -20,7 +20,6 @@ import io.netty.channel.ChannelOption;
 import io.netty.channel.socket.DatagramChannel;
 import io.netty.channel.socket.DatagramPacket;
 import io.netty.channel.socket.InternetProtocolFamily;
-import io.netty.channel.socket.nio.NioDatagramChannel;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -33,6 +32,7 @@ import io.vertx.core.impl.VertxInternal;
 import io.vertx.core.net.SocketAddress;
 import io.vertx.core.net.impl.ConnectionBase;
 import io.vertx.core.net.impl.SocketAddressImpl;
+import io.vertx.core.net.impl.Transport;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
@@ -49,7 +49,7 @@ public class DatagramSocketImpl extends ConnectionBase implements DatagramSocket
 
   public DatagramSocketImpl(VertxInternal vertx,
                             DatagramSocketOptions options) {
-    super(vertx, createChannel(options.isIpV6() ? io.vertx.core.datagram.impl.InternetProtocolFamily.IPv6 : io.vertx.core.datagram.impl.InternetProtocolFamily.IPv4,
+    super(vertx, createChannel(vertx.transport(), options.isIpV6() ? io.vertx.core.datagram.impl.InternetProtocolFamily.IPv6 : io.vertx.core.datagram.impl.InternetProtocolFamily.IPv4,
           DatagramSocketOptions.copiedOptions(options)), vertx.getOrCreateContext());
     ContextImpl creatingContext = vertx.getContext();
     if (creatingContext != null && creatingContext.isMultithreaded()) {
@@ -217,21 +217,22 @@ public class DatagramSocketImpl extends ConnectionBase implements DatagramSocket
     return (DatagramChannel) channel;
   }
 
-  private static NioDatagramChannel createChannel(io.vertx.core.datagram.impl.InternetProtocolFamily family,
-                                                  DatagramSocketOptions options) {
-    NioDatagramChannel channel;
+  private static DatagramChannel createChannel(Transport transport,
+                                               io.vertx.core.datagram.impl.InternetProtocolFamily family,
+                                               DatagramSocketOptions options) {
+    DatagramChannel channel;
     if (family == null) {
-      channel = new NioDatagramChannel();
+      channel = transport.datagramChannel(null);
     } else {
       switch (family) {
         case IPv4:
-          channel = new NioDatagramChannel(InternetProtocolFamily.IPv4);
+          channel = transport.datagramChannel(InternetProtocolFamily.IPv4);
           break;
         case IPv6:
-          channel = new NioDatagramChannel(InternetProtocolFamily.IPv6);
+          channel = transport.datagramChannel(InternetProtocolFamily.IPv6);
           break;
         default:
-          channel = new NioDatagramChannel();
+          channel = transport.datagramChannel(null);
       }
     }
     if (options.getSendBufferSize() != -1) {
@@ -245,7 +246,10 @@ public class DatagramSocketImpl extends ConnectionBase implements DatagramSocket
       channel.config().setTrafficClass(options.getTrafficClass());
     }
     channel.config().setBroadcast(options.isBroadcast());
-    channel.config().setLoopbackModeDisabled(options.isLoopbackModeDisabled());
+    if (options.isLoopbackModeDisabled()) {
+      // Only set when needed as the native transport doesn't support multicast
+      channel.config().setLoopbackModeDisabled(true);
+    }
     if (options.getMulticastTimeToLive() != -1) {
       channel.config().setTimeToLive(options.getMulticastTimeToLive());
     }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *   Red Hat licenses this file to you under the Apache License, version 2.0
+ *   (the "License"); you may not use this file except in compliance with the
+ *   License.  You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *   WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *   License for the specific language governing permissions and limitations
+ *   under the License.
+ */
+
+package io.vertx.core.dns;
+
+import io.vertx.codegen.annotations.Options;
+import io.vertx.core.ServiceHelper;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.spi.DnsClientOptionsFactory;
+
+import java.util.List;
+
+/**
+ * Options of a {@link DnsClient}: the servers it queries, how long it waits for them and how long it caches what
+ * they answer.
+ */
+@Options
+public interface DnsClientOptions {
+
+  static DnsClientOptions options() {
+    return factory.options();
+  }
+
+  static DnsClientOptions copiedOptions(DnsClientOptions other) {
+    return factory.options(other);
+  }
+
+  static DnsClientOptions optionsFromJson(JsonObject json) {
+    return factory.options(json);
+  }
+
+  /**
+   * @return the servers to query, as {@code host:port} or just {@code host} for port 53. A query which times out is
+   * sent again to the next one
+   */
+  List<String> getServers();
+
+  DnsClientOptions addServer(String server);
+
+  /**
+   * @return how long in ms to wait for an answer before sending the query again, or failing it
+   */
+  long getQueryTimeout();
+
+  DnsClientOptions setQueryTimeout(long queryTimeout);
+
+  /**
+   * @return how many times a query which timed out or which a server failed to answer is sent again
+   */
+  int getRetries();
+
+  DnsClientOptions setRetries(int retries);
+
+  /**
+   * @return the longest time in seconds an answer is cached, even if its records live longer. {@code 0} disables the
+   * cache
+   */
+  int getCacheMaxTtl();
+
+  DnsClientOptions setCacheMaxTtl(int cacheMaxTtl);
+
+  /**
+   * @return how long in seconds the lack of records is cached, when the answer doesn't carry the SOA record which says
+   * so
+   */
+  int getNegativeCacheTtl();
+
+  DnsClientOptions setNegativeCacheTtl(int negativeCacheTtl);
+
+  /**
+   * @return the most answers cached at once
+   */
+  int getCacheMaxEntries();
+
+  DnsClientOptions setCacheMaxEntries(int cacheMaxEntries);
+
+  static final DnsClientOptionsFactory factory = ServiceHelper.loadFactory(DnsClientOptionsFactory.class);
+
+}
@@ -16,8 +16,9 @@
 package io.vertx.core.dns.impl;
 
 import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
-import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
@@ -25,11 +26,13 @@ import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoop;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.socket.DatagramChannel;
-import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.util.concurrent.ScheduledFuture;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.dns.DnsClient;
+import io.vertx.core.dns.DnsClientOptions;
 import io.vertx.core.dns.DnsException;
 import io.vertx.core.dns.DnsResponseCode;
 import io.vertx.core.dns.MxRecord;
@@ -47,52 +50,126 @@ import io.vertx.core.dns.impl.netty.decoder.record.ServiceRecord;
 import io.vertx.core.impl.ContextImpl;
 
 import io.vertx.core.impl.VertxInternal;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.impl.LoggerFactory;
 import io.vertx.core.net.impl.PartialPooledByteBufAllocator;
 
 import java.net.Inet4Address;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
+import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
+ * Sends all its queries over a single datagram channel, telling the answers apart by query id, and caches the answers
+ * for as long as their records live. A query asked again while the same one is in flight waits for its answer rather
+ * than being sent again.<p>
+ * The channel and the queries in flight are only touched from the event loop of the context which created the client,
+ * the cache can be read from any thread.
+ *
  * @author <a href="mailto:nmaurer@redhat.com">Norman Maurer</a>
  */
 public final class DnsClientImpl implements DnsClient {
 
-  private final Bootstrap bootstrap;
-  private final InetSocketAddress dnsServer;
+  private static final Logger log = LoggerFactory.getLogger(DnsClientImpl.class);
+
   private static final char[] HEX_TABLE = "0123456789abcdef".toCharArray();
+  private static final int DEFAULT_PORT = 53;
+  // How long the channel is kept open once no query is in flight
+  private static final long IDLE_TIMEOUT = 30000;
+  // Query ids must not be guessable, they are what tells a spoofed answer from a real one along with the source port
+  private static final SecureRandom random = new SecureRandom();
+
+  private final Bootstrap bootstrap;
+  private final List<InetSocketAddress> dnsServers;
   private final ContextImpl actualCtx;
+  private final EventLoop eventLoop;
+  private final long queryTimeout;
+  private final int retries;
+  private final int cacheMaxTtl;
+  private final int negativeCacheTtl;
+  private final int cacheMaxEntries;
+  private final ConcurrentMap<String, CachedAnswer> cache = new ConcurrentHashMap<>();
+  // The queries in flight, by cache key and by id
+  private final Map<String, Query> pending = new HashMap<>();
+  private final Map<Integer, Query> inflight = new HashMap<>();
+  private ChannelFuture channelFuture;
+  private ScheduledFuture<?> idleTimer;
 
   public DnsClientImpl(VertxInternal vertx, int port, String host) {
+    this(vertx, Collections.singletonList(new InetSocketAddress(host, port)), DnsClientOptions.options());
+  }
+
+  public DnsClientImpl(VertxInternal vertx, DnsClientOptions options) {
+    this(vertx, parseServers(options.getServers()), options);
+  }
+
+  private DnsClientImpl(VertxInternal vertx, List<InetSocketAddress> dnsServers, DnsClientOptions options) {
 
     ContextImpl creatingContext = vertx.getContext();
     if (creatingContext != null && creatingContext.isMultithreaded()) {
       throw new IllegalStateException("Cannot use DnsClient in a multi-threaded worker verticle");
     }
 
-    this.dnsServer = new InetSocketAddress(host, port);
+    this.dnsServers = dnsServers;
+    this.queryTimeout = options.getQueryTimeout();
+    this.retries = options.getRetries();
+    this.cacheMaxTtl = options.getCacheMaxTtl();
+    this.negativeCacheTtl = options.getNegativeCacheTtl();
+    this.cacheMaxEntries = options.getCacheMaxEntries();
 
     actualCtx = vertx.getOrCreateContext();
+    eventLoop = actualCtx.getEventLoop();
     bootstrap = new Bootstrap();
-    bootstrap.group(actualCtx.getEventLoop());
-    bootstrap.channel(NioDatagramChannel.class);
+    bootstrap.group(eventLoop);
+    bootstrap.channel(vertx.transport().datagramChannelType());
     bootstrap.option(ChannelOption.ALLOCATOR, PartialPooledByteBufAllocator.INSTANCE);
     bootstrap.handler(new ChannelInitializer<DatagramChannel>() {
       @Override
       protected void initChannel(DatagramChannel ch) throws Exception {
         ChannelPipeline pipeline = ch.pipeline();
-        pipeline.addLast(new DnsQueryEncoder());
-        pipeline.addLast(new DnsResponseDecoder());
+        pipeline.addLast(new ResponseHandler());
       }
     });
   }
 
+  private static List<InetSocketAddress> parseServers(List<String> servers) {
+    if (servers.isEmpty()) {
+      throw new IllegalArgumentException("At least one DNS server must be set");
+    }
+    List<InetSocketAddress> addresses = new ArrayList<>(servers.size());
+    for (String server : servers) {
+      String host = server;
+      int port = DEFAULT_PORT;
+      int colon = server.lastIndexOf(':');
+      if (server.startsWith("[")) {
+        // [ipv6]:port
+        int bracket = server.indexOf(']');
+        host = server.substring(1, bracket);
+        if (colon > bracket) {
+          port = Integer.parseInt(server.substring(colon + 1));
+        }
+      } else if (colon != -1 && colon == server.indexOf(':')) {
+        // A single colon is a port, several are an ipv6 address without one
+        host = server.substring(0, colon);
+        port = Integer.parseInt(server.substring(colon + 1));
+      }
+      addresses.add(new InetSocketAddress(host, port));
+    }
+    return addresses;
+  }
+
   @Override
   public DnsClient lookup4(String name, Handler<AsyncResult<String>> handler) {
     lookup(name, new HandlerAdapter<String>(handler), DnsEntry.TYPE_A);
@@ -236,65 +313,230 @@ public final class DnsClientImpl implements DnsClient {
     lookup(name, result, types);
   }
 
-  @SuppressWarnings("unchecked")
   private void lookup(String name, Future result, int... types) {
-    bootstrap.connect(dnsServer).addListener(new RetryChannelFutureListener(result) {
-      @Override
-      public void onSuccess(ChannelFuture future) throws Exception {
-        DnsQuery query = new DnsQuery(ThreadLocalRandom.current().nextInt());
-        for (int type: types) {
-          query.addQuestion(new DnsQuestion(name, type));
-        }
-        future.channel().writeAndFlush(query).addListener(new RetryChannelFutureListener(result) {
-          @Override
-          public void onSuccess(ChannelFuture future) throws Exception {
-            future.channel().pipeline().addLast(new SimpleChannelInboundHandler<DnsResponse>() {
-              @Override
-              protected void channelRead0(ChannelHandlerContext ctx, DnsResponse msg) throws Exception {
-                DnsResponseCode code = DnsResponseCode.valueOf(msg.getHeader().getResponseCode());
-
-                if (code == DnsResponseCode.NOERROR) {
-                  List<DnsResource> resources = msg.getAnswers();
-                  List<Object> records = new ArrayList<>(resources.size());
-                  for (DnsResource resource : msg.getAnswers()) {
-                    Object record = RecordDecoderFactory.getFactory().decode(resource.type(), msg, resource);
-                    if (record instanceof InetAddress) {
-                      record = ((InetAddress)record).getHostAddress();
-                    }
-                    records.add(record);
-                  }
-
-                  setResult(result, ctx.channel().eventLoop(), records);
-                } else {
-                  setResult(result, ctx.channel().eventLoop(), new DnsException(code));
-                }
-                ctx.close();
-              }
-
-              @Override
-              public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
-                setResult(result, ctx.channel().eventLoop(), cause);
-                ctx.close();
-              }
-            });
-          }
-        });
+    String key = cacheKey(name, types);
+    CachedAnswer cached = cache.get(key);
+    if (cached != null) {
+      if (cached.expires - System.nanoTime() > 0) {
+        actualCtx.execute(() -> complete(result, cached.result), false);
+        return;
       }
+      cache.remove(key, cached);
+    }
+    if (eventLoop.inEventLoop()) {
+      query(key, name, types, result);
+    } else {
+      eventLoop.execute(() -> query(key, name, types, result));
+    }
+  }
+
+  private static String cacheKey(String name, int[] types) {
+    StringBuilder key = new StringBuilder();
+    for (int type : types) {
+      key.append(type).append(',');
+    }
+    return key.append(normalize(name)).toString();
+  }
+
+  private static String normalize(String name) {
+    if (name.endsWith(".")) {
+      name = name.substring(0, name.length() - 1);
+    }
+    return name.toLowerCase(Locale.ENGLISH);
+  }
+
+  private void query(String key, String name, int[] types, Future result) {
+    Query query = pending.get(key);
+    if (query == null) {
+      query = new Query(key, name, types);
+      pending.put(key, query);
+      query.waiters.add(result);
+      send(query);
+    } else {
+      // The same question is already on its way, share its answer
+      query.waiters.add(result);
+    }
+  }
+
+  private void send(Query query) {
+    if (idleTimer != null) {
+      idleTimer.cancel(false);
+      idleTimer = null;
+    }
+    int id;
+    do {
+      id = random.nextInt(0x10000);
+    } while (inflight.containsKey(id));
+    int queryId = id;
+    query.id = queryId;
+    inflight.put(queryId, query);
+    query.timeout = eventLoop.schedule(() -> {
+      if (inflight.get(queryId) == query) {
+        inflight.remove(queryId);
+        retry(query, new TimeoutException("No answer was received within " + queryTimeout + "ms"));
+      }
+    }, queryTimeout, TimeUnit.MILLISECONDS);
+
+    DnsQuery msg = new DnsQuery(queryId);
+    for (int type: query.types) {
+      msg.addQuestion(new DnsQuestion(query.name, type));
+    }
+    InetSocketAddress server = dnsServers.get(query.attempts % dnsServers.size());
+    query.server = server;
+    ChannelFuture bound = channel();
+    bound.addListener(bindFuture -> {
+      if (inflight.get(queryId) != query) {
+        return;
+      }
+      if (!bindFuture.isSuccess()) {
+        failed(query, bindFuture.cause());
+        return;
+      }
+      Channel ch = bound.channel();
+      ByteBuf buf = ch.alloc().buffer();
+      DnsQueryEncoder.encodeQuery(msg, buf);
+      ch.writeAndFlush(new DatagramPacket(buf, server)).addListener(writeFuture -> {
+        if (!writeFuture.isSuccess() && inflight.get(queryId) == query) {
+          failed(query, writeFuture.cause());
+        }
+      });
     });
   }
 
+  /**
+   * @return the future of the channel all the queries are sent over, which is bound on first use and again after it
+   * failed to bind or was closed
+   */
+  private ChannelFuture channel() {
+    if (channelFuture == null) {
+      ChannelFuture bound = bootstrap.bind(0);
+      bound.addListener(bindFuture -> {
+        // The next query binds again rather than failing on this one for good
+        if (!bindFuture.isSuccess() && channelFuture == bound) {
+          channelFuture = null;
+        }
+      });
+      bound.channel().closeFuture().addListener(v -> {
+        if (channelFuture == bound) {
+          channelFuture = null;
+        }
+      });
+      channelFuture = bound;
+    }
+    return channelFuture;
+  }
+
+  private void failed(Query query, Throwable cause) {
+    inflight.remove(query.id);
+    query.timeout.cancel(false);
+    done(query, cause, 0);
+  }
+
+  private void retry(Query query, Throwable cause) {
+    if (query.attempts++ < retries) {
+      // The next server gets a go
+      send(query);
+    } else {
+      done(query, cause, 0);
+    }
+  }
+
+  private void handleResponse(InetSocketAddress sender, DnsResponse msg) {
+    int id = msg.getHeader().getId();
+    Query query = inflight.get(id);
+    if (query == null || !sender.equals(query.server) || !query.isAnsweredBy(msg)) {
+      // A late answer to a query which timed out, not an answer at all, or one from another host than the server
+      // which was asked as the channel isn't connected to it
+      return;
+    }
+    inflight.remove(id);
+    query.timeout.cancel(false);
+    DnsResponseCode code = DnsResponseCode.valueOf(msg.getHeader().getResponseCode());
+
+    if (code == DnsResponseCode.NOERROR) {
+      List<DnsResource> resources = msg.getAnswers();
+      List<Object> records = new ArrayList<>(resources.size());
+      long ttl = Long.MAX_VALUE;
+      for (DnsResource resource : resources) {
+        Object record = RecordDecoderFactory.getFactory().decode(resource.type(), msg, resource);
+        if (record instanceof InetAddress) {
+          record = ((InetAddress)record).getHostAddress();
+        }
+        records.add(record);
+        ttl = Math.min(ttl, resource.timeToLive());
+      }
+      done(query, records, records.isEmpty() ? negativeTtl(msg) : ttl);
+    } else if (code == DnsResponseCode.NXDOMAIN) {
+      done(query, new DnsException(code), negativeTtl(msg));
+    } else if (code == DnsResponseCode.SERVFAIL || code == DnsResponseCode.REFUSED) {
+      // Another server may do better
+      retry(query, new DnsException(code));
+    } else {
+      done(query, new DnsException(code), 0);
+    }
+  }
+
+  /**
+   * @return how long the lack of records can be cached, the TTL of the SOA record of the answer if it has one
+   */
+  private long negativeTtl(DnsResponse msg) {
+    for (DnsResource resource : msg.getAuthorityResources()) {
+      if (resource.type() == DnsEntry.TYPE_SOA) {
+        return resource.timeToLive();
+      }
+    }
+    return negativeCacheTtl;
+  }
+
+  private void done(Query query, Object result, long ttl) {
+    pending.remove(query.key);
+    if (ttl > 0 && cacheMaxTtl > 0) {
+      cache(query.key, result, Math.min(ttl, cacheMaxTtl));
+    }
+    for (Future waiter : query.waiters) {
+      setResult(waiter, result);
+    }
+    if (inflight.isEmpty() && channelFuture != null) {
+      if (idleTimer != null) {
+        idleTimer.cancel(false);
+      }
+      ChannelFuture bound = channelFuture;
+      idleTimer = eventLoop.schedule(() -> {
+        if (inflight.isEmpty() && channelFuture == bound) {
+          channelFuture = null;
+          idleTimer = null;
+          bound.channel().close();
+        }
+      }, IDLE_TIMEOUT, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private void cache(String key, Object result, long ttl) {
+    if (cache.size() >= cacheMaxEntries && !cache.containsKey(key)) {
+      long now = System.nanoTime();
+      cache.values().removeIf(answer -> answer.expires - now <= 0);
+    }
+    // Still full of live answers, just don't cache this one
+    if (cache.size() < cacheMaxEntries || cache.containsKey(key)) {
+      cache.put(key, new CachedAnswer(result, System.nanoTime() + TimeUnit.SECONDS.toNanos(ttl)));
+    }
+  }
+
+  private void setResult(Future r, Object result) {
+    actualCtx.execute(() -> complete(r, result), true);
+  }
+
   @SuppressWarnings("unchecked")
-  private void setResult(Future r, EventLoop loop, Object result) {
+  private static void complete(Future r, Object result) {
     if (r.complete()) {
       return;
     }
-    actualCtx.execute(() -> {
-      if (result instanceof Throwable) {
-        r.setFailure((Throwable) result);
-      } else {
-        r.setResult(result);
-      }
-    }, true);
+    if (result instanceof Throwable) {
+      r.setFailure((Throwable) result);
+    } else {
+      // The handlers sort and convert the records in place, so each one gets its own list
+      r.setResult(new ArrayList<>((List) result));
+    }
   }
 
   private static class HandlerAdapter<T> implements Handler<AsyncResult<List<T>>> {
@@ -349,25 +591,70 @@ public final class DnsClientImpl implements DnsClient {
     protected abstract T convert(F entry);
   }
 
-  private abstract class RetryChannelFutureListener implements ChannelFutureListener {
-    private final Future result;
+  private static class Query {
+
+    final String key;
+    final String name;
+    final String normalizedName;
+    final int[] types;
+    // The futures of all the lookups asking the same
+    final List<Future> waiters = new ArrayList<>(1);
+    int id;
+    int attempts;
+    // The server the query was last sent to
+    InetSocketAddress server;
+    ScheduledFuture<?> timeout;
+
+    Query(String key, String name, int[] types) {
+      this.key = key;
+      this.name = name;
+      this.normalizedName = normalize(name);
+      this.types = types;
+    }
 
-    RetryChannelFutureListener(final Future result) {
+    /**
+     * @return whether the response answers the questions of this query, rather than just having the same id
+     */
+    boolean isAnsweredBy(DnsResponse msg) {
+      List<DnsQuestion> questions = msg.getQuestions();
+      if (questions.size() != types.length) {
+        return false;
+      }
+      for (int i = 0; i < types.length; i++) {
+        DnsQuestion question = questions.get(i);
+        if (question.type() != types[i] || question.name() == null || !normalize(question.name()).equals(normalizedName)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  private static class CachedAnswer {
+
+    // The records, or the failure
+    final Object result;
+    final long expires;
+
+    CachedAnswer(Object result, long expires) {
       this.result = result;
+      this.expires = expires;
     }
+  }
+
+  private class ResponseHandler extends SimpleChannelInboundHandler<DatagramPacket> {
 
     @Override
-    public final void operationComplete(ChannelFuture future) throws Exception {
-      if (!future.isSuccess()) {
-        if (!result.complete()) {
-          result.setFailure(future.cause());
-        }
-      } else {
-        onSuccess(future);
-      }
+    protected void channelRead0(ChannelHandlerContext ctx, DatagramPacket packet) throws Exception {
+      // Decoded here rather than by a decoder in front, so the sender is known
+      handleResponse(packet.sender(), DnsResponseDecoder.decodeResponse(packet.content(), ctx.alloc()));
     }
 
-    protected abstract void onSuccess(ChannelFuture future) throws Exception;
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+      // Most likely a packet which couldn't be decoded, the query it answers will time out
+      log.debug("Failed to handle DNS response", cause);
+    }
   }
 
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *   Red Hat licenses this file to you under the Apache License, version 2.0
+ *   (the "License"); you may not use this file except in compliance with the
+ *   License.  You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *   WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *   License for the specific language governing permissions and limitations
+ *   under the License.
+ */
+
+package io.vertx.core.dns.impl;
+
+import io.vertx.core.dns.DnsClientOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.spi.DnsClientOptionsFactory;
+
+public class DnsClientOptionsFactoryImpl implements DnsClientOptionsFactory {
+
+  @Override
+  public DnsClientOptions options() {
+    return new DnsClientOptionsImpl();
+  }
+
+  @Override
+  public DnsClientOptions options(DnsClientOptions other) {
+    return new DnsClientOptionsImpl(other);
+  }
+
+  @Override
+  public DnsClientOptions options(JsonObject json) {
+    return new DnsClientOptionsImpl(json);
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *   Red Hat licenses this file to you under the Apache License, version 2.0
+ *   (the "License"); you may not use this file except in compliance with the
+ *   License.  You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *   WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *   License for the specific language governing permissions and limitations
+ *   under the License.
+ */
+
+package io.vertx.core.dns.impl;
+
+import io.vertx.core.dns.DnsClientOptions;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DnsClientOptionsImpl implements DnsClientOptions {
+
+  private static final long DEFAULT_QUERYTIMEOUT = 5000;
+  private static final int DEFAULT_RETRIES = 2;
+  private static final int DEFAULT_CACHEMAXTTL = Integer.MAX_VALUE;
+  // Like the JDK's own networkaddress.cache.negative.ttl
+  private static final int DEFAULT_NEGATIVECACHETTL = 10;
+  private static final int DEFAULT_CACHEMAXENTRIES = 4096;
+
+  private ArrayList<String> servers;
+  private long queryTimeout;
+  private int retries;
+  private int cacheMaxTtl;
+  private int negativeCacheTtl;
+  private int cacheMaxEntries;
+
+  DnsClientOptionsImpl() {
+    servers = new ArrayList<>();
+    queryTimeout = DEFAULT_QUERYTIMEOUT;
+    retries = DEFAULT_RETRIES;
+    cacheMaxTtl = DEFAULT_CACHEMAXTTL;
+    negativeCacheTtl = DEFAULT_NEGATIVECACHETTL;
+    cacheMaxEntries = DEFAULT_CACHEMAXENTRIES;
+  }
+
+  DnsClientOptionsImpl(DnsClientOptions other) {
+    this.servers = new ArrayList<>(other.getServers());
+    this.queryTimeout = other.getQueryTimeout();
+    this.retries = other.getRetries();
+    this.cacheMaxTtl = other.getCacheMaxTtl();
+    this.negativeCacheTtl = other.getNegativeCacheTtl();
+    this.cacheMaxEntries = other.getCacheMaxEntries();
+  }
+
+  DnsClientOptionsImpl(JsonObject json) {
+    this.servers = new ArrayList<>();
+    for (Object server : json.getArray("servers", new JsonArray())) {
+      servers.add((String) server);
+    }
+    this.queryTimeout = json.getLong("queryTimeout", DEFAULT_QUERYTIMEOUT);
+    this.retries = json.getInteger("retries", DEFAULT_RETRIES);
+    this.cacheMaxTtl = json.getInteger("cacheMaxTtl", DEFAULT_CACHEMAXTTL);
+    this.negativeCacheTtl = json.getInteger("negativeCacheTtl", DEFAULT_NEGATIVECACHETTL);
+    this.cacheMaxEntries = json.getInteger("cacheMaxEntries", DEFAULT_CACHEMAXENTRIES);
+  }
+
+  public List<String> getServers() {
+    return servers;
+  }
+
+  public DnsClientOptions addServer(String server) {
+    if (server == null) {
+      throw new NullPointerException("server");
+    }
+    servers.add(server);
+    return this;
+  }
+
+  public long getQueryTimeout() {
+    return queryTimeout;
+  }
+
+  public DnsClientOptions setQueryTimeout(long queryTimeout) {
+    if (queryTimeout < 1) {
+      throw new IllegalArgumentException("queryTimeout must be > 0");
+    }
+    this.queryTimeout = queryTimeout;
+    return this;
+  }
+
+  public int getRetries() {
+    return retries;
+  }
+
+  public DnsClientOptions setRetries(int retries) {
+    if (retries < 0) {
+      throw new IllegalArgumentException("retries must be >= 0");
+    }
+    this.retries = retries;
+    return this;
+  }
+
+  public int getCacheMaxTtl() {
+    return cacheMaxTtl;
+  }
+
+  public DnsClientOptions setCacheMaxTtl(int cacheMaxTtl) {
+    if (cacheMaxTtl < 0) {
+      throw new IllegalArgumentException("cacheMaxTtl must be >= 0");
+    }
+    this.cacheMaxTtl = cacheMaxTtl;
+    return this;
+  }
+
+  public int getNegativeCacheTtl() {
+    return negativeCacheTtl;
+  }
+
+  public DnsClientOptions setNegativeCacheTtl(int negativeCacheTtl) {
+    if (negativeCacheTtl < 0) {
+      throw new IllegalArgumentException("negativeCacheTtl must be >= 0");
+    }
+    this.negativeCacheTtl = negativeCacheTtl;
+    return this;
+  }
+
+  public int getCacheMaxEntries() {
+    return cacheMaxEntries;
+  }
+
+  public DnsClientOptions setCacheMaxEntries(int cacheMaxEntries) {
+    if (cacheMaxEntries < 1) {
+      throw new IllegalArgumentException("cacheMaxEntries must be >= 1");
+    }
+    this.cacheMaxEntries = cacheMaxEntries;
+    return this;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof DnsClientOptionsImpl)) return false;
+
+    DnsClientOptionsImpl that = (DnsClientOptionsImpl) o;
+
+    if (cacheMaxEntries != that.cacheMaxEntries) return false;
+    if (cacheMaxTtl != that.cacheMaxTtl) return false;
+    if (negativeCacheTtl != that.negativeCacheTtl) return false;
+    if (queryTimeout != that.queryTimeout) return false;
+    if (retries != that.retries) return false;
+    if (!servers.equals(that.servers)) return false;
+
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = servers.hashCode();
+    result = 31 * result + (int) (queryTimeout ^ (queryTimeout >>> 32));
+    result = 31 * result + retries;
+    result = 31 * result + cacheMaxTtl;
+    result = 31 * result + negativeCacheTtl;
+    result = 31 * result + cacheMaxEntries;
+    return result;
+  }
+}
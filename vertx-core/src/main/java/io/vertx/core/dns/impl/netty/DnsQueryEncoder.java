@@ -75,7 +75,7 @@ public class DnsQueryEncoder extends MessageToByteEncoder<DnsQuery> {
    * @param query the {@link DnsQuery} being encoded
    * @param buf   the {@link io.netty.buffer.ByteBuf} the query will be written to
    */
-  protected static void encodeQuery(DnsQuery query, ByteBuf buf) {
+  public static void encodeQuery(DnsQuery query, ByteBuf buf) {
     encodeHeader(query.getHeader(), buf);
     List<DnsQuestion> questions = query.getQuestions();
     for (DnsQuestion question : questions) {
@@ -153,7 +153,7 @@ public class DnsResponseDecoder extends MessageToMessageDecoder<DatagramPacket>
    * @param buf the raw DNS response packet
    * @return the decoded {@link DnsResponse}
    */
-  protected static DnsResponse decodeResponse(ByteBuf buf, ByteBufAllocator allocator) {
+  public static DnsResponse decodeResponse(ByteBuf buf, ByteBufAllocator allocator) {
     DnsResponse response = new DnsResponse(buf);
     DnsResponseHeader header = decodeHeader(response, buf);
     response.setHeader(header);
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *   Red Hat licenses this file to you under the Apache License, version 2.0
+ *   (the "License"); you may not use this file except in compliance with the
+ *   License.  You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *   WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *   License for the specific language governing permissions and limitations
+ *   under the License.
+ */
+
+package io.vertx.core.eventbus.impl;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.CharsetUtil;
+
+/**
+ * Maps the UTF-8 bytes of strings which are read over and over again from the wire, such as addresses, codec
+ * names and the sender host, back to the same {@code String} without decoding it again.<p>
+ * This is a direct mapped table, a string simply replaces whatever string was in its slot before. That way one-off
+ * strings such as reply addresses can't grow it, they just get evicted.<p>
+ * Entries are immutable so the table can be read and written from different threads without locking, at worst a
+ * string is decoded more than once.
+ */
+class DecodedStringCache {
+
+  // Longer strings are just decoded, comparing them would cost more than decoding them
+  private static final int MAX_CACHED_LENGTH = 256;
+
+  private final Entry[] entries;
+  private final int mask;
+
+  DecodedStringCache(int size) {
+    if (Integer.bitCount(size) != 1) {
+      throw new IllegalArgumentException("size must be a power of 2");
+    }
+    this.entries = new Entry[size];
+    this.mask = size - 1;
+  }
+
+  String decode(ByteBuf buf, int pos, int length) {
+    if (length > MAX_CACHED_LENGTH) {
+      return buf.toString(pos, length, CharsetUtil.UTF_8);
+    }
+    int hash = 1;
+    for (int i = pos; i < pos + length; i++) {
+      hash = 31 * hash + buf.getByte(i);
+    }
+    int index = (hash ^ (hash >>> 16)) & mask;
+    Entry entry = entries[index];
+    if (entry != null && entry.hash == hash && entry.matches(buf, pos, length)) {
+      return entry.str;
+    }
+    byte[] bytes = new byte[length];
+    buf.getBytes(pos, bytes);
+    String str = new String(bytes, CharsetUtil.UTF_8);
+    entries[index] = new Entry(hash, bytes, str);
+    return str;
+  }
+
+  private static final class Entry {
+    final int hash;
+    final byte[] bytes;
+    final String str;
+
+    Entry(int hash, byte[] bytes, String str) {
+      this.hash = hash;
+      this.bytes = bytes;
+      this.str = str;
+    }
+
+    boolean matches(ByteBuf buf, int pos, int length) {
+      if (bytes.length != length) {
+        return false;
+      }
+      for (int i = 0; i < length; i++) {
+        if (bytes[i] != buf.getByte(pos + i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *   Red Hat licenses this file to you under the Apache License, version 2.0
+ *   (the "License"); you may not use this file except in compliance with the
+ *   License.  You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *   WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *   License for the specific language governing permissions and limitations
+ *   under the License.
+ */
+
+package io.vertx.core.eventbus.impl;
+
+import io.netty.util.CharsetUtil;
+
+/**
+ * Caches the UTF-8 encoded form of strings which are written over and over again on the wire, such as
+ * addresses, codec names and the sender host.<p>
+ * Like {@link DecodedStringCache} this is a direct mapped table, a string simply replaces whatever string was in its
+ * slot before, so the cache keeps following the strings in use instead of filling up with strings that are gone.<p>
+ * Entries are immutable so the table can be read and written from different threads without locking, at worst a
+ * string is encoded more than once.
+ */
+class EncodedStringCache {
+
+  private final Entry[] entries;
+  private final int mask;
+
+  EncodedStringCache(int size) {
+    if (Integer.bitCount(size) != 1) {
+      throw new IllegalArgumentException("size must be a power of 2");
+    }
+    this.entries = new Entry[size];
+    this.mask = size - 1;
+  }
+
+  byte[] encode(String str) {
+    int hash = str.hashCode();
+    int index = (hash ^ (hash >>> 16)) & mask;
+    Entry entry = entries[index];
+    if (entry != null && entry.str.equals(str)) {
+      return entry.bytes;
+    }
+    byte[] bytes = str.getBytes(CharsetUtil.UTF_8);
+    entries[index] = new Entry(str, bytes);
+    return bytes;
+  }
+
+  private static final class Entry {
+    final String str;
+    final byte[] bytes;
+
+    Entry(String str, byte[] bytes) {
+      this.str = str;
+      this.bytes = bytes;
+    }
+  }
+}
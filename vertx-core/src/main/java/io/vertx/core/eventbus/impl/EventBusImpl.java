@@ -16,10 +16,14 @@
 
 package io.vertx.core.eventbus.impl;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Headers;
+import io.vertx.core.VertxOptions;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.EventBus;
@@ -55,23 +59,24 @@ import io.vertx.core.net.NetClientOptions;
 import io.vertx.core.net.NetServer;
 import io.vertx.core.net.NetServerOptions;
 import io.vertx.core.net.NetSocket;
+import io.vertx.core.net.impl.NetSocketImpl;
+import io.vertx.core.net.impl.PartialPooledByteBufAllocator;
 import io.vertx.core.net.impl.ServerID;
 import io.vertx.core.parsetools.RecordParser;
 import io.vertx.core.spi.cluster.AsyncMultiMap;
 import io.vertx.core.spi.cluster.ChoosableIterable;
 import io.vertx.core.spi.cluster.ClusterManager;
 
-import java.util.List;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
 
 /**
  *
@@ -101,6 +106,11 @@ public class EventBusImpl implements EventBus {
   private static final String PING_ADDRESS = "__vertx.ping";
   private static final long PING_INTERVAL = 20000;
   private static final long PING_REPLY_INTERVAL = 20000;
+  private static final int ENCODED_STRINGS_SIZE = 1024;
+  private static final int DECODED_STRINGS_SIZE = 1024;
+  private static final int MIN_ENCODED_SIZE_ESTIMATE = 64;
+  // The default chunk size of the pooled allocator (8 KiB pages, max order 11), bigger buffers aren't pooled
+  private static final int MAX_ENCODED_SIZE_ESTIMATE = 8192 << 11;
 
   private final VertxInternal vertx;
   private ServerID serverID;
@@ -110,11 +120,21 @@ public class EventBusImpl implements EventBus {
   private final ConcurrentMap<String, Handlers> handlerMap = new ConcurrentHashMap<>();
   private final ConcurrentMap<String, MessageCodec> userCodecMap = new ConcurrentHashMap<>();
   private final ConcurrentMap<Class, MessageCodec> defaultCodecMap = new ConcurrentHashMap<>();
+  private final EncodedStringCache encodedStrings = new EncodedStringCache(ENCODED_STRINGS_SIZE);
+  private final DecodedStringCache decodedStrings = new DecodedStringCache(DECODED_STRINGS_SIZE);
+  // Running estimate of the encoded size of a message sent from this bus, used to size the buffer it's encoded into
+  private volatile int encodedSizeEstimate = 256;
   private final ClusterManager clusterMgr;
-  private final AtomicLong replySequence = new AtomicLong(0);
+  private final ReplyHandlerTable replyHandlers;
   private final ProxyFactory proxyFactory;
   private Registration pingRegistration;
   private MessageCodec[] systemCodecs;
+  private final boolean writeBatching;
+  private final int writeBatchMaxMessages;
+  private final int writeBatchMaxBytes;
+  private final AtomicLong writeBatchCount = new AtomicLong();
+  private final AtomicLong writeBatchMessageCount = new AtomicLong();
+  private final AtomicInteger writeBatchMaxSize = new AtomicInteger();
 
   public EventBusImpl(VertxInternal vertx, long proxyOperationTimeout) {
     // Just some dummy server ID
@@ -124,19 +144,29 @@ public class EventBusImpl implements EventBus {
     this.subs = null;
     this.clusterMgr = null;
     this.proxyFactory = new ProxyFactory(this, proxyOperationTimeout);
+    this.writeBatching = false;
+    this.writeBatchMaxMessages = 0;
+    this.writeBatchMaxBytes = 0;
+    this.replyHandlers = new ReplyHandlerTable(null, vertx.getEventLoopGroup().next());
     setPingHandler();
     putStandardCodecs();
   }
 
-  public EventBusImpl(VertxInternal vertx, long proxyOperationTimeout, int port, String hostname, ClusterManager clusterManager,
+  public EventBusImpl(VertxInternal vertx, VertxOptions options, ClusterManager clusterManager,
                       Handler<AsyncResult<Void>> listenHandler) {
     this.vertx = vertx;
     this.clusterMgr = clusterManager;
-    this.proxyFactory = new ProxyFactory(this, proxyOperationTimeout);
+    this.proxyFactory = new ProxyFactory(this, options.getProxyOperationTimeout());
+    this.writeBatching = options.isClusterWriteBatching();
+    this.writeBatchMaxMessages = options.getClusterWriteBatchMaxMessages();
+    this.writeBatchMaxBytes = options.getClusterWriteBatchMaxBytes();
+    // Reply addresses are prefixed with an id that can't be guessed, and which also stops replies meant for a
+    // previous incarnation of this node being mistaken for replies to this one
+    this.replyHandlers = new ReplyHandlerTable(UUID.randomUUID().toString(), vertx.getEventLoopGroup().next());
     clusterMgr.<String, ServerID>getAsyncMultiMap("subs", null, ar -> {
       if (ar.succeeded()) {
         subs = ar.result();
-        this.server = setServer(port, hostname, listenHandler);
+        this.server = setServer(options.getClusterPort(), options.getClusterHost(), listenHandler);
       } else {
         if (listenHandler != null) {
           listenHandler.handle(Future.completedFuture(ar.cause()));
@@ -182,12 +212,12 @@ public class EventBusImpl implements EventBus {
 
   @Override
   public <T> Registration registerHandler(String address, Handler<Message<T>> handler) {
-    return registerHandler(address, handler, false, false, -1);
+    return registerHandler(address, handler, false);
   }
 
   @Override
   public <T> Registration registerLocalHandler(String address, Handler<Message<T>> handler) {
-    return registerHandler(address, handler, false, true, -1);
+    return registerHandler(address, handler, true);
   }
 
   @Override
@@ -262,10 +292,32 @@ public class EventBusImpl implements EventBus {
     }
   }
 
+  /**
+   * @return the number of batched writes made on cluster connections
+   */
+  public long writeBatchCount() {
+    return writeBatchCount.get();
+  }
+
+  /**
+   * @return the total number of messages written on cluster connections as part of a batch
+   */
+  public long writeBatchMessageCount() {
+    return writeBatchMessageCount.get();
+  }
+
+  /**
+   * @return the largest number of messages written on a cluster connection in a single batch
+   */
+  public int writeBatchMaxSize() {
+    return writeBatchMaxSize.get();
+  }
+
   <T> void sendReply(ServerID dest, MessageImpl message, DeliveryOptions options, Handler<AsyncResult<Message<T>>> replyHandler) {
     if (message.address() == null) {
       sendNoHandlersFailure(replyHandler);
     } else {
+      message.setReply(true);
       sendOrPub(dest, message, options, replyHandler);
     }
   }
@@ -346,8 +398,11 @@ public class EventBusImpl implements EventBus {
   }
 
   private NetServer setServer(int port, String hostName, Handler<AsyncResult<Void>> listenHandler) {
-    NetServer server = vertx.createNetServer(NetServerOptions.options().setPort(port).setHost(hostName)).connectHandler(socket -> {
+    // Frames are copied once out of the pooled buffers the socket reads, as the message outlives them
+    NetServerOptions options = NetServerOptions.options().setPort(port).setHost(hostName).setDirectReadBuffers(true);
+    NetServer server = vertx.createNetServer(options).connectHandler(socket -> {
       RecordParser parser = RecordParser.newFixed(4, null);
+      parser.setZeroCopy(true);
       Handler<Buffer> handler = new Handler<Buffer>() {
         int size = -1;
 
@@ -357,8 +412,8 @@ public class EventBusImpl implements EventBus {
             parser.fixedSizeMode(size);
           } else {
             MessageImpl received = new MessageImpl();
-            received.readFromWire(buff, userCodecMap, systemCodecs);
-            receiveMessage(received, -1, null, null);
+            received.readFromWire(buff.copy(), userCodecMap, systemCodecs, decodedStrings);
+            receiveMessage(received, null);
             parser.fixedSizeMode(4);
             size = -1;
           }
@@ -393,17 +448,15 @@ public class EventBusImpl implements EventBus {
     return server;
   }
 
-  private <T> void sendToSubs(ChoosableIterable<ServerID> subs, MessageImpl message,
-                              long timeoutID,
-                              Handler<AsyncResult<Message<T>>> asyncResultHandler,
-                              Handler<Message<T>> replyHandler) {
+  private void sendToSubs(ChoosableIterable<ServerID> subs, MessageImpl message,
+                          ReplyHandlerTable.ReplyHandler replyHandler) {
     if (message.send()) {
       // Choose one
       ServerID sid = subs.choose();
       if (!sid.equals(serverID)) {  //We don't send to this node
         sendRemote(sid, message);
       } else {
-        receiveMessage(message, timeoutID, asyncResultHandler, replyHandler);
+        receiveMessage(message, replyHandler);
       }
     } else {
       // Publish
@@ -411,7 +464,7 @@ public class EventBusImpl implements EventBus {
         if (!sid.equals(serverID)) {  //We don't send to this node
           sendRemote(sid, message);
         } else {
-          receiveMessage(message, timeoutID, null, replyHandler);
+          receiveMessage(message, null);
         }
       }
     }
@@ -431,53 +484,33 @@ public class EventBusImpl implements EventBus {
     }
   }
 
-  private String generateReplyAddress() {
-    if (clusterMgr != null) {
-      // The address is a cryptographically secure id that can't be guessed
-      return UUID.randomUUID().toString();
-    } else {
-      // Just use a sequence - it's faster
-      return Long.toString(replySequence.incrementAndGet());
-    }
-  }
-
   private <T> void sendOrPub(ServerID replyDest, MessageImpl message, DeliveryOptions options,
                              Handler<AsyncResult<Message<T>>> replyHandler) {
     checkStarted();
     ContextImpl context = vertx.getOrCreateContext();
-    Handler<Message<T>> simpleReplyHandler = null;
     try {
-      long timeoutID = -1;
+      ReplyHandlerTable.ReplyHandler<T> replyTo = null;
       if (replyHandler != null) {
-        message.setReplyAddress(generateReplyAddress());
-        AtomicReference<Registration> refReg = new AtomicReference<>();
-        // Add a timeout to remove the reply handler to prevent leaks in case a reply never comes
-        timeoutID = vertx.setTimer(options.getSendTimeout(), timerID -> {
-          log.warn("Message reply handler timed out as no reply was received - it will be removed");
-          refReg.get().unregister();
-          replyHandler.handle(Future.completedFuture(new ReplyException(ReplyFailure.TIMEOUT, "Timed out waiting for reply")));
-        });
-        simpleReplyHandler = convertHandler(replyHandler);
-        Registration registration = registerHandler(message.replyAddress(), simpleReplyHandler, true, true, timeoutID);
-        refReg.set(registration);
+        // The reply handler is removed when the reply comes or when it times out, whichever comes first
+        replyTo = replyHandlers.add(context, replyHandler, options.getSendTimeout());
+        message.setReplyAddress(replyTo.address);
       }
       if (replyDest != null) {
         if (!replyDest.equals(this.serverID)) {
           sendRemote(replyDest, message);
         } else {
-          receiveMessage(message, timeoutID, replyHandler, simpleReplyHandler);
+          receiveMessage(message, replyTo);
         }
       } else {
         if (subs != null) {
-          long fTimeoutID = timeoutID;
-          Handler<Message<T>> fSimpleReplyHandler = simpleReplyHandler;
+          ReplyHandlerTable.ReplyHandler<T> fReplyTo = replyTo;
           subs.get(message.address(), asyncResult -> {
             if (asyncResult.succeeded()) {
               ChoosableIterable<ServerID> serverIDs = asyncResult.result();
               if (serverIDs != null && !serverIDs.isEmpty()) {
-                sendToSubs(serverIDs, message, fTimeoutID, replyHandler, fSimpleReplyHandler);
+                sendToSubs(serverIDs, message, fReplyTo);
               } else {
-                receiveMessage(message, fTimeoutID, replyHandler, fSimpleReplyHandler);
+                receiveMessage(message, fReplyTo);
               }
             } else {
               log.error("Failed to send message", asyncResult.cause());
@@ -485,7 +518,7 @@ public class EventBusImpl implements EventBus {
           });
         } else {
           // Not clustered
-          receiveMessage(message, timeoutID, replyHandler, simpleReplyHandler);
+          receiveMessage(message, replyTo);
         }
       }
     } finally {
@@ -497,21 +530,7 @@ public class EventBusImpl implements EventBus {
     }
   }
 
-  private <T> Handler<Message<T>> convertHandler(Handler<AsyncResult<Message<T>>> handler) {
-    return reply -> {
-      Future<Message<T>> result;
-      if (reply.body() instanceof ReplyException) {
-        // This is kind of clunky - but hey-ho
-        result = Future.completedFuture((ReplyException) reply.body());
-      } else {
-        result = Future.completedFuture(reply);
-      }
-      handler.handle(result);
-    };
-  }
-
-  private <T> Registration registerHandler(String address, Handler<Message<T>> handler,
-                                       boolean replyHandler, boolean localOnly, long timeoutID) {
+  private <T> Registration registerHandler(String address, Handler<Message<T>> handler, boolean localOnly) {
     checkStarted();
     if (address == null) {
       throw new NullPointerException("address");
@@ -525,28 +544,30 @@ public class EventBusImpl implements EventBus {
       // Embedded
       context = vertx.createEventLoopContext(null, new JsonObject());
     }
-    HandlerHolder holder = new HandlerHolder<T>(handler, replyHandler, localOnly, context, timeoutID);
+    HandlerHolder holder = new HandlerHolder<T>(handler, localOnly, context);
     HandlerRegistration registration = new HandlerRegistration<T>(address, handler);
 
-    Handlers handlers = handlerMap.get(address);
-    if (handlers == null) {
-      handlers = new Handlers();
-      Handlers prevHandlers = handlerMap.putIfAbsent(address, handlers);
-      if (prevHandlers != null) {
-        handlers = prevHandlers;
-      }
-      if (subs != null && !replyHandler && !localOnly) {
-        // Propagate the information
-        subs.add(address, serverID, registration::setResult);
-      } else {
-        registration.result = Future.completedFuture();
+    // Handlers are immutable snapshots so we just swap in a new one, no locking required
+    boolean first;
+    while (true) {
+      Handlers handlers = handlerMap.get(address);
+      if (handlers == null) {
+        if (handlerMap.putIfAbsent(address, new Handlers(holder)) == null) {
+          first = true;
+          break;
+        }
+      } else if (handlerMap.replace(address, handlers, handlers.add(holder))) {
+        first = false;
+        break;
       }
+    }
+    if (first && subs != null && !localOnly) {
+      // Propagate the information
+      subs.add(address, serverID, registration::setResult);
     } else {
       registration.result = Future.completedFuture();
     }
 
-    handlers.list.add(holder);
-
     if (hasContext) {
       HandlerEntry entry = new HandlerEntry<T>(address, handler);
       context.addCloseHook(entry);
@@ -557,42 +578,32 @@ public class EventBusImpl implements EventBus {
 
   private <T> void unregisterHandler(String address, Handler<Message<T>> handler, Handler<AsyncResult<Void>> completionHandler) {
     checkStarted();
-    Handlers handlers = handlerMap.get(address);
-    if (handlers != null) {
-      synchronized (handlers) {
-        int size = handlers.list.size();
-        // Requires a list traversal. This is tricky to optimise since we can't use a set since
-        // we need fast ordered traversal for the round robin
-        for (int i = 0; i < size; i++) {
-          HandlerHolder holder = handlers.list.get(i);
-          if (holder.handler == handler) {
-            if (holder.timeoutID != -1) {
-              vertx.cancelTimer(holder.timeoutID);
-            }
-            handlers.list.remove(i);
-            holder.removed = true;
-            if (handlers.list.isEmpty()) {
-              handlerMap.remove(address);
-              if (subs != null && !holder.localOnly) {
-                removeSub(address, serverID, completionHandler);
-              } else if (completionHandler != null) {
-                callCompletionHandler(completionHandler);
-              }
-            } else if (completionHandler != null) {
-              callCompletionHandler(completionHandler);
-            }
-            holder.context.removeCloseHook(new HandlerEntry<T>(address, handler));
-            break;
-          }
+    while (true) {
+      Handlers handlers = handlerMap.get(address);
+      if (handlers == null) {
+        return;
+      }
+      HandlerHolder holder = handlers.find(handler);
+      if (holder == null) {
+        return;
+      }
+      Handlers newHandlers = handlers.remove(holder);
+      boolean removed = newHandlers == null ? handlerMap.remove(address, handlers) :
+                        handlerMap.replace(address, handlers, newHandlers);
+      if (removed) {
+        holder.removed = true;
+        if (newHandlers == null && subs != null && !holder.localOnly) {
+          removeSub(address, serverID, completionHandler);
+        } else if (completionHandler != null) {
+          callCompletionHandler(completionHandler);
         }
+        holder.context.removeCloseHook(new HandlerEntry<T>(address, handler));
+        return;
       }
+      // Raced with another registration or unregistration for the address - try again
     }
   }
 
-  private <T> void unregisterHandler(String address, Handler<Message<T>> handler) {
-    unregisterHandler(address, handler, emptyHandler());
-  }
-
   private void callCompletionHandler(Handler<AsyncResult<Void>> completionHandler) {
     completionHandler.handle(Future.completedFuture());
   }
@@ -663,10 +674,27 @@ public class EventBusImpl implements EventBus {
         cleanupConnection(holder.theServerID, holder, true);
       });
       MessageImpl pingMessage = new MessageImpl<>(serverID, PING_ADDRESS, null, null, null, new NullMessageCodec(), true);
-      holder.socket.writeBuffer(pingMessage.encodeToWire());
+      holder.socket.writeMessage(encodeToWire(pingMessage));
     });
   }
 
+  private ByteBuf encodeToWire(MessageImpl message) {
+    ByteBuf buf = message.encodeToWire(PartialPooledByteBufAllocator.INSTANCE, encodedSizeEstimate, encodedStrings);
+    updateEncodedSizeEstimate(buf.writerIndex());
+    return buf;
+  }
+
+  private void updateEncodedSizeEstimate(int size) {
+    // Grow straight away to avoid resizing, but only shrink slowly
+    // Races between threads are benign, it's only an estimate
+    int estimate = encodedSizeEstimate;
+    if (size > estimate) {
+      encodedSizeEstimate = Math.min(size, MAX_ENCODED_SIZE_ESTIMATE);
+    } else if (estimate > MIN_ENCODED_SIZE_ESTIMATE) {
+      encodedSizeEstimate = Math.max(MIN_ENCODED_SIZE_ESTIMATE, estimate - ((estimate - size) >> 4));
+    }
+  }
+
   private void removeSub(String subName, ServerID theServerID, Handler<AsyncResult<Void>> completionHandler) {
     subs.remove(subName, theServerID, ar -> {
       if (!ar.succeeded()) {
@@ -678,9 +706,14 @@ public class EventBusImpl implements EventBus {
   }
 
   // Called when a message is incoming
-  private <T> void receiveMessage(MessageImpl msg, long timeoutID, Handler<AsyncResult<Message<T>>> replyHandler,
-                                  Handler<Message<T>> simpleReplyHandler) {
+  private void receiveMessage(MessageImpl msg, ReplyHandlerTable.ReplyHandler replyTo) {
     msg.setBus(this);
+    // Replies are matched straight against the reply handler table
+    ReplyHandlerTable.ReplyHandler replyHandler = replyHandlers.remove(msg.address());
+    if (replyHandler != null) {
+      replyHandler.reply(msg.copyBeforeReceive());
+      return;
+    }
     Handlers handlers = handlerMap.get(msg.address());
     if (handlers != null) {
       if (msg.send()) {
@@ -691,20 +724,14 @@ public class EventBusImpl implements EventBus {
         }
       } else {
         // Publish
-        for (HandlerHolder holder: handlers.list) {
+        for (HandlerHolder holder: handlers.holders) {
           doReceive(msg, holder);
         }
       }
     } else {
       // no handlers
-      if (replyHandler != null) {
-        sendNoHandlersFailure(replyHandler);
-        if (timeoutID != -1) {
-          vertx.cancelTimer(timeoutID);
-        }
-        if (simpleReplyHandler != null) {
-          unregisterHandler(msg.replyAddress(), simpleReplyHandler);
-        }
+      if (replyTo != null && replyHandlers.remove(replyTo)) {
+        replyTo.fail(new ReplyException(ReplyFailure.NO_HANDLERS));
       }
     }
   }
@@ -727,14 +754,8 @@ public class EventBusImpl implements EventBus {
     holder.context.execute(() -> {
       // Need to check handler is still there - the handler might have been removed after the message were sent but
       // before it was received
-      try {
-        if (!holder.removed) {
-          holder.handler.handle(copied);
-        }
-      } finally {
-        if (holder.replyHandler) {
-          unregisterHandler(msg.address(), holder.handler);
-        }
+      if (!holder.removed) {
+        holder.handler.handle(copied);
       }
     }, false);
   }
@@ -755,17 +776,13 @@ public class EventBusImpl implements EventBus {
   private static class HandlerHolder<T> {
     final ContextImpl context;
     final Handler<Message<T>> handler;
-    final boolean replyHandler;
     final boolean localOnly;
-    final long timeoutID;
     boolean removed;
 
-    HandlerHolder(Handler<Message<T>> handler, boolean replyHandler, boolean localOnly, ContextImpl context, long timeoutID) {
+    HandlerHolder(Handler<Message<T>> handler, boolean localOnly, ContextImpl context) {
       this.context = context;
       this.handler = handler;
-      this.replyHandler = replyHandler;
       this.localOnly = localOnly;
-      this.timeoutID = timeoutID;
     }
 
     @Override
@@ -785,12 +802,16 @@ public class EventBusImpl implements EventBus {
 
   private class ConnectionHolder {
     final NetClient client;
-    volatile NetSocket socket;
+    volatile NetSocketImpl socket;
     final Queue<MessageImpl> pending = new ConcurrentLinkedQueue<>();
     volatile boolean connected;
     long timeoutID = -1;
     long pingTimeoutID = -1;
     ServerID theServerID;
+    // Only used when write batching is enabled
+    final Queue<MessageImpl> batch = new ConcurrentLinkedQueue<>();
+    final AtomicBoolean flushScheduled = new AtomicBoolean();
+    ContextImpl socketContext;
 
     private ConnectionHolder(NetClient client) {
       this.client = client;
@@ -798,11 +819,11 @@ public class EventBusImpl implements EventBus {
 
     void writeMessage(MessageImpl message) {
       if (connected) {
-        socket.writeBuffer(message.encodeToWire());
+        doWriteMessage(message);
       } else {
         synchronized (this) {
           if (connected) {
-            socket.writeBuffer(message.encodeToWire());
+            doWriteMessage(message);
           } else {
             pending.add(message);
           }
@@ -810,9 +831,70 @@ public class EventBusImpl implements EventBus {
       }
     }
 
+    private void doWriteMessage(MessageImpl message) {
+      if (writeBatching) {
+        batch.add(message);
+        // Only one flush is scheduled at a time, any message added before it runs is written with it
+        if (flushScheduled.compareAndSet(false, true)) {
+          socketContext.getEventLoop().execute(this::flushBatch);
+        }
+      } else {
+        socket.writeMessage(encodeToWire(message));
+      }
+    }
+
+    // Always run on the event loop of the socket
+    private void flushBatch() {
+      // Reset the flag before draining so a message added concurrently schedules another flush
+      flushScheduled.set(false);
+      while (true) {
+        ByteBuf first = null;
+        CompositeByteBuf composite = null;
+        int count = 0;
+        int bytes = 0;
+        MessageImpl message;
+        while (count < writeBatchMaxMessages && bytes < writeBatchMaxBytes && (message = batch.poll()) != null) {
+          ByteBuf buf;
+          try {
+            buf = encodeToWire(message);
+          } catch (RuntimeException e) {
+            log.error("Failed to encode message", e);
+            continue;
+          }
+          if (first == null) {
+            first = buf;
+          } else {
+            if (composite == null) {
+              composite = Unpooled.compositeBuffer(writeBatchMaxMessages);
+              addComponent(composite, first);
+            }
+            addComponent(composite, buf);
+          }
+          count++;
+          bytes += buf.readableBytes();
+        }
+        if (count == 0) {
+          break;
+        }
+        socket.writeMessage(composite != null ? composite : first);
+        writeBatchCount.incrementAndGet();
+        writeBatchMessageCount.addAndGet(count);
+        int max;
+        while (count > (max = writeBatchMaxSize.get()) && !writeBatchMaxSize.compareAndSet(max, count)) {
+          // Retry
+        }
+      }
+    }
+
+    private void addComponent(CompositeByteBuf composite, ByteBuf buf) {
+      composite.addComponent(buf);
+      composite.writerIndex(composite.writerIndex() + buf.readableBytes());
+    }
+
     synchronized void connected(ServerID theServerID, NetSocket socket) {
-      this.socket = socket;
+      this.socket = (NetSocketImpl)socket;
       this.theServerID = theServerID;
+      this.socketContext = vertx.getContext();
       connected = true;
       socket.exceptionHandler(t -> cleanupConnection(theServerID, ConnectionHolder.this, true));
       socket.closeHandler(v -> cleanupConnection(theServerID, ConnectionHolder.this, false));
@@ -824,7 +906,7 @@ public class EventBusImpl implements EventBus {
       // Start a pinger
       schedulePing(ConnectionHolder.this);
       for (MessageImpl message : pending) {
-        socket.writeBuffer(message.encodeToWire());
+        doWriteMessage(message);
       }
       pending.clear();
     }
@@ -840,27 +922,64 @@ public class EventBusImpl implements EventBus {
     }
   }
 
+  /**
+   * An immutable snapshot of the handlers registered at an address. Registering or unregistering a handler swaps
+   * in a new snapshot so readers never need to lock, and the array can't change under the round robin.
+   */
   private static class Handlers {
 
-    final List<HandlerHolder> list = new CopyOnWriteArrayList<>();
-    final AtomicInteger pos = new AtomicInteger(0);
+    final HandlerHolder[] holders;
+    // Only used to spread sends across handlers, lost updates from concurrent senders don't matter
+    private int pos;
+
+    Handlers(HandlerHolder... holders) {
+      this.holders = holders;
+    }
+
+    // A new snapshot carries on from where the old one got to, so registrations coming and going don't keep sending
+    // to the first handlers
+    private Handlers(HandlerHolder[] holders, int pos) {
+      this.holders = holders;
+      this.pos = pos;
+    }
+
     HandlerHolder choose() {
-      while (true) {
-        int size = list.size();
-        if (size == 0) {
-          return null;
-        }
-        int p = pos.getAndIncrement();
-        if (p >= size - 1) {
-          pos.set(0);
+      HandlerHolder[] holders = this.holders;
+      if (holders.length == 1) {
+        return holders[0];
+      }
+      int p = pos++;
+      return holders[(p & Integer.MAX_VALUE) % holders.length];
+    }
+
+    Handlers add(HandlerHolder holder) {
+      HandlerHolder[] copy = Arrays.copyOf(holders, holders.length + 1);
+      copy[holders.length] = holder;
+      return new Handlers(copy, pos);
+    }
+
+    HandlerHolder find(Handler handler) {
+      for (HandlerHolder holder: holders) {
+        if (holder.handler == handler) {
+          return holder;
         }
-        try {
-          return list.get(p);
-        } catch (IndexOutOfBoundsException e) {
-          // Can happen
-          pos.set(0);
+      }
+      return null;
+    }
+
+    // Returns null if that was the last handler
+    Handlers remove(HandlerHolder holder) {
+      if (holders.length == 1) {
+        return null;
+      }
+      HandlerHolder[] copy = new HandlerHolder[holders.length - 1];
+      int i = 0;
+      for (HandlerHolder h: holders) {
+        if (h != holder) {
+          copy[i++] = h;
         }
       }
+      return new Handlers(copy, pos);
     }
   }
 
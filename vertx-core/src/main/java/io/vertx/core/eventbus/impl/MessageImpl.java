@@ -16,6 +16,9 @@
 
 package io.vertx.core.eventbus.impl;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import io.netty.util.CharsetUtil;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
@@ -52,6 +55,7 @@ public class MessageImpl<U, V> implements Message<V> {
   private V receivedBody;
   private MessageCodec<U, V> messageCodec;
   private boolean send;
+  private boolean reply;
   private Buffer wireBuffer;
   private int bodyPos;
   private int headersPos;
@@ -134,52 +138,61 @@ public class MessageImpl<U, V> implements Message<V> {
     return replyAddress;
   }
 
-  public Buffer encodeToWire() {
-    int length = 1024; // TODO make this configurable
-    Buffer buffer = Buffer.buffer(length);
-    buffer.appendInt(0);
-    buffer.appendByte(WIRE_PROTOCOL_VERSION);
-    byte systemCodecID = messageCodec.systemCodecID();
-    buffer.appendByte(systemCodecID);
-    if (systemCodecID == -1) {
-      // User codec
-      writeString(buffer, messageCodec.name());
-    }
-    buffer.appendByte(send ? (byte)0 : (byte)1);
-    writeString(buffer, address);
-    if (replyAddress != null) {
-      writeString(buffer, replyAddress);
-    } else {
-      buffer.appendInt(0);
+  public ByteBuf encodeToWire(ByteBufAllocator allocator, int initialCapacity, EncodedStringCache strings) {
+    // Encode straight into a pooled direct buffer, ownership is passed to the channel when it is written
+    ByteBuf buffer = allocator.directBuffer(initialCapacity);
+    try {
+      buffer.writeInt(0);
+      buffer.writeByte(WIRE_PROTOCOL_VERSION);
+      byte systemCodecID = messageCodec.systemCodecID();
+      buffer.writeByte(systemCodecID);
+      if (systemCodecID == -1) {
+        // User codec
+        writeBytes(buffer, strings.encode(messageCodec.name()));
+      }
+      buffer.writeByte(send ? (byte)0 : (byte)1);
+      if (reply) {
+        // Reply addresses are unique so there is no point caching them
+        writeString(buffer, address);
+      } else {
+        writeBytes(buffer, strings.encode(address));
+      }
+      if (replyAddress != null) {
+        writeString(buffer, replyAddress);
+      } else {
+        buffer.writeInt(0);
+      }
+      buffer.writeInt(sender.port);
+      writeBytes(buffer, strings.encode(sender.host));
+      encodeHeaders(buffer);
+      writeBody(buffer);
+      buffer.setInt(0, buffer.writerIndex() - 4);
+    } catch (RuntimeException e) {
+      buffer.release();
+      throw e;
     }
-    buffer.appendInt(sender.port);
-    writeString(buffer, sender.host);
-    encodeHeaders(buffer);
-    writeBody(buffer);
-    buffer.setInt(0, buffer.length() - 4);
-//    if (buffer.length()> length) {
-//      log.warn("Overshot length " + length + " actual " + buffer.length());
-//    }
     return buffer;
   }
 
-  public void readFromWire(Buffer buffer, Map<String, MessageCodec> codecMap, MessageCodec[] systemCodecs) {
+  public void readFromWire(Buffer buffer, Map<String, MessageCodec> codecMap, MessageCodec[] systemCodecs,
+                           DecodedStringCache strings) {
+    // Strings are read straight from the underlying buffer
+    ByteBuf buf = buffer.getByteBuf();
     int pos = 0;
     // Overall Length already read when passed in here
-    byte protocolVersion = buffer.getByte(pos);
+    byte protocolVersion = buf.getByte(pos);
     if (protocolVersion > WIRE_PROTOCOL_VERSION) {
       throw new IllegalStateException("Invalid wire protocol version " + protocolVersion +
                                       " should be <= " + WIRE_PROTOCOL_VERSION);
     }
     pos++;
-    byte systemCodecCode = buffer.getByte(pos);
+    byte systemCodecCode = buf.getByte(pos);
     pos++;
     if (systemCodecCode == -1) {
       // User codec
-      int length = buffer.getInt(pos);
+      int length = buf.getInt(pos);
       pos += 4;
-      byte[] bytes = buffer.getBytes(pos, pos + length);
-      String codecName = new String(bytes, CharsetUtil.UTF_8);
+      String codecName = strings.decode(buf, pos, length);
       messageCodec = codecMap.get(codecName);
       if (messageCodec == null) {
         throw new IllegalStateException("No message codec registered with name " + codecName);
@@ -188,30 +201,28 @@ public class MessageImpl<U, V> implements Message<V> {
     } else {
       messageCodec = systemCodecs[systemCodecCode];
     }
-    byte bsend = buffer.getByte(pos);
+    byte bsend = buf.getByte(pos);
     send = bsend == 0;
     pos++;
-    int length = buffer.getInt(pos);
+    int length = buf.getInt(pos);
     pos += 4;
-    byte[] bytes = buffer.getBytes(pos, pos + length);
-    address = new String(bytes, CharsetUtil.UTF_8);
+    address = strings.decode(buf, pos, length);
     pos += length;
-    length = buffer.getInt(pos);
+    length = buf.getInt(pos);
     pos += 4;
     if (length != 0) {
-      bytes = buffer.getBytes(pos, pos + length);
-      replyAddress = new String(bytes, CharsetUtil.UTF_8);
+      // Reply addresses are unique so there is no point caching them
+      replyAddress = buf.toString(pos, length, CharsetUtil.UTF_8);
       pos += length;
     }
-    int senderPort = buffer.getInt(pos);
+    int senderPort = buf.getInt(pos);
     pos += 4;
-    length = buffer.getInt(pos);
+    length = buf.getInt(pos);
     pos += 4;
-    bytes = buffer.getBytes(pos, pos + length);
-    String senderHost = new String(bytes, CharsetUtil.UTF_8);
+    String senderHost = strings.decode(buf, pos, length);
     pos += length;
     headersPos = pos;
-    int headersLength = buffer.getInt(pos);
+    int headersLength = buf.getInt(pos);
     pos += headersLength;
     bodyPos = pos;
     sender = new ServerID(senderPort, senderHost);
@@ -219,44 +230,46 @@ public class MessageImpl<U, V> implements Message<V> {
   }
 
   private void decodeBody() {
-    receivedBody = messageCodec.decodeFromWire(bodyPos, wireBuffer);
+    // The codec gets a read only view of just the body rather than the whole wire buffer
+    ByteBuf buf = wireBuffer.getByteBuf();
+    Buffer body = Buffer.buffer(Unpooled.unmodifiableBuffer(buf.slice(bodyPos, buf.writerIndex() - bodyPos)));
+    receivedBody = messageCodec.decodeFromWire(0, body);
     bodyPos = 0;
   }
 
-  private void encodeHeaders(Buffer buffer) {
+  private void encodeHeaders(ByteBuf buffer) {
     if (headers != null && !headers.isEmpty()) {
-      int headersLengthPos = buffer.getByteBuf().writerIndex();
-      buffer.appendInt(0);
-      buffer.appendInt(headers.size());
+      int headersLengthPos = buffer.writerIndex();
+      buffer.writeInt(0);
+      buffer.writeInt(headers.size());
       List<Map.Entry<String, String>> entries = headers.entries();
       for (Map.Entry<String, String> entry: entries) {
         writeString(buffer, entry.getKey());
         writeString(buffer, entry.getValue());
       }
-      int headersEndPos = buffer.getByteBuf().writerIndex();
+      int headersEndPos = buffer.writerIndex();
       buffer.setInt(headersLengthPos, headersEndPos - headersLengthPos);
     } else {
-      buffer.appendInt(4);
+      buffer.writeInt(4);
     }
   }
 
   private void decodeHeaders() {
-    int length = wireBuffer.getInt(headersPos);
+    ByteBuf buf = wireBuffer.getByteBuf();
+    int length = buf.getInt(headersPos);
     if (length != 0) {
       headersPos += 4;
-      int numHeaders = wireBuffer.getInt(headersPos);
+      int numHeaders = buf.getInt(headersPos);
       headersPos += 4;
       headers = new CaseInsensitiveHeaders();
       for (int i = 0; i < numHeaders; i++) {
-        int keyLength = wireBuffer.getInt(headersPos);
+        int keyLength = buf.getInt(headersPos);
         headersPos += 4;
-        byte[] bytes = wireBuffer.getBytes(headersPos, headersPos + keyLength);
-        String key = new String(bytes, CharsetUtil.UTF_8);
+        String key = buf.toString(headersPos, keyLength, CharsetUtil.UTF_8);
         headersPos += keyLength;
-        int valLength = wireBuffer.getInt(headersPos);
+        int valLength = buf.getInt(headersPos);
         headersPos += 4;
-        bytes = wireBuffer.getBytes(headersPos, headersPos + valLength);
-        String val = new String(bytes, CharsetUtil.UTF_8);
+        String val = buf.toString(headersPos, valLength, CharsetUtil.UTF_8);
         headersPos += valLength;
         headers.add(key, val);
       }
@@ -264,14 +277,46 @@ public class MessageImpl<U, V> implements Message<V> {
     headersPos = 0;
   }
 
-  private void writeBody(Buffer buff) {
-    messageCodec.encodeToWire(buff, sentBody);
+  private void writeBody(ByteBuf buff) {
+    // The codec writes through a Buffer view which shares the writer index of the underlying buffer
+    messageCodec.encodeToWire(Buffer.buffer(buff), sentBody);
   }
 
-  private void writeString(Buffer buff, String str) {
-    byte[] strBytes = str.getBytes(CharsetUtil.UTF_8);
-    buff.appendInt(strBytes.length);
-    buff.appendBytes(strBytes);
+  private void writeBytes(ByteBuf buff, byte[] bytes) {
+    buff.writeInt(bytes.length);
+    buff.writeBytes(bytes);
+  }
+
+  // Writes the string as UTF-8 directly into the buffer without creating an intermediate byte[]
+  private void writeString(ByteBuf buff, String str) {
+    int lengthPos = buff.writerIndex();
+    buff.writeInt(0);
+    int len = str.length();
+    for (int i = 0; i < len; i++) {
+      char c = str.charAt(i);
+      if (c < 0x80) {
+        buff.writeByte(c);
+      } else if (c < 0x800) {
+        buff.writeByte(0xC0 | (c >> 6));
+        buff.writeByte(0x80 | (c & 0x3F));
+      } else if (Character.isSurrogate(c)) {
+        if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(str.charAt(i + 1))) {
+          int cp = Character.toCodePoint(c, str.charAt(++i));
+          buff.writeByte(0xF0 | (cp >> 18));
+          buff.writeByte(0x80 | ((cp >> 12) & 0x3F));
+          buff.writeByte(0x80 | ((cp >> 6) & 0x3F));
+          buff.writeByte(0x80 | (cp & 0x3F));
+        } else {
+          // Malformed surrogate, replaced the same way String.getBytes does
+          buff.writeByte('?');
+        }
+      } else {
+        buff.writeByte(0xE0 | (c >> 12));
+        buff.writeByte(0x80 | ((c >> 6) & 0x3F));
+        buff.writeByte(0x80 | (c & 0x3F));
+      }
+    }
+    buff.setInt(lengthPos, buff.writerIndex() - lengthPos - 4);
   }
 
   @Override
@@ -310,6 +355,10 @@ public class MessageImpl<U, V> implements Message<V> {
     sendReply(bus.createMessage(true, replyAddress, options.getHeaders(), message, options.getCodecName()), options, replyHandler);
   }
 
+  protected void setReply(boolean reply) {
+    this.reply = reply;
+  }
+
   protected void setReplyAddress(String replyAddress) {
     this.replyAddress = replyAddress;
   }
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *   Red Hat licenses this file to you under the Apache License, version 2.0
+ *   (the "License"); you may not use this file except in compliance with the
+ *   License.  You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *   WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *   License for the specific language governing permissions and limitations
+ *   under the License.
+ */
+
+package io.vertx.core.eventbus.impl;
+
+import io.netty.channel.EventLoop;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.impl.ContextImpl;
+import io.vertx.core.impl.TimerWheel;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.impl.LoggerFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The reply handlers waiting for a reply to a message sent from this node.<p>
+ * Rather than registering every reply handler on the event bus, a reply handler is given a reply address made of a
+ * fixed prefix and a sequence id, and replies are matched on the sequence id when they are received.<p>
+ * Timeouts are scheduled on a {@link TimerWheel} driven from one event loop, and cancelled when the reply arrives.
+ */
+class ReplyHandlerTable {
+
+  private static final Logger log = LoggerFactory.getLogger(ReplyHandlerTable.class);
+
+  private static final String REPLY_ADDRESS_PREFIX = "__vertx.reply.";
+  private static final long TICK_MILLIS = 10;
+
+  private final String prefix;
+  private final TimerWheel timeouts;
+  private final AtomicLong sequence = new AtomicLong();
+  private final ConcurrentMap<Long, ReplyHandler> handlers = new ConcurrentHashMap<>();
+
+  /**
+   * @param nodeID  an id for this node which makes reply addresses unique across the cluster, or null if not clustered
+   * @param eventLoop  the event loop the timeouts are driven from
+   */
+  ReplyHandlerTable(String nodeID, EventLoop eventLoop) {
+    this.prefix = nodeID == null ? REPLY_ADDRESS_PREFIX : REPLY_ADDRESS_PREFIX + nodeID + '.';
+    this.timeouts = new TimerWheel(0, eventLoop, TICK_MILLIS);
+  }
+
+  /**
+   * Add a reply handler which is failed with a {@link ReplyFailure#TIMEOUT} if no reply is received in time.
+   */
+  <T> ReplyHandler<T> add(ContextImpl context, Handler<AsyncResult<Message<T>>> handler, long timeout) {
+    long seq = sequence.incrementAndGet();
+    ReplyHandler<T> replyHandler = new ReplyHandler<>(seq, prefix + seq, context, handler);
+    handlers.put(seq, replyHandler);
+    // The timeout isn't cancelled with the context, the reply handler has to be removed either way
+    replyHandler.timerID = timeouts.schedule(context, id -> {
+      if (handlers.remove(seq, replyHandler)) {
+        log.warn("Message reply handler timed out as no reply was received - it will be removed");
+        handler.handle(Future.completedFuture(new ReplyException(ReplyFailure.TIMEOUT, "Timed out waiting for reply")));
+      }
+    }, timeout, false, false);
+    return replyHandler;
+  }
+
+  /**
+   * Remove the reply handler the address belongs to, so it can be called with the reply.
+   *
+   * @return the reply handler or null if the address is not a reply address or the handler has already been removed
+   */
+  ReplyHandler remove(String address) {
+    if (address == null || !address.startsWith(prefix)) {
+      return null;
+    }
+    long seq = parseSequence(address, prefix.length());
+    ReplyHandler replyHandler = seq == -1 ? null : handlers.remove(seq);
+    if (replyHandler != null) {
+      replyHandler.cancelTimeout();
+    }
+    return replyHandler;
+  }
+
+  /**
+   * Remove the reply handler so nothing else can call it.
+   *
+   * @return true if it was removed, false if it had already been removed
+   */
+  boolean remove(ReplyHandler replyHandler) {
+    if (handlers.remove(replyHandler.seq, replyHandler)) {
+      replyHandler.cancelTimeout();
+      return true;
+    }
+    return false;
+  }
+
+  int size() {
+    return handlers.size();
+  }
+
+  private static long parseSequence(String address, int pos) {
+    int len = address.length();
+    if (pos == len || len - pos > 18) {
+      return -1;
+    }
+    long seq = 0;
+    for (int i = pos; i < len; i++) {
+      char c = address.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      seq = seq * 10 + (c - '0');
+    }
+    return seq;
+  }
+
+  class ReplyHandler<T> {
+
+    final long seq;
+    final String address;
+    final ContextImpl context;
+    final Handler<AsyncResult<Message<T>>> handler;
+    // Set once the timeout is scheduled, a reply may come before that
+    volatile long timerID = -1;
+
+    ReplyHandler(long seq, String address, ContextImpl context, Handler<AsyncResult<Message<T>>> handler) {
+      this.seq = seq;
+      this.address = address;
+      this.context = context;
+      this.handler = handler;
+    }
+
+    void cancelTimeout() {
+      long id = timerID;
+      if (id != -1) {
+        timeouts.cancel(id);
+      }
+    }
+
+    void reply(Message<T> reply) {
+      context.execute(() -> {
+        if (reply.body() instanceof ReplyException) {
+          handler.handle(Future.completedFuture((ReplyException) reply.body()));
+        } else {
+          handler.handle(Future.completedFuture(reply));
+        }
+      }, false);
+    }
+
+    void fail(ReplyException failure) {
+      context.execute(() -> handler.handle(Future.completedFuture(failure)), false);
+    }
+  }
+}
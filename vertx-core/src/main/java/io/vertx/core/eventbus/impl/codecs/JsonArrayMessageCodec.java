@@ -39,8 +39,7 @@ public class JsonArrayMessageCodec implements MessageCodec<JsonArray, JsonArray>
   public JsonArray decodeFromWire(int pos, Buffer buffer) {
     int length = buffer.getInt(pos);
     pos += 4;
-    byte[] encoded = buffer.getBytes(pos, pos + length);
-    String str = new String(encoded, CharsetUtil.UTF_8);
+    String str = buffer.getByteBuf().toString(pos, length, CharsetUtil.UTF_8);
     return new JsonArray(str);
   }
 
@@ -54,8 +54,7 @@ public class ReplyExceptionMessageCodec implements MessageCodec<ReplyException,
       pos++;
       int strLength = buffer.getInt(pos);
       pos += 4;
-      byte[] bytes = buffer.getBytes(pos, pos + strLength);
-      message = new String(bytes, CharsetUtil.UTF_8);
+      message = buffer.getByteBuf().toString(pos, strLength, CharsetUtil.UTF_8);
     } else {
       message = null;
     }
@@ -75,6 +75,36 @@ public interface OpenOptions {
 
   OpenOptions setDSync(boolean dsync);
 
+  /**
+   * @return the size of the buffers the file emits when read as a stream
+   */
+  int getReadBufferSize();
+
+  OpenOptions setReadBufferSize(int readBufferSize);
+
+  /**
+   * @return the initial write queue max size of the file, see {@link AsyncFile#setWriteQueueMaxSize(int)}
+   */
+  int getWriteQueueMaxSize();
+
+  OpenOptions setWriteQueueMaxSize(int writeQueueMaxSize);
+
+  /**
+   * When set, the file maps large windows of itself in memory when read as a stream and emits slices of them rather
+   * than copying what it reads into new buffers. The emitted buffers are read only.
+   */
+  boolean isMemoryMapped();
+
+  OpenOptions setMemoryMapped(boolean memoryMapped);
+
+  /**
+   * When set, the buffers written to the file as a stream while an earlier write is in progress are written together
+   * with a single gathering write, instead of one write per buffer.
+   */
+  boolean isGatheringWrites();
+
+  OpenOptions setGatheringWrites(boolean gatheringWrites);
+
   static final OpenOptionsFactory factory = ServiceHelper.loadFactory(OpenOptionsFactory.class);
 
 }
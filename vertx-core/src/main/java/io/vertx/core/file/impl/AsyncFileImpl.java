@@ -17,6 +17,8 @@
 package io.vertx.core.file.impl;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.internal.PlatformDependent;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -31,28 +33,47 @@ import io.vertx.core.logging.impl.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.FileAttribute;
 import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Set;
 
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
  */
-public class AsyncFileImpl implements AsyncFile {
+public class AsyncFileImpl implements AsyncFile, TransferTarget {
 
   private static final Logger log = LoggerFactory.getLogger(AsyncFile.class);
   public static final int BUFFER_SIZE = 8192;
+  // Large enough that a file is mapped in a few calls, small enough not to hog the address space of 32 bit JVMs
+  static final int MAPPED_WINDOW_SIZE = 16 * 1024 * 1024;
+  // The most handed over to a transfer target at once, so that a pump can still be paused or stopped on the way
+  static final int TRANSFER_SIZE = 1024 * 1024;
 
   private final VertxInternal vertx;
   private final AsynchronousFileChannel ch;
+  private final Path path;
+  private final Set<OpenOption> fcOpts = new HashSet<>();
+  // Used by the memory mapped and gathering writes modes, along with the asynchronous channel for everything else.
+  // Transfers open it on first use when neither mode is on
+  private FileChannel fc;
+  private boolean fcClosed;
   private final ContextImpl context;
+  private final int readBufferSize;
+  private final boolean memoryMapped;
+  private final boolean gatheringWrites;
   private boolean closed;
   private Runnable closedDeferred;
   private long writesOutstanding;
@@ -61,14 +82,21 @@ public class AsyncFileImpl implements AsyncFile {
   private Handler<Void> drainHandler;
 
   private long writePos;
-  private int maxWrites = 128 * 1024;    // TODO - we should tune this for best performance
-  private int lwm = maxWrites / 2;
+  private int maxWrites;
+  private int lwm;
+  // The buffers written while a gathering write is in progress, from gatherPos
+  private final ArrayDeque<ByteBuffer> gathered = new ArrayDeque<>();
+  private long gatherPos;
+  private boolean gathering;
 
   private boolean paused;
   private Handler<Buffer> dataHandler;
   private Handler<Void> endHandler;
   private long readPos;
   private boolean readInProgress;
+  // The mapped window being read, unmapped as soon as it's done with rather than when it's garbage collected
+  private MappedByteBuffer window;
+  private TransferTarget transferTarget;
 
   AsyncFileImpl(VertxInternal vertx, String path, OpenOptions options, ContextImpl context) {
     if (!options.isRead() && !options.isWrite()) {
@@ -76,6 +104,7 @@ public class AsyncFileImpl implements AsyncFile {
     }
     this.vertx = vertx;
     Path file = Paths.get(path);
+    this.path = file;
     HashSet<OpenOption> opts = new HashSet<>();
     if (options.isRead()) opts.add(StandardOpenOption.READ);
     if (options.isWrite()) opts.add(StandardOpenOption.WRITE);
@@ -86,6 +115,8 @@ public class AsyncFileImpl implements AsyncFile {
     if (options.isDeleteOnClose()) opts.add(StandardOpenOption.DELETE_ON_CLOSE);
     if (options.isSparse()) opts.add(StandardOpenOption.SPARSE);
     if (options.isTruncateExisting()) opts.add(StandardOpenOption.TRUNCATE_EXISTING);
+    if (options.isRead()) fcOpts.add(StandardOpenOption.READ);
+    if (options.isWrite()) fcOpts.add(StandardOpenOption.WRITE);
     try {
       if (options.getPerms() != null) {
         FileAttribute<?> attrs = PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString(options.getPerms()));
@@ -93,10 +124,24 @@ public class AsyncFileImpl implements AsyncFile {
       } else {
         ch = AsynchronousFileChannel.open(file, opts, vertx.getWorkerPool());
       }
+      if (options.isMemoryMapped() || options.isGatheringWrites()) {
+        // Opened after the asynchronous channel, which has created the file if needed
+        try {
+          fc = FileChannel.open(file, fcOpts);
+        } catch (IOException e) {
+          ch.close();
+          throw e;
+        }
+      }
     } catch (IOException e) {
       throw new FileSystemException(e);
     }
     this.context = context;
+    this.readBufferSize = options.getReadBufferSize();
+    this.memoryMapped = options.isMemoryMapped();
+    this.gatheringWrites = options.isGatheringWrites();
+    this.maxWrites = options.getWriteQueueMaxSize();
+    this.lwm = maxWrites / 2;
   }
 
   @Override
@@ -142,7 +187,14 @@ public class AsyncFileImpl implements AsyncFile {
   public AsyncFile read(Buffer buffer, int offset, long position, int length, Handler<AsyncResult<Buffer>> handler) {
     check();
     ByteBuffer bb = ByteBuffer.allocate(length);
-    doRead(buffer, offset, bb, position, handler);
+    doRead(bb, position, ar -> {
+      if (ar.succeeded()) {
+        buffer.setBytes(offset, bb);
+        handler.handle(Future.completedFuture(buffer));
+      } else {
+        handler.handle(Future.completedFuture(ar.cause()));
+      }
+    });
     return this;
   }
 
@@ -163,7 +215,16 @@ public class AsyncFileImpl implements AsyncFile {
     };
 
     ByteBuf buf = buffer.getByteBuf();
-    if (buf.nioBufferCount() > 1) {
+    if (gatheringWrites) {
+      if (gathered.isEmpty()) {
+        gatherPos = writePos;
+      }
+      Collections.addAll(gathered, buf.nioBuffers());
+      writesOutstanding += length;
+      if (!gathering) {
+        writeGathered();
+      }
+    } else if (buf.nioBufferCount() > 1) {
       Iterator<ByteBuffer> buffers = Arrays.asList(buf.nioBuffers()).iterator();
       doWrite(buffers, writePos, handler);
     } else {
@@ -174,6 +235,47 @@ public class AsyncFileImpl implements AsyncFile {
     return this;
   }
 
+  /**
+   * Write all the buffers gathered so far with as few system calls as possible, on the ordered blocking executor so
+   * that only one such write is in progress at any time.
+   */
+  private void writeGathered() {
+    ByteBuffer[] buffers = gathered.toArray(new ByteBuffer[gathered.size()]);
+    gathered.clear();
+    long position = gatherPos;
+    long length = 0;
+    for (ByteBuffer b : buffers) {
+      length += b.remaining();
+    }
+    long toWrite = length;
+    gathering = true;
+    context.executeBlocking(() -> {
+      try {
+        fc.position(position);
+        long written = 0;
+        while (written < toWrite) {
+          written += fc.write(buffers);
+        }
+        return null;
+      } catch (IOException e) {
+        throw new FileSystemException(e);
+      }
+    }, ar -> {
+      gathering = false;
+      writesOutstanding -= toWrite;
+      if (ar.succeeded()) {
+        checkDrained();
+      } else {
+        handleException(ar.cause());
+      }
+      if (!gathered.isEmpty()) {
+        writeGathered();
+      } else if (writesOutstanding == 0 && closedDeferred != null) {
+        closedDeferred.run();
+      }
+    });
+  }
+
   private void checkDrained() {
     if (drainHandler != null && writesOutstanding <= lwm) {
       Handler<Void> handler = drainHandler;
@@ -220,14 +322,72 @@ public class AsyncFileImpl implements AsyncFile {
     }
   }
 
+  /**
+   * Set a target to hand the content of the file over to, rather than reading it into buffers for the data handler.
+   * The data handler must still be set for the file to be read, and gets the content whenever the target doesn't
+   * support transfers.
+   */
+  public AsyncFileImpl transferHandler(TransferTarget target) {
+    check();
+    this.transferTarget = target;
+    return this;
+  }
+
+  @Override
+  public boolean supportsTransfer() {
+    return true;
+  }
+
+  @Override
+  public void transfer(FileChannel channel, long position, long count, Handler<AsyncResult<Long>> handler) {
+    check();
+    long pos = writePos;
+    writePos += count;
+    writesOutstanding += count;
+    // On the ordered blocking executor, along with the gathering writes which use the same channel
+    context.executeBlocking(() -> {
+      try {
+        FileChannel target = fileChannel();
+        long transferred = 0;
+        while (transferred < count) {
+          target.position(pos + transferred);
+          long n = channel.transferTo(position + transferred, count - transferred, target);
+          if (n == 0) {
+            // The source is shorter than it was
+            break;
+          }
+          transferred += n;
+        }
+        return transferred;
+      } catch (IOException e) {
+        throw new FileSystemException(e);
+      }
+    }, ar -> {
+      writesOutstanding -= count;
+      if (ar.succeeded()) {
+        checkDrained();
+      }
+      if (writesOutstanding == 0 && closedDeferred != null) {
+        closedDeferred.run();
+      }
+      handler.handle(ar);
+    });
+  }
+
   private void doRead() {
-    if (!readInProgress) {
+    if (transferTarget != null && transferTarget.supportsTransfer()) {
+      doTransfer();
+    } else if (memoryMapped) {
+      doMappedRead();
+    } else if (!readInProgress) {
       readInProgress = true;
-      Buffer buff = Buffer.buffer(BUFFER_SIZE);
-      read(buff, 0, readPos, BUFFER_SIZE, ar -> {
+      // Read straight into the buffer which is handed over, rather than into a temporary one
+      ByteBuf buf = Unpooled.buffer(readBufferSize, Integer.MAX_VALUE);
+      ByteBuffer bb = buf.nioBuffer(0, readBufferSize);
+      doRead(bb, readPos, ar -> {
         if (ar.succeeded()) {
           readInProgress = false;
-          Buffer buffer = ar.result();
+          Buffer buffer = Buffer.buffer(buf.writerIndex(bb.limit()));
           if (buffer.length() == 0) {
             // Empty buffer represents end of file
             handleEnd();
@@ -245,6 +405,129 @@ public class AsyncFileImpl implements AsyncFile {
     }
   }
 
+  /**
+   * Hand the next range of the file over to the transfer target, which writes it without it being copied to a buffer.
+   */
+  private void doTransfer() {
+    if (readInProgress) {
+      return;
+    }
+    readInProgress = true;
+    // Whatever is left of a mapped window is stale once the content goes through the channel
+    releaseWindow();
+    long position = readPos;
+    context.executeBlocking(() -> {
+      try {
+        return fileChannel().size();
+      } catch (IOException e) {
+        throw new FileSystemException(e);
+      }
+    }, ar -> {
+      if (ar.failed()) {
+        readInProgress = false;
+        handleException(ar.cause());
+      } else if (position >= ar.result()) {
+        readInProgress = false;
+        handleEnd();
+      } else if (closed || transferTarget == null || !transferTarget.supportsTransfer()) {
+        // Stopped or changed its mind while the file was stat'ed
+        readInProgress = false;
+        if (!paused && !closed && dataHandler != null) {
+          doRead();
+        }
+      } else {
+        long count = Math.min(TRANSFER_SIZE, ar.result() - position);
+        transferTarget.transfer(fc, position, count, ar2 -> {
+          readInProgress = false;
+          if (ar2.failed()) {
+            handleException(ar2.cause());
+          } else if (ar2.result() == 0) {
+            // Truncated since it was stat'ed
+            handleEnd();
+          } else {
+            readPos += ar2.result();
+            if (!paused && !closed && dataHandler != null) {
+              doRead();
+            }
+          }
+        });
+      }
+    });
+  }
+
+  /**
+   * The channel the memory mapped, gathering writes and transfer modes use, opened on first use if needed. This blocks.
+   */
+  private synchronized FileChannel fileChannel() throws IOException {
+    if (fc == null) {
+      if (fcClosed) {
+        throw new ClosedChannelException();
+      }
+      fc = FileChannel.open(path, fcOpts);
+    }
+    return fc;
+  }
+
+  private void doMappedRead() {
+    if (readInProgress) {
+      return;
+    }
+    if (window != null && window.hasRemaining()) {
+      while (!paused && !closed && dataHandler != null && window.hasRemaining()) {
+        ByteBuffer slice = window.slice();
+        slice.limit(Math.min(readBufferSize, slice.remaining()));
+        window.position(window.position() + slice.limit());
+        readPos += slice.limit();
+        // Copied, a buffer wrapping the window would be left pointing to unmapped memory
+        handleData(Buffer.buffer(Unpooled.copiedBuffer(slice)));
+      }
+      if (paused || closed || dataHandler == null) {
+        if (window != null && !window.hasRemaining()) {
+          releaseWindow();
+        }
+        return;
+      }
+    }
+    releaseWindow();
+    // Map the next window, the pages are loaded off the event loop as well so that reading them won't fault
+    readInProgress = true;
+    long position = readPos;
+    context.executeBlocking(() -> {
+      try {
+        long size = fc.size();
+        if (position >= size) {
+          return null;
+        }
+        MappedByteBuffer mapped = fc.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAPPED_WINDOW_SIZE, size - position));
+        mapped.load();
+        return mapped;
+      } catch (IOException e) {
+        throw new FileSystemException(e);
+      }
+    }, ar -> {
+      readInProgress = false;
+      if (ar.failed()) {
+        handleException(ar.cause());
+      } else if (ar.result() == null) {
+        handleEnd();
+      } else if (closed) {
+        PlatformDependent.freeDirectBuffer(ar.result());
+      } else {
+        window = ar.result();
+        if (!paused && dataHandler != null) {
+          doMappedRead();
+        }
+      }
+    });
+  }
+
+  private void releaseWindow() {
+    if (window != null) {
+      PlatformDependent.freeDirectBuffer(window);
+      window = null;
+    }
+  }
+
   @Override
   public AsyncFile dataHandler(Handler<Buffer> handler) {
     check();
@@ -357,19 +640,21 @@ public class AsyncFileImpl implements AsyncFile {
     });
   }
 
-  private void doRead(Buffer writeBuff, int offset, ByteBuffer buff, long position, Handler<AsyncResult<Buffer>> handler) {
+  /**
+   * Read into {@code buff} until it's full or the end of the file is reached, it's flipped when done.
+   */
+  private void doRead(ByteBuffer buff, long position, Handler<AsyncResult<Void>> handler) {
 
     ch.read(buff, position, null, new java.nio.channels.CompletionHandler<Integer, Object>() {
 
       long pos = position;
 
-      Future<Buffer> result = Future.future();
+      Future<Void> result = Future.future();
 
       private void done() {
         context.execute(() -> {
           buff.flip();
-          writeBuff.setBytes(offset, buff);
-          result.setResult(writeBuff).setHandler(handler);
+          result.setResult(null).setHandler(handler);
         }, false);
       }
 
@@ -381,7 +666,7 @@ public class AsyncFileImpl implements AsyncFile {
           // partial read
           pos += bytesRead;
           // resubmit
-          doRead(writeBuff, offset, buff, pos, handler);
+          doRead(buff, pos, handler);
         } else {
           // It's been fully written
           done();
@@ -416,6 +701,12 @@ public class AsyncFileImpl implements AsyncFile {
     Future<Void> res = Future.future();
     try {
       ch.close();
+      synchronized (this) {
+        fcClosed = true;
+        if (fc != null) {
+          fc.close();
+        }
+      }
       res.setResult(null);
     } catch (IOException e) {
       res.setFailure(e);
@@ -429,6 +720,7 @@ public class AsyncFileImpl implements AsyncFile {
     check();
 
     closed = true;
+    releaseWindow();
 
     if (writesOutstanding == 0) {
       doClose(handler);
@@ -34,6 +34,10 @@ public class OpenOptionsImpl implements OpenOptions {
   private static final boolean DEFAULT_DELETEONCLOSE = false;
   private static final boolean DEFAULT_TRUNCATEEXISTING = false;
   private static final boolean DEFAULT_SPARSE = false;
+  private static final int DEFAULT_READBUFFERSIZE = AsyncFileImpl.BUFFER_SIZE;
+  private static final int DEFAULT_WRITEQUEUEMAXSIZE = 128 * 1024;
+  private static final boolean DEFAULT_MEMORYMAPPED = false;
+  private static final boolean DEFAULT_GATHERINGWRITES = false;
 
   private String perms = DEFAULT_PERMS;
   private boolean read = DEFAULT_READ;
@@ -45,6 +49,10 @@ public class OpenOptionsImpl implements OpenOptions {
   private boolean deleteOnClose = DEFAULT_DELETEONCLOSE;
   private boolean truncateExisting = DEFAULT_TRUNCATEEXISTING;
   private boolean sparse = DEFAULT_SPARSE;
+  private int readBufferSize = DEFAULT_READBUFFERSIZE;
+  private int writeQueueMaxSize = DEFAULT_WRITEQUEUEMAXSIZE;
+  private boolean memoryMapped = DEFAULT_MEMORYMAPPED;
+  private boolean gatheringWrites = DEFAULT_GATHERINGWRITES;
 
   OpenOptionsImpl() {
     super();
@@ -61,6 +69,10 @@ public class OpenOptionsImpl implements OpenOptions {
     this.deleteOnClose = json.getBoolean("deleteOnClose", DEFAULT_DELETEONCLOSE);
     this.truncateExisting = json.getBoolean("truncateExisting", DEFAULT_TRUNCATEEXISTING);
     this.sparse = json.getBoolean("sparse", DEFAULT_SPARSE);
+    this.readBufferSize = json.getInteger("readBufferSize", DEFAULT_READBUFFERSIZE);
+    this.writeQueueMaxSize = json.getInteger("writeQueueMaxSize", DEFAULT_WRITEQUEUEMAXSIZE);
+    this.memoryMapped = json.getBoolean("memoryMapped", DEFAULT_MEMORYMAPPED);
+    this.gatheringWrites = json.getBoolean("gatheringWrites", DEFAULT_GATHERINGWRITES);
   }
 
   public String getPerms() {
@@ -152,4 +164,46 @@ public class OpenOptionsImpl implements OpenOptions {
     this.dsync = dsync;
     return this;
   }
+
+  public int getReadBufferSize() {
+    return readBufferSize;
+  }
+
+  public OpenOptions setReadBufferSize(int readBufferSize) {
+    if (readBufferSize < 1) {
+      throw new IllegalArgumentException("readBufferSize must be > 0");
+    }
+    this.readBufferSize = readBufferSize;
+    return this;
+  }
+
+  public int getWriteQueueMaxSize() {
+    return writeQueueMaxSize;
+  }
+
+  public OpenOptions setWriteQueueMaxSize(int writeQueueMaxSize) {
+    if (writeQueueMaxSize < 1) {
+      throw new IllegalArgumentException("writeQueueMaxSize must be > 0");
+    }
+    this.writeQueueMaxSize = writeQueueMaxSize;
+    return this;
+  }
+
+  public boolean isMemoryMapped() {
+    return memoryMapped;
+  }
+
+  public OpenOptions setMemoryMapped(boolean memoryMapped) {
+    this.memoryMapped = memoryMapped;
+    return this;
+  }
+
+  public boolean isGatheringWrites() {
+    return gatheringWrites;
+  }
+
+  public OpenOptions setGatheringWrites(boolean gatheringWrites) {
+    this.gatheringWrites = gatheringWrites;
+    return this;
+  }
 }
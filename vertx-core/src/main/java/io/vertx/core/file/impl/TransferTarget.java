@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2011-2014 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.core.file.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+
+import java.nio.channels.FileChannel;
+
+/**
+ * A write stream which can take file content straight from the file channel, without it being copied to a buffer
+ * first. An {@link AsyncFileImpl} with a transfer handler hands its content over to it in ranges rather than reading it
+ * into buffers for its data handler, for as long as the target supports it.
+ */
+public interface TransferTarget {
+
+  /**
+   * @return whether the target can take file content right now, e.g. a socket can't once TLS is in its pipeline
+   */
+  boolean supportsTransfer();
+
+  /**
+   * Write {@code count} bytes of {@code channel} from {@code position}. The channel is owned by the caller and must
+   * not be closed. The handler is called with the number of bytes written once they have all been written, on the
+   * context this was called from, as it's the source's state the handler updates.
+   */
+  void transfer(FileChannel channel, long position, long count, Handler<AsyncResult<Long>> handler);
+
+}
@@ -66,6 +66,21 @@ public interface HttpClient {
 
   HttpClientRequest request(String method, RequestOptions options, Handler<HttpClientResponse> responseHandler);
 
+  /**
+   * @return the number of requests which were given an idle pooled connection
+   */
+  long poolHitCount();
+
+  /**
+   * @return the number of requests which had to wait for a connection to be opened or freed
+   */
+  long poolMissCount();
+
+  /**
+   * @return the number of idle pooled connections which were closed because they expired or the pool was full
+   */
+  long poolEvictionCount();
+
   /**
    * Close the HTTP client. This will cause any pooled HTTP connections to be closed.
    */
@@ -52,6 +52,18 @@ public interface HttpClientOptions extends ClientOptions<HttpClientOptions> {
 
   HttpClientOptions setPipelining(boolean pipelining);
 
+  int getPipeliningLimit();
+
+  HttpClientOptions setPipeliningLimit(int pipeliningLimit);
+
+  int getMaxIdlePoolSize();
+
+  HttpClientOptions setMaxIdlePoolSize(int maxIdlePoolSize);
+
+  int getKeepAliveTimeout();
+
+  HttpClientOptions setKeepAliveTimeout(int keepAliveTimeout);
+
   boolean isVerifyHost();
 
   HttpClientOptions setVerifyHost(boolean verifyHost);
@@ -214,6 +214,11 @@ public final class HttpHeaders {
    */
   public static final CharSequence IF_NONE_MATCH = createOptimized(io.netty.handler.codec.http.HttpHeaders.Names.IF_NONE_MATCH);
 
+  /**
+   * If-Range header name
+   */
+  public static final CharSequence IF_RANGE = createOptimized(io.netty.handler.codec.http.HttpHeaders.Names.IF_RANGE);
+
   /**
    * Last-Modified header name
    */
@@ -239,6 +244,11 @@ public final class HttpHeaders {
    */
   public static final CharSequence PROXY_AUTHORIZATION = createOptimized(io.netty.handler.codec.http.HttpHeaders.Names.PROXY_AUTHORIZATION);
 
+  /**
+   * Range header name
+   */
+  public static final CharSequence RANGE = createOptimized(io.netty.handler.codec.http.HttpHeaders.Names.RANGE);
+
   /**
    * Referer header name
    */
@@ -54,5 +54,41 @@ public interface HttpServerOptions extends NetServerOptionsBase<HttpServerOption
 
   Set<String> getWebsocketSubProtocols();
 
+  boolean isReusePort();
+
+  HttpServerOptions setReusePort(boolean reusePort);
+
+  boolean isPipelining();
+
+  HttpServerOptions setPipelining(boolean pipelining);
+
+  int getMaxPipelinedRequests();
+
+  HttpServerOptions setMaxPipelinedRequests(int maxPipelinedRequests);
+
+  int getMaxPipelinedBytes();
+
+  HttpServerOptions setMaxPipelinedBytes(int maxPipelinedBytes);
+
+  /**
+   * @return how long in ms what {@link HttpServerResponse#sendFile} learns about a file is cached, {@code 0} when it
+   * isn't cached
+   */
+  int getFileCacheTtl();
+
+  HttpServerOptions setFileCacheTtl(int fileCacheTtl);
+
+  int getFileCacheMaxEntries();
+
+  HttpServerOptions setFileCacheMaxEntries(int fileCacheMaxEntries);
+
+  /**
+   * @return the size up to which the content of a file is cached in memory along with the rest when file caching is
+   * enabled
+   */
+  int getMaxCachedFileSize();
+
+  HttpServerOptions setMaxCachedFileSize(int maxCachedFileSize);
+
   static final HttpServerOptionsFactory factory = ServiceHelper.loadFactory(HttpServerOptionsFactory.class);
 }
@@ -74,6 +74,8 @@ class ClientConnection extends ConnectionBase {
   private final Queue<HttpClientRequestImpl> requests = new ArrayDeque<>();
   private volatile HttpClientResponseImpl currentResponse;
   private volatile HttpClientRequestImpl requestForResponse;
+  // Whether another request can be sent once the current ones are done
+  private volatile boolean reusable = true;
 
   private WebSocketImpl ws;
 
@@ -273,6 +275,9 @@ class ClientConnection extends ConnectionBase {
     if (requestForResponse == null) {
       throw new IllegalStateException("No response handler");
     }
+    if (!HttpHeaders.isKeepAlive(resp)) {
+      reusable = false;
+    }
     HttpClientResponseImpl nResp = new HttpClientResponseImpl(vertx, requestForResponse, this, resp);
     currentResponse = nResp;
     requestForResponse.handleResponse(nResp);
@@ -347,8 +352,13 @@ class ClientConnection extends ConnectionBase {
     }
   }
 
+  boolean isReusable() {
+    return reusable;
+  }
+
   NetSocket createNetSocket() {
     // connection was upgraded to raw TCP socket
+    reusable = false;
     NetSocketImpl socket = new NetSocketImpl(vertx, channel, context, client.getSslHelper(), true);
     Map<Channel, NetSocketImpl> connectionMap = new HashMap<>(1);
     connectionMap.put(channel, socket);
@@ -1,18 +1,31 @@
 package io.vertx.core.http.impl;
 
+import io.netty.channel.EventLoop;
 import io.vertx.core.Handler;
 import io.vertx.core.impl.ContextImpl;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.impl.LoggerFactory;
 
 import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
+ * The connections to a host are partitioned per event loop. Each event loop keeps the connections it opened and only
+ * its thread touches them, so getting a connection doesn't take any lock.<p>
+ * The event loops share the {@code maxSockets} budget of the host. A request which can't get a connection from its
+ * own event loop waits in a queue shared by the event loops, and is served by whichever has a connection to spare
+ * first. They share the {@code maxIdle} budget of the host the same way, so a host never has more idle connections
+ * kept alive than that, however many event loops use it.
  *
  * @author <a href="http://tfox.org">Tim Fox</a>
  */
@@ -23,7 +36,13 @@ public abstract class ConnectionManager {
   private int maxSockets = 5;
   private boolean keepAlive = true;
   private boolean pipelining = false;
+  private int pipeliningLimit = 10;
+  private int maxIdle = 5;
+  private long keepAliveTimeoutNanos = TimeUnit.SECONDS.toNanos(60);
   private final Map<TargetAddress, ConnQueue> connQueues = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
 
   public void getConnection(int port, String host, Handler<ClientConnection> handler, Handler<Throwable> connectionExceptionHandler, ContextImpl context) {
     if (!keepAlive && pipelining) {
@@ -38,7 +57,7 @@ public abstract class ConnectionManager {
           connQueue = prev;
         }
       }
-      connQueue.getConnection(handler, connectionExceptionHandler, context);
+      connQueue.getConnection(new Waiter(handler, connectionExceptionHandler, context));
     }
   }
 
@@ -57,6 +76,49 @@ public abstract class ConnectionManager {
     this.pipelining = pipelining;
   }
 
+  public void setPipeliningLimit(int pipeliningLimit) {
+    this.pipeliningLimit = pipeliningLimit;
+  }
+
+  public void setMaxIdle(int maxIdle) {
+    this.maxIdle = maxIdle;
+  }
+
+  public void setKeepAliveTimeout(int keepAliveTimeout) {
+    this.keepAliveTimeoutNanos = TimeUnit.SECONDS.toNanos(keepAliveTimeout);
+  }
+
+  /**
+   * @return the number of requests which were given an idle connection
+   */
+  public long hits() {
+    return hits.sum();
+  }
+
+  /**
+   * @return the number of requests which had to wait for a connection to be opened or to be free
+   */
+  public long misses() {
+    return misses.sum();
+  }
+
+  /**
+   * @return the number of idle connections which were closed because they expired or the pool was full
+   */
+  public long evictions() {
+    return evictions.sum();
+  }
+
+  /**
+   * Close the idle connections which haven't been used for longer than the keep alive timeout.
+   */
+  public void evictIdleConnections() {
+    long now = System.nanoTime();
+    for (ConnQueue queue: connQueues.values()) {
+      queue.evictIdleConnections(now);
+    }
+  }
+
   public void close() {
     for (ConnQueue queue: connQueues.values()) {
       queue.closeAllConnections();
@@ -64,55 +126,34 @@ public abstract class ConnectionManager {
     connQueues.clear();
   }
 
-  private class ConnQueue implements ConnectionLifeCycleListener {
+  private class ConnQueue {
 
     private final TargetAddress address;
-    private int connCount;
-    private final Queue<Waiter> waiters = new ArrayDeque<>();
-    private final Set<ClientConnection> allConnections = new HashSet<>();
+    // The connections opened or being opened by all the event loops
+    private final AtomicInteger connCount = new AtomicInteger();
+    // The connections kept idle by all the event loops
+    private final AtomicInteger idleCount = new AtomicInteger();
+    // The requests none of the event loops had a connection for yet
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final Map<EventLoop, Slice> slices = new ConcurrentHashMap<>();
+    private final Set<ClientConnection> allConnections = ConcurrentHashMap.newKeySet();
 
     ConnQueue(TargetAddress address) {
       this.address = address;
     }
 
-    public synchronized void getConnection(Handler<ClientConnection> handler, Handler<Throwable> connectionExceptionHandler, ContextImpl context) {
-      if (connCount == maxSockets) {
-        // Wait in queue
-        waiters.add(new Waiter(handler, connectionExceptionHandler, context));
-      } else {
-        // Create a new connection
-        createNewConnection(handler, connectionExceptionHandler, context);
-      }
-    }
-
-    // Called when the request has ended
-    public synchronized void requestEnded(ClientConnection conn) {
-      if (pipelining) {
-        // Maybe the connection can be reused
-        Waiter waiter = waiters.poll();
-        if (waiter != null) {
-          conn.getContext().execute(() -> waiter.handler.handle(conn), true);
-        }
-      }
+    void getConnection(Waiter waiter) {
+      Slice slice = slice(waiter.context);
+      slice.execute(() -> slice.getConnection(waiter));
     }
 
-    // Called when the response has ended
-    public synchronized void responseEnded(ClientConnection conn) {
-      if (pipelining) {
-        // if no outstanding responses on connection and nothing waiting then close it
-        if (conn.getOutstandingRequestCount() == 0 && waiters.isEmpty()) {
-          conn.close();
-        }
-      } else if (keepAlive) {
-        // Maybe the connection can be reused
-        checkReuseConnection(conn);
-      } else {
-        // Close it now
-        conn.close();
+    void evictIdleConnections(long now) {
+      for (Slice slice: slices.values()) {
+        slice.execute(() -> slice.evictIdleConnections(now));
       }
     }
 
-    synchronized void closeAllConnections() {
+    void closeAllConnections() {
       for (ClientConnection conn: new HashSet<>(allConnections)) {
         try {
           conn.close();
@@ -123,39 +164,280 @@ public abstract class ConnectionManager {
       allConnections.clear();
     }
 
-    private void checkReuseConnection(ClientConnection conn) {
+    private Slice slice(ContextImpl context) {
+      return slices.computeIfAbsent(context.getEventLoop(), loop -> new Slice(loop));
+    }
+
+    private boolean reserveConnection() {
+      while (true) {
+        int count = connCount.get();
+        if (count >= maxSockets) {
+          return false;
+        }
+        if (connCount.compareAndSet(count, count + 1)) {
+          return true;
+        }
+      }
+    }
+
+    private boolean reserveIdle() {
+      while (true) {
+        int count = idleCount.get();
+        if (count >= maxIdle) {
+          return false;
+        }
+        if (idleCount.compareAndSet(count, count + 1)) {
+          return true;
+        }
+      }
+    }
+
+    // Called with a reserved connection, the waiter served might belong to another event loop
+    private void connectWaiter() {
       Waiter waiter = waiters.poll();
       if (waiter != null) {
-        conn.getContext().execute(() -> waiter.handler.handle(conn), true);
+        createNewConnection(waiter);
       } else {
-        // Close it - we don't keep connections hanging around - even keep alive ones if there are
-        // no pending requests
-        conn.close();
+        connCount.decrementAndGet();
       }
     }
 
-    private void createNewConnection(Handler<ClientConnection> handler, Handler<Throwable> connectionExceptionHandler, ContextImpl context) {
-      connCount++;
+    private void createNewConnection(Waiter waiter) {
+      Slice slice = slice(waiter.context);
       connect(address.host, address.port, conn -> {
         allConnections.add(conn);
-        handler.handle(conn);
-      }, connectionExceptionHandler, context, this);
+        if (pipelining) {
+          slice.execute(() -> slice.writing.add(conn));
+        }
+        waiter.handler.handle(conn);
+      }, waiter.connectionExceptionHandler, waiter.context, slice);
     }
 
-    // Called if the connection is actually closed, OR the connection attempt failed - in the latter case
-    // conn will be null
-    public synchronized void connectionClosed(ClientConnection conn) {
-      connCount--;
-      if (conn != null) {
-        allConnections.remove(conn);
+    private void stealForWaiters(Slice thief) {
+      for (Slice slice: slices.values()) {
+        if (slice != thief && slice.spareCount > 0) {
+          slice.execute(slice::serveWaiters);
+        }
       }
-      Waiter waiter = waiters.poll();
-      if (waiter != null) {
-        // There's a waiter - so it can have a new connection
-        createNewConnection(waiter.handler, waiter.connectionExceptionHandler, waiter.context);
-      } else if (connCount == 0) {
-        // No waiters and no connections - remove the ConnQueue
-        connQueues.remove(address);
+    }
+
+    /**
+     * The connections of an event loop, only the thread of the event loop uses this.
+     */
+    private class Slice implements ConnectionLifeCycleListener {
+
+      private final EventLoop loop;
+      // The kept alive connections which aren't used, most recently used first
+      private final Deque<IdleConnection> idle = new ArrayDeque<>();
+      // When pipelining, the connections which are not writing a request and can take another one
+      private final Queue<ClientConnection> available = new ArrayDeque<>();
+      // When pipelining, the connections which were handed out for a request which hasn't ended yet
+      private final Set<ClientConnection> writing = new HashSet<>();
+      // The number of idle and available connections, the other event loops read it to find a connection to steal
+      private volatile int spareCount;
+
+      Slice(EventLoop loop) {
+        this.loop = loop;
+      }
+
+      void execute(Runnable task) {
+        if (loop.inEventLoop()) {
+          task.run();
+        } else {
+          loop.execute(task);
+        }
+      }
+
+      void getConnection(Waiter waiter) {
+        ClientConnection conn = pipelining ? takeAvailable() : null;
+        if (conn != null) {
+          // Pipeline the request on a connection we already have rather than opening a new one
+          handOut(conn, waiter);
+        } else if ((conn = takeIdle(waiter.context)) != null) {
+          hits.increment();
+          handOut(conn, waiter);
+        } else {
+          misses.increment();
+          if (reserveConnection()) {
+            createNewConnection(waiter);
+          } else {
+            waiters.add(waiter);
+            // A connection might have been closed, or another event loop might have got one to spare, in the
+            // meantime without seeing the waiter
+            if (reserveConnection()) {
+              connectWaiter();
+            } else {
+              stealForWaiters(this);
+            }
+          }
+        }
+      }
+
+      // Called when the request has ended
+      public void requestEnded(ClientConnection conn) {
+        if (pipelining) {
+          execute(() -> {
+            writing.remove(conn);
+            // Maybe the connection can be reused
+            checkPipelineConnection(conn);
+          });
+        }
+      }
+
+      // Called when the response has ended
+      public void responseEnded(ClientConnection conn) {
+        execute(() -> {
+          if (pipelining) {
+            // if no outstanding responses on connection and nothing waiting then keep it for later
+            if (conn.getOutstandingRequestCount() == 0 && waiters.isEmpty() && !writing.contains(conn)) {
+              if (available.remove(conn)) {
+                spareCount--;
+              }
+              recycle(conn);
+            } else {
+              // It might have been over the pipelining limit
+              checkPipelineConnection(conn);
+            }
+          } else if (keepAlive) {
+            // Maybe the connection can be reused
+            checkReuseConnection(conn);
+          } else {
+            // Close it now
+            conn.close();
+          }
+        });
+      }
+
+      // Called if the connection is actually closed, OR the connection attempt failed - in the latter case
+      // conn will be null
+      public void connectionClosed(ClientConnection conn) {
+        execute(() -> {
+          if (conn != null) {
+            allConnections.remove(conn);
+            if (available.remove(conn)) {
+              spareCount--;
+            }
+            writing.remove(conn);
+            for (Iterator<IdleConnection> it = idle.iterator(); it.hasNext(); ) {
+              if (it.next().conn == conn) {
+                it.remove();
+                spareCount--;
+                idleCount.decrementAndGet();
+                break;
+              }
+            }
+          }
+          connCount.decrementAndGet();
+          if (!waiters.isEmpty() && reserveConnection()) {
+            // There's a waiter - so it can have a new connection
+            connectWaiter();
+          } else if (connCount.get() == 0 && waiters.isEmpty()) {
+            // No waiters and no connections - remove the ConnQueue
+            connQueues.remove(address, ConnQueue.this);
+          }
+        });
+      }
+
+      void evictIdleConnections(long now) {
+        // The oldest connections are at the tail
+        IdleConnection last;
+        while ((last = idle.peekLast()) != null && now - last.since >= keepAliveTimeoutNanos) {
+          idle.pollLast();
+          spareCount--;
+          idleCount.decrementAndGet();
+          evictions.increment();
+          last.conn.close();
+        }
+      }
+
+      // Hand the spare connections to the waiters, they might belong to other event loops
+      void serveWaiters() {
+        Waiter waiter;
+        while (spareCount > 0 && (waiter = waiters.poll()) != null) {
+          ClientConnection conn = pipelining ? takeAvailable() : null;
+          if (conn == null) {
+            conn = takeIdle(waiter.context);
+          }
+          handOut(conn, waiter);
+        }
+      }
+
+      private void checkReuseConnection(ClientConnection conn) {
+        if (!conn.isReusable()) {
+          // A waiter gets a new connection when this one is closed
+          conn.close();
+          return;
+        }
+        Waiter waiter = waiters.poll();
+        if (waiter != null) {
+          handOut(conn, waiter);
+        } else {
+          recycle(conn);
+        }
+      }
+
+      private void recycle(ClientConnection conn) {
+        if (!conn.isReusable()) {
+          conn.close();
+        } else if (reserveIdle()) {
+          idle.addFirst(new IdleConnection(conn, System.nanoTime()));
+          spareCount++;
+          // A waiter might have been queued by another event loop which saw no spare connection here
+          serveWaiters();
+        } else {
+          evictions.increment();
+          conn.close();
+        }
+      }
+
+      private ClientConnection takeAvailable() {
+        ClientConnection conn = available.poll();
+        if (conn != null) {
+          spareCount--;
+        }
+        return conn;
+      }
+
+      private ClientConnection takeIdle(ContextImpl context) {
+        if (idle.isEmpty()) {
+          return null;
+        }
+        spareCount--;
+        idleCount.decrementAndGet();
+        // Prefer the most recently used connection which belongs to the context, it saves a hop to another context
+        for (Iterator<IdleConnection> it = idle.iterator(); it.hasNext(); ) {
+          IdleConnection entry = it.next();
+          if (entry.conn.getContext() == context) {
+            it.remove();
+            return entry.conn;
+          }
+        }
+        return idle.pollFirst().conn;
+      }
+
+      private void checkPipelineConnection(ClientConnection conn) {
+        if (!conn.isReusable() || writing.contains(conn) || available.contains(conn) || conn.getOutstandingRequestCount() >= pipeliningLimit) {
+          return;
+        }
+        Waiter waiter = waiters.poll();
+        if (waiter != null) {
+          handOut(conn, waiter);
+        } else {
+          available.add(conn);
+          spareCount++;
+          // A waiter might have been queued by another event loop which saw no spare connection here
+          serveWaiters();
+        }
+      }
+
+      private void handOut(ClientConnection conn, Waiter waiter) {
+        if (pipelining) {
+          writing.add(conn);
+        }
+        // The connections of a slice all belong to its event loop, so this only hops to another thread when the
+        // connection was stolen for a waiter of another event loop. A channel can't move to another event loop, so
+        // the request has to be written from the connection's anyway
+        conn.getContext().execute(() -> waiter.handler.handle(conn), true);
       }
     }
   }
@@ -187,6 +469,16 @@ public abstract class ConnectionManager {
     }
   }
 
+  private static class IdleConnection {
+    final ClientConnection conn;
+    final long since;
+
+    private IdleConnection(ClientConnection conn, long since) {
+      this.conn = conn;
+      this.since = since;
+    }
+  }
+
   private static class Waiter {
     final Handler<ClientConnection> handler;
     final Handler<Throwable> connectionExceptionHandler;
@@ -25,7 +25,6 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.FixedRecvByteBufAllocator;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpContentDecompressor;
@@ -74,6 +73,7 @@ public class HttpClientImpl implements HttpClient {
   private final Map<Channel, ClientConnection> connectionMap = new ConcurrentHashMap<>();
   private final ContextImpl creatingContext;
   private final ConnectionManager pool;
+  private final long evictionTimerID;
   private Handler<Throwable> exceptionHandler;
   private final Closeable closeHook;
   private boolean closed;
@@ -102,7 +102,15 @@ public class HttpClientImpl implements HttpClient {
     };
     pool.setKeepAlive(options.isKeepAlive());
     pool.setPipelining(options.isPipelining());
+    pool.setPipeliningLimit(options.getPipeliningLimit());
     pool.setMaxSockets(options.getMaxPoolSize());
+    pool.setMaxIdle(options.getMaxIdlePoolSize());
+    pool.setKeepAliveTimeout(options.getKeepAliveTimeout());
+    if (options.isKeepAlive() && options.getMaxIdlePoolSize() > 0) {
+      evictionTimerID = vertx.setPeriodic(1000, id -> pool.evictIdleConnections());
+    } else {
+      evictionTimerID = -1;
+    }
   }
 
   @Override
@@ -190,6 +198,9 @@ public class HttpClientImpl implements HttpClient {
   @Override
   public synchronized void close() {
     checkClosed();
+    if (evictionTimerID != -1) {
+      vertx.cancelTimer(evictionTimerID);
+    }
     pool.close();
     for (ClientConnection conn : connectionMap.values()) {
       conn.close();
@@ -200,6 +211,21 @@ public class HttpClientImpl implements HttpClient {
     closed = true;
   }
 
+  @Override
+  public long poolHitCount() {
+    return pool.hits();
+  }
+
+  @Override
+  public long poolMissCount() {
+    return pool.misses();
+  }
+
+  @Override
+  public long poolEvictionCount() {
+    return pool.evictions();
+  }
+
   HttpClientOptions getOptions() {
     return options;
   }
@@ -248,13 +274,14 @@ public class HttpClientImpl implements HttpClient {
     bootstrap.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, options.getConnectTimeout());
     bootstrap.option(ChannelOption.ALLOCATOR, PartialPooledByteBufAllocator.INSTANCE);
     bootstrap.option(ChannelOption.SO_KEEPALIVE, options.isTcpKeepAlive());
+    vertx.transport().configure(options, bootstrap);
   }
 
   private void internalConnect(ContextImpl context, int port, String host, Handler<ClientConnection> connectHandler, Handler<Throwable> connectErrorHandler,
                                ConnectionLifeCycleListener listener) {
     Bootstrap bootstrap = new Bootstrap();
     bootstrap.group(context.getEventLoop());
-    bootstrap.channel(NioSocketChannel.class);
+    bootstrap.channel(vertx.transport().socketChannelType());
     sslHelper.checkSSL(vertx);
     bootstrap.handler(new ChannelInitializer<Channel>() {
       @Override
@@ -268,7 +295,7 @@ public class HttpClientImpl implements HttpClient {
             sslParameters.setEndpointIdentificationAlgorithm("HTTPS");
             engine.setSSLParameters(sslParameters);
           }
-          pipeline.addLast("ssl", new SslHandler(engine));
+          pipeline.addLast("ssl", sslHelper.trackHandshake(engine));
         }
 
         pipeline.addLast("codec", new HttpClientCodec(4096, 8192, 8192, false, false));
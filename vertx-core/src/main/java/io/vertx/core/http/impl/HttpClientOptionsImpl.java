@@ -58,6 +58,7 @@ public class HttpClientOptionsImpl implements HttpClientOptions {
 
   private boolean tcpNoDelay = DEFAULT_TCPNODELAY;
   private boolean tcpKeepAlive = DEFAULT_TCPKEEPALIVE;
+  private boolean tcpCork;
   private int soLinger = DEFAULT_SOLINGER;
   private boolean usePooledBuffers;
   private int idleTimeout;
@@ -68,6 +69,10 @@ public class HttpClientOptionsImpl implements HttpClientOptions {
   private KeyStoreOptions keyStore;
   private TrustStoreOptions trustStore;
   private Set<String> enabledCipherSuites = new HashSet<>();
+  private static final int DEFAULT_SSLSESSIONCACHESIZE = -1;
+  private static final int DEFAULT_SSLSESSIONTIMEOUT = -1;
+  private int sslSessionCacheSize = DEFAULT_SSLSESSIONCACHESIZE;
+  private int sslSessionTimeout = DEFAULT_SSLSESSIONTIMEOUT;
 
   private static final int DEFAULT_CONNECTTIMEOUT = 60000;
 
@@ -83,6 +88,9 @@ public class HttpClientOptionsImpl implements HttpClientOptions {
 
   private static final int DEFAULT_MAXPOOLSIZE = 5;
   private static final boolean DEFAULT_KEEPALIVE = true;
+  private static final int DEFAULT_PIPELININGLIMIT = 10;
+  private static final int DEFAULT_MAXIDLEPOOLSIZE = 5;
+  private static final int DEFAULT_KEEPALIVETIMEOUT = 60;
 
   // Client specific SSL stuff
 
@@ -93,6 +101,9 @@ public class HttpClientOptionsImpl implements HttpClientOptions {
   private int maxPoolSize;
   private boolean keepAlive;
   private boolean pipelining;
+  private int pipeliningLimit;
+  private int maxIdlePoolSize;
+  private int keepAliveTimeout;
   private boolean tryUseCompression;
 
   HttpClientOptionsImpl(HttpClientOptions other) {
@@ -102,6 +113,7 @@ public class HttpClientOptionsImpl implements HttpClientOptions {
     this.trafficClass = other.getTrafficClass();
     this.tcpNoDelay = other.isTcpNoDelay();
     this.tcpKeepAlive = other.isTcpKeepAlive();
+    this.tcpCork = other.isTcpCork();
     this.soLinger = other.getSoLinger();
     this.usePooledBuffers = other.isUsePooledBuffers();
     this.idleTimeout = other.getIdleTimeout();
@@ -109,6 +121,8 @@ public class HttpClientOptionsImpl implements HttpClientOptions {
     this.keyStore = other.getKeyStoreOptions() != null ? other.getKeyStoreOptions().clone() : null;
     this.trustStore = other.getTrustStoreOptions() != null ? other.getTrustStoreOptions().clone() : null;
     this.enabledCipherSuites = other.getEnabledCipherSuites() == null ? null : new HashSet<>(other.getEnabledCipherSuites());
+    this.sslSessionCacheSize = other.getSslSessionCacheSize();
+    this.sslSessionTimeout = other.getSslSessionTimeout();
     this.connectTimeout = other.getConnectTimeout();
     this.trustAll = other.isTrustAll();
     this.crlPaths = new ArrayList<>(other.getCrlPaths());
@@ -117,6 +131,9 @@ public class HttpClientOptionsImpl implements HttpClientOptions {
     this.maxPoolSize = other.getMaxPoolSize();
     this.keepAlive = other.isKeepAlive();
     this.pipelining = other.isPipelining();
+    this.pipeliningLimit = other.getPipeliningLimit();
+    this.maxIdlePoolSize = other.getMaxIdlePoolSize();
+    this.keepAliveTimeout = other.getKeepAliveTimeout();
     this.tryUseCompression = other.isTryUseCompression();
   }
 
@@ -127,6 +144,7 @@ public class HttpClientOptionsImpl implements HttpClientOptions {
     this.trafficClass = json.getInteger("trafficClass", DEFAULT_TRAFFICCLASS);
     this.tcpNoDelay = json.getBoolean("tcpNoDelay", DEFAULT_TCPNODELAY);
     this.tcpKeepAlive = json.getBoolean("tcpKeepAlive", DEFAULT_TCPKEEPALIVE);
+    this.tcpCork = json.getBoolean("tcpCork", false);
     this.soLinger = json.getInteger("soLinger", DEFAULT_SOLINGER);
     this.usePooledBuffers = json.getBoolean("usePooledBuffers", false);
     this.idleTimeout = json.getInteger("idleTimeout", 0);
@@ -167,6 +185,8 @@ public class HttpClientOptionsImpl implements HttpClientOptions {
     }
     JsonArray arr = json.getArray("enabledCipherSuites");
     this.enabledCipherSuites = arr == null ? null : new HashSet<String>(arr.toList());
+    this.sslSessionCacheSize = json.getInteger("sslSessionCacheSize", DEFAULT_SSLSESSIONCACHESIZE);
+    this.sslSessionTimeout = json.getInteger("sslSessionTimeout", DEFAULT_SSLSESSIONTIMEOUT);
     this.connectTimeout = json.getInteger("connectTimeout", DEFAULT_CONNECTTIMEOUT);
     this.trustAll = json.getBoolean("trustAll", false);
     arr = json.getArray("crlPaths");
@@ -180,6 +200,9 @@ public class HttpClientOptionsImpl implements HttpClientOptions {
     this.maxPoolSize = json.getInteger("maxPoolSize", DEFAULT_MAXPOOLSIZE);
     this.keepAlive = json.getBoolean("keepAlive", DEFAULT_KEEPALIVE);
     this.pipelining = json.getBoolean("pipelining", false);
+    this.pipeliningLimit = json.getInteger("pipeliningLimit", DEFAULT_PIPELININGLIMIT);
+    this.maxIdlePoolSize = json.getInteger("maxIdlePoolSize", DEFAULT_MAXIDLEPOOLSIZE);
+    this.keepAliveTimeout = json.getInteger("keepAliveTimeout", DEFAULT_KEEPALIVETIMEOUT);
     this.tryUseCompression = json.getBoolean("tryUseCompression", false);
   }
 
@@ -196,6 +219,9 @@ public class HttpClientOptionsImpl implements HttpClientOptions {
     crlValues = new ArrayList<>();
     maxPoolSize = DEFAULT_MAXPOOLSIZE;
     keepAlive = DEFAULT_KEEPALIVE;
+    pipeliningLimit = DEFAULT_PIPELININGLIMIT;
+    maxIdlePoolSize = DEFAULT_MAXIDLEPOOLSIZE;
+    keepAliveTimeout = DEFAULT_KEEPALIVETIMEOUT;
   }
 
   @Override
@@ -273,6 +299,17 @@ public class HttpClientOptionsImpl implements HttpClientOptions {
     return this;
   }
 
+  @Override
+  public boolean isTcpCork() {
+    return tcpCork;
+  }
+
+  @Override
+  public HttpClientOptions setTcpCork(boolean tcpCork) {
+    this.tcpCork = tcpCork;
+    return this;
+  }
+
   @Override
   public int getSoLinger() {
     return soLinger;
@@ -356,6 +393,34 @@ public class HttpClientOptionsImpl implements HttpClientOptions {
     return enabledCipherSuites;
   }
 
+  @Override
+  public int getSslSessionCacheSize() {
+    return sslSessionCacheSize;
+  }
+
+  @Override
+  public HttpClientOptions setSslSessionCacheSize(int sslSessionCacheSize) {
+    if (sslSessionCacheSize < 0) {
+      throw new IllegalArgumentException("sslSessionCacheSize must be >= 0");
+    }
+    this.sslSessionCacheSize = sslSessionCacheSize;
+    return this;
+  }
+
+  @Override
+  public int getSslSessionTimeout() {
+    return sslSessionTimeout;
+  }
+
+  @Override
+  public HttpClientOptions setSslSessionTimeout(int sslSessionTimeout) {
+    if (sslSessionTimeout < 0) {
+      throw new IllegalArgumentException("sslSessionTimeout must be >= 0");
+    }
+    this.sslSessionTimeout = sslSessionTimeout;
+    return this;
+  }
+
   @Override
   public boolean isTrustAll() {
     return trustAll;
@@ -445,6 +510,48 @@ public class HttpClientOptionsImpl implements HttpClientOptions {
     return this;
   }
 
+  @Override
+  public int getPipeliningLimit() {
+    return pipeliningLimit;
+  }
+
+  @Override
+  public HttpClientOptions setPipeliningLimit(int pipeliningLimit) {
+    if (pipeliningLimit < 1) {
+      throw new IllegalArgumentException("pipeliningLimit must be > 0");
+    }
+    this.pipeliningLimit = pipeliningLimit;
+    return this;
+  }
+
+  @Override
+  public int getMaxIdlePoolSize() {
+    return maxIdlePoolSize;
+  }
+
+  @Override
+  public HttpClientOptions setMaxIdlePoolSize(int maxIdlePoolSize) {
+    if (maxIdlePoolSize < 0) {
+      throw new IllegalArgumentException("maxIdlePoolSize must be >= 0");
+    }
+    this.maxIdlePoolSize = maxIdlePoolSize;
+    return this;
+  }
+
+  @Override
+  public int getKeepAliveTimeout() {
+    return keepAliveTimeout;
+  }
+
+  @Override
+  public HttpClientOptions setKeepAliveTimeout(int keepAliveTimeout) {
+    if (keepAliveTimeout < 1) {
+      throw new IllegalArgumentException("keepAliveTimeout must be > 0");
+    }
+    this.keepAliveTimeout = keepAliveTimeout;
+    return this;
+  }
+
   @Override
   public boolean isVerifyHost() {
     return verifyHost;
@@ -479,12 +586,16 @@ public class HttpClientOptionsImpl implements HttpClientOptions {
     if (keepAlive != that.keepAlive) return false;
     if (maxPoolSize != that.maxPoolSize) return false;
     if (pipelining != that.pipelining) return false;
+    if (pipeliningLimit != that.pipeliningLimit) return false;
+    if (maxIdlePoolSize != that.maxIdlePoolSize) return false;
+    if (keepAliveTimeout != that.keepAliveTimeout) return false;
     if (receiveBufferSize != that.receiveBufferSize) return false;
     if (reuseAddress != that.reuseAddress) return false;
     if (sendBufferSize != that.sendBufferSize) return false;
     if (soLinger != that.soLinger) return false;
     if (ssl != that.ssl) return false;
     if (tcpKeepAlive != that.tcpKeepAlive) return false;
+    if (tcpCork != that.tcpCork) return false;
     if (tcpNoDelay != that.tcpNoDelay) return false;
     if (trafficClass != that.trafficClass) return false;
     if (trustAll != that.trustAll) return false;
@@ -495,6 +606,8 @@ public class HttpClientOptionsImpl implements HttpClientOptions {
     if (crlValues != null ? !crlValues.equals(that.crlValues) : that.crlValues != null) return false;
     if (enabledCipherSuites != null ? !enabledCipherSuites.equals(that.enabledCipherSuites) : that.enabledCipherSuites != null)
       return false;
+    if (sslSessionCacheSize != that.sslSessionCacheSize) return false;
+    if (sslSessionTimeout != that.sslSessionTimeout) return false;
     if (keyStore != null ? !keyStore.equals(that.keyStore) : that.keyStore != null) return false;
     if (trustStore != null ? !trustStore.equals(that.trustStore) : that.trustStore != null) return false;
 
@@ -509,6 +622,7 @@ public class HttpClientOptionsImpl implements HttpClientOptions {
     result = 31 * result + trafficClass;
     result = 31 * result + (tcpNoDelay ? 1 : 0);
     result = 31 * result + (tcpKeepAlive ? 1 : 0);
+    result = 31 * result + (tcpCork ? 1 : 0);
     result = 31 * result + soLinger;
     result = 31 * result + (usePooledBuffers ? 1 : 0);
     result = 31 * result + idleTimeout;
@@ -516,6 +630,8 @@ public class HttpClientOptionsImpl implements HttpClientOptions {
     result = 31 * result + (keyStore != null ? keyStore.hashCode() : 0);
     result = 31 * result + (trustStore != null ? trustStore.hashCode() : 0);
     result = 31 * result + (enabledCipherSuites != null ? enabledCipherSuites.hashCode() : 0);
+    result = 31 * result + sslSessionCacheSize;
+    result = 31 * result + sslSessionTimeout;
     result = 31 * result + connectTimeout;
     result = 31 * result + (trustAll ? 1 : 0);
     result = 31 * result + (crlPaths != null ? crlPaths.hashCode() : 0);
@@ -524,6 +640,9 @@ public class HttpClientOptionsImpl implements HttpClientOptions {
     result = 31 * result + maxPoolSize;
     result = 31 * result + (keepAlive ? 1 : 0);
     result = 31 * result + (pipelining ? 1 : 0);
+    result = 31 * result + pipeliningLimit;
+    result = 31 * result + maxIdlePoolSize;
+    result = 31 * result + keepAliveTimeout;
     result = 31 * result + (tryUseCompression ? 1 : 0);
     return result;
   }
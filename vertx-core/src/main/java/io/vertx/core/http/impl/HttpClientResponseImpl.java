@@ -231,7 +231,8 @@ public class HttpClientResponseImpl implements HttpClientResponse  {
 
     private Buffer body() {
       if (body == null) {
-        body = Buffer.buffer();
+        // Each chunk is a buffer of its own, link them rather than copying
+        body = Buffer.compositeBuffer();
       }
       return body;
     }
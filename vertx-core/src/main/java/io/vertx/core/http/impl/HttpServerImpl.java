@@ -25,11 +25,11 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoop;
 import io.netty.channel.FixedRecvByteBufAllocator;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.ChannelGroupFuture;
 import io.netty.channel.group.DefaultChannelGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.FullHttpRequest;
@@ -65,6 +65,7 @@ import io.vertx.core.impl.ContextImpl;
 import io.vertx.core.impl.VertxInternal;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.impl.LoggerFactory;
+import io.vertx.core.net.impl.EventLoopListeners;
 import io.vertx.core.net.impl.HandlerHolder;
 import io.vertx.core.net.impl.HandlerManager;
 import io.vertx.core.net.impl.KeyStoreHelper;
@@ -105,6 +106,7 @@ public class HttpServerImpl implements HttpServer, Closeable {
   private final ContextImpl creatingContext;
   private final Map<Channel, ServerConnection> connectionMap = new ConcurrentHashMap<>();
   private final VertxEventLoopGroup availableWorkers = new VertxEventLoopGroup();
+  private final StaticFileCache fileCache;
   private Handler<HttpServerRequest> requestHandler;
   private Handler<ServerWebSocket> wsHandler;
   private ChannelGroup serverChannelGroup;
@@ -112,6 +114,7 @@ public class HttpServerImpl implements HttpServer, Closeable {
   private String serverOrigin;
   private Set<String> webSocketSubProtocols = Collections.unmodifiableSet(Collections.<String>emptySet());
   private ChannelFuture bindFuture;
+  private EventLoopListeners eventLoopListeners;
   private ServerID id;
   private HttpServerImpl actualServer;
   private HandlerManager<HttpServerRequest> reqHandlerManager = new HandlerManager<>(availableWorkers);
@@ -129,6 +132,7 @@ public class HttpServerImpl implements HttpServer, Closeable {
       creatingContext.addCloseHook(this);
     }
     this.sslHelper = new SSLHelper(options, KeyStoreHelper.create(vertx, options.getKeyStoreOptions()), KeyStoreHelper.create(vertx, options.getTrustStoreOptions()));
+    this.fileCache = new StaticFileCache(options);
   }
 
   @Override
@@ -174,6 +178,7 @@ public class HttpServerImpl implements HttpServer, Closeable {
     listening = true;
 
     synchronized (vertx.sharedHttpServers()) {
+      io.netty.util.concurrent.Future<Void> eventLoopBound = null;
       id = new ServerID(options.getPort(), options.getHost());
 
       serverOrigin = (options.isSsl() ? "https" : "http") + "://" + options.getHost() + ":" + options.getPort();
@@ -181,9 +186,12 @@ public class HttpServerImpl implements HttpServer, Closeable {
       HttpServerImpl shared = vertx.sharedHttpServers().get(id);
       if (shared == null) {
         serverChannelGroup = new DefaultChannelGroup("vertx-acceptor-channels", GlobalEventExecutor.INSTANCE);
+        boolean reusePort = EventLoopListeners.isEnabled(options, vertx.transport());
         ServerBootstrap bootstrap = new ServerBootstrap();
-        bootstrap.group(availableWorkers);
-        bootstrap.channel(NioServerSocketChannel.class);
+        if (!reusePort) {
+          bootstrap.group(availableWorkers);
+        }
+        bootstrap.channel(vertx.transport().serverSocketChannelType());
         applyConnectionOptions(bootstrap);
         sslHelper.checkSSL(vertx);
         bootstrap.childHandler(new ChannelInitializer<Channel>() {
@@ -207,7 +215,7 @@ public class HttpServerImpl implements HttpServer, Closeable {
                     break;
                   }
                 }
-                pipeline.addLast("ssl", new SslHandler(engine));
+                pipeline.addLast("ssl", sslHelper.trackHandshake(engine));
               }
               pipeline.addLast("flashpolicy", new FlashPolicyHandler());
               pipeline.addLast("httpDecoder", new HttpRequestDecoder(4096, 8192, 8192, false));
@@ -228,7 +236,14 @@ public class HttpServerImpl implements HttpServer, Closeable {
 
         addHandlers(this, listenContext);
         try {
-          bindFuture = bootstrap.bind(new InetSocketAddress(InetAddress.getByName(options.getHost()), options.getPort()));
+          InetSocketAddress addr = new InetSocketAddress(InetAddress.getByName(options.getHost()), options.getPort());
+          if (reusePort) {
+            vertx.transport().setReusePort(bootstrap);
+            eventLoopListeners = new EventLoopListeners(bootstrap, serverChannelGroup);
+            bindFuture = eventLoopListeners.bindFirst(listenContext.getEventLoop(), addr);
+          } else {
+            bindFuture = bootstrap.bind(addr);
+          }
           Channel serverChannel = bindFuture.channel();
           serverChannelGroup.add(serverChannel);
           bindFuture.addListener(new ChannelFutureListener() {
@@ -256,8 +271,11 @@ public class HttpServerImpl implements HttpServer, Closeable {
         // Server already exists with that host/port - we will use that
         actualServer = shared;
         addHandlers(actualServer, listenContext);
+        if (actualServer.eventLoopListeners != null) {
+          eventLoopBound = actualServer.eventLoopListeners.add(listenContext.getEventLoop());
+        }
       }
-      actualServer.bindFuture.addListener(new ChannelFutureListener() {
+      ChannelFutureListener notifier = new ChannelFutureListener() {
         @Override
         public void operationComplete(final ChannelFuture future) throws Exception {
           if (listenHandler != null) {
@@ -275,7 +293,14 @@ public class HttpServerImpl implements HttpServer, Closeable {
             log.error(future.cause());
           }
         }
-      });
+      };
+      ChannelFuture actualBindFuture = actualServer.bindFuture;
+      if (eventLoopBound != null) {
+        // Also wait for the socket of this event loop so it's accepting by the time the handler is called
+        eventLoopBound.addListener(future -> actualBindFuture.addListener(notifier));
+      } else {
+        actualBindFuture.addListener(notifier);
+      }
     }
     return this;
   }
@@ -307,6 +332,11 @@ public class HttpServerImpl implements HttpServer, Closeable {
 
         if (actualServer.reqHandlerManager.hasHandlers() || actualServer.wsHandlerManager.hasHandlers()) {
           // The actual server still has handlers so we don't actually close it
+          EventLoop eventLoop = listenContext.getEventLoop();
+          if (actualServer.eventLoopListeners != null && !actualServer.reqHandlerManager.hasHandlers(eventLoop) &&
+              !actualServer.wsHandlerManager.hasHandlers(eventLoop)) {
+            actualServer.eventLoopListeners.remove(eventLoop);
+          }
           if (done != null) {
             executeCloseDone(context, done, null);
           }
@@ -325,10 +355,26 @@ public class HttpServerImpl implements HttpServer, Closeable {
     }
   }
 
+  /**
+   * @return the number of open connections of the server on each event loop
+   */
+  public Map<EventLoop, Integer> connectionCounts() {
+    HttpServerImpl server = actualServer != null ? actualServer : this;
+    return EventLoopListeners.countByEventLoop(server.connectionMap.keySet());
+  }
+
   SSLHelper getSslHelper() {
     return sslHelper;
   }
 
+  HttpServerOptions getOptions() {
+    return options;
+  }
+
+  StaticFileCache getFileCache() {
+    return fileCache;
+  }
+
   void removeChannel(Channel channel) {
     connectionMap.remove(channel);
   }
@@ -352,6 +398,7 @@ public class HttpServerImpl implements HttpServer, Closeable {
     bootstrap.childOption(ChannelOption.SO_KEEPALIVE, options.isTcpKeepAlive());
     bootstrap.option(ChannelOption.SO_REUSEADDR, options.isReuseAddress());
     bootstrap.option(ChannelOption.SO_BACKLOG, options.getAcceptBacklog());
+    vertx.transport().configure(options, bootstrap);
   }
 
 
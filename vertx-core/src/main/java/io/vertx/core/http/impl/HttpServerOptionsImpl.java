@@ -57,6 +57,7 @@ public class HttpServerOptionsImpl implements HttpServerOptions {
 
   private boolean tcpNoDelay = DEFAULT_TCPNODELAY;
   private boolean tcpKeepAlive = DEFAULT_TCPKEEPALIVE;
+  private boolean tcpCork;
   private int soLinger = DEFAULT_SOLINGER;
   private boolean usePooledBuffers;
   private int idleTimeout;
@@ -67,6 +68,10 @@ public class HttpServerOptionsImpl implements HttpServerOptions {
   private KeyStoreOptions keyStore;
   private TrustStoreOptions trustStore;
   private Set<String> enabledCipherSuites = new HashSet<>();
+  private static final int DEFAULT_SSLSESSIONCACHESIZE = -1;
+  private static final int DEFAULT_SSLSESSIONTIMEOUT = -1;
+  private int sslSessionCacheSize = DEFAULT_SSLSESSIONCACHESIZE;
+  private int sslSessionTimeout = DEFAULT_SSLSESSIONTIMEOUT;
 
   // Server specific HTTP stuff
 
@@ -85,12 +90,26 @@ public class HttpServerOptionsImpl implements HttpServerOptions {
   // Server specific HTTP stuff
 
   private static final int DEFAULT_MAXWEBSOCKETFRAMESIZE = 65536;
+  private static final boolean DEFAULT_REUSEPORT = false;
+  private static final boolean DEFAULT_PIPELINING = false;
+  private static final int DEFAULT_MAXPIPELINEDREQUESTS = 5;
+  private static final int DEFAULT_MAXPIPELINEDBYTES = 65536;
+  private static final int DEFAULT_FILECACHETTL = 0;
+  private static final int DEFAULT_FILECACHEMAXENTRIES = 1024;
+  private static final int DEFAULT_MAXCACHEDFILESIZE = 65536;
   private static final int DEFAULT_PORT = 80;  // Default port is 80 for HTTP not 0 from NetServerOptions
 
   private boolean compressionSupported;
   private int maxWebsocketFrameSize;
   private Set<String> websocketSubProtocols = new HashSet<>();
   private int port;
+  private boolean reusePort = DEFAULT_REUSEPORT;
+  private boolean pipelining = DEFAULT_PIPELINING;
+  private int maxPipelinedRequests = DEFAULT_MAXPIPELINEDREQUESTS;
+  private int maxPipelinedBytes = DEFAULT_MAXPIPELINEDBYTES;
+  private int fileCacheTtl = DEFAULT_FILECACHETTL;
+  private int fileCacheMaxEntries = DEFAULT_FILECACHEMAXENTRIES;
+  private int maxCachedFileSize = DEFAULT_MAXCACHEDFILESIZE;
 
   HttpServerOptionsImpl(HttpServerOptions other) {
     this.sendBufferSize = other.getSendBufferSize();
@@ -99,6 +118,7 @@ public class HttpServerOptionsImpl implements HttpServerOptions {
     this.trafficClass = other.getTrafficClass();
     this.tcpNoDelay = other.isTcpNoDelay();
     this.tcpKeepAlive = other.isTcpKeepAlive();
+    this.tcpCork = other.isTcpCork();
     this.soLinger = other.getSoLinger();
     this.usePooledBuffers = other.isUsePooledBuffers();
     this.idleTimeout = other.getIdleTimeout();
@@ -106,6 +126,8 @@ public class HttpServerOptionsImpl implements HttpServerOptions {
     this.keyStore = other.getKeyStoreOptions() != null ? other.getKeyStoreOptions().clone() : null;
     this.trustStore = other.getTrustStoreOptions() != null ? other.getTrustStoreOptions().clone() : null;
     this.enabledCipherSuites = other.getEnabledCipherSuites() == null ? null : new HashSet<>(other.getEnabledCipherSuites());
+    this.sslSessionCacheSize = other.getSslSessionCacheSize();
+    this.sslSessionTimeout = other.getSslSessionTimeout();
     this.port = other.getPort();
     this.host = other.getHost();
     this.acceptBacklog = other.getAcceptBacklog();
@@ -115,6 +137,13 @@ public class HttpServerOptionsImpl implements HttpServerOptions {
     this.maxWebsocketFrameSize = other.getMaxWebsocketFrameSize();
     this.websocketSubProtocols = other.getWebsocketSubProtocols() != null ? new HashSet<>(other.getWebsocketSubProtocols()) : null;
     this.port = other.getPort();
+    this.reusePort = other.isReusePort();
+    this.pipelining = other.isPipelining();
+    this.maxPipelinedRequests = other.getMaxPipelinedRequests();
+    this.maxPipelinedBytes = other.getMaxPipelinedBytes();
+    this.fileCacheTtl = other.getFileCacheTtl();
+    this.fileCacheMaxEntries = other.getFileCacheMaxEntries();
+    this.maxCachedFileSize = other.getMaxCachedFileSize();
   }
 
   HttpServerOptionsImpl(JsonObject json) {
@@ -124,6 +153,7 @@ public class HttpServerOptionsImpl implements HttpServerOptions {
     this.trafficClass = json.getInteger("trafficClass", DEFAULT_TRAFFICCLASS);
     this.tcpNoDelay = json.getBoolean("tcpNoDelay", DEFAULT_TCPNODELAY);
     this.tcpKeepAlive = json.getBoolean("tcpKeepAlive", DEFAULT_TCPKEEPALIVE);
+    this.tcpCork = json.getBoolean("tcpCork", false);
     this.soLinger = json.getInteger("soLinger", DEFAULT_SOLINGER);
     this.usePooledBuffers = json.getBoolean("usePooledBuffers", false);
     this.idleTimeout = json.getInteger("idleTimeout", 0);
@@ -164,6 +194,8 @@ public class HttpServerOptionsImpl implements HttpServerOptions {
     }
     JsonArray arr = json.getArray("enabledCipherSuites");
     this.enabledCipherSuites = arr == null ? null : new HashSet<String>(arr.toList());
+    this.sslSessionCacheSize = json.getInteger("sslSessionCacheSize", DEFAULT_SSLSESSIONCACHESIZE);
+    this.sslSessionTimeout = json.getInteger("sslSessionTimeout", DEFAULT_SSLSESSIONTIMEOUT);
     this.port = json.getInteger("port", DEFAULT_PORT);
     this.host = json.getString("host", DEFAULT_HOST);
     this.acceptBacklog = json.getInteger("acceptBacklog", DEFAULT_ACCEPT_BACKLOG);
@@ -182,6 +214,13 @@ public class HttpServerOptionsImpl implements HttpServerOptions {
       websocketSubProtocols.addAll(arr.toList());
     }
     this.port = json.getInteger("port", DEFAULT_PORT);
+    this.reusePort = json.getBoolean("reusePort", DEFAULT_REUSEPORT);
+    this.pipelining = json.getBoolean("pipelining", DEFAULT_PIPELINING);
+    this.maxPipelinedRequests = json.getInteger("maxPipelinedRequests", DEFAULT_MAXPIPELINEDREQUESTS);
+    this.maxPipelinedBytes = json.getInteger("maxPipelinedBytes", DEFAULT_MAXPIPELINEDBYTES);
+    this.fileCacheTtl = json.getInteger("fileCacheTtl", DEFAULT_FILECACHETTL);
+    this.fileCacheMaxEntries = json.getInteger("fileCacheMaxEntries", DEFAULT_FILECACHEMAXENTRIES);
+    this.maxCachedFileSize = json.getInteger("maxCachedFileSize", DEFAULT_MAXCACHEDFILESIZE);
   }
 
   HttpServerOptionsImpl() {
@@ -276,6 +315,17 @@ public class HttpServerOptionsImpl implements HttpServerOptions {
     return this;
   }
 
+  @Override
+  public boolean isTcpCork() {
+    return tcpCork;
+  }
+
+  @Override
+  public HttpServerOptions setTcpCork(boolean tcpCork) {
+    this.tcpCork = tcpCork;
+    return this;
+  }
+
   @Override
   public int getSoLinger() {
     return soLinger;
@@ -359,6 +409,34 @@ public class HttpServerOptionsImpl implements HttpServerOptions {
     return enabledCipherSuites;
   }
 
+  @Override
+  public int getSslSessionCacheSize() {
+    return sslSessionCacheSize;
+  }
+
+  @Override
+  public HttpServerOptions setSslSessionCacheSize(int sslSessionCacheSize) {
+    if (sslSessionCacheSize < 0) {
+      throw new IllegalArgumentException("sslSessionCacheSize must be >= 0");
+    }
+    this.sslSessionCacheSize = sslSessionCacheSize;
+    return this;
+  }
+
+  @Override
+  public int getSslSessionTimeout() {
+    return sslSessionTimeout;
+  }
+
+  @Override
+  public HttpServerOptions setSslSessionTimeout(int sslSessionTimeout) {
+    if (sslSessionTimeout < 0) {
+      throw new IllegalArgumentException("sslSessionTimeout must be >= 0");
+    }
+    this.sslSessionTimeout = sslSessionTimeout;
+    return this;
+  }
+
 
   @Override
   public boolean isClientAuthRequired() {
@@ -468,6 +546,98 @@ public class HttpServerOptionsImpl implements HttpServerOptions {
     return websocketSubProtocols;
   }
 
+  @Override
+  public boolean isReusePort() {
+    return reusePort;
+  }
+
+  @Override
+  public HttpServerOptions setReusePort(boolean reusePort) {
+    this.reusePort = reusePort;
+    return this;
+  }
+
+  @Override
+  public boolean isPipelining() {
+    return pipelining;
+  }
+
+  @Override
+  public HttpServerOptions setPipelining(boolean pipelining) {
+    this.pipelining = pipelining;
+    return this;
+  }
+
+  @Override
+  public int getMaxPipelinedRequests() {
+    return maxPipelinedRequests;
+  }
+
+  @Override
+  public HttpServerOptions setMaxPipelinedRequests(int maxPipelinedRequests) {
+    if (maxPipelinedRequests < 1) {
+      throw new IllegalArgumentException("maxPipelinedRequests must be >= 1");
+    }
+    this.maxPipelinedRequests = maxPipelinedRequests;
+    return this;
+  }
+
+  @Override
+  public int getMaxPipelinedBytes() {
+    return maxPipelinedBytes;
+  }
+
+  @Override
+  public HttpServerOptions setMaxPipelinedBytes(int maxPipelinedBytes) {
+    if (maxPipelinedBytes < 1) {
+      throw new IllegalArgumentException("maxPipelinedBytes must be >= 1");
+    }
+    this.maxPipelinedBytes = maxPipelinedBytes;
+    return this;
+  }
+
+  @Override
+  public int getFileCacheTtl() {
+    return fileCacheTtl;
+  }
+
+  @Override
+  public HttpServerOptions setFileCacheTtl(int fileCacheTtl) {
+    if (fileCacheTtl < 0) {
+      throw new IllegalArgumentException("fileCacheTtl must be >= 0");
+    }
+    this.fileCacheTtl = fileCacheTtl;
+    return this;
+  }
+
+  @Override
+  public int getFileCacheMaxEntries() {
+    return fileCacheMaxEntries;
+  }
+
+  @Override
+  public HttpServerOptions setFileCacheMaxEntries(int fileCacheMaxEntries) {
+    if (fileCacheMaxEntries < 1) {
+      throw new IllegalArgumentException("fileCacheMaxEntries must be >= 1");
+    }
+    this.fileCacheMaxEntries = fileCacheMaxEntries;
+    return this;
+  }
+
+  @Override
+  public int getMaxCachedFileSize() {
+    return maxCachedFileSize;
+  }
+
+  @Override
+  public HttpServerOptions setMaxCachedFileSize(int maxCachedFileSize) {
+    if (maxCachedFileSize < 0) {
+      throw new IllegalArgumentException("maxCachedFileSize must be >= 0");
+    }
+    this.maxCachedFileSize = maxCachedFileSize;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -487,6 +657,7 @@ public class HttpServerOptionsImpl implements HttpServerOptions {
     if (soLinger != that.soLinger) return false;
     if (ssl != that.ssl) return false;
     if (tcpKeepAlive != that.tcpKeepAlive) return false;
+    if (tcpCork != that.tcpCork) return false;
     if (tcpNoDelay != that.tcpNoDelay) return false;
     if (trafficClass != that.trafficClass) return false;
     if (usePooledBuffers != that.usePooledBuffers) return false;
@@ -494,11 +665,20 @@ public class HttpServerOptionsImpl implements HttpServerOptions {
     if (crlValues != null ? !crlValues.equals(that.crlValues) : that.crlValues != null) return false;
     if (enabledCipherSuites != null ? !enabledCipherSuites.equals(that.enabledCipherSuites) : that.enabledCipherSuites != null)
       return false;
+    if (sslSessionCacheSize != that.sslSessionCacheSize) return false;
+    if (sslSessionTimeout != that.sslSessionTimeout) return false;
     if (host != null ? !host.equals(that.host) : that.host != null) return false;
     if (keyStore != null ? !keyStore.equals(that.keyStore) : that.keyStore != null) return false;
     if (trustStore != null ? !trustStore.equals(that.trustStore) : that.trustStore != null) return false;
     if (websocketSubProtocols != null ? !websocketSubProtocols.equals(that.websocketSubProtocols) : that.websocketSubProtocols != null)
       return false;
+    if (reusePort != that.reusePort) return false;
+    if (pipelining != that.pipelining) return false;
+    if (maxPipelinedRequests != that.maxPipelinedRequests) return false;
+    if (maxPipelinedBytes != that.maxPipelinedBytes) return false;
+    if (fileCacheTtl != that.fileCacheTtl) return false;
+    if (fileCacheMaxEntries != that.fileCacheMaxEntries) return false;
+    if (maxCachedFileSize != that.maxCachedFileSize) return false;
 
     return true;
   }
@@ -511,6 +691,7 @@ public class HttpServerOptionsImpl implements HttpServerOptions {
     result = 31 * result + trafficClass;
     result = 31 * result + (tcpNoDelay ? 1 : 0);
     result = 31 * result + (tcpKeepAlive ? 1 : 0);
+    result = 31 * result + (tcpCork ? 1 : 0);
     result = 31 * result + soLinger;
     result = 31 * result + (usePooledBuffers ? 1 : 0);
     result = 31 * result + idleTimeout;
@@ -518,6 +699,8 @@ public class HttpServerOptionsImpl implements HttpServerOptions {
     result = 31 * result + (keyStore != null ? keyStore.hashCode() : 0);
     result = 31 * result + (trustStore != null ? trustStore.hashCode() : 0);
     result = 31 * result + (enabledCipherSuites != null ? enabledCipherSuites.hashCode() : 0);
+    result = 31 * result + sslSessionCacheSize;
+    result = 31 * result + sslSessionTimeout;
     result = 31 * result + (host != null ? host.hashCode() : 0);
     result = 31 * result + acceptBacklog;
     result = 31 * result + (clientAuthRequired ? 1 : 0);
@@ -527,6 +710,13 @@ public class HttpServerOptionsImpl implements HttpServerOptions {
     result = 31 * result + maxWebsocketFrameSize;
     result = 31 * result + (websocketSubProtocols != null ? websocketSubProtocols.hashCode() : 0);
     result = 31 * result + port;
+    result = 31 * result + (reusePort ? 1 : 0);
+    result = 31 * result + (pipelining ? 1 : 0);
+    result = 31 * result + maxPipelinedRequests;
+    result = 31 * result + maxPipelinedBytes;
+    result = 31 * result + fileCacheTtl;
+    result = 31 * result + fileCacheMaxEntries;
+    result = 31 * result + maxCachedFileSize;
     return result;
   }
 }
@@ -228,7 +228,8 @@ public class HttpServerRequestImpl implements HttpServerRequest {
 
   @Override
   public HttpServerRequest bodyHandler(final Handler<Buffer> bodyHandler) {
-    final Buffer body = Buffer.buffer();
+    // Each chunk is a buffer of its own, link them rather than copying
+    final Buffer body = Buffer.compositeBuffer();
     dataHandler(body::appendBuffer);
     endHandler(v -> bodyHandler.handle(body));
     return this;
@@ -17,9 +17,11 @@
 package io.vertx.core.http.impl;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.http.DefaultHttpContent;
 import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.DefaultLastHttpContent;
@@ -29,17 +31,28 @@ import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Headers;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.FileSystemException;
 import io.vertx.core.file.impl.PathAdjuster;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.impl.StaticFileCache.StaticFile;
 import io.vertx.core.impl.VertxInternal;
 
-import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.ClosedChannelException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.ArrayDeque;
 
 /**
  *
@@ -49,14 +62,19 @@ public class HttpServerResponseImpl implements HttpServerResponse {
 
   private static final Buffer NOT_FOUND = Buffer.buffer("<html><body>Resource not found</body><html>");
   private static final Buffer FORBIDDEN = Buffer.buffer("<html><body>Forbidden</body><html>");
+  private static final CharSequence BYTES = HttpHeaders.createOptimized("bytes");
+  static final long[] UNSATISFIABLE_RANGE = new long[0];
 
   private final VertxInternal vertx;
   private final ServerConnection conn;
+  private final HttpRequest request;
   private final HttpResponse response;
   private final HttpVersion version;
   private final boolean keepAlive;
   private boolean headWritten;
   private boolean written;
+  // Set while the file to send is stat'ed and opened, the response is as good as written
+  private boolean loadingFile;
   private Handler<Void> drainHandler;
   private Handler<Throwable> exceptionHandler;
   private Handler<Void> closeHandler;
@@ -67,10 +85,13 @@ public class HttpServerResponseImpl implements HttpServerResponse {
   private LastHttpContent trailing;
   private Headers trailers;
   private String statusMessage;
+  // The writes held while an earlier pipelined response on the connection is in progress
+  private ArrayDeque<HeldWrite> heldWrites;
 
   HttpServerResponseImpl(final VertxInternal vertx, ServerConnection conn, HttpRequest request) {
   	this.vertx = vertx;
   	this.conn = conn;
+    this.request = request;
     this.version = request.getProtocolVersion();
     this.response = new DefaultHttpResponse(version, HttpResponseStatus.OK, false);
     this.keepAlive = version == HttpVersion.HTTP_1_1 ||
@@ -201,7 +222,7 @@ public class HttpServerResponseImpl implements HttpServerResponse {
   @Override
   public boolean writeQueueFull() {
     checkWritten();
-    return conn.isNotWritable();
+    return conn.isNotWritable() || (heldWrites != null && conn.isHoldingTooMuch());
   }
 
   @Override
@@ -291,14 +312,14 @@ public class HttpServerResponseImpl implements HttpServerResponse {
       }  else {
         resp = new AssembledFullHttpResponse(response, data);
       }
-      channelFuture = conn.write(resp);
+      channelFuture = send(resp);
       headWritten = true;
     } else {
       if (!data.isReadable()) {
         if (trailing == null) {
-          channelFuture = conn.write(LastHttpContent.EMPTY_LAST_CONTENT);
+          channelFuture = send(LastHttpContent.EMPTY_LAST_CONTENT);
         } else {
-          channelFuture = conn.write(trailing);
+          channelFuture = send(trailing);
         }
       } else {
         LastHttpContent content;
@@ -307,7 +328,7 @@ public class HttpServerResponseImpl implements HttpServerResponse {
         } else {
           content = new DefaultLastHttpContent(data, false);
         }
-        channelFuture = conn.write(content);
+        channelFuture = send(content);
       }
     }
 
@@ -315,7 +336,7 @@ public class HttpServerResponseImpl implements HttpServerResponse {
       closeConnAfterWrite();
     }
     written = true;
-    conn.responseComplete();
+    conn.responseComplete(this);
   }
 
   @Override
@@ -340,65 +361,258 @@ public class HttpServerResponseImpl implements HttpServerResponse {
       throw new IllegalStateException("Head already written");
     }
     checkWritten();
-    File file = new File(PathAdjuster.adjust(vertx, filename));
-    if (!file.exists()) {
+    Path path = Paths.get(PathAdjuster.adjust(vertx, filename));
+    StaticFileCache cache = conn.getFileCache();
+    StaticFile cached = cache.get(path);
+    if (cached != null && (cached.content != null || !cached.isFile())) {
+      // Nothing to open, it can be sent right away
+      sendStaticFile(cached, null, notFoundResource, resultHandler);
+      return;
+    }
+    // Stat'ing and opening the file block, so it's done off the event loop, the response can't be written meanwhile.
+    // Files are independent of each other, so they're loaded on the worker pool rather than one at a time
+    loadingFile = true;
+    conn.getContext().executeBlockingUnordered(() -> {
+      try {
+        StaticFile file = cached != null ? cached : cache.load(path, filename);
+        RandomAccessFile raf = null;
+        if (file.isFile() && file.content == null) {
+          try {
+            raf = new RandomAccessFile(file.path.toFile(), "r");
+          } catch (FileNotFoundException e) {
+            // It was removed since it was stat'ed
+            cache.invalidate(path);
+            file = new StaticFile(path, filename, false, false, 0, 0, null, 0);
+          }
+        }
+        return new OpenFile(file, raf);
+      } catch (IOException e) {
+        throw new FileSystemException(e);
+      }
+    }, ar -> {
+      loadingFile = false;
+      if (conn.isClosed()) {
+        // The client went away while the file was loading
+        if (ar.succeeded()) {
+          closeQuietly(ar.result().raf);
+        }
+        if (resultHandler != null) {
+          resultHandler.handle(Future.completedFuture(new ClosedChannelException()));
+        }
+      } else if (ar.succeeded()) {
+        sendStaticFile(ar.result().file, ar.result().raf, notFoundResource, resultHandler);
+      } else {
+        setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code());
+        end();
+        if (resultHandler != null) {
+          resultHandler.handle(Future.completedFuture(ar.cause()));
+        }
+      }
+    });
+  }
+
+  private void sendStaticFile(StaticFile file, RandomAccessFile raf, String notFoundResource,
+                              Handler<AsyncResult<Void>> resultHandler) {
+    if (!file.exists) {
       if (notFoundResource != null) {
         setStatusCode(HttpResponseStatus.NOT_FOUND.code());
-        sendFile(notFoundResource, (String) null, resultHandler);
+        doSendFile(notFoundResource, null, resultHandler);
       } else {
         sendNotFound();
       }
-    } else if (file.isDirectory()) {
+      return;
+    } else if (file.directory) {
       // send over a 403 Forbidden
       sendForbidden();
-    } else {
-      if (!contentLengthSet()) {
-        putHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(file.length()));
+      return;
+    }
+    long offset = 0;
+    long length = file.length;
+    boolean partial = false;
+    // Conditional and range requests are about the file itself, not about a not found page
+    if (getStatusCode() == HttpResponseStatus.OK.code()) {
+      if (!response.headers().contains(HttpHeaders.ETAG)) {
+        response.headers().set(HttpHeaders.ETAG, file.etag);
       }
-      if (!contentTypeSet()) {
-        int li = filename.lastIndexOf('.');
-        if (li != -1 && li != filename.length() - 1) {
-          String ext = filename.substring(li + 1, filename.length());
-          String contentType = MimeMapping.getMimeTypeForExtension(ext);
-          if (contentType != null) {
-            putHeader(HttpHeaders.CONTENT_TYPE, contentType);
-          }
+      if (!response.headers().contains(HttpHeaders.LAST_MODIFIED)) {
+        response.headers().set(HttpHeaders.LAST_MODIFIED, file.lastModifiedHeader);
+      }
+      if (isNotModified(file)) {
+        closeQuietly(raf);
+        setStatusCode(HttpResponseStatus.NOT_MODIFIED.code());
+        end();
+        addResultHandler(resultHandler);
+        return;
+      }
+      response.headers().set(HttpHeaders.ACCEPT_RANGES, BYTES);
+      String range = request.headers().get(HttpHeaders.RANGE);
+      if (range != null && ifRangeMatches(file)) {
+        long[] bounds = parseRange(range, file.length);
+        if (bounds == UNSATISFIABLE_RANGE) {
+          closeQuietly(raf);
+          setStatusCode(HttpResponseStatus.REQUESTED_RANGE_NOT_SATISFIABLE.code());
+          response.headers().set(HttpHeaders.CONTENT_RANGE, "bytes */" + file.length);
+          end();
+          addResultHandler(resultHandler);
+          return;
+        } else if (bounds != null) {
+          offset = bounds[0];
+          length = bounds[1] - bounds[0] + 1;
+          partial = true;
+          setStatusCode(HttpResponseStatus.PARTIAL_CONTENT.code());
+          response.headers().set(HttpHeaders.CONTENT_RANGE, "bytes " + bounds[0] + "-" + bounds[1] + "/" + file.length);
         }
       }
-      prepareHeaders();
+    }
+    if (partial || !contentLengthSet()) {
+      putHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(length));
+    }
+    if (!contentTypeSet() && file.contentType != null) {
+      putHeader(HttpHeaders.CONTENT_TYPE, file.contentType);
+    }
+
+    if (file.content != null) {
+      // Cached in memory, it goes out in a single message
+      end0(file.content.slice((int) offset, (int) length));
+      addResultHandler(resultHandler);
+      return;
+    }
+
+    prepareHeaders();
+    if (heldWrites != null) {
+      hold(response);
+      hold(new FileRange(raf, offset, length));
+    } else {
       conn.queueForWrite(response);
-      conn.sendFile(file);
-
-      // write an empty last content to let the http encoder know the response is complete
-      channelFuture = conn.write(LastHttpContent.EMPTY_LAST_CONTENT);
-      headWritten = written = true;
-
-      if (resultHandler != null) {
-        channelFuture.addListener(new ChannelFutureListener() {
-          public void operationComplete(ChannelFuture future) throws Exception {
-            final AsyncResult<Void> res;
-            if (future.isSuccess()) {
-              res = Future.completedFuture();
-            } else {
-              res = Future.completedFuture(future.cause());
-            }
-            vertx.runOnContext(new Handler<Void>() {
-              @Override
-              public void handle(Void v) {
-                resultHandler.handle(res);
-              }
-            });
+      conn.sendFile(raf, offset, length);
+    }
+
+    // write an empty last content to let the http encoder know the response is complete
+    channelFuture = send(LastHttpContent.EMPTY_LAST_CONTENT);
+    headWritten = written = true;
+    addResultHandler(resultHandler);
+
+    if (!keepAlive) {
+      closeConnAfterWrite();
+    }
+    conn.responseComplete(this);
+  }
+
+  private void addResultHandler(Handler<AsyncResult<Void>> resultHandler) {
+    if (resultHandler != null && channelFuture == null) {
+      // Nothing was written, the connection is closed
+      vertx.runOnContext(v -> resultHandler.handle(Future.completedFuture(new ClosedChannelException())));
+    } else if (resultHandler != null) {
+      channelFuture.addListener(new ChannelFutureListener() {
+        public void operationComplete(ChannelFuture future) throws Exception {
+          final AsyncResult<Void> res;
+          if (future.isSuccess()) {
+            res = Future.completedFuture();
+          } else {
+            res = Future.completedFuture(future.cause());
           }
-        });
+          vertx.runOnContext(new Handler<Void>() {
+            @Override
+            public void handle(Void v) {
+              resultHandler.handle(res);
+            }
+          });
+        }
+      });
+    }
+  }
+
+  private boolean isNotModified(StaticFile file) {
+    String ifNoneMatch = request.headers().get(HttpHeaders.IF_NONE_MATCH);
+    if (ifNoneMatch != null) {
+      // It takes precedence over If-Modified-Since
+      for (String tag : ifNoneMatch.split(",")) {
+        tag = tag.trim();
+        if (tag.startsWith("W/")) {
+          tag = tag.substring(2);
+        }
+        if (tag.equals("*") || tag.equals(file.etag)) {
+          return true;
+        }
       }
+      return false;
+    }
+    String ifModifiedSince = request.headers().get(HttpHeaders.IF_MODIFIED_SINCE);
+    if (ifModifiedSince != null) {
+      Instant since = parseHttpDate(ifModifiedSince);
+      // The header has a one second precision
+      return since != null && file.lastModified / 1000 <= since.getEpochSecond();
+    }
+    return false;
+  }
 
-      if (!keepAlive) {
-        closeConnAfterWrite();
+  private boolean ifRangeMatches(StaticFile file) {
+    String ifRange = request.headers().get(HttpHeaders.IF_RANGE);
+    return ifRange == null || ifRange.equals(file.etag) || ifRange.equals(file.lastModifiedHeader);
+  }
+
+  /**
+   * Parse a single byte range, several ranges are not supported and the whole file is sent instead, as allowed.
+   *
+   * @return the first and last positions of the range, {@code null} when the header is to be ignored or
+   * {@link #UNSATISFIABLE_RANGE} when the range is out of the file
+   */
+  static long[] parseRange(String header, long length) {
+    if (!header.startsWith("bytes=")) {
+      return null;
+    }
+    String spec = header.substring(6).trim();
+    int dash = spec.indexOf('-');
+    if (dash == -1 || spec.indexOf(',') != -1) {
+      return null;
+    }
+    try {
+      long first;
+      long last;
+      if (dash == 0) {
+        long suffix = Long.parseLong(spec.substring(1).trim());
+        if (suffix < 0) {
+          return null;
+        }
+        if (suffix == 0 || length == 0) {
+          return UNSATISFIABLE_RANGE;
+        }
+        first = Math.max(0, length - suffix);
+        last = length - 1;
+      } else {
+        first = Long.parseLong(spec.substring(0, dash).trim());
+        String end = spec.substring(dash + 1).trim();
+        last = end.isEmpty() ? length - 1 : Long.parseLong(end);
+        if (last < first) {
+          return null;
+        }
+        if (first >= length) {
+          return UNSATISFIABLE_RANGE;
+        }
+        last = Math.min(last, length - 1);
       }
-      conn.responseComplete();
+      return new long[]{first, last};
+    } catch (NumberFormatException e) {
+      return null;
     }
   }
 
+  private static Instant parseHttpDate(String value) {
+    try {
+      return StaticFileCache.HTTP_DATE_FORMAT.parse(value, Instant::from);
+    } catch (DateTimeException e) {
+      return null;
+    }
+  }
+
+  private static void closeQuietly(RandomAccessFile raf) {
+    if (raf != null) {
+      try {
+        raf.close();
+      } catch (IOException ignore) {
+      }
+    }
+  }
 
   private boolean contentLengthSet() {
     if (headers == null) {
@@ -436,6 +650,66 @@ public class HttpServerResponseImpl implements HttpServerResponse {
     writeBufferAndEnd(NOT_FOUND);
   }
 
+  boolean isWritten() {
+    return written;
+  }
+
+  /**
+   * Hold the writes until {@link #release()}, the response is pipelined behind one which isn't entirely written yet.
+   */
+  void hold() {
+    heldWrites = new ArrayDeque<>();
+  }
+
+  /**
+   * Write what was held, the writes which come next go straight to the connection.
+   *
+   * @return the number of bytes which were held
+   */
+  int release() {
+    if (conn.isClosed()) {
+      return discard();
+    }
+    int bytes = 0;
+    if (heldWrites != null) {
+      ArrayDeque<HeldWrite> writes = heldWrites;
+      heldWrites = null;
+      for (HeldWrite write : writes) {
+        bytes += write.size();
+        if (write.msg instanceof FileRange) {
+          FileRange range = (FileRange) write.msg;
+          conn.sendFile(range.raf, range.offset, range.length);
+        } else {
+          conn.write(write.msg, write.promise);
+        }
+      }
+    }
+    return bytes;
+  }
+
+  /**
+   * Drop what was held as it won't be written anymore, the connection is closed.
+   *
+   * @return the number of bytes which were held
+   */
+  int discard() {
+    int bytes = 0;
+    if (heldWrites != null) {
+      for (HeldWrite write : heldWrites) {
+        bytes += write.size();
+        if (write.msg instanceof FileRange) {
+          closeQuietly(((FileRange) write.msg).raf);
+        }
+        ReferenceCountUtil.release(write.msg);
+        if (write.promise != null) {
+          write.promise.tryFailure(new ClosedChannelException());
+        }
+      }
+      heldWrites = null;
+    }
+    return bytes;
+  }
+
   void handleDrained() {
     if (drainHandler != null) {
       drainHandler.handle(null);
@@ -455,7 +729,7 @@ public class HttpServerResponseImpl implements HttpServerResponse {
   }
 
   private void checkWritten() {
-    if (written) {
+    if (written || loadingFile) {
       throw new IllegalStateException("Response has already been written");
     }
   }
@@ -472,6 +746,22 @@ public class HttpServerResponseImpl implements HttpServerResponse {
   }
 
 
+  private ChannelFuture send(Object msg) {
+    if (heldWrites != null) {
+      return hold(msg);
+    }
+    return conn.write(msg);
+  }
+
+  private ChannelPromise hold(Object msg) {
+    // A file is sent when it's released, so there's nothing to complete for it
+    ChannelPromise promise = msg instanceof FileRange ? null : conn.newPromise();
+    HeldWrite write = new HeldWrite(msg, promise);
+    heldWrites.add(write);
+    conn.holdBytes(write.size());
+    return promise;
+  }
+
   private HttpServerResponseImpl write(ByteBuf chunk, final Handler<AsyncResult<Void>> completionHandler) {
     checkWritten();
     if (!headWritten && version != HttpVersion.HTTP_1_0 && !chunked && !contentLengthSet()) {
@@ -481,13 +771,52 @@ public class HttpServerResponseImpl implements HttpServerResponse {
 
     if (!headWritten) {
       prepareHeaders();
-      channelFuture = conn.write(new AssembledHttpResponse(response, chunk));
+      channelFuture = send(new AssembledHttpResponse(response, chunk));
       headWritten = true;
     }  else {
-      channelFuture = conn.write(new DefaultHttpContent(chunk));
+      channelFuture = send(new DefaultHttpContent(chunk));
     }
 
     conn.addFuture(completionHandler, channelFuture);
     return this;
   }
+
+  private static class OpenFile {
+
+    final StaticFile file;
+    final RandomAccessFile raf;
+
+    OpenFile(StaticFile file, RandomAccessFile raf) {
+      this.file = file;
+      this.raf = raf;
+    }
+  }
+
+  private static class FileRange {
+
+    final RandomAccessFile raf;
+    final long offset;
+    final long length;
+
+    FileRange(RandomAccessFile raf, long offset, long length) {
+      this.raf = raf;
+      this.offset = offset;
+      this.length = length;
+    }
+  }
+
+  private static class HeldWrite {
+
+    final Object msg;
+    final ChannelPromise promise;
+
+    HeldWrite(Object msg, ChannelPromise promise) {
+      this.msg = msg;
+      this.promise = promise;
+    }
+
+    int size() {
+      return msg instanceof ByteBufHolder ? ((ByteBufHolder) msg).content().readableBytes() : 0;
+    }
+  }
 }
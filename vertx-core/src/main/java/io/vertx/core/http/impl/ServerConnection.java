@@ -22,6 +22,7 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.LastHttpContent;
@@ -33,6 +34,7 @@ import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.VoidHandler;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.ServerWebSocket;
 import io.vertx.core.http.impl.ws.WebSocketFrameInternal;
@@ -43,9 +45,11 @@ import io.vertx.core.net.impl.ConnectionBase;
 import io.vertx.core.net.impl.NetSocketImpl;
 import io.vertx.core.net.impl.VertxNetHandler;
 
-import java.io.File;
+import java.io.RandomAccessFile;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 
@@ -54,8 +58,6 @@ import java.util.Queue;
  */
 class ServerConnection extends ConnectionBase {
 
-  private static final int CHANNEL_PAUSE_QUEUE_SIZE = 5;
-
   private Handler<HttpServerRequest> requestHandler;
   private Handler<ServerWebSocket> wsHandler;
   private HttpServerRequestImpl currentRequest;
@@ -69,12 +71,23 @@ class ServerConnection extends ConnectionBase {
   private final HttpServerImpl server;
   private final WebSocketServerHandshaker handshaker;
   private ChannelFuture lastWriteFuture;
+  // When pipelining, the responses of the dispatched requests which are not entirely written yet, oldest first. Only
+  // the oldest one writes to the channel, the others hold their writes until it's complete
+  private final boolean pipelining;
+  private final int maxPipelinedRequests;
+  private final int maxPipelinedBytes;
+  private final Queue<HttpServerResponseImpl> responses = new ArrayDeque<>(8);
+  private int heldBytes;
 
   ServerConnection(VertxInternal vertx, HttpServerImpl server, Channel channel, ContextImpl context, String serverOrigin, WebSocketServerHandshaker handshaker) {
     super(vertx, channel, context);
     this.serverOrigin = serverOrigin;
     this.server = server;
     this.handshaker = handshaker;
+    HttpServerOptions options = server.getOptions();
+    this.pipelining = options.isPipelining();
+    this.maxPipelinedRequests = options.getMaxPipelinedRequests();
+    this.maxPipelinedBytes = options.getMaxPipelinedBytes();
   }
 
   public void pause() {
@@ -91,10 +104,10 @@ class ServerConnection extends ConnectionBase {
   }
 
   void handleMessage(Object msg) {
-    if (paused || (pendingResponse != null && msg instanceof HttpRequest) || !pending.isEmpty()) {
+    if (paused || (msg instanceof HttpRequest && !canDispatch()) || !pending.isEmpty()) {
       //We queue requests if paused or a request is in progress to prevent responses being written in the wrong order
       pending.add(msg);
-      if (pending.size() == CHANNEL_PAUSE_QUEUE_SIZE) {
+      if (pending.size() == maxPipelinedRequests) {
         //We pause the channel too, to prevent the queue growing too large, but we don't do this
         //until the queue reaches a certain size, to avoid pausing it too often
         super.doPause();
@@ -105,11 +118,53 @@ class ServerConnection extends ConnectionBase {
     }
   }
 
-  void responseComplete() {
-    pendingResponse = null;
+  void responseComplete(HttpServerResponseImpl resp) {
+    if (pipelining) {
+      if (responses.peek() == resp) {
+        responses.poll();
+        // Write out what the next responses held while waiting for their turn, until one of them isn't complete yet,
+        // from now on that one writes directly
+        HttpServerResponseImpl next;
+        while ((next = responses.peek()) != null) {
+          heldBytes -= next.release();
+          if (!next.isWritten()) {
+            // It might have been told the write queue was full while holding
+            vertx.runOnContext(v -> handleInterestedOpsChanged());
+            break;
+          }
+          responses.poll();
+        }
+      }
+    } else {
+      pendingResponse = null;
+    }
     checkNextTick();
   }
 
+  void holdBytes(int bytes) {
+    heldBytes += bytes;
+  }
+
+  boolean isHoldingTooMuch() {
+    return heldBytes >= maxPipelinedBytes;
+  }
+
+  ChannelPromise newPromise() {
+    return channel.newPromise();
+  }
+
+  boolean isClosed() {
+    return !channel.isOpen();
+  }
+
+  private boolean canDispatch() {
+    if (pipelining) {
+      return responses.size() < maxPipelinedRequests && heldBytes < maxPipelinedBytes;
+    } else {
+      return pendingResponse == null;
+    }
+  }
+
   void requestHandler(Handler<HttpServerRequest> handler) {
     this.requestHandler = handler;
   }
@@ -132,6 +187,11 @@ class ServerConnection extends ConnectionBase {
     return lastWriteFuture = super.write(obj);
   }
 
+  @Override
+  public ChannelFuture write(Object obj, ChannelPromise promise) {
+    return lastWriteFuture = super.write(obj, promise);
+  }
+
   NetSocket createNetSocket() {
     NetSocketImpl socket = new NetSocketImpl(vertx, channel, context, server.getSslHelper(), false);
     Map<Channel, NetSocketImpl> connectionMap = new HashMap<Channel, NetSocketImpl>(1);
@@ -193,7 +253,14 @@ class ServerConnection extends ConnectionBase {
 
   private void handleRequest(HttpServerRequestImpl req, HttpServerResponseImpl resp) {
     this.currentRequest = req;
-    pendingResponse = resp;
+    if (pipelining) {
+      if (!responses.isEmpty()) {
+        resp.hold();
+      }
+      responses.add(resp);
+    } else {
+      pendingResponse = resp;
+    }
     if (requestHandler != null) {
       requestHandler.handle(req);
     }
@@ -211,8 +278,9 @@ class ServerConnection extends ConnectionBase {
   @Override
   public void handleInterestedOpsChanged() {
     if (!isNotWritable()) {
-      if (pendingResponse != null) {
-        pendingResponse.handleDrained();
+      HttpServerResponseImpl resp = pipelining ? responses.peek() : pendingResponse;
+      if (resp != null) {
+        resp.handleDrained();
       } else if (ws != null) {
         ws.writable();
       }
@@ -240,6 +308,12 @@ class ServerConnection extends ConnectionBase {
     if (pendingResponse != null) {
       pendingResponse.handleClosed();
     }
+    List<HttpServerResponseImpl> inFlight = new ArrayList<>(responses);
+    responses.clear();
+    for (HttpServerResponseImpl resp : inFlight) {
+      heldBytes -= resp.discard();
+      resp.handleClosed();
+    }
   }
 
   protected ContextImpl getContext() {
@@ -255,6 +329,9 @@ class ServerConnection extends ConnectionBase {
     if (pendingResponse != null) {
       pendingResponse.handleException(t);
     }
+    for (HttpServerResponseImpl resp : new ArrayList<>(responses)) {
+      resp.handleException(t);
+    }
     if (ws != null) {
       ws.handleException(t);
     }
@@ -269,8 +346,12 @@ class ServerConnection extends ConnectionBase {
     return super.supportsFileRegion() && channel.pipeline().get(HttpChunkContentCompressor.class) == null;
   }
 
-  protected ChannelFuture sendFile(File file) {
-    return super.sendFile(file);
+  protected ChannelFuture sendFile(RandomAccessFile raf, long offset, long length) {
+    return super.sendFile(raf, offset, length);
+  }
+
+  StaticFileCache getFileCache() {
+    return server.getFileCache();
   }
 
   @Override
@@ -316,7 +397,7 @@ class ServerConnection extends ConnectionBase {
 
   private void checkNextTick() {
     // Check if there are more pending messages in the queue that can be processed next time around
-    if (!pending.isEmpty() && !sentCheck && !paused && (pendingResponse == null || pending.peek() instanceof HttpContent)) {
+    if (!pending.isEmpty() && !sentCheck && !paused && (canDispatch() || pending.peek() instanceof HttpContent)) {
       sentCheck = true;
       vertx.runOnContext(new VoidHandler() {
         public void handle() {
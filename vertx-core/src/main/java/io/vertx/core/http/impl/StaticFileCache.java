@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2011-2014 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.core.http.impl;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.http.HttpServerOptions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches what the server needs to know to send a file: whether it exists, its length, its validators and, when it's
+ * small enough, its content. The entries are keyed by the resolved path of the file, so an entry doesn't keep the
+ * context that asked for it, or its class loader, alive.<p>
+ * The entries expire after {@link HttpServerOptions#getFileCacheTtl()}, so a file changed on disk is served fresh at
+ * the latest that long after. Files are stat'ed and read with blocking calls, so {@link #load} must not be called
+ * from an event loop.
+ */
+class StaticFileCache {
+
+  static final DateTimeFormatter HTTP_DATE_FORMAT =
+    DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US).withZone(ZoneOffset.UTC);
+
+  private final long ttl;
+  private final int maxEntries;
+  private final int maxCachedFileSize;
+  private final ConcurrentMap<Path, StaticFile> files = new ConcurrentHashMap<>();
+
+  StaticFileCache(HttpServerOptions options) {
+    this.ttl = TimeUnit.MILLISECONDS.toNanos(options.getFileCacheTtl());
+    this.maxEntries = options.getFileCacheMaxEntries();
+    this.maxCachedFileSize = options.getMaxCachedFileSize();
+  }
+
+  /**
+   * @return the cached file, or {@code null} if it isn't cached or its entry expired
+   */
+  StaticFile get(Path path) {
+    if (ttl == 0) {
+      return null;
+    }
+    StaticFile file = files.get(path);
+    return file != null && file.expires - System.nanoTime() > 0 ? file : null;
+  }
+
+  /**
+   * Stat the file and read it if it's small enough to be kept in memory, then cache it. This blocks.
+   */
+  StaticFile load(Path path, String filename) throws IOException {
+    StaticFile file;
+    try {
+      BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+      ByteBuf content = null;
+      long length = attrs.size();
+      if (ttl != 0 && attrs.isRegularFile() && length <= maxCachedFileSize) {
+        content = Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(Files.readAllBytes(path)));
+        // It might have changed since it was stat'ed
+        length = content.readableBytes();
+      }
+      file = new StaticFile(path, filename, true, attrs.isDirectory(), length, attrs.lastModifiedTime().toMillis(),
+        content, System.nanoTime() + ttl);
+    } catch (NoSuchFileException e) {
+      file = new StaticFile(path, filename, false, false, 0, 0, null, System.nanoTime() + ttl);
+    }
+    if (ttl != 0) {
+      if (files.size() >= maxEntries && !files.containsKey(path)) {
+        long now = System.nanoTime();
+        files.values().removeIf(f -> f.expires - now <= 0);
+      }
+      // Still full of live entries, just don't cache this one
+      if (files.size() < maxEntries || files.containsKey(path)) {
+        files.put(path, file);
+      }
+    }
+    return file;
+  }
+
+  void invalidate(Path path) {
+    files.remove(path);
+  }
+
+  /**
+   * What is known about a file when it was loaded. The header values are computed once for all the responses sending
+   * it.
+   */
+  static class StaticFile {
+
+    final Path path;
+    final boolean exists;
+    final boolean directory;
+    final long length;
+    final long lastModified;
+    final String etag;
+    final String lastModifiedHeader;
+    final String contentType;
+    final ByteBuf content;
+    final long expires;
+
+    StaticFile(Path path, String filename, boolean exists, boolean directory, long length, long lastModified,
+               ByteBuf content, long expires) {
+      this.path = path;
+      this.exists = exists;
+      this.directory = directory;
+      this.length = length;
+      this.lastModified = lastModified;
+      this.content = content;
+      this.expires = expires;
+      if (exists && !directory) {
+        this.etag = "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(length) + "\"";
+        this.lastModifiedHeader = HTTP_DATE_FORMAT.format(Instant.ofEpochMilli(lastModified));
+        int li = filename.lastIndexOf('.');
+        this.contentType = li != -1 && li != filename.length() - 1 ?
+          MimeMapping.getMimeTypeForExtension(filename.substring(li + 1)) : null;
+      } else {
+        this.etag = null;
+        this.lastModifiedHeader = null;
+        this.contentType = null;
+      }
+    }
+
+    boolean isFile() {
+      return exists && !directory;
+    }
+  }
+}
@@ -25,11 +25,12 @@ import io.vertx.core.http.WebSocketBase;
 import io.vertx.core.http.WebSocketFrame;
 import io.vertx.core.http.impl.ws.WebSocketFrameImpl;
 import io.vertx.core.http.impl.ws.WebSocketFrameInternal;
+import io.vertx.core.impl.ContextImpl;
 import io.vertx.core.impl.VertxInternal;
 import io.vertx.core.net.SocketAddress;
 import io.vertx.core.net.impl.ConnectionBase;
 
-import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  *
@@ -37,10 +38,13 @@ import java.util.UUID;
  */
 public abstract class WebSocketImplBase<T> implements WebSocketBase<T> {
 
+  private static final AtomicLong handlerIDs = new AtomicLong();
+
   private final boolean supportsContinuation;
-  private final String textHandlerID;
-  private final String binaryHandlerID;
+  private String textHandlerID;
+  private String binaryHandlerID;
   private final VertxInternal vertx;
+  private final ContextImpl context;
   protected final ConnectionBase conn;
 
   protected Handler<WebSocketFrame> frameHandler;
@@ -49,8 +53,8 @@ public abstract class WebSocketImplBase<T> implements WebSocketBase<T> {
   protected Handler<Throwable> exceptionHandler;
   protected Handler<Void> closeHandler;
   protected Handler<Void> endHandler;
-  protected Registration binaryHandlerRegistration;
-  protected Registration textHandlerRegistration;
+  private Registration binaryHandlerRegistration;
+  private Registration textHandlerRegistration;
   protected boolean closed;
 
   private int maxWebSocketFrameSize = 65536;
@@ -58,20 +62,31 @@ public abstract class WebSocketImplBase<T> implements WebSocketBase<T> {
   protected WebSocketImplBase(VertxInternal vertx, ConnectionBase conn, boolean supportsContinuation) {
     this.supportsContinuation = supportsContinuation;
     this.vertx = vertx;
-    this.textHandlerID = UUID.randomUUID().toString();
-    this.binaryHandlerID = UUID.randomUUID().toString();
+    this.context = vertx.getOrCreateContext();
     this.conn = conn;
-    Handler<Message<Buffer>> binaryHandler = msg -> writeBinaryFrameInternal(msg.body());
-    binaryHandlerRegistration = vertx.eventBus().registerLocalHandler(binaryHandlerID, binaryHandler);
-    Handler<Message<String>> textHandler = msg -> writeTextFrameInternal(msg.body());
-    textHandlerRegistration = vertx.eventBus().registerLocalHandler(textHandlerID, textHandler);
   }
 
-  public String binaryHandlerID() {
+  // The handlers are only registered when their address is asked for, see NetSocketImpl#writeHandlerID
+
+  public synchronized String binaryHandlerID() {
+    if (binaryHandlerID == null) {
+      binaryHandlerID = "__vertx.ws.binary." + handlerIDs.incrementAndGet();
+      if (!closed) {
+        Handler<Message<Buffer>> binaryHandler = msg -> context.runOnContext(v -> writeBinaryFrameInternal(msg.body()));
+        binaryHandlerRegistration = vertx.eventBus().registerLocalHandler(binaryHandlerID, binaryHandler);
+      }
+    }
     return binaryHandlerID;
   }
 
-  public String textHandlerID() {
+  public synchronized String textHandlerID() {
+    if (textHandlerID == null) {
+      textHandlerID = "__vertx.ws.text." + handlerIDs.incrementAndGet();
+      if (!closed) {
+        Handler<Message<String>> textHandler = msg -> context.runOnContext(v -> writeTextFrameInternal(msg.body()));
+        textHandlerRegistration = vertx.eventBus().registerLocalHandler(textHandlerID, textHandler);
+      }
+    }
     return textHandlerID;
   }
 
@@ -138,10 +153,14 @@ public abstract class WebSocketImplBase<T> implements WebSocketBase<T> {
   }
 
 
-  private void cleanupHandlers() {
+  private synchronized void cleanupHandlers() {
     if (!closed) {
-      binaryHandlerRegistration.unregister();
-      textHandlerRegistration.unregister();
+      if (binaryHandlerRegistration != null) {
+        binaryHandlerRegistration.unregister();
+      }
+      if (textHandlerRegistration != null) {
+        textHandlerRegistration.unregister();
+      }
       closed = true;
     }
   }
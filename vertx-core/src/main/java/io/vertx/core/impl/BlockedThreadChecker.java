@@ -19,6 +19,8 @@ package io.vertx.core.impl;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.impl.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Timer;
 import java.util.TimerTask;
@@ -40,8 +42,13 @@ public class BlockedThreadChecker {
     timer.schedule(new TimerTask() {
       @Override
       public void run() {
+        List<VertxThread> registered;
+        // Threads are registered concurrently, iterating the map itself could fail and kill the timer
+        synchronized (BlockedThreadChecker.this) {
+          registered = new ArrayList<>(threads.keySet());
+        }
         long now = System.nanoTime();
-        for (VertxThread thread: threads.keySet()) {
+        for (VertxThread thread: registered) {
           long execStart = thread.startTime();
           long dur = now - execStart;
           if (execStart != 0 && dur > (thread.isWorker() ? maxWorkerExecTime : maxEventLoopExecTime)) {
@@ -32,6 +32,7 @@ import io.vertx.core.spi.cluster.Action;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -54,6 +55,8 @@ public abstract class ContextImpl implements Context {
   private final EventLoop eventLoop;
   protected final Executor orderedInternalPoolExec;
   protected VertxThread contextThread;
+  // The timers of this context on the timer wheel of its event loop, when timer wheels are enabled
+  private Set<TimerWheel.Timer> wheelTimers;
 
   protected ContextImpl(VertxInternal vertx, Executor orderedInternalPoolExec, String deploymentID, JsonObject config) {
     this.vertx = vertx;
@@ -94,6 +97,18 @@ public abstract class ContextImpl implements Context {
     closeHooks.add(hook);
   }
 
+  /**
+   * @return the set of the timers of this context on the wheel, created along with the close hook which cancels
+   * them on first use
+   */
+  synchronized Set<TimerWheel.Timer> wheelTimers(TimerWheel wheel) {
+    if (wheelTimers == null) {
+      wheelTimers = ConcurrentHashMap.newKeySet();
+      addCloseHook(wheel.new CloseHook(wheelTimers));
+    }
+    return wheelTimers;
+  }
+
   public void removeCloseHook(Closeable hook) {
     if (closeHooks != null) {
       closeHooks.remove(hook);
@@ -137,7 +152,8 @@ public abstract class ContextImpl implements Context {
 
   public void execute(ContextTask task, boolean expectRightThread) {
     if (isOnCorrectContextThread(expectRightThread)) {
-      wrapTask(task, true).run();
+      // When called from a task already running on this thread the execution is already being timed
+      runTask(task, contextThread.startTime() == 0);
     } else {
       doExecute(task);
     }
@@ -174,8 +190,17 @@ public abstract class ContextImpl implements Context {
 
   // Execute an internal task on the internal blocking ordered executor
   public <T> void executeBlocking(Action<T> action, Handler<AsyncResult<T>> resultHandler) {
+    executeBlocking(orderedInternalPoolExec, action, resultHandler);
+  }
+
+  // Execute an internal task on the worker pool, tasks don't wait for each other and can complete in any order
+  public <T> void executeBlockingUnordered(Action<T> action, Handler<AsyncResult<T>> resultHandler) {
+    executeBlocking(vertx.getWorkerPool(), action, resultHandler);
+  }
+
+  private <T> void executeBlocking(Executor exec, Action<T> action, Handler<AsyncResult<T>> resultHandler) {
     try {
-      orderedInternalPoolExec.execute(() -> {
+      exec.execute(() -> {
         Future<T> res = Future.future();
         try {
           T result = action.perform();
@@ -221,27 +246,29 @@ public abstract class ContextImpl implements Context {
   }
 
   protected Runnable wrapTask(ContextTask task, boolean checkThread) {
-    return () -> {
+    return () -> runTask(task, checkThread);
+  }
+
+  private void runTask(ContextTask task, boolean checkThread) {
+    if (checkThread) {
+      executeStart();
+    }
+    try {
+      vertx.setContext(ContextImpl.this);
+      task.run();
+    } catch (Throwable t) {
+      log.error("Unhandled exception", t);
+    } finally {
+      // TODO - we might have to restore the thread name in case it's been changed during the execution
       if (checkThread) {
-        executeStart();
-      }
-      try {
-        vertx.setContext(ContextImpl.this);
-        task.run();
-      } catch (Throwable t) {
-        log.error("Unhandled exception", t);
-      } finally {
-        // TODO - we might have to restore the thread name in case it's been changed during the execution
-        if (checkThread) {
-          executeEnd();
-        }
-      }
-      if (closed) {
-        // We allow tasks to be run after the context is closed but we make sure we unset the context afterwards
-        // to avoid any leaks
-        unsetContext();
+        executeEnd();
       }
-    };
+    }
+    if (closed) {
+      // We allow tasks to be run after the context is closed but we make sure we unset the context afterwards
+      // to avoid any leaks
+      unsetContext();
+    }
   }
 
 }
@@ -261,9 +261,12 @@ public class DeploymentManager {
     if (options.isMultiThreaded() && !options.isWorker()) {
       throw new IllegalArgumentException("If multi-threaded then must be worker too");
     }
+    if (options.isElasticWorker() && !options.isWorker()) {
+      throw new IllegalArgumentException("If elastic worker then must be worker too");
+    }
     String deploymentID = UUID.randomUUID().toString();
     JsonObject conf = options.getConfig() == null ? new JsonObject() : options.getConfig().copy(); // Copy it
-    ContextImpl context = options.isWorker() ? vertx.createWorkerContext(options.isMultiThreaded(), deploymentID, conf) :
+    ContextImpl context = options.isWorker() ? vertx.createWorkerContext(options.isMultiThreaded(), options.isElasticWorker(), deploymentID, conf) :
                                                vertx.createEventLoopContext(deploymentID, conf);
 
     DeploymentImpl deployment = new DeploymentImpl(deploymentID, context, verticleName, verticle, options);
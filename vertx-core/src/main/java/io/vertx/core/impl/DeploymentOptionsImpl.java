@@ -31,6 +31,7 @@ public class DeploymentOptionsImpl implements DeploymentOptions {
   private JsonObject config;
   private boolean worker;
   private boolean multiThreaded;
+  private boolean elasticWorker;
   private String isolationGroup;
   private boolean ha;
   private List<String> extraClasspath;
@@ -42,6 +43,7 @@ public class DeploymentOptionsImpl implements DeploymentOptions {
     this.config = other.getConfig() == null ? null : other.getConfig().copy();
     this.worker = other.isWorker();
     this.multiThreaded = other.isMultiThreaded();
+    this.elasticWorker = other.isElasticWorker();
     this.isolationGroup = other.getIsolationGroup();
     this.ha = other.isHA();
     this.extraClasspath = other.getExtraClasspath() == null ? null : new ArrayList<>(other.getExtraClasspath());
@@ -51,6 +53,7 @@ public class DeploymentOptionsImpl implements DeploymentOptions {
     this.config = json.getObject("config");
     this.worker = json.getBoolean("worker", false);
     this.multiThreaded = json.getBoolean("multiThreaded", false);
+    this.elasticWorker = json.getBoolean("elasticWorker", false);
     this.isolationGroup = json.getString("isolationGroup", null);
     this.ha = json.getBoolean("ha", false);
     JsonArray arr = json.getArray("extraClasspath", null);
@@ -86,6 +89,15 @@ public class DeploymentOptionsImpl implements DeploymentOptions {
     return this;
   }
 
+  public boolean isElasticWorker() {
+    return elasticWorker;
+  }
+
+  public DeploymentOptions setElasticWorker(boolean elasticWorker) {
+    this.elasticWorker = elasticWorker;
+    return this;
+  }
+
   public String getIsolationGroup() {
     return isolationGroup;
   }
@@ -100,6 +112,7 @@ public class DeploymentOptionsImpl implements DeploymentOptions {
     JsonObject json = new JsonObject();
     if (worker) json.putBoolean("worker", true);
     if (multiThreaded) json.putBoolean("multiThreaded", true);
+    if (elasticWorker) json.putBoolean("elasticWorker", true);
     if (isolationGroup != null) json.putString("isolationGroup", isolationGroup);
     if (ha) json.putBoolean("ha", true);
     if (config != null) json.putObject("config", config);
@@ -136,6 +149,7 @@ public class DeploymentOptionsImpl implements DeploymentOptions {
 
     if (ha != that.ha) return false;
     if (multiThreaded != that.multiThreaded) return false;
+    if (elasticWorker != that.elasticWorker) return false;
     if (worker != that.worker) return false;
     if (config != null ? !config.equals(that.config) : that.config != null) return false;
     if (extraClasspath != null ? !extraClasspath.equals(that.extraClasspath) : that.extraClasspath != null)
@@ -151,6 +165,7 @@ public class DeploymentOptionsImpl implements DeploymentOptions {
     int result = config != null ? config.hashCode() : 0;
     result = 31 * result + (worker ? 1 : 0);
     result = 31 * result + (multiThreaded ? 1 : 0);
+    result = 31 * result + (elasticWorker ? 1 : 0);
     result = 31 * result + (isolationGroup != null ? isolationGroup.hashCode() : 0);
     result = 31 * result + (ha ? 1 : 0);
     result = 31 * result + (extraClasspath != null ? extraClasspath.hashCode() : 0);
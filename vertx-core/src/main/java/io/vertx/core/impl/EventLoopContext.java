@@ -29,12 +29,15 @@ public class EventLoopContext extends ContextImpl {
 
   private static final Logger log = LoggerFactory.getLogger(EventLoopContext.class);
 
+  private final EventLoopTaskQueue taskQueue;
+
   public EventLoopContext(VertxInternal vertx, Executor bgExec, String deploymentID, JsonObject config) {
     super(vertx, bgExec, deploymentID, config);
+    this.taskQueue = vertx.getTaskQueue(getEventLoop());
   }
 
   public void doExecute(ContextTask task) {
-    getEventLoop().execute(wrapTask(task, true));
+    taskQueue.execute(wrapTask(task, true));
   }
 
   @Override
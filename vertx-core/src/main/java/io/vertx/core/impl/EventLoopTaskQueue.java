@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2011-2014 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.core.impl;
+
+import io.netty.channel.EventLoop;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.impl.LoggerFactory;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The tasks submitted to the event loop contexts of one event loop from other threads.<p>
+ * Rather than each task being submitted to the event loop on its own, which takes the lock of the event loop's task
+ * queue and can wake it up every time, the tasks are added to this queue and only the first one submitted while it's
+ * idle submits a task to drain it. So a thread delivering a message to many handlers on the same event loop only hands
+ * over a single task for them. Tasks are run in the order they were added.<p>
+ * At most {@link #MAX_BATCH} tasks are run in one go before the rest are put back behind whatever else the event
+ * loop has to do, so I/O isn't starved by a busy producer.
+ */
+class EventLoopTaskQueue implements Runnable {
+
+  private static final Logger log = LoggerFactory.getLogger(EventLoopTaskQueue.class);
+
+  static final int MAX_BATCH = 1024;
+
+  private final EventLoop eventLoop;
+  private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+
+  EventLoopTaskQueue(EventLoop eventLoop) {
+    this.eventLoop = eventLoop;
+  }
+
+  void execute(Runnable task) {
+    if (eventLoop.isShutdown()) {
+      throw new RejectedExecutionException("event executor terminated");
+    }
+    tasks.add(task);
+    if (scheduled.compareAndSet(false, true)) {
+      submit();
+    }
+  }
+
+  private void submit() {
+    try {
+      eventLoop.execute(this);
+    } catch (RejectedExecutionException e) {
+      scheduled.set(false);
+      throw e;
+    }
+  }
+
+  @Override
+  public void run() {
+    for (int i = 0; i < MAX_BATCH; i++) {
+      Runnable task = tasks.poll();
+      if (task == null) {
+        scheduled.set(false);
+        // A task might have been added after the poll but before the flag was cleared
+        if (tasks.isEmpty() || !scheduled.compareAndSet(false, true)) {
+          return;
+        }
+        continue;
+      }
+      try {
+        task.run();
+      } catch (Throwable t) {
+        log.error("Failed to run task", t);
+      }
+    }
+    try {
+      submit();
+    } catch (RejectedExecutionException ignore) {
+      // Event loop is shutting down
+    }
+  }
+}
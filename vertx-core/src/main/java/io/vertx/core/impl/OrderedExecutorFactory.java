@@ -20,8 +20,10 @@ package io.vertx.core.impl;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.impl.LoggerFactory;
 
-import java.util.LinkedList;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A factory for producing executors that run all tasks in order, which delegate to a single common executor instance.
@@ -34,6 +36,7 @@ public class OrderedExecutorFactory {
   private static final Logger log = LoggerFactory.getLogger(OrderedExecutorFactory.class);
 
   private final Executor parent;
+  private final int batchSize;
 
   /**
    * Construct a new instance delegating to the given parent executor.
@@ -41,7 +44,21 @@ public class OrderedExecutorFactory {
    * @param parent the parent executor
    */
   public OrderedExecutorFactory(Executor parent) {
+    this(parent, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Construct a new instance delegating to the given parent executor.
+   *
+   * @param parent the parent executor
+   * @param batchSize the maximum number of tasks an executor runs before giving the parent thread up to other executors
+   */
+  public OrderedExecutorFactory(Executor parent, int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("batchSize must be >= 1");
+    }
     this.parent = parent;
+    this.batchSize = batchSize;
   }
 
   /**
@@ -49,8 +66,8 @@ public class OrderedExecutorFactory {
    *
    * @return an ordered executor
    */
-  public Executor getExecutor() {
-    return new OrderedExecutor(parent);
+  public OrderedExecutor getExecutor() {
+    return new OrderedExecutor(parent, batchSize);
   }
 
   /**
@@ -58,42 +75,60 @@ public class OrderedExecutorFactory {
    * <p/>
    * More specifically, any call B to the {@link #execute(Runnable)} method that happens-after another call A to the
    * same method, will result in B's task running after A's.
+   * <p/>
+   * Tasks are added to a lock free queue and counted. The count doubles as the running flag: only the call which takes
+   * it from zero submits the runner to the parent, and the runner keeps going until it has brought it back to zero, so
+   * there is only ever one runner at a time. After running {@code batchSize} tasks the runner submits itself to the
+   * parent again rather than carrying on, so a busy executor can't hold on to a parent thread that others are waiting
+   * for.
    */
-  private static final class OrderedExecutor implements Executor {
-    // @protectedby tasks
-    private final LinkedList<Runnable> tasks = new LinkedList<>();
+  public static final class OrderedExecutor implements Executor {
+
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    // The number of tasks queued or running, the executor is running while it's not zero
+    private final AtomicInteger depth = new AtomicInteger();
 
-    // @protectedby tasks
-    private boolean running;
+    private volatile int peakDepth;
 
     private final Executor parent;
 
-    private final Runnable runner;
+    private final int batchSize;
+
+    private final Runnable runner = this::runTasks;
 
     /**
      * Construct a new instance.
      *
      * @param parent the parent executor
+     * @param batchSize the maximum number of tasks to run before submitting the runner to the parent again
      */
-    public OrderedExecutor(Executor parent) {
+    OrderedExecutor(Executor parent, int batchSize) {
       this.parent = parent;
-      runner = () -> {
-        for (; ; ) {
-          final Runnable task;
-          synchronized (tasks) {
-            task = tasks.poll();
-            if (task == null) {
-              running = false;
-              return;
-            }
-          }
+      this.batchSize = batchSize;
+    }
+
+    private void runTasks() {
+      for (int i = 1; ; i++) {
+        final Runnable task = tasks.poll();
+        try {
+          task.run();
+        } catch (Throwable t) {
+          log.error("Caught unexpected Throwable", t);
+        }
+        if (depth.decrementAndGet() == 0) {
+          return;
+        }
+        if (i == batchSize) {
+          // Give other executors a go
           try {
-            task.run();
-          } catch (Throwable t) {
-            log.error("Caught unexpected Throwable", t);
+            parent.execute(runner);
+          } catch (RejectedExecutionException ignore) {
+            // Pool is already shut down
           }
+          return;
         }
-      };
+      }
     }
 
     /**
@@ -102,13 +137,29 @@ public class OrderedExecutorFactory {
      * @param command the task to run.
      */
     public void execute(Runnable command) {
-      synchronized (tasks) {
-        tasks.add(command);
-        if (!running) {
-          running = true;
-          parent.execute(runner);
-        }
+      tasks.add(command);
+      int d = depth.incrementAndGet();
+      if (d > peakDepth) {
+        peakDepth = d;
+      }
+      if (d == 1) {
+        parent.execute(runner);
       }
     }
+
+    /**
+     * @return the number of tasks which are queued or running
+     */
+    public int queueDepth() {
+      return depth.get();
+    }
+
+    /**
+     * @return the highest number of tasks which have been queued or running at the same time, which is approximate when
+     * tasks are executed from several threads at once
+     */
+    public int peakQueueDepth() {
+      return peakDepth;
+    }
   }
 }
@@ -0,0 +1,395 @@
+/*
+ * Copyright (c) 2011-2014 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.core.impl;
+
+import io.netty.channel.EventLoop;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A hierarchical timing wheel holding timers which fire on one event loop.<p>
+ * There are four levels of 256 buckets, a timer goes in the lowest level whose span covers its deadline and moves
+ * down a level each time the level above it turns, so scheduling and cancelling are O(1). Only a single task is
+ * scheduled on the event loop, for the next bucket with something in it, rather than one per timer.<p>
+ * The buckets are only touched from the event loop, so nothing is locked. Timers can be scheduled and cancelled from
+ * any thread: the live timers are kept in a concurrent map by ID, a timer scheduled from another thread is handed
+ * over to the event loop through a queue, and a timer cancelled from another thread is unlinked from its bucket on
+ * the next wakeup. The timer ID is made of a sequence that doesn't wrap and the index of the wheel, so an ID is never
+ * reused.<p>
+ * The timers of a context can be cancelled when the context is closed, with a single close hook per context.
+ */
+public class TimerWheel {
+
+  static final int MAX_WHEELS = 1 << 12;
+
+  private static final int INDEX_BITS = 12;
+  private static final int LEVELS = 4;
+  private static final int WHEEL_BITS = 8;
+  private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+  private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+  private static final long MAX_TICKS = (1L << (LEVELS * WHEEL_BITS)) - 1;
+
+  private final int index;
+  private final EventLoop eventLoop;
+  private final long tickNanos;
+  private final long startTime = System.nanoTime();
+  private final AtomicLong sequence = new AtomicLong();
+  private final ConcurrentMap<Long, Timer> timers = new ConcurrentHashMap<>();
+  private final ConcurrentLinkedQueue<Timer> added = new ConcurrentLinkedQueue<>();
+  private final ConcurrentLinkedQueue<Timer> cancelled = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean drainScheduled = new AtomicBoolean();
+  // Only accessed from the event loop
+  private final Timer[][] buckets = new Timer[LEVELS][WHEEL_SIZE];
+  // The next tick to be processed
+  private long currentTick;
+  // The number of timers in the buckets, and in the lowest level
+  private int count;
+  private int level0Count;
+  private ScheduledFuture<?> wakeup;
+  private long wakeupTick;
+
+  /**
+   * @param index  the index of the wheel, which is part of the IDs of its timers
+   * @param eventLoop  the event loop the wheel is driven from
+   * @param tickMillis  the resolution of the wheel
+   */
+  public TimerWheel(int index, EventLoop eventLoop, long tickMillis) {
+    this.index = index;
+    this.eventLoop = eventLoop;
+    this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+  }
+
+  static int wheelIndex(long timerID) {
+    return (int)timerID & (MAX_WHEELS - 1);
+  }
+
+  /**
+   * Schedule a timer, its handler is called on the context.
+   *
+   * @param cancelOnClose  whether the timer is cancelled when the context is closed
+   * @return the timer ID
+   */
+  public long schedule(ContextImpl context, Handler<Long> handler, long delay, boolean periodic, boolean cancelOnClose) {
+    long timerID = (sequence.getAndIncrement() << INDEX_BITS) | index;
+    long delayNanos = TimeUnit.MILLISECONDS.toNanos(delay);
+    Timer timer = new Timer(timerID, context, handler, periodic ? delayNanos : 0);
+    timer.deadline = System.nanoTime() + delayNanos;
+    if (cancelOnClose) {
+      // Added before the timer can be cancelled, so it can't be left behind in the set
+      timer.contextTimers = context.wheelTimers(this);
+      timer.contextTimers.add(timer);
+    }
+    timers.put(timerID, timer);
+    if (eventLoop.inEventLoop()) {
+      add(timer);
+      scheduleWakeup();
+    } else {
+      added.add(timer);
+      if (drainScheduled.compareAndSet(false, true)) {
+        try {
+          eventLoop.execute(this::drain);
+        } catch (RejectedExecutionException ignore) {
+          // Event loop is already shut down
+        }
+      }
+    }
+    return timerID;
+  }
+
+  /**
+   * @return true if the timer was cancelled, false if it had already fired or been cancelled
+   */
+  public boolean cancel(long timerID) {
+    Timer timer = timers.remove(timerID);
+    if (timer == null) {
+      return false;
+    }
+    removed(timer);
+    if (eventLoop.inEventLoop()) {
+      if (timer.inWheel) {
+        unlink(timer);
+      }
+    } else {
+      cancelled.add(timer);
+    }
+    return true;
+  }
+
+  private void removed(Timer timer) {
+    if (timer.contextTimers != null) {
+      timer.contextTimers.remove(timer);
+    }
+  }
+
+  private boolean isLive(Timer timer) {
+    return timers.get(timer.timerID) == timer;
+  }
+
+  private void drain() {
+    drainScheduled.set(false);
+    Timer timer;
+    while ((timer = added.poll()) != null) {
+      add(timer);
+    }
+    while ((timer = cancelled.poll()) != null) {
+      if (timer.inWheel) {
+        unlink(timer);
+      }
+    }
+    scheduleWakeup();
+  }
+
+  private void add(Timer timer) {
+    if (!isLive(timer)) {
+      // Cancelled before it got here
+      return;
+    }
+    if (count == 0) {
+      // Nothing in the wheel, so no need to go through the ticks it missed while idle
+      currentTick = Math.max(currentTick, (System.nanoTime() - startTime) / tickNanos);
+    }
+    timer.deadlineTick = deadlineTick(timer.deadline);
+    insert(timer);
+  }
+
+  private long deadlineTick(long deadline) {
+    // Round up so a timer never fires early
+    return (deadline - startTime + tickNanos - 1) / tickNanos;
+  }
+
+  private void insert(Timer timer) {
+    long deadlineTick = Math.max(timer.deadlineTick, currentTick);
+    long delta = deadlineTick - currentTick;
+    int level;
+    if (delta < WHEEL_SIZE) {
+      level = 0;
+      level0Count++;
+    } else {
+      if (delta > MAX_TICKS) {
+        // Too far out - it's put back in when it comes round
+        delta = MAX_TICKS;
+        deadlineTick = currentTick + MAX_TICKS;
+      }
+      level = (63 - Long.numberOfLeadingZeros(delta)) / WHEEL_BITS;
+    }
+    int bucket = (int)(deadlineTick >>> (level * WHEEL_BITS)) & WHEEL_MASK;
+    timer.level = level;
+    timer.bucket = bucket;
+    timer.prev = null;
+    timer.next = buckets[level][bucket];
+    if (timer.next != null) {
+      timer.next.prev = timer;
+    }
+    buckets[level][bucket] = timer;
+    timer.inWheel = true;
+    count++;
+  }
+
+  private void unlink(Timer timer) {
+    if (timer.prev != null) {
+      timer.prev.next = timer.next;
+    } else {
+      buckets[timer.level][timer.bucket] = timer.next;
+    }
+    if (timer.next != null) {
+      timer.next.prev = timer.prev;
+    }
+    timer.prev = timer.next = null;
+    timer.inWheel = false;
+    count--;
+    if (timer.level == 0) {
+      level0Count--;
+    }
+  }
+
+  private void wakeup() {
+    wakeup = null;
+    Timer timer;
+    while ((timer = added.poll()) != null) {
+      add(timer);
+    }
+    while ((timer = cancelled.poll()) != null) {
+      if (timer.inWheel) {
+        unlink(timer);
+      }
+    }
+    List<Timer> expired = new ArrayList<>();
+    long nowTick = (System.nanoTime() - startTime) / tickNanos;
+    while (currentTick <= nowTick && count > 0) {
+      if (level0Count == 0 && (currentTick & WHEEL_MASK) != 0) {
+        // Nothing can expire before the next level turns
+        currentTick = Math.min(nowTick + 1, (currentTick + WHEEL_MASK) & ~WHEEL_MASK);
+      } else {
+        expire(currentTick, expired);
+        currentTick++;
+      }
+    }
+    currentTick = Math.max(currentTick, nowTick + 1);
+    scheduleWakeup();
+    for (Timer t: expired) {
+      try {
+        t.context.execute(t, false);
+      } catch (RejectedExecutionException ignore) {
+        // Pool is already shut down
+      }
+    }
+  }
+
+  private void expire(long tick, List<Timer> expired) {
+    // Move the timers of the levels turning on this tick down, highest first
+    for (int level = LEVELS - 1; level > 0; level--) {
+      if ((tick & ((1L << (level * WHEEL_BITS)) - 1)) == 0) {
+        int bucket = (int)(tick >>> (level * WHEEL_BITS)) & WHEEL_MASK;
+        Timer timer = buckets[level][bucket];
+        while (timer != null) {
+          Timer next = timer.next;
+          unlink(timer);
+          if (isLive(timer)) {
+            insert(timer);
+          }
+          timer = next;
+        }
+      }
+    }
+    Timer timer = buckets[0][(int)tick & WHEEL_MASK];
+    while (timer != null) {
+      Timer next = timer.next;
+      unlink(timer);
+      if (!isLive(timer)) {
+        // Cancelled from another thread, it was going to be unlinked anyway
+      } else if (timer.deadlineTick > tick) {
+        insert(timer);
+      } else {
+        expired.add(timer);
+        if (timer.period != 0) {
+          timer.deadline += timer.period;
+          timer.deadlineTick = Math.max(deadlineTick(timer.deadline), tick + 1);
+          insert(timer);
+        }
+      }
+      timer = next;
+    }
+  }
+
+  private void scheduleWakeup() {
+    if (count == 0) {
+      if (wakeup != null) {
+        wakeup.cancel(false);
+        wakeup = null;
+      }
+      return;
+    }
+    long nextTick = nextTick();
+    if (wakeup != null) {
+      if (wakeupTick <= nextTick) {
+        return;
+      }
+      wakeup.cancel(false);
+    }
+    wakeupTick = nextTick;
+    long delay = startTime + nextTick * tickNanos - System.nanoTime();
+    wakeup = eventLoop.schedule(this::wakeup, Math.max(0, delay), TimeUnit.NANOSECONDS);
+  }
+
+  private long nextTick() {
+    if (level0Count > 0) {
+      for (long tick = currentTick; tick < currentTick + WHEEL_SIZE; tick++) {
+        if (buckets[0][(int)tick & WHEEL_MASK] != null) {
+          return tick;
+        }
+      }
+    }
+    // The next time the level above turns
+    return (currentTick + WHEEL_MASK) & ~WHEEL_MASK;
+  }
+
+  // Called on the context when the timer has expired
+  private boolean fire(Timer timer) {
+    if (timer.period != 0) {
+      return isLive(timer);
+    }
+    if (timers.remove(timer.timerID, timer)) {
+      removed(timer);
+      return true;
+    }
+    // Cancelled since
+    return false;
+  }
+
+  class Timer implements ContextTask {
+
+    final long timerID;
+    final ContextImpl context;
+    final Handler<Long> handler;
+    final long period;
+    Set<Timer> contextTimers;
+    // Only accessed from the event loop once the timer is handed over to it
+    long deadline;
+    long deadlineTick;
+    boolean inWheel;
+    int level;
+    int bucket;
+    Timer prev;
+    Timer next;
+
+    Timer(long timerID, ContextImpl context, Handler<Long> handler, long period) {
+      this.timerID = timerID;
+      this.context = context;
+      this.handler = handler;
+      this.period = period;
+    }
+
+    public void run() throws Exception {
+      if (fire(this)) {
+        handler.handle(timerID);
+      }
+    }
+  }
+
+  /**
+   * The close hook that cancels the timers of a context when it's closed.
+   */
+  class CloseHook implements Closeable {
+
+    private final Set<Timer> contextTimers;
+
+    CloseHook(Set<Timer> contextTimers) {
+      this.contextTimers = contextTimers;
+    }
+
+    @Override
+    public void close(Handler<AsyncResult<Void>> completionHandler) {
+      for (Timer timer : new ArrayList<>(contextTimers)) {
+        cancel(timer.timerID);
+      }
+      completionHandler.handle(Future.completedFuture());
+    }
+  }
+}
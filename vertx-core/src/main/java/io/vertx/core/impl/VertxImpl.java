@@ -18,8 +18,8 @@ package io.vertx.core.impl;
 
 import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.util.ResourceLeakDetector;
+import io.netty.util.concurrent.EventExecutor;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.DeploymentOptions;
@@ -32,6 +32,7 @@ import io.vertx.core.datagram.DatagramSocket;
 import io.vertx.core.datagram.DatagramSocketOptions;
 import io.vertx.core.datagram.impl.DatagramSocketImpl;
 import io.vertx.core.dns.DnsClient;
+import io.vertx.core.dns.DnsClientOptions;
 import io.vertx.core.dns.impl.DnsClientImpl;
 import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.eventbus.impl.EventBusImpl;
@@ -54,14 +55,18 @@ import io.vertx.core.net.NetServerOptions;
 import io.vertx.core.net.impl.NetClientImpl;
 import io.vertx.core.net.impl.NetServerImpl;
 import io.vertx.core.net.impl.ServerID;
+import io.vertx.core.net.impl.Transport;
 import io.vertx.core.shareddata.SharedData;
 import io.vertx.core.shareddata.impl.SharedDataImpl;
 import io.vertx.core.spi.VerticleFactory;
 import io.vertx.core.spi.cluster.Action;
 import io.vertx.core.spi.cluster.ClusterManager;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
@@ -92,8 +97,15 @@ public class VertxImpl implements VertxInternal {
 
   private ExecutorService workerPool;
   private ExecutorService internalBlockingPool;
+  // Grows a thread for each ordered executor with tasks, for blocking code that would exhaust the fixed size pools.
+  // Only created when it's enabled in the options or a deployment first asks for it
+  private volatile ExecutorService elasticWorkerPool;
+  private boolean elasticWorkers;
+  private int orderedExecutorBatchSize;
   private OrderedExecutorFactory workerOrderedFact;
   private OrderedExecutorFactory internalOrderedFact;
+  private OrderedExecutorFactory elasticOrderedFact;
+  private Transport transport;
   private EventLoopGroup eventLoopGroup;
   private BlockedThreadChecker checker;
 
@@ -102,6 +114,9 @@ public class VertxImpl implements VertxInternal {
 
   private final ConcurrentMap<Long, InternalTimerHandler> timeouts = new ConcurrentHashMap<>();
   private final AtomicLong timeoutCounter = new AtomicLong(0);
+  private TimerWheel[] timerWheels;
+  private Map<EventLoop, TimerWheel> timerWheelsByEventLoop;
+  private Map<EventLoop, EventLoopTaskQueue> taskQueues;
   private final ClusterManager clusterManager;
   private final DeploymentManager deploymentManager = new DeploymentManager(this);
   private boolean closed;
@@ -128,7 +143,7 @@ public class VertxImpl implements VertxInternal {
           haManager = new HAManager(this, deploymentManager, clusterManager, options.getQuorumSize(), options.getHAGroup());
         }
         Vertx inst = this;
-        eventBus = new EventBusImpl(this, options.getProxyOperationTimeout(), options.getClusterPort(), options.getClusterHost(), clusterManager, res -> {
+        eventBus = new EventBusImpl(this, options, clusterManager, res -> {
           if (resultHandler != null) {
             if (res.succeeded()) {
               resultHandler.handle(Future.completedFuture(inst));
@@ -217,6 +232,14 @@ public class VertxImpl implements VertxInternal {
     return eventLoopGroup;
   }
 
+  public Transport transport() {
+    return transport;
+  }
+
+  public EventLoopTaskQueue getTaskQueue(EventLoop eventLoop) {
+    return taskQueues.get(eventLoop);
+  }
+
   public ContextImpl getOrCreateContext() {
     ContextImpl ctx = getContext();
     if (ctx == null) {
@@ -235,6 +258,10 @@ public class VertxImpl implements VertxInternal {
   }
 
   public boolean cancelTimer(long id) {
+    if (timerWheels != null) {
+      int index = TimerWheel.wheelIndex(id);
+      return index < timerWheels.length && timerWheels[index].cancel(id);
+    }
     InternalTimerHandler handler = timeouts.remove(id);
     if (handler != null) {
       handler.context.removeCloseHook(handler);
@@ -245,7 +272,8 @@ public class VertxImpl implements VertxInternal {
   }
 
   public EventLoopContext createEventLoopContext(String deploymentID, JsonObject config) {
-    return new EventLoopContext(this, workerOrderedFact.getExecutor(), deploymentID, config);
+    OrderedExecutorFactory blockingFact = elasticWorkers ? elasticOrderedFact() : workerOrderedFact;
+    return new EventLoopContext(this, blockingFact.getExecutor(), deploymentID, config);
   }
 
   @Override
@@ -253,6 +281,11 @@ public class VertxImpl implements VertxInternal {
     return new DnsClientImpl(this, port, host);
   }
 
+  @Override
+  public DnsClient createDnsClient(DnsClientOptions options) {
+    return new DnsClientImpl(this, options);
+  }
+
   private ClusterManager getClusterManager(VertxOptions options) {
     if (options.isClustered()) {
       if (options.getClusterManager() != null) {
@@ -286,6 +319,14 @@ public class VertxImpl implements VertxInternal {
     if (delay < 1) {
       throw new IllegalArgumentException("Cannot schedule a timer with delay < 1 ms");
     }
+    if (timerWheels != null) {
+      TimerWheel wheel = timerWheelsByEventLoop.get(context.getEventLoop());
+      if (wheel == null) {
+        // The context belongs to another Vert.x instance - the timer still runs on it but isn't cancelled when it closes
+        return timerWheelsByEventLoop.get(eventLoopGroup.next()).schedule(context, handler, delay, periodic, false);
+      }
+      return wheel.schedule(context, handler, delay, periodic, true);
+    }
     long timerId = timeoutCounter.getAndIncrement();
     InternalTimerHandler task = new InternalTimerHandler(timerId, handler, periodic, context);
     Runnable toRun = () -> context.execute(task, false);
@@ -302,14 +343,30 @@ public class VertxImpl implements VertxInternal {
     return timerId;
   }
 
-  public ContextImpl createWorkerContext(boolean multiThreaded, String deploymentID, JsonObject config) {
-    if (multiThreaded) {
+  public ContextImpl createWorkerContext(boolean multiThreaded, boolean elastic, String deploymentID, JsonObject config) {
+    if (elastic || elasticWorkers) {
+      OrderedExecutorFactory elasticFact = elasticOrderedFact();
+      if (multiThreaded) {
+        return new MultiThreadedWorkerContext(this, elasticFact.getExecutor(), elasticWorkerPool, deploymentID, config);
+      } else {
+        return new WorkerContext(this, elasticFact.getExecutor(), elasticFact.getExecutor(), deploymentID, config);
+      }
+    } else if (multiThreaded) {
       return new MultiThreadedWorkerContext(this, internalOrderedFact.getExecutor(), workerPool, deploymentID, config);
     } else {
       return new WorkerContext(this, internalOrderedFact.getExecutor(), workerOrderedFact.getExecutor(), deploymentID, config);
     }
   }
 
+  private synchronized OrderedExecutorFactory elasticOrderedFact() {
+    if (elasticOrderedFact == null) {
+      elasticWorkerPool = Executors.newCachedThreadPool(
+        new VertxThreadFactory("vert.x-elastic-worker-thread-", checker, true));
+      elasticOrderedFact = new OrderedExecutorFactory(elasticWorkerPool, orderedExecutorBatchSize);
+    }
+    return elasticOrderedFact;
+  }
+
   public void setContext(ContextImpl context) {
     Thread current = Thread.currentThread();
     if (current instanceof VertxThread) {
@@ -376,6 +433,16 @@ public class VertxImpl implements VertxInternal {
           }
         }
 
+        ExecutorService elasticPool = elasticWorkerPool;
+        if (elasticPool != null) {
+          elasticPool.shutdown();
+          try {
+            elasticPool.awaitTermination(20, TimeUnit.SECONDS);
+          } catch (InterruptedException ex) {
+            // ignore
+          }
+        }
+
         if (eventLoopGroup != null) {
           eventLoopGroup.shutdownNow();
         }
@@ -509,14 +576,40 @@ public class VertxImpl implements VertxInternal {
   private void configurePools(VertxOptions options) {
     checker = new BlockedThreadChecker(options.getBlockedThreadCheckPeriod(), options.getMaxEventLoopExecuteTime(),
                                        options.getMaxWorkerExecuteTime());
-    eventLoopGroup = new NioEventLoopGroup(options.getEventLoopPoolSize(),
-                                           new VertxThreadFactory("vert.x-eventloop-thread-", checker, false));
+    transport = Transport.transport(options.isPreferNativeTransport());
+    eventLoopGroup = transport.eventLoopGroup(options.getEventLoopPoolSize(),
+                                              new VertxThreadFactory("vert.x-eventloop-thread-", checker, false));
     workerPool = Executors.newFixedThreadPool(options.getWorkerPoolSize(),
       new VertxThreadFactory("vert.x-worker-thread-", checker, true));
     internalBlockingPool = Executors.newFixedThreadPool(options.getInternalBlockingPoolSize(),
       new VertxThreadFactory("vert.x-internal-blocking-", checker, true));
-    workerOrderedFact = new OrderedExecutorFactory(workerPool);
-    internalOrderedFact = new OrderedExecutorFactory(internalBlockingPool);
+    workerOrderedFact = new OrderedExecutorFactory(workerPool, options.getOrderedExecutorBatchSize());
+    internalOrderedFact = new OrderedExecutorFactory(internalBlockingPool, options.getOrderedExecutorBatchSize());
+    orderedExecutorBatchSize = options.getOrderedExecutorBatchSize();
+    elasticWorkers = options.isElasticWorkerPool();
+    if (elasticWorkers) {
+      elasticOrderedFact();
+    }
+    taskQueues = new IdentityHashMap<>();
+    for (EventExecutor executor: eventLoopGroup) {
+      taskQueues.put((EventLoop) executor, new EventLoopTaskQueue((EventLoop) executor));
+    }
+    if (options.isTimerWheelEnabled()) {
+      if (options.getEventLoopPoolSize() > TimerWheel.MAX_WHEELS) {
+        throw new IllegalArgumentException("Timer wheels can't be used with more than " + TimerWheel.MAX_WHEELS +
+                                           " event loops");
+      }
+      // One timer wheel per event loop
+      List<TimerWheel> wheels = new ArrayList<>();
+      Map<EventLoop, TimerWheel> wheelsByEventLoop = new IdentityHashMap<>();
+      for (EventExecutor executor: eventLoopGroup) {
+        TimerWheel wheel = new TimerWheel(wheels.size(), (EventLoop) executor, options.getTimerWheelTick());
+        wheels.add(wheel);
+        wheelsByEventLoop.put((EventLoop) executor, wheel);
+      }
+      timerWheels = wheels.toArray(new TimerWheel[wheels.size()]);
+      timerWheelsByEventLoop = wheelsByEventLoop;
+    }
   }
 
   private class InternalTimerHandler implements ContextTask, Closeable {
@@ -17,11 +17,13 @@
 package io.vertx.core.impl;
 
 
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.vertx.core.Handler;
 import io.vertx.core.http.impl.HttpServerImpl;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.net.impl.NetServerImpl;
+import io.vertx.core.net.impl.Transport;
 import io.vertx.core.net.impl.ServerID;
 import io.vertx.core.spi.cluster.VertxSPI;
 
@@ -39,6 +41,16 @@ public interface VertxInternal extends VertxSPI {
 
   EventLoopGroup getEventLoopGroup();
 
+  /**
+   * @return the transport the event loops and channels are created with
+   */
+  Transport transport();
+
+  /**
+   * @return the queue the tasks of the contexts on the event loop are submitted through
+   */
+  EventLoopTaskQueue getTaskQueue(EventLoop eventLoop);
+
   ExecutorService getWorkerPool();
 
   ContextImpl getOrCreateContext();
@@ -64,9 +76,10 @@ public interface VertxInternal extends VertxSPI {
   EventLoopContext createEventLoopContext(String deploymentID, JsonObject config);
 
   /**
+   * @param elastic  whether the context runs on the elastic worker pool rather than the fixed size one
    * @return worker loop context
    */
-  ContextImpl createWorkerContext(boolean multiThreaded, String deploymentID, JsonObject config);
+  ContextImpl createWorkerContext(boolean multiThreaded, boolean elastic, String deploymentID, JsonObject config);
 
   void simulateKill();
 
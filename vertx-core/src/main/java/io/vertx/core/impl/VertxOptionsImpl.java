@@ -36,6 +36,14 @@ public class VertxOptionsImpl implements VertxOptions{
   public static final long DEFAULT_MAXWORKEREXECUTETIME = 1l * 60 * 1000 * 1000000;
   public static final int DEFAULT_PROXYOPERATIONTIMEOUT = 10 * 1000;
   public static final int DEFAULT_QUORUMSIZE = 1;
+  public static final boolean DEFAULT_CLUSTERWRITEBATCHING = false;
+  public static final int DEFAULT_CLUSTERWRITEBATCHMAXMESSAGES = 64;
+  public static final int DEFAULT_CLUSTERWRITEBATCHMAXBYTES = 64 * 1024;
+  public static final boolean DEFAULT_TIMERWHEELENABLED = false;
+  public static final long DEFAULT_TIMERWHEELTICK = 1;
+  public static final int DEFAULT_ORDEREDEXECUTORBATCHSIZE = 1024;
+  public static final boolean DEFAULT_ELASTICWORKERPOOL = false;
+  public static final boolean DEFAULT_PREFERNATIVETRANSPORT = false;
 
   private int eventLoopPoolSize = DEFAULT_EVENTLOOPPOOLSIZE;
   private int workerPoolSize = DEFAULT_WORKERPOOLSIZE;
@@ -51,6 +59,14 @@ public class VertxOptionsImpl implements VertxOptions{
   private boolean haEnabled;
   private int quorumSize = DEFAULT_QUORUMSIZE;
   private String haGroup;
+  private boolean clusterWriteBatching = DEFAULT_CLUSTERWRITEBATCHING;
+  private int clusterWriteBatchMaxMessages = DEFAULT_CLUSTERWRITEBATCHMAXMESSAGES;
+  private int clusterWriteBatchMaxBytes = DEFAULT_CLUSTERWRITEBATCHMAXBYTES;
+  private boolean timerWheelEnabled = DEFAULT_TIMERWHEELENABLED;
+  private long timerWheelTick = DEFAULT_TIMERWHEELTICK;
+  private boolean elasticWorkerPool = DEFAULT_ELASTICWORKERPOOL;
+  private int orderedExecutorBatchSize = DEFAULT_ORDEREDEXECUTORBATCHSIZE;
+  private boolean preferNativeTransport = DEFAULT_PREFERNATIVETRANSPORT;
 
   VertxOptionsImpl() {
   }
@@ -70,6 +86,14 @@ public class VertxOptionsImpl implements VertxOptions{
     this.haEnabled = other.isHAEnabled();
     this.quorumSize = other.getQuorumSize();
     this.haGroup = other.getHAGroup();
+    this.clusterWriteBatching = other.isClusterWriteBatching();
+    this.clusterWriteBatchMaxMessages = other.getClusterWriteBatchMaxMessages();
+    this.clusterWriteBatchMaxBytes = other.getClusterWriteBatchMaxBytes();
+    this.timerWheelEnabled = other.isTimerWheelEnabled();
+    this.timerWheelTick = other.getTimerWheelTick();
+    this.orderedExecutorBatchSize = other.getOrderedExecutorBatchSize();
+    this.elasticWorkerPool = other.isElasticWorkerPool();
+    this.preferNativeTransport = other.isPreferNativeTransport();
   }
 
   VertxOptionsImpl(JsonObject json) {
@@ -86,6 +110,14 @@ public class VertxOptionsImpl implements VertxOptions{
     this.haEnabled = json.getBoolean("haEnabled", false);
     this.quorumSize = json.getInteger("quorumSize", DEFAULT_QUORUMSIZE);
     this.haGroup = json.getString("haGroup", null);
+    this.clusterWriteBatching = json.getBoolean("clusterWriteBatching", DEFAULT_CLUSTERWRITEBATCHING);
+    this.clusterWriteBatchMaxMessages = json.getInteger("clusterWriteBatchMaxMessages", DEFAULT_CLUSTERWRITEBATCHMAXMESSAGES);
+    this.clusterWriteBatchMaxBytes = json.getInteger("clusterWriteBatchMaxBytes", DEFAULT_CLUSTERWRITEBATCHMAXBYTES);
+    this.timerWheelEnabled = json.getBoolean("timerWheelEnabled", DEFAULT_TIMERWHEELENABLED);
+    this.timerWheelTick = json.getLong("timerWheelTick", DEFAULT_TIMERWHEELTICK);
+    this.orderedExecutorBatchSize = json.getInteger("orderedExecutorBatchSize", DEFAULT_ORDEREDEXECUTORBATCHSIZE);
+    this.elasticWorkerPool = json.getBoolean("elasticWorkerPool", DEFAULT_ELASTICWORKERPOOL);
+    this.preferNativeTransport = json.getBoolean("preferNativeTransport", DEFAULT_PREFERNATIVETRANSPORT);
   }
 
   public int getEventLoopPoolSize() {
@@ -247,6 +279,106 @@ public class VertxOptionsImpl implements VertxOptions{
     return this;
   }
 
+  @Override
+  public boolean isClusterWriteBatching() {
+    return clusterWriteBatching;
+  }
+
+  @Override
+  public VertxOptions setClusterWriteBatching(boolean clusterWriteBatching) {
+    this.clusterWriteBatching = clusterWriteBatching;
+    return this;
+  }
+
+  @Override
+  public int getClusterWriteBatchMaxMessages() {
+    return clusterWriteBatchMaxMessages;
+  }
+
+  @Override
+  public VertxOptions setClusterWriteBatchMaxMessages(int clusterWriteBatchMaxMessages) {
+    if (clusterWriteBatchMaxMessages < 1) {
+      throw new IllegalArgumentException("clusterWriteBatchMaxMessages must be > 0");
+    }
+    this.clusterWriteBatchMaxMessages = clusterWriteBatchMaxMessages;
+    return this;
+  }
+
+  @Override
+  public int getClusterWriteBatchMaxBytes() {
+    return clusterWriteBatchMaxBytes;
+  }
+
+  @Override
+  public VertxOptions setClusterWriteBatchMaxBytes(int clusterWriteBatchMaxBytes) {
+    if (clusterWriteBatchMaxBytes < 1) {
+      throw new IllegalArgumentException("clusterWriteBatchMaxBytes must be > 0");
+    }
+    this.clusterWriteBatchMaxBytes = clusterWriteBatchMaxBytes;
+    return this;
+  }
+
+  @Override
+  public boolean isTimerWheelEnabled() {
+    return timerWheelEnabled;
+  }
+
+  @Override
+  public VertxOptions setTimerWheelEnabled(boolean timerWheelEnabled) {
+    this.timerWheelEnabled = timerWheelEnabled;
+    return this;
+  }
+
+  @Override
+  public long getTimerWheelTick() {
+    return timerWheelTick;
+  }
+
+  @Override
+  public VertxOptions setTimerWheelTick(long timerWheelTick) {
+    if (timerWheelTick < 1) {
+      throw new IllegalArgumentException("timerWheelTick must be >= 1");
+    }
+    this.timerWheelTick = timerWheelTick;
+    return this;
+  }
+
+  @Override
+  public int getOrderedExecutorBatchSize() {
+    return orderedExecutorBatchSize;
+  }
+
+  @Override
+  public VertxOptions setOrderedExecutorBatchSize(int orderedExecutorBatchSize) {
+    if (orderedExecutorBatchSize < 1) {
+      throw new IllegalArgumentException("orderedExecutorBatchSize must be >= 1");
+    }
+    this.orderedExecutorBatchSize = orderedExecutorBatchSize;
+    return this;
+  }
+
+  @Override
+  public boolean isElasticWorkerPool() {
+    return elasticWorkerPool;
+  }
+
+  @Override
+  public VertxOptions setElasticWorkerPool(boolean elasticWorkerPool) {
+    this.elasticWorkerPool = elasticWorkerPool;
+    return this;
+  }
+
+  @Override
+  public boolean isPreferNativeTransport() {
+    return preferNativeTransport;
+  }
+
+  @Override
+  public VertxOptions setPreferNativeTransport(boolean preferNativeTransport) {
+    this.preferNativeTransport = preferNativeTransport;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -269,6 +401,14 @@ public class VertxOptionsImpl implements VertxOptions{
     if (clusterManager != null ? !clusterManager.equals(that.clusterManager) : that.clusterManager != null)
       return false;
     if (haGroup != null ? !haGroup.equals(that.haGroup) : that.haGroup != null) return false;
+    if (clusterWriteBatching != that.clusterWriteBatching) return false;
+    if (clusterWriteBatchMaxMessages != that.clusterWriteBatchMaxMessages) return false;
+    if (clusterWriteBatchMaxBytes != that.clusterWriteBatchMaxBytes) return false;
+    if (timerWheelEnabled != that.timerWheelEnabled) return false;
+    if (timerWheelTick != that.timerWheelTick) return false;
+    if (orderedExecutorBatchSize != that.orderedExecutorBatchSize) return false;
+    if (elasticWorkerPool != that.elasticWorkerPool) return false;
+    if (preferNativeTransport != that.preferNativeTransport) return false;
 
     return true;
   }
@@ -289,6 +429,14 @@ public class VertxOptionsImpl implements VertxOptions{
     result = 31 * result + (haEnabled ? 1 : 0);
     result = 31 * result + quorumSize;
     result = 31 * result + (haGroup != null ? haGroup.hashCode() : 0);
+    result = 31 * result + (clusterWriteBatching ? 1 : 0);
+    result = 31 * result + clusterWriteBatchMaxMessages;
+    result = 31 * result + clusterWriteBatchMaxBytes;
+    result = 31 * result + (timerWheelEnabled ? 1 : 0);
+    result = 31 * result + (int) (timerWheelTick ^ (timerWheelTick >>> 32));
+    result = 31 * result + orderedExecutorBatchSize;
+    result = 31 * result + (elasticWorkerPool ? 1 : 0);
+    result = 31 * result + (preferNativeTransport ? 1 : 0);
     return result;
   }
 }
@@ -47,6 +47,10 @@ public interface NetClientOptions extends ClientOptions<NetClientOptions> {
 
   long getReconnectInterval();
 
+  boolean isDirectReadBuffers();
+
+  NetClientOptions setDirectReadBuffers(boolean directReadBuffers);
+
   static final NetClientOptionsFactory factory = ServiceHelper.loadFactory(NetClientOptionsFactory.class);
 
 }
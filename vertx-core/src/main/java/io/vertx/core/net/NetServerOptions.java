@@ -65,6 +65,14 @@ public interface NetServerOptions extends NetServerOptionsBase<NetServerOptions>
 
   NetServerOptions setHost(String host);
 
+  boolean isReusePort();
+
+  NetServerOptions setReusePort(boolean reusePort);
+
+  boolean isDirectReadBuffers();
+
+  NetServerOptions setDirectReadBuffers(boolean directReadBuffers);
+
   static final NetServerOptionsFactory factory = ServiceHelper.loadFactory(NetServerOptionsFactory.class);
 
 }
@@ -49,4 +49,8 @@ public interface NetServerOptionsBase<T extends NetServerOptionsBase> extends TC
 
   T setHost(String host);
 
+  boolean isReusePort();
+
+  T setReusePort(boolean reusePort);
+
 }
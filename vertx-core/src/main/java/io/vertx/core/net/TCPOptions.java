@@ -31,6 +31,10 @@ public interface TCPOptions<T extends TCPOptions> extends NetworkOptions<T> {
 
   T setTcpKeepAlive(boolean tcpKeepAlive);
 
+  boolean isTcpCork();
+
+  T setTcpCork(boolean tcpCork);
+
   int getSoLinger();
 
   T setSoLinger(int soLinger);
@@ -55,6 +59,14 @@ public interface TCPOptions<T extends TCPOptions> extends NetworkOptions<T> {
 
   Set<String> getEnabledCipherSuites();
 
+  int getSslSessionCacheSize();
+
+  T setSslSessionCacheSize(int sslSessionCacheSize);
+
+  int getSslSessionTimeout();
+
+  T setSslSessionTimeout(int sslSessionTimeout);
+
   T setIdleTimeout(int idleTimeout);
 
   int getIdleTimeout();
@@ -20,10 +20,12 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.channel.DefaultFileRegion;
 import io.netty.channel.FileRegion;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.stream.ChunkedFile;
+import io.netty.util.ReferenceCountUtil;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -40,6 +42,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
 
 /**
  * Abstract base class for TCP connections.
@@ -104,6 +107,21 @@ public abstract class ConnectionBase {
     }
   }
 
+  public ChannelFuture write(Object obj, ChannelPromise promise) {
+    if (read) {
+      needsFlush = true;
+      return channel.write(obj, promise);
+    }
+    if (channel.isOpen()) {
+      return channel.writeAndFlush(obj, promise);
+    } else {
+      // The promise is owned by the caller, which expects it to complete either way
+      ReferenceCountUtil.release(obj);
+      promise.tryFailure(new ClosedChannelException());
+      return promise;
+    }
+  }
+
   /**
    * Close the connection
    */
@@ -182,19 +200,34 @@ public abstract class ConnectionBase {
     final RandomAccessFile raf;
     try {
       raf = new RandomAccessFile(file, "r");
-      long fileLength = file.length();
+    } catch (IOException e) {
+      handleException(e);
+      return null;
+    }
+    return sendFile(raf, 0, file.length());
+  }
 
+  /**
+   * Send {@code length} bytes of an open file from {@code offset}, the file is closed once they are written.
+   */
+  protected ChannelFuture sendFile(RandomAccessFile raf, long offset, long length) {
+    try {
       // Write the content.
       ChannelFuture writeFuture;
       if (!supportsFileRegion()) {
         // Cannot use zero-copy
-        writeFuture = write(new ChunkedFile(raf, 0, fileLength, 8192));
+        writeFuture = write(new ChunkedFile(raf, offset, length, 8192));
       } else {
         // No encryption - use zero-copy.
         final FileRegion region =
-            new DefaultFileRegion(raf.getChannel(), 0, fileLength);
+            new DefaultFileRegion(raf.getChannel(), offset, length);
         writeFuture = write(region);
       }
+      if (writeFuture == null) {
+        // The channel is closed
+        raf.close();
+        return null;
+      }
       writeFuture.addListener(new ChannelFutureListener() {
         public void operationComplete(ChannelFuture future) throws Exception {
           raf.close();
@@ -202,6 +235,10 @@ public abstract class ConnectionBase {
       });
       return writeFuture;
     } catch (IOException e) {
+      try {
+        raf.close();
+      } catch (IOException ignore) {
+      }
       handleException(e);
       return null;
     }
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2011-2014 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.core.net.impl;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.EventLoop;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.util.concurrent.Promise;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.impl.LoggerFactory;
+import io.vertx.core.net.NetServerOptionsBase;
+
+import java.net.InetSocketAddress;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * The listening sockets of a server which binds one socket per event loop with {@code SO_REUSEPORT}, see
+ * {@link io.vertx.core.net.NetServerOptions#isReusePort()}.<p>
+ * Each socket accepts on the event loop it's registered with and its connections stay on that event loop, so the
+ * kernel spreading the incoming connections across the sockets spreads them across the event loops, instead of a
+ * single event loop accepting all of them and handing them out. A socket is bound for each event loop the server has
+ * handlers on, once the first one is bound and its port is known, and closed when the last handler of the event loop
+ * is removed.
+ */
+public class EventLoopListeners {
+
+  private static final Logger log = LoggerFactory.getLogger(EventLoopListeners.class);
+
+  private final ServerBootstrap bootstrap;
+  private final ChannelGroup channelGroup;
+  // The event loops which should have a socket, with a promise completed once the bind of the socket is done
+  private final Map<EventLoop, Promise<Void>> eventLoops = new HashMap<>();
+  private final Map<EventLoop, Channel> channels = new HashMap<>();
+  private ChannelFuture first;
+  private InetSocketAddress boundAddress;
+
+  /**
+   * @param bootstrap  the bootstrap with everything but the event loop set, it's cloned for each socket
+   * @param channelGroup  the group the sockets are added to so they're closed with the server
+   */
+  public EventLoopListeners(ServerBootstrap bootstrap, ChannelGroup channelGroup) {
+    this.bootstrap = bootstrap;
+    this.channelGroup = channelGroup;
+  }
+
+  /**
+   * Bind the socket of the first event loop, the kernel picks the port if it's 0.
+   */
+  public synchronized ChannelFuture bindFirst(EventLoop eventLoop, InetSocketAddress address) {
+    Promise<Void> promise = eventLoop.newPromise();
+    eventLoops.put(eventLoop, promise);
+    first = bind(eventLoop, address);
+    first.addListener(future -> {
+      synchronized (EventLoopListeners.this) {
+        if (future.isSuccess()) {
+          // The socket of the first event loop might be closed later on, so keep hold of the port it was given
+          boundAddress = (InetSocketAddress) first.channel().localAddress();
+          complete(eventLoop, promise);
+          bindPending();
+        } else {
+          // Nothing else is going to be bound
+          eventLoops.forEach(EventLoopListeners::complete);
+        }
+      }
+    });
+    return first;
+  }
+
+  /**
+   * Make sure the event loop has a socket, it's bound to the same address as the first one.
+   *
+   * @return a future completed once the socket is bound or failed to bind, failures are logged as the server is still
+   * listening on the sockets of the other event loops
+   */
+  public synchronized io.netty.util.concurrent.Future<Void> add(EventLoop eventLoop) {
+    Promise<Void> promise = eventLoops.get(eventLoop);
+    if (promise == null) {
+      promise = eventLoop.newPromise();
+      eventLoops.put(eventLoop, promise);
+      if (boundAddress != null) {
+        bindPending();
+      } else if (first.isDone()) {
+        complete(eventLoop, promise);
+      }
+    }
+    return promise;
+  }
+
+  /**
+   * Close the socket of the event loop, its connections are left open.
+   */
+  public synchronized void remove(EventLoop eventLoop) {
+    Promise<Void> promise = eventLoops.remove(eventLoop);
+    if (promise != null) {
+      complete(eventLoop, promise);
+    }
+    Channel channel = channels.remove(eventLoop);
+    if (channel != null) {
+      channel.close();
+    }
+  }
+
+  /**
+   * @return whether the server should bind a socket per event loop, which needs a transport supporting it
+   */
+  public static boolean isEnabled(NetServerOptionsBase<?> options, Transport transport) {
+    if (options.isReusePort() && !transport.supportsReusePort()) {
+      log.warn("SO_REUSEPORT needs the native transport, the server will use a single acceptor");
+      return false;
+    }
+    return options.isReusePort();
+  }
+
+  /**
+   * @return the number of the channels which are registered with each event loop
+   */
+  public static Map<EventLoop, Integer> countByEventLoop(Collection<Channel> channels) {
+    Map<EventLoop, Integer> counts = new HashMap<>();
+    for (Channel channel : channels) {
+      counts.merge(channel.eventLoop(), 1, Integer::sum);
+    }
+    return counts;
+  }
+
+  private void bindPending() {
+    for (Map.Entry<EventLoop, Promise<Void>> entry : eventLoops.entrySet()) {
+      EventLoop eventLoop = entry.getKey();
+      Promise<Void> promise = entry.getValue();
+      if (!channels.containsKey(eventLoop)) {
+        ChannelFuture bindFuture = bind(eventLoop, boundAddress);
+        bindFuture.addListener(future -> {
+          if (!future.isSuccess()) {
+            log.error("Failed to bind listener for event loop " + eventLoop, future.cause());
+            synchronized (EventLoopListeners.this) {
+              channels.remove(eventLoop, bindFuture.channel());
+            }
+          }
+          complete(eventLoop, promise);
+        });
+      }
+    }
+  }
+
+  // The promises are completed from a task so their listeners never run with the lock held, whatever thread this is
+  private static void complete(EventLoop eventLoop, Promise<Void> promise) {
+    try {
+      eventLoop.execute(() -> promise.trySuccess(null));
+    } catch (RejectedExecutionException ignore) {
+      // Event loop is shutting down
+    }
+  }
+
+  private ChannelFuture bind(EventLoop eventLoop, InetSocketAddress address) {
+    ChannelFuture future = bootstrap.clone().group(eventLoop).bind(address);
+    channels.put(eventLoop, future.channel());
+    channelGroup.add(future.channel());
+    return future;
+  }
+}
@@ -24,7 +24,6 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.FixedRecvByteBufAllocator;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.handler.timeout.IdleStateHandler;
@@ -97,6 +96,13 @@ public class NetClientImpl implements NetClient {
     }
   }
 
+  /**
+   * @return the SSL helper of the client, it counts the TLS handshakes of the connections
+   */
+  public SSLHelper sslHelper() {
+    return sslHelper;
+  }
+
   private void checkClosed() {
     if (closed) {
       throw new IllegalStateException("Client is closed");
@@ -119,6 +125,7 @@ public class NetClientImpl implements NetClient {
     bootstrap.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, options.getConnectTimeout());
     bootstrap.option(ChannelOption.ALLOCATOR, PartialPooledByteBufAllocator.INSTANCE);
     bootstrap.option(ChannelOption.SO_KEEPALIVE, options.isTcpKeepAlive());
+    vertx.transport().configure(options, bootstrap);
   }
 
   private void connect(final int port, final String host, final Handler<AsyncResult<NetSocket>> connectHandler,
@@ -127,13 +134,13 @@ public class NetClientImpl implements NetClient {
     sslHelper.checkSSL(vertx);
     Bootstrap bootstrap = new Bootstrap();
     bootstrap.group(context.getEventLoop());
-    bootstrap.channel(NioSocketChannel.class);
+    bootstrap.channel(vertx.transport().socketChannelType());
     bootstrap.handler(new ChannelInitializer<Channel>() {
       @Override
       protected void initChannel(Channel ch) throws Exception {
         ChannelPipeline pipeline = ch.pipeline();
         if (sslHelper.isSSL()) {
-          SslHandler sslHandler = sslHelper.createSslHandler(vertx, true);
+          SslHandler sslHandler = sslHelper.createSslHandler(vertx, true, host, port);
           pipeline.addLast("ssl", sslHandler);
         }
         if (sslHelper.isSSL()) {
@@ -143,7 +150,7 @@ public class NetClientImpl implements NetClient {
         if (options.getIdleTimeout() > 0) {
           pipeline.addLast("idle", new IdleStateHandler(0, 0, options.getIdleTimeout()));
         }
-        pipeline.addLast("handler", new VertxNetHandler(vertx, socketMap));
+        pipeline.addLast("handler", new VertxNetHandler(vertx, socketMap, options.isDirectReadBuffers()));
       }
     });
 
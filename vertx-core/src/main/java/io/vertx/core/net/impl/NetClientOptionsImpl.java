@@ -56,6 +56,7 @@ public class NetClientOptionsImpl implements NetClientOptions {
 
   private boolean tcpNoDelay = DEFAULT_TCPNODELAY;
   private boolean tcpKeepAlive = DEFAULT_TCPKEEPALIVE;
+  private boolean tcpCork;
   private int soLinger = DEFAULT_SOLINGER;
   private boolean usePooledBuffers;
   private int idleTimeout;
@@ -66,6 +67,10 @@ public class NetClientOptionsImpl implements NetClientOptions {
   private KeyStoreOptions keyStore;
   private TrustStoreOptions trustStore;
   private Set<String> enabledCipherSuites = new HashSet<>();
+  private static final int DEFAULT_SSLSESSIONCACHESIZE = -1;
+  private static final int DEFAULT_SSLSESSIONTIMEOUT = -1;
+  private int sslSessionCacheSize = DEFAULT_SSLSESSIONCACHESIZE;
+  private int sslSessionTimeout = DEFAULT_SSLSESSIONTIMEOUT;
 
   private static final int DEFAULT_CONNECTTIMEOUT = 60000;
 
@@ -83,6 +88,7 @@ public class NetClientOptionsImpl implements NetClientOptions {
 
   private int reconnectAttempts;
   private long reconnectInterval;
+  private boolean directReadBuffers;
 
   NetClientOptionsImpl(NetClientOptions other) {
     this.sendBufferSize = other.getSendBufferSize();
@@ -91,18 +97,22 @@ public class NetClientOptionsImpl implements NetClientOptions {
     this.trafficClass = other.getTrafficClass();
     this.tcpNoDelay = other.isTcpNoDelay();
     this.tcpKeepAlive = other.isTcpKeepAlive();
+    this.tcpCork = other.isTcpCork();
     this.soLinger = other.getSoLinger();
     this.usePooledBuffers = other.isUsePooledBuffers();
     this.ssl = other.isSsl();
     this.keyStore = other.getKeyStoreOptions() != null ? other.getKeyStoreOptions().clone() : null;
     this.trustStore = other.getTrustStoreOptions() != null ? other.getTrustStoreOptions().clone() : null;
     this.enabledCipherSuites = other.getEnabledCipherSuites() == null ? null : new HashSet<>(other.getEnabledCipherSuites());
+    this.sslSessionCacheSize = other.getSslSessionCacheSize();
+    this.sslSessionTimeout = other.getSslSessionTimeout();
     this.connectTimeout = other.getConnectTimeout();
     this.trustAll = other.isTrustAll();
     this.crlPaths = new ArrayList<>(other.getCrlPaths());
     this.crlValues = new ArrayList<>(other.getCrlValues());
     this.reconnectAttempts = other.getReconnectAttempts();
     this.reconnectInterval = other.getReconnectInterval();
+    this.directReadBuffers = other.isDirectReadBuffers();
     this.idleTimeout = other.getIdleTimeout();
   }
 
@@ -113,6 +123,7 @@ public class NetClientOptionsImpl implements NetClientOptions {
     this.trafficClass = json.getInteger("trafficClass", DEFAULT_TRAFFICCLASS);
     this.tcpNoDelay = json.getBoolean("tcpNoDelay", DEFAULT_TCPNODELAY);
     this.tcpKeepAlive = json.getBoolean("tcpKeepAlive", DEFAULT_TCPKEEPALIVE);
+    this.tcpCork = json.getBoolean("tcpCork", false);
     this.soLinger = json.getInteger("soLinger", DEFAULT_SOLINGER);
     this.usePooledBuffers = json.getBoolean("usePooledBuffers", false);
     this.idleTimeout = json.getInteger("idleTimeout", 0);
@@ -153,6 +164,8 @@ public class NetClientOptionsImpl implements NetClientOptions {
     }
     JsonArray arr = json.getArray("enabledCipherSuites");
     this.enabledCipherSuites = arr == null ? null : new HashSet<String>(arr.toList());
+    this.sslSessionCacheSize = json.getInteger("sslSessionCacheSize", DEFAULT_SSLSESSIONCACHESIZE);
+    this.sslSessionTimeout = json.getInteger("sslSessionTimeout", DEFAULT_SSLSESSIONTIMEOUT);
     this.connectTimeout = json.getInteger("connectTimeout", DEFAULT_CONNECTTIMEOUT);
     this.trustAll = json.getBoolean("trustAll", false);
     arr = json.getArray("crlPaths");
@@ -164,6 +177,7 @@ public class NetClientOptionsImpl implements NetClientOptions {
     }
     this.reconnectAttempts = json.getInteger("reconnectAttempts", 0);
     this.reconnectInterval = json.getLong("reconnectInterval", DEFAULT_RECONNECTINTERVAL);
+    this.directReadBuffers = json.getBoolean("directReadBuffers", false);
   }
 
   NetClientOptionsImpl() {
@@ -255,6 +269,17 @@ public class NetClientOptionsImpl implements NetClientOptions {
     return this;
   }
 
+  @Override
+  public boolean isTcpCork() {
+    return tcpCork;
+  }
+
+  @Override
+  public NetClientOptions setTcpCork(boolean tcpCork) {
+    this.tcpCork = tcpCork;
+    return this;
+  }
+
   @Override
   public int getSoLinger() {
     return soLinger;
@@ -338,6 +363,34 @@ public class NetClientOptionsImpl implements NetClientOptions {
     return enabledCipherSuites;
   }
 
+  @Override
+  public int getSslSessionCacheSize() {
+    return sslSessionCacheSize;
+  }
+
+  @Override
+  public NetClientOptions setSslSessionCacheSize(int sslSessionCacheSize) {
+    if (sslSessionCacheSize < 0) {
+      throw new IllegalArgumentException("sslSessionCacheSize must be >= 0");
+    }
+    this.sslSessionCacheSize = sslSessionCacheSize;
+    return this;
+  }
+
+  @Override
+  public int getSslSessionTimeout() {
+    return sslSessionTimeout;
+  }
+
+  @Override
+  public NetClientOptions setSslSessionTimeout(int sslSessionTimeout) {
+    if (sslSessionTimeout < 0) {
+      throw new IllegalArgumentException("sslSessionTimeout must be >= 0");
+    }
+    this.sslSessionTimeout = sslSessionTimeout;
+    return this;
+  }
+
   @Override
   public boolean isTrustAll() {
     return trustAll;
@@ -419,6 +472,17 @@ public class NetClientOptionsImpl implements NetClientOptions {
     return reconnectInterval;
   }
 
+  @Override
+  public boolean isDirectReadBuffers() {
+    return directReadBuffers;
+  }
+
+  @Override
+  public NetClientOptions setDirectReadBuffers(boolean directReadBuffers) {
+    this.directReadBuffers = directReadBuffers;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -431,11 +495,13 @@ public class NetClientOptionsImpl implements NetClientOptions {
     if (receiveBufferSize != that.receiveBufferSize) return false;
     if (reconnectAttempts != that.reconnectAttempts) return false;
     if (reconnectInterval != that.reconnectInterval) return false;
+    if (directReadBuffers != that.directReadBuffers) return false;
     if (reuseAddress != that.reuseAddress) return false;
     if (sendBufferSize != that.sendBufferSize) return false;
     if (soLinger != that.soLinger) return false;
     if (ssl != that.ssl) return false;
     if (tcpKeepAlive != that.tcpKeepAlive) return false;
+    if (tcpCork != that.tcpCork) return false;
     if (tcpNoDelay != that.tcpNoDelay) return false;
     if (trafficClass != that.trafficClass) return false;
     if (trustAll != that.trustAll) return false;
@@ -444,6 +510,8 @@ public class NetClientOptionsImpl implements NetClientOptions {
     if (crlValues != null ? !crlValues.equals(that.crlValues) : that.crlValues != null) return false;
     if (enabledCipherSuites != null ? !enabledCipherSuites.equals(that.enabledCipherSuites) : that.enabledCipherSuites != null)
       return false;
+    if (sslSessionCacheSize != that.sslSessionCacheSize) return false;
+    if (sslSessionTimeout != that.sslSessionTimeout) return false;
     if (keyStore != null ? !keyStore.equals(that.keyStore) : that.keyStore != null) return false;
     if (trustStore != null ? !trustStore.equals(that.trustStore) : that.trustStore != null) return false;
 
@@ -458,6 +526,7 @@ public class NetClientOptionsImpl implements NetClientOptions {
     result = 31 * result + trafficClass;
     result = 31 * result + (tcpNoDelay ? 1 : 0);
     result = 31 * result + (tcpKeepAlive ? 1 : 0);
+    result = 31 * result + (tcpCork ? 1 : 0);
     result = 31 * result + soLinger;
     result = 31 * result + (usePooledBuffers ? 1 : 0);
     result = 31 * result + idleTimeout;
@@ -465,12 +534,15 @@ public class NetClientOptionsImpl implements NetClientOptions {
     result = 31 * result + (keyStore != null ? keyStore.hashCode() : 0);
     result = 31 * result + (trustStore != null ? trustStore.hashCode() : 0);
     result = 31 * result + (enabledCipherSuites != null ? enabledCipherSuites.hashCode() : 0);
+    result = 31 * result + sslSessionCacheSize;
+    result = 31 * result + sslSessionTimeout;
     result = 31 * result + connectTimeout;
     result = 31 * result + (trustAll ? 1 : 0);
     result = 31 * result + (crlPaths != null ? crlPaths.hashCode() : 0);
     result = 31 * result + (crlValues != null ? crlValues.hashCode() : 0);
     result = 31 * result + reconnectAttempts;
     result = 31 * result + (int) (reconnectInterval ^ (reconnectInterval >>> 32));
+    result = 31 * result + (directReadBuffers ? 1 : 0);
     return result;
   }
 }
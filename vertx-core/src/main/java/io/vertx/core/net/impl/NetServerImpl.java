@@ -30,7 +30,6 @@ import io.netty.channel.FixedRecvByteBufAllocator;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.ChannelGroupFuture;
 import io.netty.channel.group.DefaultChannelGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.handler.timeout.IdleStateHandler;
@@ -75,6 +74,7 @@ public class NetServerImpl implements NetServer, Closeable {
   private volatile ServerID id;
   private NetServerImpl actualServer;
   private ChannelFuture bindFuture;
+  private EventLoopListeners eventLoopListeners;
   private int actualPort;
   private Queue<Runnable> bindListeners = new ConcurrentLinkedQueue<>();
   private boolean listenersRun;
@@ -125,15 +125,19 @@ public class NetServerImpl implements NetServer, Closeable {
     listenContext = vertx.getOrCreateContext();
 
     synchronized (vertx.sharedNetServers()) {
+      io.netty.util.concurrent.Future<Void> eventLoopBound = null;
       this.actualPort = options.getPort(); // Will be updated on bind for a wildcard port
       id = new ServerID(options.getPort(), options.getHost());
       NetServerImpl shared = vertx.sharedNetServers().get(id);
       if (shared == null || options.getPort() == 0) { // Wildcard port will imply a new actual server each time
         serverChannelGroup = new DefaultChannelGroup("vertx-acceptor-channels", GlobalEventExecutor.INSTANCE);
 
+        boolean reusePort = EventLoopListeners.isEnabled(options, vertx.transport());
         ServerBootstrap bootstrap = new ServerBootstrap();
-        bootstrap.group(availableWorkers);
-        bootstrap.channel(NioServerSocketChannel.class);
+        if (!reusePort) {
+          bootstrap.group(availableWorkers);
+        }
+        bootstrap.channel(vertx.transport().serverSocketChannelType());
         sslHelper.checkSSL(vertx);
 
         bootstrap.childHandler(new ChannelInitializer<Channel>() {
@@ -163,7 +167,14 @@ public class NetServerImpl implements NetServer, Closeable {
 
         try {
           InetSocketAddress addr = new InetSocketAddress(InetAddress.getByName(options.getHost()), options.getPort());
-          bindFuture = bootstrap.bind(addr).addListener(new ChannelFutureListener() {
+          if (reusePort) {
+            vertx.transport().setReusePort(bootstrap);
+            eventLoopListeners = new EventLoopListeners(bootstrap, serverChannelGroup);
+            bindFuture = eventLoopListeners.bindFirst(listenContext.getEventLoop(), addr);
+          } else {
+            bindFuture = bootstrap.bind(addr);
+          }
+          bindFuture.addListener(new ChannelFutureListener() {
             @Override
             public void operationComplete(ChannelFuture future) throws Exception {
               runListeners();
@@ -203,10 +214,13 @@ public class NetServerImpl implements NetServer, Closeable {
         if (connectHandler != null) {
           actualServer.handlerManager.addHandler(connectHandler, listenContext);
         }
+        if (actualServer.eventLoopListeners != null) {
+          eventLoopBound = actualServer.eventLoopListeners.add(listenContext.getEventLoop());
+        }
       }
 
       // just add it to the future so it gets notified once the bind is complete
-      actualServer.addListener(() -> {
+      Runnable notifier = () -> {
         if (listenHandler != null) {
           final AsyncResult<NetServer> res;
           if (actualServer.bindFuture.isSuccess()) {
@@ -224,7 +238,14 @@ public class NetServerImpl implements NetServer, Closeable {
           log.error(actualServer.bindFuture.cause());
           listening = false;
         }
-      });
+      };
+      if (eventLoopBound != null) {
+        // Also wait for the socket of this event loop so it's accepting by the time the handler is called
+        NetServerImpl server = actualServer;
+        eventLoopBound.addListener(future -> server.addListener(notifier));
+      } else {
+        actualServer.addListener(notifier);
+      }
     }
     return this;
   }
@@ -250,6 +271,9 @@ public class NetServerImpl implements NetServer, Closeable {
 
         if (actualServer.handlerManager.hasHandlers()) {
           // The actual server still has handlers so we don't actually close it
+          if (actualServer.eventLoopListeners != null && !actualServer.handlerManager.hasHandlers(listenContext.getEventLoop())) {
+            actualServer.eventLoopListeners.remove(listenContext.getEventLoop());
+          }
           if (done != null) {
             executeCloseDone(context, done, null);
           }
@@ -271,6 +295,22 @@ public class NetServerImpl implements NetServer, Closeable {
     return actualPort;
   }
 
+  /**
+   * @return the number of open connections of the server on each event loop
+   */
+  public Map<EventLoop, Integer> connectionCounts() {
+    NetServerImpl server = actualServer != null ? actualServer : this;
+    return EventLoopListeners.countByEventLoop(server.socketMap.keySet());
+  }
+
+  /**
+   * @return the SSL helper of the server, it counts the TLS handshakes of the connections
+   */
+  public SSLHelper sslHelper() {
+    NetServerImpl server = actualServer != null ? actualServer : this;
+    return server.sslHelper;
+  }
+
   private void applyConnectionOptions(ServerBootstrap bootstrap) {
     bootstrap.childOption(ChannelOption.TCP_NODELAY, options.isTcpNoDelay());
     if (options.getSendBufferSize() != -1) {
@@ -290,6 +330,7 @@ public class NetServerImpl implements NetServer, Closeable {
     bootstrap.childOption(ChannelOption.SO_KEEPALIVE, options.isTcpKeepAlive());
     bootstrap.option(ChannelOption.SO_REUSEADDR, options.isReuseAddress());
     bootstrap.option(ChannelOption.SO_BACKLOG, options.getAcceptBacklog());
+    vertx.transport().configure(options, bootstrap);
   }
 
   private synchronized void addListener(Runnable runner) {
@@ -336,7 +377,7 @@ public class NetServerImpl implements NetServer, Closeable {
 
   private class ServerHandler extends VertxNetHandler {
     public ServerHandler() {
-      super(NetServerImpl.this.vertx, socketMap);
+      super(NetServerImpl.this.vertx, socketMap, options.isDirectReadBuffers());
     }
 
     @Override
@@ -56,6 +56,7 @@ public class NetServerOptionsImpl implements NetServerOptions {
 
   private boolean tcpNoDelay = DEFAULT_TCPNODELAY;
   private boolean tcpKeepAlive = DEFAULT_TCPKEEPALIVE;
+  private boolean tcpCork;
   private int soLinger = DEFAULT_SOLINGER;
   private boolean usePooledBuffers;
   private int idleTimeout;
@@ -66,12 +67,17 @@ public class NetServerOptionsImpl implements NetServerOptions {
   private KeyStoreOptions keyStore;
   private TrustStoreOptions trustStore;
   private Set<String> enabledCipherSuites = new HashSet<>();
+  private static final int DEFAULT_SSLSESSIONCACHESIZE = -1;
+  private static final int DEFAULT_SSLSESSIONTIMEOUT = -1;
+  private int sslSessionCacheSize = DEFAULT_SSLSESSIONCACHESIZE;
+  private int sslSessionTimeout = DEFAULT_SSLSESSIONTIMEOUT;
 
   // Server specific HTTP stuff
 
   private static final int DEFAULT_PORT = 0;
   private static final String DEFAULT_HOST = "0.0.0.0";
   private static final int DEFAULT_ACCEPT_BACKLOG = 1024;
+  private static final boolean DEFAULT_REUSEPORT = false;
 
   private int port;
   private String host;
@@ -82,6 +88,8 @@ public class NetServerOptionsImpl implements NetServerOptions {
   private boolean clientAuthRequired;
   private ArrayList<String> crlPaths;
   private ArrayList<Buffer> crlValues;
+  private boolean reusePort = DEFAULT_REUSEPORT;
+  private boolean directReadBuffers;
 
   NetServerOptionsImpl(NetServerOptions other) {
     this.sendBufferSize = other.getSendBufferSize();
@@ -90,6 +98,7 @@ public class NetServerOptionsImpl implements NetServerOptions {
     this.trafficClass = other.getTrafficClass();
     this.tcpNoDelay = other.isTcpNoDelay();
     this.tcpKeepAlive = other.isTcpKeepAlive();
+    this.tcpCork = other.isTcpCork();
     this.soLinger = other.getSoLinger();
     this.usePooledBuffers = other.isUsePooledBuffers();
     this.idleTimeout = other.getIdleTimeout();
@@ -97,11 +106,15 @@ public class NetServerOptionsImpl implements NetServerOptions {
     this.keyStore = other.getKeyStoreOptions() != null ? other.getKeyStoreOptions().clone() : null;
     this.trustStore = other.getTrustStoreOptions() != null ? other.getTrustStoreOptions().clone() : null;
     this.enabledCipherSuites = other.getEnabledCipherSuites() == null ? null : new HashSet<String>(other.getEnabledCipherSuites());
+    this.sslSessionCacheSize = other.getSslSessionCacheSize();
+    this.sslSessionTimeout = other.getSslSessionTimeout();
     this.port = other.getPort();
     this.host = other.getHost();
     this.acceptBacklog = other.getAcceptBacklog();
     this.crlPaths = other.getCrlPaths() != null ? new ArrayList<String>(other.getCrlPaths()) : null;
     this.crlValues = other.getCrlValues() != null ? new ArrayList<Buffer>(other.getCrlValues()) : null;
+    this.reusePort = other.isReusePort();
+    this.directReadBuffers = other.isDirectReadBuffers();
   }
 
   NetServerOptionsImpl(JsonObject json) {
@@ -111,6 +124,7 @@ public class NetServerOptionsImpl implements NetServerOptions {
     this.trafficClass = json.getInteger("trafficClass", DEFAULT_TRAFFICCLASS);
     this.tcpNoDelay = json.getBoolean("tcpNoDelay", DEFAULT_TCPNODELAY);
     this.tcpKeepAlive = json.getBoolean("tcpKeepAlive", DEFAULT_TCPKEEPALIVE);
+    this.tcpCork = json.getBoolean("tcpCork", false);
     this.soLinger = json.getInteger("soLinger", DEFAULT_SOLINGER);
     this.usePooledBuffers = json.getBoolean("usePooledBuffers", false);
     this.idleTimeout = json.getInteger("idleTimeout", 0);
@@ -151,9 +165,13 @@ public class NetServerOptionsImpl implements NetServerOptions {
     }
     JsonArray arr = json.getArray("enabledCipherSuites");
     this.enabledCipherSuites = arr == null ? null : new HashSet<String>(arr.toList());
+    this.sslSessionCacheSize = json.getInteger("sslSessionCacheSize", DEFAULT_SSLSESSIONCACHESIZE);
+    this.sslSessionTimeout = json.getInteger("sslSessionTimeout", DEFAULT_SSLSESSIONTIMEOUT);
     this.port = json.getInteger("port", DEFAULT_PORT);
     this.host = json.getString("host", DEFAULT_HOST);
     this.acceptBacklog = json.getInteger("acceptBacklog", DEFAULT_ACCEPT_BACKLOG);
+    this.reusePort = json.getBoolean("reusePort", DEFAULT_REUSEPORT);
+    this.directReadBuffers = json.getBoolean("directReadBuffers", false);
     arr = json.getArray("crlPaths");
     this.crlPaths = arr == null ? new ArrayList<>() : new ArrayList<String>(arr.toList());
     this.crlValues = new ArrayList<>();
@@ -253,6 +271,17 @@ public class NetServerOptionsImpl implements NetServerOptions {
     return this;
   }
 
+  @Override
+  public boolean isTcpCork() {
+    return tcpCork;
+  }
+
+  @Override
+  public NetServerOptions setTcpCork(boolean tcpCork) {
+    this.tcpCork = tcpCork;
+    return this;
+  }
+
   @Override
   public int getSoLinger() {
     return soLinger;
@@ -336,6 +365,34 @@ public class NetServerOptionsImpl implements NetServerOptions {
     return enabledCipherSuites;
   }
 
+  @Override
+  public int getSslSessionCacheSize() {
+    return sslSessionCacheSize;
+  }
+
+  @Override
+  public NetServerOptions setSslSessionCacheSize(int sslSessionCacheSize) {
+    if (sslSessionCacheSize < 0) {
+      throw new IllegalArgumentException("sslSessionCacheSize must be >= 0");
+    }
+    this.sslSessionCacheSize = sslSessionCacheSize;
+    return this;
+  }
+
+  @Override
+  public int getSslSessionTimeout() {
+    return sslSessionTimeout;
+  }
+
+  @Override
+  public NetServerOptions setSslSessionTimeout(int sslSessionTimeout) {
+    if (sslSessionTimeout < 0) {
+      throw new IllegalArgumentException("sslSessionTimeout must be >= 0");
+    }
+    this.sslSessionTimeout = sslSessionTimeout;
+    return this;
+  }
+
   @Override
   public boolean isClientAuthRequired() {
     return clientAuthRequired;
@@ -411,6 +468,28 @@ public class NetServerOptionsImpl implements NetServerOptions {
     return this;
   }
 
+  @Override
+  public boolean isReusePort() {
+    return reusePort;
+  }
+
+  @Override
+  public NetServerOptions setReusePort(boolean reusePort) {
+    this.reusePort = reusePort;
+    return this;
+  }
+
+  @Override
+  public boolean isDirectReadBuffers() {
+    return directReadBuffers;
+  }
+
+  @Override
+  public NetServerOptions setDirectReadBuffers(boolean directReadBuffers) {
+    this.directReadBuffers = directReadBuffers;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -428,6 +507,7 @@ public class NetServerOptionsImpl implements NetServerOptions {
     if (soLinger != that.soLinger) return false;
     if (ssl != that.ssl) return false;
     if (tcpKeepAlive != that.tcpKeepAlive) return false;
+    if (tcpCork != that.tcpCork) return false;
     if (tcpNoDelay != that.tcpNoDelay) return false;
     if (trafficClass != that.trafficClass) return false;
     if (usePooledBuffers != that.usePooledBuffers) return false;
@@ -435,9 +515,13 @@ public class NetServerOptionsImpl implements NetServerOptions {
     if (crlValues != null ? !crlValues.equals(that.crlValues) : that.crlValues != null) return false;
     if (enabledCipherSuites != null ? !enabledCipherSuites.equals(that.enabledCipherSuites) : that.enabledCipherSuites != null)
       return false;
+    if (sslSessionCacheSize != that.sslSessionCacheSize) return false;
+    if (sslSessionTimeout != that.sslSessionTimeout) return false;
     if (host != null ? !host.equals(that.host) : that.host != null) return false;
     if (keyStore != null ? !keyStore.equals(that.keyStore) : that.keyStore != null) return false;
     if (trustStore != null ? !trustStore.equals(that.trustStore) : that.trustStore != null) return false;
+    if (reusePort != that.reusePort) return false;
+    if (directReadBuffers != that.directReadBuffers) return false;
 
     return true;
   }
@@ -450,6 +534,7 @@ public class NetServerOptionsImpl implements NetServerOptions {
     result = 31 * result + trafficClass;
     result = 31 * result + (tcpNoDelay ? 1 : 0);
     result = 31 * result + (tcpKeepAlive ? 1 : 0);
+    result = 31 * result + (tcpCork ? 1 : 0);
     result = 31 * result + soLinger;
     result = 31 * result + (usePooledBuffers ? 1 : 0);
     result = 31 * result + idleTimeout;
@@ -457,12 +542,16 @@ public class NetServerOptionsImpl implements NetServerOptions {
     result = 31 * result + (keyStore != null ? keyStore.hashCode() : 0);
     result = 31 * result + (trustStore != null ? trustStore.hashCode() : 0);
     result = 31 * result + (enabledCipherSuites != null ? enabledCipherSuites.hashCode() : 0);
+    result = 31 * result + sslSessionCacheSize;
+    result = 31 * result + sslSessionTimeout;
     result = 31 * result + port;
     result = 31 * result + (host != null ? host.hashCode() : 0);
     result = 31 * result + acceptBacklog;
     result = 31 * result + (clientAuthRequired ? 1 : 0);
     result = 31 * result + (crlPaths != null ? crlPaths.hashCode() : 0);
     result = 31 * result + (crlValues != null ? crlValues.hashCode() : 0);
+    result = 31 * result + (reusePort ? 1 : 0);
+    result = 31 * result + (directReadBuffers ? 1 : 0);
     return result;
   }
 }
@@ -21,8 +21,10 @@ import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.DefaultFileRegion;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.util.CharsetUtil;
+import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.GenericFutureListener;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
@@ -32,6 +34,7 @@ import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.eventbus.Registration;
 import io.vertx.core.file.impl.PathAdjuster;
+import io.vertx.core.file.impl.TransferTarget;
 import io.vertx.core.impl.ContextImpl;
 import io.vertx.core.impl.VertxInternal;
 import io.vertx.core.logging.Logger;
@@ -40,16 +43,20 @@ import io.vertx.core.net.NetSocket;
 import io.vertx.core.net.SocketAddress;
 
 import java.io.File;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.util.ArrayDeque;
 import java.util.Queue;
-import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
-public class NetSocketImpl extends ConnectionBase implements NetSocket {
+public class NetSocketImpl extends ConnectionBase implements NetSocket, TransferTarget {
 
   private static final Logger log = LoggerFactory.getLogger(NetSocketImpl.class);
 
-  private final String writeHandlerID;
+  private static final AtomicLong handlerIDs = new AtomicLong();
+
+  private String writeHandlerID;
 
   private Handler<Buffer> dataHandler;
   private Handler<Void> endHandler;
@@ -65,20 +72,41 @@ public class NetSocketImpl extends ConnectionBase implements NetSocket {
     super(vertx, channel, context);
     this.helper = helper;
     this.client = client;
-    this.writeHandlerID = UUID.randomUUID().toString();
-    Handler<Message<Buffer>> writeHandler = msg -> writeBuffer(msg.body());
-    registration = vertx.eventBus().registerLocalHandler(writeHandlerID, writeHandler);
   }
 
   @Override
-  public String writeHandlerID() {
+  public synchronized String writeHandlerID() {
+    // Most sockets never use it, so only register the handler when asked for its address. The address is local
+    // only, so it just needs to be unique within the JVM
+    if (writeHandlerID == null) {
+      writeHandlerID = "__vertx.net." + handlerIDs.incrementAndGet();
+      if (channel.isOpen()) {
+        // The handler runs on the context asking for the address, which need not be the socket's one
+        Handler<Message<Buffer>> writeHandler = msg -> context.runOnContext(v -> writeBuffer(msg.body()));
+        registration = vertx.eventBus().registerLocalHandler(writeHandlerID, writeHandler);
+      }
+    }
     return writeHandlerID;
   }
 
   @Override
   public NetSocket writeBuffer(Buffer data) {
-    ByteBuf buf = data.getByteBuf();
-    write(buf);
+    // The channel gets its own reference, as data may be a direct read buffer released before the write is flushed
+    return writeMessage(data.getRetainedByteBuf());
+  }
+
+  /**
+   * Write a message straight to the channel without wrapping it in a {@link Buffer}. The channel takes ownership
+   * of the message so any reference counted message is released once written.
+   */
+  public NetSocketImpl writeMessage(Object message) {
+    ChannelFuture future = super.write(message);
+    if (future == null) {
+      // Channel already closed
+      ReferenceCountUtil.release(message);
+    } else {
+      writeFuture = future;
+    }
     return this;
   }
 
@@ -126,7 +154,11 @@ public class NetSocketImpl extends ConnectionBase implements NetSocket {
         vertx.runOnContext(new VoidHandler() {
           @Override
           protected void handle() {
-            handleDataReceived(buf);
+            try {
+              handleDataReceived(buf);
+            } finally {
+              buf.release();
+            }
           }
         });
       }
@@ -198,6 +230,30 @@ public class NetSocketImpl extends ConnectionBase implements NetSocket {
     return this;
   }
 
+  @Override
+  public boolean supportsTransfer() {
+    return supportsFileRegion();
+  }
+
+  @Override
+  public void transfer(FileChannel fileChannel, long position, long count, Handler<AsyncResult<Long>> handler) {
+    ChannelFuture future = super.write(new SharedFileRegion(fileChannel, position, count));
+    if (future == null) {
+      handler.handle(Future.completedFuture(new ClosedChannelException()));
+      return;
+    }
+    writeFuture = future;
+    // The handler updates the state of the source, so it's called back on the context it was called from
+    ContextImpl callerContext = vertx.getContext() != null ? vertx.getContext() : context;
+    future.addListener(f -> callerContext.execute(() -> {
+      if (f.isSuccess()) {
+        handler.handle(Future.completedFuture(count));
+      } else {
+        handler.handle(Future.completedFuture(f.cause()));
+      }
+    }, false));
+  }
+
   @Override
   public SocketAddress remoteAddress() {
     return super.remoteAddress();
@@ -272,8 +328,16 @@ public class NetSocketImpl extends ConnectionBase implements NetSocket {
       endHandler.handle(null);
     }
     super.handleClosed();
-    if (vertx.eventBus() != null) {
-      registration.unregister();
+    if (pendingData != null) {
+      Buffer buf;
+      while ((buf = pendingData.poll()) != null) {
+        buf.release();
+      }
+    }
+    synchronized (this) {
+      if (registration != null) {
+        registration.unregister();
+      }
     }
   }
 
@@ -284,7 +348,7 @@ public class NetSocketImpl extends ConnectionBase implements NetSocket {
       if (pendingData == null) {
         pendingData = new ArrayDeque<>();
       }
-      pendingData.add(data);
+      pendingData.add(data.retain());
       return;
     }
     if (dataHandler != null) {
@@ -296,6 +360,20 @@ public class NetSocketImpl extends ConnectionBase implements NetSocket {
     writeFuture = super.write(buff);
   }
 
+  /**
+   * A file region which leaves the channel open once it's written, as the file sends the next regions from it.
+   */
+  private static class SharedFileRegion extends DefaultFileRegion {
+
+    SharedFileRegion(FileChannel file, long position, long count) {
+      super(file, position, count);
+    }
+
+    @Override
+    protected void deallocate() {
+    }
+  }
+
   private void callDrainHandler() {
     if (drainHandler != null) {
       if (!writeQueueFull()) {
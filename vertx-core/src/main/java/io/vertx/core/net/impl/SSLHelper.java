@@ -16,6 +16,7 @@
 
 package io.vertx.core.net.impl;
 
+import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.ssl.SslHandler;
 import io.vertx.core.VertxException;
 import io.vertx.core.buffer.Buffer;
@@ -31,6 +32,8 @@ import io.vertx.core.net.NetServerOptionsBase;
 import javax.net.ssl.KeyManager;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSessionContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 import java.io.ByteArrayInputStream;
@@ -40,7 +43,11 @@ import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -62,9 +69,17 @@ public class SSLHelper {
   private ArrayList<Buffer> crlValues;
   private ClientAuth clientAuth = ClientAuth.NONE;
   private Set<String> enabledCipherSuites;
+  private int sessionCacheSize;
+  private int sessionTimeout;
 
   private SSLContext sslContext;
 
+  private final LongAdder fullHandshakes = new LongAdder();
+  private final LongAdder resumedHandshakes = new LongAdder();
+  private final LongAdder handshakeTime = new LongAdder();
+  // The sessions established so far, weakly held so they go once they've dropped out of the session cache
+  private final Map<SSLSession, Boolean> sessions = Collections.synchronizedMap(new WeakHashMap<>());
+
   public SSLHelper(NetClientOptions options, KeyStoreHelper keyStoreHelper, KeyStoreHelper trustStoreHelper) {
     this((ClientOptions) options, keyStoreHelper, trustStoreHelper);
   }
@@ -81,6 +96,8 @@ public class SSLHelper {
     this.crlPaths = new ArrayList<String>(options.getCrlPaths());
     this.crlValues = new ArrayList<Buffer>(options.getCrlValues());
     this.enabledCipherSuites = options.getEnabledCipherSuites();
+    this.sessionCacheSize = options.getSslSessionCacheSize();
+    this.sessionTimeout = options.getSslSessionTimeout();
   }
 
   public SSLHelper(NetServerOptionsBase options, KeyStoreHelper keyStoreHelper, KeyStoreHelper trustStoreHelper) {
@@ -91,6 +108,8 @@ public class SSLHelper {
     this.crlPaths = options.getCrlPaths() != null ? new ArrayList<String>(options.getCrlPaths()) : null;
     this.crlValues = options.getCrlValues() != null ? new ArrayList<Buffer>(options.getCrlValues()) : null;
     this.enabledCipherSuites = options.getEnabledCipherSuites();
+    this.sessionCacheSize = options.getSslSessionCacheSize();
+    this.sessionTimeout = options.getSslSessionTimeout();
   }
 
   public synchronized void checkSSL(VertxInternal vertx) {
@@ -143,12 +162,27 @@ public class SSLHelper {
         trustMgrs = createUntrustRevokedCertTrustManager(trustMgrs, crls);
       }
       context.init(keyMgrs, trustMgrs, new SecureRandom());
+      // A connection resumes a session from the cache rather than doing a full handshake
+      configureSessionContext(context.getClientSessionContext());
+      configureSessionContext(context.getServerSessionContext());
       return context;
     } catch (Exception e) {
       throw new VertxException(e);
     }
   }
 
+  private void configureSessionContext(SSLSessionContext sessionContext) {
+    if (sessionContext == null) {
+      return;
+    }
+    if (sessionCacheSize != -1) {
+      sessionContext.setSessionCacheSize(sessionCacheSize);
+    }
+    if (sessionTimeout != -1) {
+      sessionContext.setSessionTimeout(sessionTimeout);
+    }
+  }
+
   /*
   Proxy the specified trust managers with an implementation checking first the provided certificates
   against the the Certificate Revocation List (crl) before delegating to the original trust managers.
@@ -208,10 +242,18 @@ public class SSLHelper {
   }
 
   public SslHandler createSslHandler(VertxInternal vertx, boolean client) {
+    return createSslHandler(vertx, client, null, -1);
+  }
+
+  /**
+   * Create a handler for a connection to the specified peer, a client can only resume a session when it knows the
+   * peer.
+   */
+  public SslHandler createSslHandler(VertxInternal vertx, boolean client, String peerHost, int peerPort) {
     if (sslContext == null) {
       sslContext = createContext(vertx);
     }
-    SSLEngine engine = sslContext.createSSLEngine();
+    SSLEngine engine = peerHost != null ? sslContext.createSSLEngine(peerHost, peerPort) : sslContext.createSSLEngine();
 //    String[] current = engine.getSupportedCipherSuites();
 //    System.out.println("Enabled cipher suites:");
 //    for (String str: current) {
@@ -241,10 +283,75 @@ public class SSLHelper {
         }
       }
     }
-    return new SslHandler(engine);
+    return trackHandshake(engine);
+  }
+
+  /**
+   * Create a handler for the engine which records whether its handshake resumes a session, and how long it takes
+   * from the connection being active.
+   */
+  public SslHandler trackHandshake(SSLEngine engine) {
+    return new TrackingSslHandler(engine);
+  }
+
+  /**
+   * @return the number of successful handshakes which didn't resume a session
+   */
+  public long getFullHandshakeCount() {
+    return fullHandshakes.sum();
+  }
+
+  /**
+   * @return the number of successful handshakes which resumed a session
+   */
+  public long getResumedHandshakeCount() {
+    return resumedHandshakes.sum();
+  }
+
+  /**
+   * @return the time spent in successful handshakes, in nanoseconds
+   */
+  public long getHandshakeTime() {
+    return handshakeTime.sum();
   }
 
   public SSLContext getSslContext() {
     return sslContext;
   }
+
+  private class TrackingSslHandler extends SslHandler {
+
+    // Only accessed from the event loop
+    private long start;
+
+    TrackingSslHandler(SSLEngine engine) {
+      super(engine);
+      handshakeFuture().addListener(future -> {
+        if (future.isSuccess()) {
+          handshakeTime.add(System.nanoTime() - start);
+          // A resumed handshake gets a session which an earlier one established
+          if (sessions.put(engine.getSession(), Boolean.TRUE) != null) {
+            resumedHandshakes.increment();
+          } else {
+            fullHandshakes.increment();
+          }
+        }
+      });
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+      if (ctx.channel().isActive()) {
+        // Added to a connected channel, e.g. upgrading to SSL
+        start = System.nanoTime();
+      }
+      super.handlerAdded(ctx);
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+      start = System.nanoTime();
+      super.channelActive(ctx);
+    }
+  }
 }
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2011-2014 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.core.net.impl;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.InternetProtocolFamily;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.impl.LoggerFactory;
+import io.vertx.core.net.TCPOptions;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The Netty transport the event loops and channels are created with.<p>
+ * {@link #NIO} works everywhere, {@link #EPOLL} uses the native epoll transport on Linux which saves a copy and some
+ * wakeups per read and write, and supports native socket options such as {@code TCP_CORK}. The channels of a
+ * transport can only be registered on its own event loops, so everything created by a Vert.x instance uses the one
+ * transport it was started with.
+ */
+public abstract class Transport {
+
+  private static final Logger log = LoggerFactory.getLogger(Transport.class);
+
+  public static final Transport NIO = new Transport() {
+
+    @Override
+    public boolean isNative() {
+      return false;
+    }
+
+    @Override
+    public EventLoopGroup eventLoopGroup(int nThreads, ThreadFactory threadFactory) {
+      return new NioEventLoopGroup(nThreads, threadFactory);
+    }
+
+    @Override
+    public Class<? extends SocketChannel> socketChannelType() {
+      return NioSocketChannel.class;
+    }
+
+    @Override
+    public Class<? extends ServerSocketChannel> serverSocketChannelType() {
+      return NioServerSocketChannel.class;
+    }
+
+    @Override
+    public Class<? extends DatagramChannel> datagramChannelType() {
+      return NioDatagramChannel.class;
+    }
+
+    @Override
+    public DatagramChannel datagramChannel(InternetProtocolFamily family) {
+      return family == null ? new NioDatagramChannel() : new NioDatagramChannel(family);
+    }
+  };
+
+  public static final Transport EPOLL = new Transport() {
+
+    @Override
+    public boolean isNative() {
+      return true;
+    }
+
+    @Override
+    public EventLoopGroup eventLoopGroup(int nThreads, ThreadFactory threadFactory) {
+      return new EpollEventLoopGroup(nThreads, threadFactory);
+    }
+
+    @Override
+    public Class<? extends SocketChannel> socketChannelType() {
+      return EpollSocketChannel.class;
+    }
+
+    @Override
+    public Class<? extends ServerSocketChannel> serverSocketChannelType() {
+      return EpollServerSocketChannel.class;
+    }
+
+    @Override
+    public Class<? extends DatagramChannel> datagramChannelType() {
+      return EpollDatagramChannel.class;
+    }
+
+    @Override
+    public DatagramChannel datagramChannel(InternetProtocolFamily family) {
+      // The native channel picks the protocol family from the address it's bound to
+      return new EpollDatagramChannel();
+    }
+
+    @Override
+    public void configure(TCPOptions<?> options, Bootstrap bootstrap) {
+      bootstrap.option(EpollChannelOption.TCP_CORK, options.isTcpCork());
+    }
+
+    @Override
+    public void configure(TCPOptions<?> options, ServerBootstrap bootstrap) {
+      bootstrap.childOption(EpollChannelOption.TCP_CORK, options.isTcpCork());
+    }
+
+    @Override
+    public boolean supportsReusePort() {
+      return true;
+    }
+
+    @Override
+    public void setReusePort(ServerBootstrap bootstrap) {
+      bootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+    }
+  };
+
+  /**
+   * @param preferNative whether to use the native transport when it's available
+   * @return the native transport if it was preferred and can be loaded on this platform, otherwise {@link #NIO}
+   */
+  public static Transport transport(boolean preferNative) {
+    if (preferNative) {
+      if (Epoll.isAvailable()) {
+        return EPOLL;
+      }
+      log.warn("Native transport not available, using NIO instead", Epoll.unavailabilityCause());
+    }
+    return NIO;
+  }
+
+  public abstract boolean isNative();
+
+  public abstract EventLoopGroup eventLoopGroup(int nThreads, ThreadFactory threadFactory);
+
+  public abstract Class<? extends SocketChannel> socketChannelType();
+
+  public abstract Class<? extends ServerSocketChannel> serverSocketChannelType();
+
+  public abstract Class<? extends DatagramChannel> datagramChannelType();
+
+  /**
+   * @param family the protocol family or null for the default
+   */
+  public abstract DatagramChannel datagramChannel(InternetProtocolFamily family);
+
+  /**
+   * Apply the options which are specific to the transport to a client bootstrap.
+   */
+  public void configure(TCPOptions<?> options, Bootstrap bootstrap) {
+  }
+
+  /**
+   * Apply the options which are specific to the transport to the accepted channels of a server bootstrap.
+   */
+  public void configure(TCPOptions<?> options, ServerBootstrap bootstrap) {
+  }
+
+  /**
+   * @return whether several server sockets can be bound to the same port with {@code SO_REUSEPORT}
+   */
+  public boolean supportsReusePort() {
+    return false;
+  }
+
+  /**
+   * Set {@code SO_REUSEPORT} on the server sockets of the bootstrap.
+   */
+  public void setReusePort(ServerBootstrap bootstrap) {
+    throw new UnsupportedOperationException("SO_REUSEPORT needs the native transport");
+  }
+}
@@ -19,8 +19,11 @@ package io.vertx.core.net.impl;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.Channel;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.ReferenceCountUtil;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.buffer.impl.BufferImpl;
 import io.vertx.core.impl.ContextImpl;
 import io.vertx.core.impl.VertxInternal;
 
@@ -31,8 +34,19 @@ import java.util.Map;
  */
 public class VertxNetHandler extends VertxHandler<NetSocketImpl> {
 
+  private final boolean directReadBuffers;
+
   public VertxNetHandler(VertxInternal vertx, Map<Channel, NetSocketImpl> connectionMap) {
+    this(vertx, connectionMap, false);
+  }
+
+  /**
+   * @param directReadBuffers when true the data handler gets the pooled buffers read from the channel instead of heap
+   *                          copies, each one is released once the handler returns
+   */
+  public VertxNetHandler(VertxInternal vertx, Map<Channel, NetSocketImpl> connectionMap, boolean directReadBuffers) {
     super(vertx, connectionMap);
+    this.directReadBuffers = directReadBuffers;
   }
 
   @Override
@@ -40,16 +54,36 @@ public class VertxNetHandler extends VertxHandler<NetSocketImpl> {
     if (sock != null) {
       final ByteBuf buf = (ByteBuf) msg;
       // We need to do this since it's possible the server is being used from a worker context
-      context.execute(() -> sock.handleDataReceived(Buffer.buffer(buf)), true);
+      if (directReadBuffers) {
+        context.execute(() -> {
+          Buffer buff = BufferImpl.refCounted(buf);
+          try {
+            sock.handleDataReceived(buff);
+          } finally {
+            buff.release();
+          }
+        }, true);
+      } else {
+        context.execute(() -> sock.handleDataReceived(Buffer.buffer(buf)), true);
+      }
     } else {
       // just discard
+      ReferenceCountUtil.release(msg);
     }
   }
 
   @Override
   protected Object safeObject(Object msg, ByteBufAllocator allocator) throws Exception {
     if (msg instanceof ByteBuf) {
-      return safeBuffer((ByteBuf) msg, allocator);
+      ByteBuf buf = (ByteBuf) msg;
+      if (directReadBuffers && buf != Unpooled.EMPTY_BUFFER) {
+        if (buf.isReadable()) {
+          return buf;
+        }
+        buf.release();
+        return Unpooled.EMPTY_BUFFER;
+      }
+      return safeBuffer(buf, allocator);
     }
     return msg;
   }
@@ -16,6 +16,7 @@
 
 package io.vertx.core.parsetools;
 
+import io.netty.buffer.ByteBuf;
 import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
 
@@ -42,6 +43,7 @@ import io.vertx.core.buffer.Buffer;
  * size records.<p>
  * Instances of this class can't currently be used for protocols where the text is encoded with something other than
  * a 1-1 byte-char mapping.<p>
+ * Records are copied out of the input, unless the parser is in zero copy mode, see {@link #setZeroCopy}.<p>
  *
  * Instances of this class are not thread-safe.<p>
  *
@@ -49,15 +51,18 @@ import io.vertx.core.buffer.Buffer;
  */
 public class RecordParser implements Handler<Buffer> {
 
-  private Buffer buff;
+  private Buffer buff;        // Data being parsed: the last input buffer, preceded by any incomplete record
+  private Buffer chunk;       // The last input buffer
+  private int base;           // Position of the last input buffer in buff
   private int pos;            // Current position in buffer
   private int start;          // Position of beginning of current record
-  private int delimPos;       // Position of current match in delimiter array
   private boolean reset;      // Allows user to toggle mode / change delim when records are emitted
 
   private boolean delimited;
   private byte[] delim;
   private int recordSize;
+  private int maxRecordSize = Integer.MAX_VALUE;
+  private boolean zeroCopy;
   private Handler<Buffer> output;
 
   private RecordParser(Handler<Buffer> output) {
@@ -133,7 +138,7 @@ public class RecordParser implements Handler<Buffer> {
   public void delimitedMode(byte[] delim) {
     delimited = true;
     this.delim = delim;
-    delimPos = 0;
+    pos = start;
     reset = true;
   }
 
@@ -145,9 +150,32 @@ public class RecordParser implements Handler<Buffer> {
     if (size <= 0) throw new IllegalArgumentException("Size must be > 0");
     delimited = false;
     recordSize = size;
+    pos = start;
     reset = true;
   }
 
+  /**
+   * Set the maximum size in bytes of a record, not counting its delimiter. When a record gets longer than that the
+   * data buffered for it is discarded and the parser throws an {@code IllegalStateException}. By default there
+   * is no limit.
+   */
+  public void setMaxRecordSize(int size) {
+    if (size <= 0) throw new IllegalArgumentException("Size must be > 0");
+    maxRecordSize = size;
+  }
+
+  /**
+   * Set whether records are emitted without being copied. In zero copy mode a record that lies within a single input
+   * buffer is emitted as a view of it, only a record spanning several input buffers is assembled into a
+   * buffer of its own. A record can't be appended to then, and setting its bytes changes the input. The parser also
+   * keeps a reference to the input buffers holding an incomplete record, so input buffers must not be modified once
+   * handed to the parser, and a record that is kept after its handler returns must be copied if its input buffer may
+   * be reused. By default records are copied.
+   */
+  public void setZeroCopy(boolean zeroCopy) {
+    this.zeroCopy = zeroCopy;
+  }
+
   private void handleParsing() {
     int len = buff.length();
     do {
@@ -163,44 +191,84 @@ public class RecordParser implements Handler<Buffer> {
       //Nothing left
       buff = null;
       pos = 0;
-    } else {
-      buff = buff.getBuffer(start, len);
-      pos = buff.length();
+    } else if (start > 0 || buff == chunk) {
+      // Carry the incomplete record over, later input buffers get appended to it
+      if (zeroCopy) {
+        // Linked rather than copied
+        Buffer remaining = start >= base ? chunk.slice(start - base, len - base) : buff.getBuffer(start, len);
+        buff = Buffer.compositeBuffer().appendBuffer(remaining);
+      } else {
+        buff = buff.getBuffer(start, len);
+      }
+      pos -= start;
     }
+    // Otherwise buff already is the incomplete record carried over, with the last input buffer appended to it
     start = 0;
+    chunk = null;
   }
 
   private void parseDelimited() {
     int len = buff.length();
-    for (; pos < len && !reset; pos++) {
-      if (buff.getByte(pos) == delim[delimPos]) {
-        delimPos++;
-        if (delimPos == delim.length) {
-          Buffer ret = buff.getBuffer(start, pos - delim.length + 1);
-          start = pos + 1;
-          delimPos = 0;
-          output.handle(ret);
-        }
+    int delimLen = delim.length;
+    byte first = delim[0];
+    ByteBuf bytes = buff.getByteBuf();
+    while (!reset) {
+      // Look for the first byte of the delimiter, then check the rest of it is there
+      int i = bytes.indexOf(pos, len, first);
+      if (i == -1 || i + delimLen > len) {
+        // Resume from the possible beginning of a delimiter on the next buffer
+        pos = i == -1 ? len : i;
+        checkRecordSize(pos - start);
+        return;
+      }
+      if (isDelimiter(bytes, i)) {
+        checkRecordSize(i - start);
+        Buffer ret = record(start, i);
+        start = pos = i + delimLen;
+        output.handle(ret);
       } else {
-        if (delimPos > 0) {
-          pos -= delimPos;
-          delimPos = 0;
-        }
+        pos = i + 1;
+      }
+    }
+  }
+
+  private boolean isDelimiter(ByteBuf bytes, int index) {
+    for (int i = 1; i < delim.length; i++) {
+      if (bytes.getByte(index + i) != delim[i]) {
+        return false;
       }
     }
+    return true;
   }
 
   private void parseFixed() {
     int len = buff.length();
+    checkRecordSize(recordSize);
     while (len - start >= recordSize && !reset) {
       int end = start + recordSize;
-      Buffer ret = buff.getBuffer(start, end);
-      start = end;
-      pos = start - 1;
+      Buffer ret = record(start, end);
+      start = pos = end;
       output.handle(ret);
     }
   }
 
+  private Buffer record(int from, int to) {
+    if (zeroCopy && from >= base) {
+      return chunk.slice(from - base, to - base);
+    }
+    // The record spans several input buffers
+    return buff.getBuffer(from, to);
+  }
+
+  private void checkRecordSize(int size) {
+    if (size > maxRecordSize) {
+      buff = null;
+      chunk = null;
+      start = pos = 0;
+      throw new IllegalStateException("Record size " + size + " exceeds the maximum of " + maxRecordSize);
+    }
+  }
+
   /**
    * This method is called to provide the parser with data.
    * @param buffer
@@ -208,9 +276,12 @@ public class RecordParser implements Handler<Buffer> {
   public void handle(Buffer buffer) {
     if (buff == null) {
       buff = buffer;
+      base = 0;
     } else {
+      base = buff.length();
       buff.appendBuffer(buffer);
     }
+    chunk = buffer;
     handleParsing();
   }
 }
@@ -35,4 +35,6 @@ public interface BufferFactory {
   Buffer buffer(byte[] bytes);
 
   Buffer buffer(ByteBuf byteBuffer);
+
+  Buffer compositeBuffer();
 }
@@ -34,6 +34,9 @@ import io.vertx.core.spi.PumpFactory;
  * This class can be used to pump from any {@link ReadStream} to any {@link WriteStream},
  * e.g. from an {@link io.vertx.core.http.HttpServerRequest} to an {@link io.vertx.core.file.AsyncFile},
  * or from {@link io.vertx.core.net.NetSocket} to a {@link io.vertx.core.http.WebSocket}.<p>
+ * From an {@link io.vertx.core.file.AsyncFile} to a {@link io.vertx.core.net.NetSocket} or another
+ * {@link io.vertx.core.file.AsyncFile}, the content of the file is transferred without being copied to buffers, as long
+ * as the write stream allows it.<p>
  *
  * Instances of this class are not thread-safe.<p>
  *
@@ -77,7 +80,8 @@ public interface Pump {
   Pump stop();
 
   /**
-   * Return the total number of bytes pumped by this pump.
+   * Return the total number of bytes pumped by this pump, or {@link Integer#MAX_VALUE} once that many have been
+   * pumped.
    */
   int bytesPumped();
 
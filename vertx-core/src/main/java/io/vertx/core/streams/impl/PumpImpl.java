@@ -16,13 +16,18 @@
 
 package io.vertx.core.streams.impl;
 
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.file.impl.AsyncFileImpl;
+import io.vertx.core.file.impl.TransferTarget;
 import io.vertx.core.streams.Pump;
 import io.vertx.core.streams.ReadStream;
 import io.vertx.core.streams.WriteStream;
 
+import java.nio.channels.FileChannel;
+
 /**
  * Pumps data from a {@link io.vertx.core.streams.ReadStream} to a {@link io.vertx.core.streams.WriteStream} and performs flow control where necessary to
  * prevent the write stream buffer from getting overfull.<p>
@@ -36,6 +41,10 @@ import io.vertx.core.streams.WriteStream;
  * This class can be used to pump from any {@link io.vertx.core.streams.ReadStream} to any {@link io.vertx.core.streams.WriteStream},
  * e.g. from an {@link io.vertx.core.http.HttpServerRequest} to an {@link io.vertx.core.file.AsyncFile},
  * or from {@link io.vertx.core.net.NetSocket} to a {@link io.vertx.core.http.WebSocket}.<p>
+ * When pumping from an {@link io.vertx.core.file.AsyncFile} to a {@link io.vertx.core.net.NetSocket} or another
+ * {@link io.vertx.core.file.AsyncFile}, the content of the file is transferred from its channel without being copied
+ * to buffers, one range at a time so that it is still subject to flow control. It goes through buffers again whenever
+ * the write stream can't take it that way, e.g. once a socket has TLS in its pipeline.<p>
  *
  * Instances of this class are not thread-safe.<p>
  *
@@ -46,9 +55,12 @@ public class PumpImpl implements Pump {
 
   private final ReadStream<?> readStream;
   private final WriteStream<?> writeStream;
-  private int pumped;
+  // A long, as transfers can pump files bigger than 2 GiB
+  private long pumped;
   private final Handler<Buffer> dataHandler;
   private final Handler<Void> drainHandler;
+  // Not null when the content can be transferred from the read stream to the write stream
+  private final TransferTarget transferTarget;
 
   /**
    * Create a new {@code Pump} with the given {@code ReadStream} and {@code WriteStream}. Set the write queue max size
@@ -66,11 +78,20 @@ public class PumpImpl implements Pump {
     dataHandler = buffer -> {
       writeStream.writeBuffer(buffer);
       pumped += buffer.length();
-      if (writeStream.writeQueueFull()) {
-        readStream.pause();
-        writeStream.drainHandler(drainHandler);
-      }
+      checkWriteQueue();
     };
+    if (rs instanceof AsyncFileImpl && ws instanceof TransferTarget) {
+      transferTarget = new PumpTransferTarget((TransferTarget) ws);
+    } else {
+      transferTarget = null;
+    }
+  }
+
+  private void checkWriteQueue() {
+    if (writeStream.writeQueueFull()) {
+      readStream.pause();
+      writeStream.drainHandler(drainHandler);
+    }
   }
 
   /**
@@ -87,6 +108,9 @@ public class PumpImpl implements Pump {
    */
   @Override
   public PumpImpl start() {
+    if (transferTarget != null) {
+      ((AsyncFileImpl) readStream).transferHandler(transferTarget);
+    }
     readStream.dataHandler(dataHandler);
     return this;
   }
@@ -97,17 +121,48 @@ public class PumpImpl implements Pump {
   @Override
   public PumpImpl stop() {
     writeStream.drainHandler(null);
+    if (transferTarget != null) {
+      ((AsyncFileImpl) readStream).transferHandler(null);
+    }
     readStream.dataHandler(null);
     return this;
   }
 
   /**
-   * Return the total number of bytes pumped by this pump.
+   * Return the total number of bytes pumped by this pump, or {@link Integer#MAX_VALUE} once that many have been
+   * pumped.
    */
   @Override
   public int bytesPumped() {
-    return pumped;
+    return (int) Math.min(pumped, Integer.MAX_VALUE);
   }
 
+  /**
+   * Counts the bytes transferred to the write stream and applies flow control, like the data handler does for buffers.
+   */
+  private class PumpTransferTarget implements TransferTarget {
+
+    private final TransferTarget target;
+
+    PumpTransferTarget(TransferTarget target) {
+      this.target = target;
+    }
+
+    @Override
+    public boolean supportsTransfer() {
+      return target.supportsTransfer();
+    }
+
+    @Override
+    public void transfer(FileChannel channel, long position, long count, Handler<AsyncResult<Long>> handler) {
+      target.transfer(channel, position, count, ar -> {
+        if (ar.succeeded()) {
+          pumped += ar.result();
+          checkWriteQueue();
+        }
+        handler.handle(ar);
+      });
+    }
+  }
 
 }
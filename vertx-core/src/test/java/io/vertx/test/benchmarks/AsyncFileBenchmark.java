@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *   Red Hat licenses this file to you under the Apache License, version 2.0
+ *   (the "License"); you may not use this file except in compliance with the
+ *   License.  You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *   WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *   License for the specific language governing permissions and limitations
+ *   under the License.
+ */
+
+package io.vertx.test.benchmarks;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
+import io.vertx.core.file.OpenOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams a large file in and out, in the default mode and with the file memory mapped for reading or written with
+ * gathering writes. Each invocation reads or writes the whole file, so the throughput is the file size times the
+ * number of operations per second.<p>
+ * Run with {@code java -cp <test classpath> org.openjdk.jmh.Main AsyncFileBenchmark}
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class AsyncFileBenchmark {
+
+  private static final int FILE_SIZE = 64 * 1024 * 1024;
+  private static final int CHUNK_SIZE = 64 * 1024;
+
+  @Param({"false", "true"})
+  public boolean optimized;
+
+  @Param({"8192", "65536"})
+  public int readBufferSize;
+
+  private Vertx vertx;
+  private File source;
+  private File target;
+  private Buffer chunk;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    vertx = Vertx.vertx();
+    byte[] bytes = new byte[FILE_SIZE];
+    new Random(0).nextBytes(bytes);
+    source = File.createTempFile("vertx-bench", ".dat");
+    target = File.createTempFile("vertx-bench", ".dat");
+    Files.write(source.toPath(), bytes);
+    chunk = Buffer.buffer(CHUNK_SIZE);
+    chunk.appendBytes(bytes, 0, CHUNK_SIZE);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    source.delete();
+    target.delete();
+    CountDownLatch latch = new CountDownLatch(1);
+    vertx.close(ar -> latch.countDown());
+    latch.await(30, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public long read() throws Exception {
+    OpenOptions options = OpenOptions.options().setWrite(false).setReadBufferSize(readBufferSize)
+      .setMemoryMapped(optimized);
+    CompletableFuture<Long> done = new CompletableFuture<>();
+    vertx.fileSystem().open(source.getAbsolutePath(), options, ar -> {
+      AsyncFile file = ar.result();
+      long[] count = new long[1];
+      file.dataHandler(buff -> count[0] += buff.length());
+      file.endHandler(v -> file.close(ar2 -> done.complete(count[0])));
+    });
+    return done.get();
+  }
+
+  @Benchmark
+  public void write() throws Exception {
+    OpenOptions options = OpenOptions.options().setRead(false).setTruncateExisting(true)
+      .setGatheringWrites(optimized);
+    CompletableFuture<Void> done = new CompletableFuture<>();
+    vertx.fileSystem().open(target.getAbsolutePath(), options, ar -> {
+      AsyncFile file = ar.result();
+      writeChunks(file, FILE_SIZE / CHUNK_SIZE, done);
+    });
+    done.get();
+  }
+
+  private void writeChunks(AsyncFile file, int remaining, CompletableFuture<Void> done) {
+    while (remaining > 0 && !file.writeQueueFull()) {
+      file.writeBuffer(chunk);
+      remaining--;
+    }
+    if (remaining == 0) {
+      file.close(ar -> done.complete(null));
+    } else {
+      int left = remaining;
+      file.drainHandler(v -> writeChunks(file, left, done));
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *   Red Hat licenses this file to you under the Apache License, version 2.0
+ *   (the "License"); you may not use this file except in compliance with the
+ *   License.  You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *   WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *   License for the specific language governing permissions and limitations
+ *   under the License.
+ */
+
+package io.vertx.test.benchmarks;
+
+import io.vertx.core.buffer.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures aggregating chunks into a body the way body handlers do, copying them or linking them in a composite
+ * buffer, and reading sub buffers and strings back out of the result.<p>
+ * Run with {@code java -cp <test classpath> org.openjdk.jmh.Main BufferBenchmark}
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class BufferBenchmark {
+
+  private static final int CHUNKS = 16;
+
+  @Param({"64", "1024", "16384"})
+  public int chunkSize;
+
+  private Buffer[] chunks;
+  private Buffer body;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(0);
+    chunks = new Buffer[CHUNKS];
+    for (int i = 0; i < CHUNKS; i++) {
+      byte[] bytes = new byte[chunkSize];
+      for (int j = 0; j < chunkSize; j++) {
+        // Printable ASCII so that the string benchmarks decode valid UTF-8
+        bytes[j] = (byte) (32 + random.nextInt(95));
+      }
+      chunks[i] = Buffer.buffer(bytes);
+    }
+    body = Buffer.buffer();
+    for (Buffer chunk : chunks) {
+      body.appendBuffer(chunk);
+    }
+  }
+
+  @Benchmark
+  public Buffer appendCopy() {
+    Buffer buff = Buffer.buffer();
+    for (Buffer chunk : chunks) {
+      buff.appendBuffer(chunk);
+    }
+    return buff;
+  }
+
+  @Benchmark
+  public Buffer appendComposite() {
+    Buffer buff = Buffer.compositeBuffer();
+    for (Buffer chunk : chunks) {
+      buff.appendBuffer(chunk);
+    }
+    return buff;
+  }
+
+  @Benchmark
+  public Buffer getBuffer() {
+    return body.getBuffer(chunkSize / 2, body.length() - chunkSize / 2);
+  }
+
+  @Benchmark
+  public Buffer slice() {
+    return body.slice(chunkSize / 2, body.length() - chunkSize / 2);
+  }
+
+  @Benchmark
+  public String getString() {
+    return body.getString(chunkSize / 2, body.length() - chunkSize / 2);
+  }
+
+  @Benchmark
+  public String compositeToString() {
+    return appendComposite().toString();
+  }
+}
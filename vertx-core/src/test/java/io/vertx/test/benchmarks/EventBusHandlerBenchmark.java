@@ -0,0 +1,96 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *   Red Hat licenses this file to you under the Apache License, version 2.0
+ *   (the "License"); you may not use this file except in compliance with the
+ *   License.  You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *   WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *   License for the specific language governing permissions and limitations
+ *   under the License.
+ */
+
+package io.vertx.test.benchmarks;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.Message;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of looking up, sending to and publishing to handlers on the local event bus, and of
+ * registering and unregistering handlers while other threads are sending.<p>
+ * Run with {@code java -cp <test classpath> org.openjdk.jmh.Main EventBusHandlerBenchmark}
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class EventBusHandlerBenchmark {
+
+  private static final String ADDRESS = "benchmark.address";
+  private static final String CHURN_ADDRESS = "benchmark.churn";
+
+  @Param({"1", "4", "16"})
+  public int handlers;
+
+  private Vertx vertx;
+  private EventBus eb;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    vertx = Vertx.vertx();
+    eb = vertx.eventBus();
+    for (int i = 0; i < handlers; i++) {
+      eb.registerLocalHandler(ADDRESS, (Message<String> msg) -> {});
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    vertx.close(ar -> latch.countDown());
+    latch.await(30, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public void send() {
+    eb.send(ADDRESS, "hello");
+  }
+
+  @Benchmark
+  public void publish() {
+    eb.publish(ADDRESS, "hello");
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void sendContended() {
+    eb.send(ADDRESS, "hello");
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void registerUnregister() {
+    Handler<Message<String>> handler = msg -> {};
+    eb.registerLocalHandler(CHURN_ADDRESS, handler).unregister();
+  }
+}
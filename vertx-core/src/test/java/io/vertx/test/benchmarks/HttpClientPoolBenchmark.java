@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *   Red Hat licenses this file to you under the Apache License, version 2.0
+ *   (the "License"); you may not use this file except in compliance with the
+ *   License.  You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *   WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *   License for the specific language governing permissions and limitations
+ *   under the License.
+ */
+
+package io.vertx.test.benchmarks;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.core.impl.ContextImpl;
+import io.vertx.core.impl.VertxInternal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends requests to a local server from contexts spread over all the event loops, so that every event loop gets
+ * connections from the client pool at the same time.<p>
+ * Run with {@code java -cp <test classpath> org.openjdk.jmh.Main HttpClientPoolBenchmark}
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class HttpClientPoolBenchmark {
+
+  private static final int PORT = 8080;
+  private static final int REQUESTS = 1024;
+
+  @Param({"8", "16", "32"})
+  public int eventLoops;
+
+  private Vertx vertx;
+  private HttpServer server;
+  private HttpClient client;
+  private ContextImpl[] contexts;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    vertx = Vertx.vertx(VertxOptions.options().setEventLoopPoolSize(eventLoops));
+    server = vertx.createHttpServer(HttpServerOptions.options().setPort(PORT).setHost("localhost"));
+    server.requestHandler(req -> req.response().end());
+    CountDownLatch listenLatch = new CountDownLatch(1);
+    server.listen(ar -> listenLatch.countDown());
+    listenLatch.await(30, TimeUnit.SECONDS);
+    client = vertx.createHttpClient(HttpClientOptions.options().setKeepAlive(true).setMaxPoolSize(eventLoops * 2)
+      .setMaxIdlePoolSize(eventLoops * 2));
+    // Outside of a context each call creates a new one, on the next event loop
+    contexts = new ContextImpl[eventLoops];
+    for (int i = 0; i < eventLoops; i++) {
+      contexts[i] = ((VertxInternal) vertx).getOrCreateContext();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    client.close();
+    CountDownLatch latch = new CountDownLatch(1);
+    vertx.close(ar -> latch.countDown());
+    latch.await(30, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(REQUESTS)
+  public void requests() throws Exception {
+    CountDownLatch latch = new CountDownLatch(REQUESTS);
+    int perContext = REQUESTS / eventLoops;
+    for (ContextImpl context : contexts) {
+      context.runOnContext(v -> {
+        for (int i = 0; i < perContext; i++) {
+          client.getNow(RequestOptions.options().setHost("localhost").setPort(PORT).setRequestURI("/"), resp -> {
+            resp.endHandler(v2 -> latch.countDown());
+          });
+        }
+      });
+    }
+    latch.await();
+  }
+}
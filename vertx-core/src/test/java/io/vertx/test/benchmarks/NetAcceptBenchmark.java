@@ -0,0 +1,90 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *   Red Hat licenses this file to you under the Apache License, version 2.0
+ *   (the "License"); you may not use this file except in compliance with the
+ *   License.  You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *   WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *   License for the specific language governing permissions and limitations
+ *   under the License.
+ */
+
+package io.vertx.test.benchmarks;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.net.NetClient;
+import io.vertx.core.net.NetClientOptions;
+import io.vertx.core.net.NetServer;
+import io.vertx.core.net.NetServerOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens connections to a local server which closes them as soon as it has accepted them, so that the cost of setting
+ * up and tearing down a net socket on both ends dominates.<p>
+ * Run with {@code java -cp <test classpath> org.openjdk.jmh.Main NetAcceptBenchmark}
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class NetAcceptBenchmark {
+
+  private static final int PORT = 1234;
+  private static final int CONNECTIONS = 256;
+
+  private Vertx vertx;
+  private NetServer server;
+  private NetClient client;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    vertx = Vertx.vertx();
+    server = vertx.createNetServer(NetServerOptions.options().setPort(PORT).setHost("localhost"));
+    server.connectHandler(sock -> sock.close());
+    CountDownLatch listenLatch = new CountDownLatch(1);
+    server.listen(ar -> listenLatch.countDown());
+    listenLatch.await(30, TimeUnit.SECONDS);
+    client = vertx.createNetClient(NetClientOptions.options());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    client.close();
+    CountDownLatch latch = new CountDownLatch(1);
+    vertx.close(ar -> latch.countDown());
+    latch.await(30, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CONNECTIONS)
+  public void connections() throws Exception {
+    CountDownLatch latch = new CountDownLatch(CONNECTIONS);
+    for (int i = 0; i < CONNECTIONS; i++) {
+      client.connect(PORT, "localhost", ar -> {
+        if (ar.succeeded()) {
+          ar.result().closeHandler(v -> latch.countDown());
+        } else {
+          latch.countDown();
+        }
+      });
+    }
+    latch.await();
+  }
+}
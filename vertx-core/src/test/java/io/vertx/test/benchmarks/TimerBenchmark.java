@@ -0,0 +1,91 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *   Red Hat licenses this file to you under the Apache License, version 2.0
+ *   (the "License"); you may not use this file except in compliance with the
+ *   License.  You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *   WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *   License for the specific language governing permissions and limitations
+ *   under the License.
+ */
+
+package io.vertx.test.benchmarks;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the default timer scheduling, a Netty scheduled task per timer, with the timer wheel.<p>
+ * Timers are set and cancelled in batches from a context, the way request timeouts are.<p>
+ * Run with {@code java -cp <test classpath> org.openjdk.jmh.Main TimerBenchmark}
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class TimerBenchmark {
+
+  private static final int BATCH = 1000;
+
+  @Param({"false", "true"})
+  public boolean timerWheel;
+
+  private Vertx vertx;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    vertx = Vertx.vertx(VertxOptions.options().setTimerWheelEnabled(timerWheel));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    vertx.close(ar -> latch.countDown());
+    latch.await(30, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void setAndCancel() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    vertx.runOnContext(v -> {
+      for (int i = 0; i < BATCH; i++) {
+        long id = vertx.setTimer(30000, timerID -> {});
+        vertx.cancelTimer(id);
+      }
+      latch.countDown();
+    });
+    latch.await();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void setAndFire() throws Exception {
+    CountDownLatch latch = new CountDownLatch(BATCH);
+    vertx.runOnContext(v -> {
+      for (int i = 0; i < BATCH; i++) {
+        vertx.setTimer(1 + (i & 7), timerID -> latch.countDown());
+      }
+    });
+    latch.await();
+  }
+}
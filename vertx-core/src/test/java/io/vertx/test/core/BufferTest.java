@@ -743,4 +743,80 @@ public class BufferTest {
     buff.appendString(TestUtils.randomUnicodeString(100));
     assertEquals(10, sliced.length());
   }
+
+  @Test
+  public void testGetBufferDoesNotShare() throws Exception {
+    Buffer buff = TestUtils.randomBuffer(100);
+    Buffer sub = buff.getBuffer(10, 20);
+    assertEquals(10, sub.length());
+    assertEquals(buff.slice(10, 20), sub);
+    long rand = TestUtils.randomLong();
+    buff.setLong(10, rand);
+    assertFalse(rand == sub.getLong(0));
+    // The copy can grow
+    sub.appendInt(1);
+    assertEquals(14, sub.length());
+  }
+
+  @Test
+  public void testCompositeAppend() throws Exception {
+    Buffer buff1 = TestUtils.randomBuffer(100);
+    Buffer buff2 = TestUtils.randomBuffer(100);
+    Buffer composite = Buffer.compositeBuffer();
+    composite.appendBuffer(buff1);
+    composite.appendBuffer(Buffer.buffer());
+    composite.appendBuffer(buff2, 10, 50);
+    composite.appendInt(1234);
+    assertEquals(154, composite.length());
+    assertEquals(buff1, composite.getBuffer(0, 100));
+    assertEquals(buff2.getBuffer(10, 60), composite.getBuffer(100, 150));
+    assertEquals(1234, composite.getInt(150));
+    // Appended buffers are linked, not copied
+    long rand = TestUtils.randomLong();
+    buff1.setLong(0, rand);
+    assertEquals(rand, composite.getLong(0));
+    // Unlike its copy
+    Buffer copy = composite.copy();
+    buff1.setLong(0, rand + 1);
+    assertEquals(rand, copy.getLong(0));
+  }
+
+  @Test
+  public void testCompositeAppendAfterCopiedAppend() throws Exception {
+    Buffer buff = TestUtils.randomBuffer(100);
+    Buffer composite = Buffer.compositeBuffer();
+    composite.appendInt(1234);
+    composite.appendBuffer(buff);
+    assertEquals(104, composite.length());
+    assertEquals(1234, composite.getInt(0));
+    assertEquals(buff, composite.getBuffer(4, 104));
+  }
+
+  @Test
+  public void testCompositeAppendInterleaved() throws Exception {
+    Buffer expected = Buffer.buffer();
+    Buffer composite = Buffer.compositeBuffer();
+    for (int i = 0; i < 50; i++) {
+      Buffer buff = TestUtils.randomBuffer(1 + i);
+      String str = TestUtils.randomAlphaString(i);
+      composite.appendBuffer(buff).appendString(str).appendLong(i);
+      expected.appendBuffer(buff).appendString(str).appendLong(i);
+      if (i % 3 == 0) {
+        composite.appendBuffer(buff, 0, 1);
+        expected.appendBuffer(buff, 0, 1);
+      }
+    }
+    assertEquals(expected.length(), composite.length());
+    assertEquals(expected, composite.copy());
+    assertEquals(expected, composite.getBuffer(0, composite.length()));
+  }
+
+  @Test
+  public void testCompositeGetString() throws Exception {
+    String str1 = TestUtils.randomUnicodeString(100);
+    String str2 = TestUtils.randomUnicodeString(100);
+    Buffer composite = Buffer.compositeBuffer().appendBuffer(Buffer.buffer(str1)).appendBuffer(Buffer.buffer(str2));
+    assertEquals(str1 + str2, composite.toString());
+    assertEquals(str1 + str2, composite.getString(0, composite.length()));
+  }
 }
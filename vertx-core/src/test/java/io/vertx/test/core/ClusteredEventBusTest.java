@@ -18,10 +18,13 @@ package io.vertx.test.core;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.eventbus.MessageCodec;
 import io.vertx.core.eventbus.Registration;
+import io.vertx.core.eventbus.impl.EventBusImpl;
 import io.vertx.core.spi.cluster.ClusterManager;
 import io.vertx.test.fakecluster.FakeClusterManager;
 import org.junit.Test;
@@ -167,6 +170,57 @@ public class ClusteredEventBusTest extends EventBusTestBase {
     await();
   }
 
+  @Test
+  public void testSendWithWriteBatching() throws Exception {
+    startNodes(2, VertxOptions.options().setClusterWriteBatching(true).setClusterWriteBatchMaxMessages(10));
+    int numMessages = 1000;
+    AtomicInteger count = new AtomicInteger();
+    Registration reg = vertices[1].eventBus().registerHandler(ADDRESS1, (Message<Integer> msg) -> {
+      int c = count.getAndIncrement();
+      assertEquals(c, msg.body().intValue());
+      if (c == numMessages - 1) {
+        EventBusImpl eb = (EventBusImpl)vertices[0].eventBus();
+        assertEquals(numMessages, eb.writeBatchMessageCount());
+        assertTrue(eb.writeBatchCount() >= numMessages / 10);
+        assertTrue(eb.writeBatchMaxSize() <= 10);
+        testComplete();
+      }
+    });
+    reg.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      vertices[0].runOnContext(v -> {
+        for (int i = 0; i < numMessages; i++) {
+          vertices[0].eventBus().send(ADDRESS1, i);
+        }
+      });
+    });
+    await();
+  }
+
+  @Test
+  public void testSendUnicodeAddressWithLargeBody() throws Exception {
+    startNodes(2);
+    String address = TestUtils.randomUnicodeString(100);
+    String headerValue = TestUtils.randomUnicodeString(100);
+    Buffer body = TestUtils.randomBuffer(100000);
+    Registration reg = vertices[1].eventBus().registerHandler(address, (Message<Buffer> msg) -> {
+      assertEquals(address, msg.address());
+      assertEquals(headerValue, msg.headers().get("foo"));
+      assertEquals(body, msg.body());
+      msg.reply(headerValue);
+    });
+    reg.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      DeliveryOptions options = DeliveryOptions.options();
+      options.addHeader("foo", headerValue);
+      vertices[0].eventBus().sendWithOptions(address, body, options, onSuccess((Message<String> reply) -> {
+        assertEquals(headerValue, reply.body());
+        testComplete();
+      }));
+    });
+    await();
+  }
+
   @Test
   public void testDecoderSendAsymmetric() throws Exception {
     startNodes(2);
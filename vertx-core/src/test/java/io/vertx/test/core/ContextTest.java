@@ -19,8 +19,11 @@ package io.vertx.test.core;
 import io.vertx.core.Context;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
@@ -66,4 +69,35 @@ public class ContextTest extends VertxTestBase {
     }
     testComplete();
   }
+
+  @Test
+  public void testRunOnContextOrderingFromOtherThread() throws Exception {
+    int numContexts = 10;
+    int numTasks = 10000;
+    List<Context> contexts = new ArrayList<>();
+    for (int i = 0; i < numContexts; i++) {
+      contexts.add(vertx.currentContext());
+    }
+    AtomicInteger done = new AtomicInteger();
+    new Thread() {
+      public void run() {
+        int[] expected = new int[numContexts];
+        for (int i = 0; i < numTasks; i++) {
+          for (int j = 0; j < numContexts; j++) {
+            int index = j;
+            int seq = i;
+            Context ctx = contexts.get(j);
+            ctx.runOnContext(v -> {
+              assertEquals(ctx, vertx.currentContext());
+              assertEquals(expected[index]++, seq);
+              if (seq == numTasks - 1 && done.incrementAndGet() == numContexts) {
+                testComplete();
+              }
+            });
+          }
+        }
+      }
+    }.start();
+    await();
+  }
 }
@@ -19,15 +19,22 @@ package io.vertx.test.core;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.dns.DnsClient;
+import io.vertx.core.dns.DnsClientOptions;
 import io.vertx.core.dns.DnsException;
 import io.vertx.core.dns.DnsResponseCode;
 import io.vertx.core.dns.MxRecord;
 import io.vertx.core.dns.SrvRecord;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import io.vertx.test.fakedns.FakeDNSServer;
 import org.junit.Test;
 
 import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author <a href="mailto:nmaurer@redhat.com">Norman Maurer</a>
@@ -279,6 +286,262 @@ public class DNSTest extends VertxTestBase {
     await();
   }
 
+  @Test
+  public void testOptions() {
+    DnsClientOptions options = DnsClientOptions.options();
+
+    assertTrue(options.getServers().isEmpty());
+    assertEquals(options, options.addServer("10.0.0.1"));
+    assertEquals(options, options.addServer("10.0.0.2:5353"));
+    assertEquals(Arrays.asList("10.0.0.1", "10.0.0.2:5353"), options.getServers());
+    try {
+      options.addServer(null);
+      fail("Should throw exception");
+    } catch (NullPointerException e) {
+      // OK
+    }
+
+    assertEquals(5000, options.getQueryTimeout());
+    long randLong = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setQueryTimeout(randLong));
+    assertEquals(randLong, options.getQueryTimeout());
+    try {
+      options.setQueryTimeout(0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+
+    assertEquals(2, options.getRetries());
+    int rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setRetries(rand));
+    assertEquals(rand, options.getRetries());
+    assertEquals(options, options.setRetries(0));
+    assertEquals(0, options.getRetries());
+    try {
+      options.setRetries(-1);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+
+    assertEquals(Integer.MAX_VALUE, options.getCacheMaxTtl());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setCacheMaxTtl(rand));
+    assertEquals(rand, options.getCacheMaxTtl());
+    assertEquals(options, options.setCacheMaxTtl(0));
+    assertEquals(0, options.getCacheMaxTtl());
+    try {
+      options.setCacheMaxTtl(-1);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+
+    assertEquals(10, options.getNegativeCacheTtl());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setNegativeCacheTtl(rand));
+    assertEquals(rand, options.getNegativeCacheTtl());
+    assertEquals(options, options.setNegativeCacheTtl(0));
+    assertEquals(0, options.getNegativeCacheTtl());
+    try {
+      options.setNegativeCacheTtl(-1);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+
+    assertEquals(4096, options.getCacheMaxEntries());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setCacheMaxEntries(rand));
+    assertEquals(rand, options.getCacheMaxEntries());
+    try {
+      options.setCacheMaxEntries(0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+  }
+
+  @Test
+  public void testCopyOptions() {
+    DnsClientOptions options = DnsClientOptions.options();
+    String server = TestUtils.randomAlphaString(20);
+    long queryTimeout = TestUtils.randomPositiveInt();
+    int retries = TestUtils.randomPositiveInt();
+    int cacheMaxTtl = TestUtils.randomPositiveInt();
+    int negativeCacheTtl = TestUtils.randomPositiveInt();
+    int cacheMaxEntries = TestUtils.randomPositiveInt();
+    options.addServer(server);
+    options.setQueryTimeout(queryTimeout);
+    options.setRetries(retries);
+    options.setCacheMaxTtl(cacheMaxTtl);
+    options.setNegativeCacheTtl(negativeCacheTtl);
+    options.setCacheMaxEntries(cacheMaxEntries);
+    DnsClientOptions copy = DnsClientOptions.copiedOptions(options);
+    assertEquals(options, copy);
+    assertEquals(Collections.singletonList(server), copy.getServers());
+    assertEquals(queryTimeout, copy.getQueryTimeout());
+    assertEquals(retries, copy.getRetries());
+    assertEquals(cacheMaxTtl, copy.getCacheMaxTtl());
+    assertEquals(negativeCacheTtl, copy.getNegativeCacheTtl());
+    assertEquals(cacheMaxEntries, copy.getCacheMaxEntries());
+    // The servers are copied too
+    options.addServer(server);
+    assertEquals(1, copy.getServers().size());
+  }
+
+  @Test
+  public void testDefaultJsonOptions() {
+    DnsClientOptions def = DnsClientOptions.options();
+    DnsClientOptions json = DnsClientOptions.optionsFromJson(new JsonObject());
+    assertEquals(def.getServers(), json.getServers());
+    assertEquals(def.getQueryTimeout(), json.getQueryTimeout());
+    assertEquals(def.getRetries(), json.getRetries());
+    assertEquals(def.getCacheMaxTtl(), json.getCacheMaxTtl());
+    assertEquals(def.getNegativeCacheTtl(), json.getNegativeCacheTtl());
+    assertEquals(def.getCacheMaxEntries(), json.getCacheMaxEntries());
+  }
+
+  @Test
+  public void testJsonOptions() {
+    String server1 = TestUtils.randomAlphaString(20);
+    String server2 = TestUtils.randomAlphaString(20);
+    long queryTimeout = TestUtils.randomPositiveInt();
+    int retries = TestUtils.randomPositiveInt();
+    int cacheMaxTtl = TestUtils.randomPositiveInt();
+    int negativeCacheTtl = TestUtils.randomPositiveInt();
+    int cacheMaxEntries = TestUtils.randomPositiveInt();
+    JsonObject json = new JsonObject()
+      .putArray("servers", new JsonArray().addString(server1).addString(server2))
+      .putNumber("queryTimeout", queryTimeout)
+      .putNumber("retries", retries)
+      .putNumber("cacheMaxTtl", cacheMaxTtl)
+      .putNumber("negativeCacheTtl", negativeCacheTtl)
+      .putNumber("cacheMaxEntries", cacheMaxEntries);
+    DnsClientOptions options = DnsClientOptions.optionsFromJson(json);
+    assertEquals(Arrays.asList(server1, server2), options.getServers());
+    assertEquals(queryTimeout, options.getQueryTimeout());
+    assertEquals(retries, options.getRetries());
+    assertEquals(cacheMaxTtl, options.getCacheMaxTtl());
+    assertEquals(negativeCacheTtl, options.getNegativeCacheTtl());
+    assertEquals(cacheMaxEntries, options.getCacheMaxEntries());
+  }
+
+  @Test
+  public void testNoServers() {
+    try {
+      vertx.createDnsClient(DnsClientOptions.options());
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+  }
+
+  @Test
+  public void testCachedAnswer() throws Exception {
+    final String ip = "10.0.0.1";
+    DnsClient dns = prepareDns(FakeDNSServer.testResolveA(ip), DnsClientOptions.options());
+
+    dns.resolveA("vertx.io", ar -> {
+      assertEquals(Collections.singletonList(ip), ar.result());
+      assertEquals(1, dnsServer.questionCount());
+      // The record lives for 100s, and names are case insensitive
+      dns.resolveA("VERTX.io.", ar2 -> {
+        assertEquals(Collections.singletonList(ip), ar2.result());
+        assertEquals(1, dnsServer.questionCount());
+        testComplete();
+      });
+    });
+    await();
+  }
+
+  @Test
+  public void testCacheDisabled() throws Exception {
+    final String ip = "10.0.0.1";
+    DnsClient dns = prepareDns(FakeDNSServer.testResolveA(ip), DnsClientOptions.options().setCacheMaxTtl(0));
+
+    dns.resolveA("vertx.io", ar -> {
+      assertEquals(Collections.singletonList(ip), ar.result());
+      dns.resolveA("vertx.io", ar2 -> {
+        assertEquals(Collections.singletonList(ip), ar2.result());
+        assertEquals(2, dnsServer.questionCount());
+        testComplete();
+      });
+    });
+    await();
+  }
+
+  @Test
+  public void testCachedNonExisting() throws Exception {
+    DnsClient dns = prepareDns(FakeDNSServer.testLookupNonExisting(), DnsClientOptions.options());
+
+    dns.resolveA("gfegjegjf.sg1", ar -> {
+      assertEquals(DnsResponseCode.NXDOMAIN, ((DnsException) ar.cause()).code());
+      dns.resolveA("gfegjegjf.sg1", ar2 -> {
+        assertEquals(DnsResponseCode.NXDOMAIN, ((DnsException) ar2.cause()).code());
+        assertEquals(1, dnsServer.questionCount());
+        testComplete();
+      });
+    });
+    await();
+  }
+
+  @Test
+  public void testCoalescedQueries() throws Exception {
+    DnsClient dns = prepareDns(FakeDNSServer.testResolveSRV(10, 1, 80, "vertx.io"), DnsClientOptions.options());
+    int num = 10;
+    AtomicInteger answered = new AtomicInteger();
+    for (int i = 0; i < num; i++) {
+      dns.resolveSRV("vertx.io", ar -> {
+        // Each lookup gets its own records
+        List<SrvRecord> result = ar.result();
+        assertEquals(1, result.size());
+        assertEquals(80, result.get(0).port());
+        if (answered.incrementAndGet() == num) {
+          assertEquals(1, dnsServer.questionCount());
+          testComplete();
+        }
+      });
+    }
+    await();
+  }
+
+  @Test
+  public void testRetryNextServer() throws Exception {
+    final String ip = "10.0.0.1";
+    // Nothing answers on the first server
+    DnsClientOptions options = DnsClientOptions.options().addServer("127.0.0.1:" + (FakeDNSServer.PORT + 1))
+      .setQueryTimeout(200).setRetries(1);
+    DnsClient dns = prepareDns(FakeDNSServer.testResolveA(ip), options);
+
+    dns.resolveA("vertx.io", ar -> {
+      assertEquals(Collections.singletonList(ip), ar.result());
+      testComplete();
+    });
+    await();
+  }
+
+  @Test
+  public void testTimeout() throws Exception {
+    DnsClient dns = vertx.createDnsClient(DnsClientOptions.options().addServer("127.0.0.1:" + (FakeDNSServer.PORT + 1))
+      .setQueryTimeout(100).setRetries(1));
+
+    dns.resolveA("vertx.io", ar -> {
+      assertTrue(ar.failed());
+      assertTrue(ar.cause() instanceof TimeoutException);
+      testComplete();
+    });
+    await();
+  }
+
+  private DnsClient prepareDns(FakeDNSServer server, DnsClientOptions options) throws Exception {
+    dnsServer = server;
+    dnsServer.start();
+    InetSocketAddress addr = (InetSocketAddress) dnsServer.getTransports()[0].getAcceptor().getLocalAddress();
+    return vertx.createDnsClient(options.addServer(addr.getAddress().getHostAddress() + ":" + addr.getPort()));
+  }
+
   private DnsClient prepareDns(FakeDNSServer server) throws Exception {
     dnsServer = server;
     dnsServer.start();
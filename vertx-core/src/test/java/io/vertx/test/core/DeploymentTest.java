@@ -22,6 +22,8 @@ import io.vertx.core.Context;
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Future;
 import io.vertx.core.Verticle;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.impl.Closeable;
 import io.vertx.core.impl.ContextImpl;
@@ -72,6 +74,9 @@ public class DeploymentTest extends VertxTestBase {
     assertFalse(options.isMultiThreaded());
     assertEquals(options, options.setMultiThreaded(true));
     assertTrue(options.isMultiThreaded());
+    assertFalse(options.isElasticWorker());
+    assertEquals(options, options.setElasticWorker(true));
+    assertTrue(options.isElasticWorker());
     assertNull(options.getIsolationGroup());
     String rand = TestUtils.randomUnicodeString(1000);
     assertEquals(options, options.setIsolationGroup(rand));
@@ -92,18 +97,21 @@ public class DeploymentTest extends VertxTestBase {
     Random rand = new Random();
     boolean worker = rand.nextBoolean();
     boolean multiThreaded = rand.nextBoolean();
+    boolean elasticWorker = rand.nextBoolean();
     String isolationGroup = TestUtils.randomAlphaString(100);
     boolean ha = rand.nextBoolean();
     List<String> cp = Arrays.asList("foo", "bar");
     options.setConfig(config);
     options.setWorker(worker);
     options.setMultiThreaded(multiThreaded);
+    options.setElasticWorker(elasticWorker);
     options.setIsolationGroup(isolationGroup);
     options.setHA(ha);
     options.setExtraClasspath(cp);
     DeploymentOptions copy = DeploymentOptions.copiedOptions(options);
     assertEquals(worker, copy.isWorker());
     assertEquals(multiThreaded, copy.isMultiThreaded());
+    assertEquals(elasticWorker, copy.isElasticWorker());
     assertEquals(isolationGroup, copy.getIsolationGroup());
     assertNotSame(config, copy.getConfig());
     assertEquals("bar", copy.getConfig().getString("foo"));
@@ -119,6 +127,7 @@ public class DeploymentTest extends VertxTestBase {
     assertEquals(def.getConfig(), json.getConfig());
     assertEquals(def.isWorker(), json.isWorker());
     assertEquals(def.isMultiThreaded(), json.isMultiThreaded());
+    assertEquals(def.isElasticWorker(), json.isElasticWorker());
     assertEquals(def.getIsolationGroup(), json.getIsolationGroup());
     assertEquals(def.isHA(), json.isHA());
     assertEquals(def.getExtraClasspath(), json.getExtraClasspath());
@@ -130,6 +139,7 @@ public class DeploymentTest extends VertxTestBase {
     Random rand = new Random();
     boolean worker = rand.nextBoolean();
     boolean multiThreaded = rand.nextBoolean();
+    boolean elasticWorker = rand.nextBoolean();
     String isolationGroup = TestUtils.randomAlphaString(100);
     boolean ha = rand.nextBoolean();
     List<String> cp = Arrays.asList("foo", "bar");
@@ -137,12 +147,14 @@ public class DeploymentTest extends VertxTestBase {
     json.putObject("config", config);
     json.putBoolean("worker", worker);
     json.putBoolean("multiThreaded", multiThreaded);
+    json.putBoolean("elasticWorker", elasticWorker);
     json.putString("isolationGroup", isolationGroup);
     json.putBoolean("ha", ha);
     json.putArray("extraClasspath", new JsonArray(cp));
     DeploymentOptions copy = DeploymentOptions.optionsFromJson(json);
     assertEquals(worker, copy.isWorker());
     assertEquals(multiThreaded, copy.isMultiThreaded());
+    assertEquals(elasticWorker, copy.isElasticWorker());
     assertEquals(isolationGroup, copy.getIsolationGroup());
     assertNotSame(config, copy.getConfig());
     assertEquals("bar", copy.getConfig().getString("foo"));
@@ -158,12 +170,14 @@ public class DeploymentTest extends VertxTestBase {
     Random rand = new Random();
     boolean worker = rand.nextBoolean();
     boolean multiThreaded = rand.nextBoolean();
+    boolean elasticWorker = rand.nextBoolean();
     String isolationGroup = TestUtils.randomAlphaString(100);
     boolean ha = rand.nextBoolean();
     List<String> cp = Arrays.asList("foo", "bar");
     options.setConfig(config);
     options.setWorker(worker);
     options.setMultiThreaded(multiThreaded);
+    options.setElasticWorker(elasticWorker);
     options.setIsolationGroup(isolationGroup);
     options.setHA(ha);
     options.setExtraClasspath(cp);
@@ -171,6 +185,7 @@ public class DeploymentTest extends VertxTestBase {
     DeploymentOptions copy = DeploymentOptions.optionsFromJson(json);
     assertEquals(worker, copy.isWorker());
     assertEquals(multiThreaded, copy.isMultiThreaded());
+    assertEquals(elasticWorker, copy.isElasticWorker());
     assertEquals(isolationGroup, copy.getIsolationGroup());
     assertNotSame(config, copy.getConfig());
     assertEquals("bar", copy.getConfig().getString("foo"));
@@ -283,6 +298,83 @@ public class DeploymentTest extends VertxTestBase {
     }
   }
 
+  @Test
+  public void testDeployElasticWorker() throws Exception {
+    AtomicReference<Thread> startThread = new AtomicReference<>();
+    AtomicReference<Context> startContext = new AtomicReference<>();
+    vertx.deployVerticleWithOptions(new AbstractVerticle() {
+      @Override
+      public void start() throws Exception {
+        startThread.set(Thread.currentThread());
+        startContext.set(vertx.currentContext());
+      }
+    }, DeploymentOptions.options().setWorker(true).setElasticWorker(true), ar -> {
+      assertTrue(ar.succeeded());
+      assertTrue(startContext.get() instanceof WorkerContext);
+      assertTrue(startThread.get().getName().startsWith("vert.x-elastic-worker-thread-"));
+      testComplete();
+    });
+    await();
+  }
+
+  @Test
+  public void testDeployElasticWorkersBlockingMoreThanPoolSize() throws Exception {
+    // More than the worker pool size all blocking at the same time
+    int num = VertxOptions.options().getWorkerPoolSize() * 3;
+    CountDownLatch started = new CountDownLatch(num);
+    AtomicInteger deployed = new AtomicInteger();
+    for (int i = 0; i < num; i++) {
+      vertx.deployVerticleWithOptions(new AbstractVerticle() {
+        @Override
+        public void start() throws Exception {
+          started.countDown();
+          assertTrue(started.await(10, TimeUnit.SECONDS));
+        }
+      }, DeploymentOptions.options().setWorker(true).setElasticWorker(true), ar -> {
+        assertTrue(ar.succeeded());
+        if (deployed.incrementAndGet() == num) {
+          testComplete();
+        }
+      });
+    }
+    await();
+  }
+
+  @Test
+  public void testDeployWorkerWithElasticWorkerPool() throws Exception {
+    Vertx elasticVertx = Vertx.vertx(VertxOptions.options().setElasticWorkerPool(true));
+    try {
+      AtomicReference<Thread> startThread = new AtomicReference<>();
+      elasticVertx.deployVerticleWithOptions(new AbstractVerticle() {
+        @Override
+        public void start() throws Exception {
+          startThread.set(Thread.currentThread());
+        }
+      }, DeploymentOptions.options().setWorker(true), ar -> {
+        assertTrue(ar.succeeded());
+        assertTrue(startThread.get().getName().startsWith("vert.x-elastic-worker-thread-"));
+        testComplete();
+      });
+      await();
+    } finally {
+      CountDownLatch closed = new CountDownLatch(1);
+      elasticVertx.close(ar -> closed.countDown());
+      awaitLatch(closed);
+    }
+  }
+
+  @Test
+  public void testDeployElasticWorkerNotWorker() throws Exception {
+    MyVerticle verticle = new MyVerticle();
+    try {
+      vertx.deployVerticleWithOptions(verticle, DeploymentOptions.options().setWorker(false).setElasticWorker(true), ar -> {
+      });
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+  }
+
   @Test
   public void testDeployFromContextExceptionInStart() throws Exception {
     testDeployFromThrowableInStart(MyVerticle.THROW_EXCEPTION, Exception.class);
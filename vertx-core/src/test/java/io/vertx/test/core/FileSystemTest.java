@@ -1066,18 +1066,78 @@ public class FileSystemTest extends VertxTestBase {
     await();
   }
 
+  @Test
+  public void testWriteStreamGatheringWrites() throws Exception {
+    String fileName = "some-file.dat";
+    int chunkSize = 1000;
+    int chunks = 100;
+    byte[] content = TestUtils.randomByteArray(chunkSize * chunks);
+    Buffer buff = Buffer.buffer(content);
+    vertx.fileSystem().open(testDir + pathSep + fileName, OpenOptions.options().setGatheringWrites(true), ar -> {
+      if (ar.succeeded()) {
+        AsyncFile ws = ar.result();
+        ws.exceptionHandler(t -> fail(t.getMessage()));
+        for (int i = 0; i < chunks; i++) {
+          // Written as a composite buffer every other time, all the components are gathered too
+          Buffer chunk = buff.getBuffer(i * chunkSize, (i + 1) * chunkSize);
+          if (i % 2 == 0) {
+            ws.writeBuffer(chunk);
+          } else {
+            ws.writeBuffer(Buffer.compositeBuffer().appendBuffer(chunk.getBuffer(0, chunkSize / 2))
+              .appendBuffer(chunk.getBuffer(chunkSize / 2, chunkSize)));
+          }
+        }
+        ws.close(ar2 -> {
+          if (ar2.failed()) {
+            fail(ar2.cause().getMessage());
+          } else {
+            byte[] readBytes;
+            try {
+              readBytes = Files.readAllBytes(Paths.get(testDir + pathSep + fileName));
+            } catch (IOException e) {
+              fail(e.getMessage());
+              return;
+            }
+            assertEquals(buff, Buffer.buffer(readBytes));
+            testComplete();
+          }
+        });
+      } else {
+        fail(ar.cause().getMessage());
+      }
+    });
+    await();
+  }
+
   @Test
   public void testReadStream() throws Exception {
+    testReadStream(OpenOptions.options());
+  }
+
+  @Test
+  public void testReadStreamBufferSize() throws Exception {
+    testReadStream(OpenOptions.options().setReadBufferSize(100));
+  }
+
+  @Test
+  public void testReadStreamMemoryMapped() throws Exception {
+    testReadStream(OpenOptions.options().setMemoryMapped(true).setReadBufferSize(100));
+  }
+
+  private void testReadStream(OpenOptions options) throws Exception {
     String fileName = "some-file.dat";
     int chunkSize = 1000;
     int chunks = 10;
     byte[] content = TestUtils.randomByteArray(chunkSize * chunks);
     createFile(fileName, content);
-    vertx.fileSystem().open(testDir + pathSep + fileName, OpenOptions.options(), ar -> {
+    vertx.fileSystem().open(testDir + pathSep + fileName, options, ar -> {
       if (ar.succeeded()) {
         ReadStream<AsyncFile> rs = ar.result();
         Buffer buff = Buffer.buffer();
-        rs.dataHandler(buff::appendBuffer);
+        rs.dataHandler(data -> {
+          assertTrue(data.length() <= options.getReadBufferSize());
+          buff.appendBuffer(data);
+        });
         rs.exceptionHandler(t -> fail(t.getMessage()));
         rs.endHandler(v -> {
           ar.result().close(ar2 -> {
@@ -1285,6 +1345,32 @@ public class FileSystemTest extends VertxTestBase {
     assertFalse(opts.isSparse());
     assertEquals(opts, opts.setSparse(true));
     assertTrue(opts.isSparse());
+    assertEquals(AsyncFileImpl.BUFFER_SIZE, opts.getReadBufferSize());
+    int rand = TestUtils.randomPositiveInt();
+    assertEquals(opts, opts.setReadBufferSize(rand));
+    assertEquals(rand, opts.getReadBufferSize());
+    try {
+      opts.setReadBufferSize(0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    assertEquals(128 * 1024, opts.getWriteQueueMaxSize());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(opts, opts.setWriteQueueMaxSize(rand));
+    assertEquals(rand, opts.getWriteQueueMaxSize());
+    try {
+      opts.setWriteQueueMaxSize(0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    assertFalse(opts.isMemoryMapped());
+    assertEquals(opts, opts.setMemoryMapped(true));
+    assertTrue(opts.isMemoryMapped());
+    assertFalse(opts.isGatheringWrites());
+    assertEquals(opts, opts.setGatheringWrites(true));
+    assertTrue(opts.isGatheringWrites());
   }
 
   @Test
@@ -1301,6 +1387,10 @@ public class FileSystemTest extends VertxTestBase {
     assertEquals(def.isSparse(), json.isSparse());
     assertEquals(def.isSync(), json.isSync());
     assertEquals(def.isDSync(), json.isDSync());
+    assertEquals(def.getReadBufferSize(), json.getReadBufferSize());
+    assertEquals(def.getWriteQueueMaxSize(), json.getWriteQueueMaxSize());
+    assertEquals(def.isMemoryMapped(), json.isMemoryMapped());
+    assertEquals(def.isGatheringWrites(), json.isGatheringWrites());
   }
 
   private AsyncResultHandler<Void> createHandler(boolean shouldPass, Handler<Void> afterOK) {
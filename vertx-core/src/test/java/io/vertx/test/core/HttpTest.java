@@ -16,6 +16,7 @@
 
 package io.vertx.test.core;
 
+import io.netty.channel.EventLoop;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.AbstractVerticle;
@@ -24,7 +25,9 @@ import io.vertx.core.Context;
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Handler;
 import io.vertx.core.Headers;
+import io.vertx.core.Vertx;
 import io.vertx.core.VertxException;
+import io.vertx.core.VertxOptions;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.eventbus.Registration;
@@ -35,11 +38,13 @@ import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpClientResponse;
 import io.vertx.core.http.HttpServer;
 import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.http.RequestOptions;
 import io.vertx.core.http.RequestOptionsBase;
 import io.vertx.core.http.WebSocketConnectOptions;
 import io.vertx.core.http.impl.HeadersAdaptor;
+import io.vertx.core.http.impl.HttpServerImpl;
 import io.vertx.core.impl.ConcurrentHashSet;
 import io.vertx.core.impl.ContextImpl;
 import io.vertx.core.impl.EventLoopContext;
@@ -71,17 +76,20 @@ import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.nio.channels.ClosedChannelException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -174,6 +182,28 @@ public class HttpTest extends HttpTestBase {
     assertEquals(options, options.setTcpKeepAlive(!tcpKeepAlive));
     assertEquals(!tcpKeepAlive, options.isTcpKeepAlive());
 
+    assertEquals(-1, options.getSslSessionCacheSize());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setSslSessionCacheSize(rand));
+    assertEquals(rand, options.getSslSessionCacheSize());
+    try {
+      options.setSslSessionCacheSize(-1);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+
+    assertEquals(-1, options.getSslSessionTimeout());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setSslSessionTimeout(rand));
+    assertEquals(rand, options.getSslSessionTimeout());
+    try {
+      options.setSslSessionTimeout(-1);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+
     int soLinger = SocketDefaults.instance.getSoLinger();
     assertEquals(soLinger, options.getSoLinger());
     rand = TestUtils.randomPositiveInt();
@@ -247,6 +277,41 @@ public class HttpTest extends HttpTestBase {
     assertEquals(options, options.setPipelining(true));
     assertTrue(options.isPipelining());
 
+    assertEquals(10, options.getPipeliningLimit());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setPipeliningLimit(rand));
+    assertEquals(rand, options.getPipeliningLimit());
+    try {
+      options.setPipeliningLimit(0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+
+    assertEquals(5, options.getMaxIdlePoolSize());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setMaxIdlePoolSize(rand));
+    assertEquals(rand, options.getMaxIdlePoolSize());
+    assertEquals(options, options.setMaxIdlePoolSize(0));
+    assertEquals(0, options.getMaxIdlePoolSize());
+    try {
+      options.setMaxIdlePoolSize(-1);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+
+    assertEquals(60, options.getKeepAliveTimeout());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setKeepAliveTimeout(rand));
+    assertEquals(rand, options.getKeepAliveTimeout());
+    try {
+      options.setKeepAliveTimeout(0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+
     assertEquals(60000, options.getConnectTimeout());
     rand = TestUtils.randomPositiveInt();
     assertEquals(options, options.setConnectTimeout(rand));
@@ -341,6 +406,28 @@ public class HttpTest extends HttpTestBase {
     assertEquals(options, options.setTcpKeepAlive(!tcpKeepAlive));
     assertEquals(!tcpKeepAlive, options.isTcpKeepAlive());
 
+    assertEquals(-1, options.getSslSessionCacheSize());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setSslSessionCacheSize(rand));
+    assertEquals(rand, options.getSslSessionCacheSize());
+    try {
+      options.setSslSessionCacheSize(-1);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+
+    assertEquals(-1, options.getSslSessionTimeout());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setSslSessionTimeout(rand));
+    assertEquals(rand, options.getSslSessionTimeout());
+    try {
+      options.setSslSessionTimeout(-1);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+
     int soLinger = SocketDefaults.instance.getSoLinger();
     assertEquals(soLinger, options.getSoLinger());
     rand = TestUtils.randomPositiveInt();
@@ -386,6 +473,69 @@ public class HttpTest extends HttpTestBase {
     assertEquals(options, options.setAcceptBacklog(rand));
     assertEquals(rand, options.getAcceptBacklog());
 
+    assertFalse(options.isReusePort());
+    assertEquals(options, options.setReusePort(true));
+    assertTrue(options.isReusePort());
+
+    assertFalse(options.isPipelining());
+    assertEquals(options, options.setPipelining(true));
+    assertTrue(options.isPipelining());
+
+    assertEquals(5, options.getMaxPipelinedRequests());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setMaxPipelinedRequests(rand));
+    assertEquals(rand, options.getMaxPipelinedRequests());
+    try {
+      options.setMaxPipelinedRequests(0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+
+    assertEquals(65536, options.getMaxPipelinedBytes());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setMaxPipelinedBytes(rand));
+    assertEquals(rand, options.getMaxPipelinedBytes());
+    try {
+      options.setMaxPipelinedBytes(0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+
+    assertEquals(0, options.getFileCacheTtl());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setFileCacheTtl(rand));
+    assertEquals(rand, options.getFileCacheTtl());
+    try {
+      options.setFileCacheTtl(-1);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+
+    assertEquals(1024, options.getFileCacheMaxEntries());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setFileCacheMaxEntries(rand));
+    assertEquals(rand, options.getFileCacheMaxEntries());
+    try {
+      options.setFileCacheMaxEntries(0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+
+    assertEquals(65536, options.getMaxCachedFileSize());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setMaxCachedFileSize(rand));
+    assertEquals(rand, options.getMaxCachedFileSize());
+    try {
+      options.setMaxCachedFileSize(-1);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+
     assertFalse(options.isCompressionSupported());
     assertEquals(options, options.setCompressionSupported(true));
     assertTrue(options.isCompressionSupported());
@@ -444,6 +594,9 @@ public class HttpTest extends HttpTestBase {
     int trafficClass = TestUtils.randomByte() + 127;
     boolean tcpNoDelay = rand.nextBoolean();
     boolean tcpKeepAlive = rand.nextBoolean();
+    boolean tcpCork = rand.nextBoolean();
+    int sslSessionCacheSize = TestUtils.randomPositiveInt();
+    int sslSessionTimeout = TestUtils.randomPositiveInt();
     int soLinger = TestUtils.randomPositiveInt();
     boolean usePooledBuffers = rand.nextBoolean();
     int idleTimeout = TestUtils.randomPositiveInt();
@@ -464,6 +617,9 @@ public class HttpTest extends HttpTestBase {
     int maxPoolSize = TestUtils.randomPositiveInt();
     boolean keepAlive = rand.nextBoolean();
     boolean pipelining = rand.nextBoolean();
+    int pipeliningLimit = TestUtils.randomPositiveInt();
+    int maxIdlePoolSize = TestUtils.randomPositiveInt();
+    int keepAliveTimeout = TestUtils.randomPositiveInt();
     boolean tryUseCompression = rand.nextBoolean();
 
     options.setSendBufferSize(sendBufferSize);
@@ -473,6 +629,9 @@ public class HttpTest extends HttpTestBase {
     options.setSsl(ssl);
     options.setTcpNoDelay(tcpNoDelay);
     options.setTcpKeepAlive(tcpKeepAlive);
+    options.setTcpCork(tcpCork);
+    options.setSslSessionCacheSize(sslSessionCacheSize);
+    options.setSslSessionTimeout(sslSessionTimeout);
     options.setSoLinger(soLinger);
     options.setUsePooledBuffers(usePooledBuffers);
     options.setIdleTimeout(idleTimeout);
@@ -487,6 +646,9 @@ public class HttpTest extends HttpTestBase {
     options.setMaxPoolSize(maxPoolSize);
     options.setKeepAlive(keepAlive);
     options.setPipelining(pipelining);
+    options.setPipeliningLimit(pipeliningLimit);
+    options.setMaxIdlePoolSize(maxIdlePoolSize);
+    options.setKeepAliveTimeout(keepAliveTimeout);
     options.setTryUseCompression(tryUseCompression);
     HttpClientOptions copy = HttpClientOptions.copiedOptions(options);
     assertEquals(sendBufferSize, copy.getSendBufferSize());
@@ -495,6 +657,9 @@ public class HttpTest extends HttpTestBase {
     assertEquals(trafficClass, copy.getTrafficClass());
     assertEquals(tcpNoDelay, copy.isTcpNoDelay());
     assertEquals(tcpKeepAlive, copy.isTcpKeepAlive());
+    assertEquals(tcpCork, copy.isTcpCork());
+    assertEquals(sslSessionCacheSize, copy.getSslSessionCacheSize());
+    assertEquals(sslSessionTimeout, copy.getSslSessionTimeout());
     assertEquals(soLinger, copy.getSoLinger());
     assertEquals(usePooledBuffers, copy.isUsePooledBuffers());
     assertEquals(idleTimeout, copy.getIdleTimeout());
@@ -515,6 +680,9 @@ public class HttpTest extends HttpTestBase {
     assertEquals(maxPoolSize, copy.getMaxPoolSize());
     assertEquals(keepAlive, copy.isKeepAlive());
     assertEquals(pipelining, copy.isPipelining());
+    assertEquals(pipeliningLimit, copy.getPipeliningLimit());
+    assertEquals(maxIdlePoolSize, copy.getMaxIdlePoolSize());
+    assertEquals(keepAliveTimeout, copy.getKeepAliveTimeout());
     assertEquals(tryUseCompression, copy.isTryUseCompression());
   }
 
@@ -525,6 +693,9 @@ public class HttpTest extends HttpTestBase {
     assertEquals(def.getMaxPoolSize(), json.getMaxPoolSize());
     assertEquals(def.isKeepAlive(), json.isKeepAlive());
     assertEquals(def.isPipelining(), json.isPipelining());
+    assertEquals(def.getPipeliningLimit(), json.getPipeliningLimit());
+    assertEquals(def.getMaxIdlePoolSize(), json.getMaxIdlePoolSize());
+    assertEquals(def.getKeepAliveTimeout(), json.getKeepAliveTimeout());
     assertEquals(def.isVerifyHost(), json.isVerifyHost());
     assertEquals(def.isTryUseCompression(), json.isTryUseCompression());
     testDefaultClientOptions(def, json);
@@ -539,6 +710,9 @@ public class HttpTest extends HttpTestBase {
     int trafficClass = TestUtils.randomByte() + 127;
     boolean tcpNoDelay = rand.nextBoolean();
     boolean tcpKeepAlive = rand.nextBoolean();
+    boolean tcpCork = rand.nextBoolean();
+    int sslSessionCacheSize = TestUtils.randomPositiveInt();
+    int sslSessionTimeout = TestUtils.randomPositiveInt();
     int soLinger = TestUtils.randomPositiveInt();
     boolean usePooledBuffers = rand.nextBoolean();
     int idleTimeout = TestUtils.randomPositiveInt();
@@ -561,6 +735,9 @@ public class HttpTest extends HttpTestBase {
     int maxPoolSize = TestUtils.randomPositiveInt();
     boolean keepAlive = rand.nextBoolean();
     boolean pipelining = rand.nextBoolean();
+    int pipeliningLimit = TestUtils.randomPositiveInt();
+    int maxIdlePoolSize = TestUtils.randomPositiveInt();
+    int keepAliveTimeout = TestUtils.randomPositiveInt();
     boolean tryUseCompression = rand.nextBoolean();
 
     JsonObject json = new JsonObject();
@@ -570,6 +747,9 @@ public class HttpTest extends HttpTestBase {
       .putNumber("trafficClass", trafficClass)
       .putBoolean("tcpNoDelay", tcpNoDelay)
       .putBoolean("tcpKeepAlive", tcpKeepAlive)
+      .putBoolean("tcpCork", tcpCork)
+      .putNumber("sslSessionCacheSize", sslSessionCacheSize)
+      .putNumber("sslSessionTimeout", sslSessionTimeout)
       .putNumber("soLinger", soLinger)
       .putBoolean("usePooledBuffers", usePooledBuffers)
       .putNumber("idleTimeout", idleTimeout)
@@ -584,6 +764,9 @@ public class HttpTest extends HttpTestBase {
       .putNumber("maxPoolSize", maxPoolSize)
       .putBoolean("keepAlive", keepAlive)
       .putBoolean("pipelining", pipelining)
+      .putNumber("pipeliningLimit", pipeliningLimit)
+      .putNumber("maxIdlePoolSize", maxIdlePoolSize)
+      .putNumber("keepAliveTimeout", keepAliveTimeout)
       .putBoolean("tryUseCompression", tryUseCompression);
 
     HttpClientOptions options = HttpClientOptions.optionsFromJson(json);
@@ -592,6 +775,9 @@ public class HttpTest extends HttpTestBase {
     assertEquals(reuseAddress, options.isReuseAddress());
     assertEquals(trafficClass, options.getTrafficClass());
     assertEquals(tcpKeepAlive, options.isTcpKeepAlive());
+    assertEquals(tcpCork, options.isTcpCork());
+    assertEquals(sslSessionCacheSize, options.getSslSessionCacheSize());
+    assertEquals(sslSessionTimeout, options.getSslSessionTimeout());
     assertEquals(tcpNoDelay, options.isTcpNoDelay());
     assertEquals(soLinger, options.getSoLinger());
     assertEquals(usePooledBuffers, options.isUsePooledBuffers());
@@ -613,6 +799,9 @@ public class HttpTest extends HttpTestBase {
     assertEquals(maxPoolSize, options.getMaxPoolSize());
     assertEquals(keepAlive, options.isKeepAlive());
     assertEquals(pipelining, options.isPipelining());
+    assertEquals(pipeliningLimit, options.getPipeliningLimit());
+    assertEquals(maxIdlePoolSize, options.getMaxIdlePoolSize());
+    assertEquals(keepAliveTimeout, options.getKeepAliveTimeout());
     assertEquals(tryUseCompression, options.isTryUseCompression());
 
     // Test other keystore/truststore types
@@ -655,6 +844,9 @@ public class HttpTest extends HttpTestBase {
     boolean reuseAddress = rand.nextBoolean();
     int trafficClass = TestUtils.randomByte() + 127;boolean tcpNoDelay = rand.nextBoolean();
     boolean tcpKeepAlive = rand.nextBoolean();
+    boolean tcpCork = rand.nextBoolean();
+    int sslSessionCacheSize = TestUtils.randomPositiveInt();
+    int sslSessionTimeout = TestUtils.randomPositiveInt();
     int soLinger = TestUtils.randomPositiveInt();
     boolean usePooledBuffers = rand.nextBoolean();
     int idleTimeout = TestUtils.randomPositiveInt();
@@ -671,6 +863,13 @@ public class HttpTest extends HttpTestBase {
     int port = 1234;
     String host = TestUtils.randomAlphaString(100);
     int acceptBacklog = TestUtils.randomPortInt();
+    boolean reusePort = rand.nextBoolean();
+    boolean pipelining = rand.nextBoolean();
+    int maxPipelinedRequests = TestUtils.randomPositiveInt();
+    int maxPipelinedBytes = TestUtils.randomPositiveInt();
+    int fileCacheTtl = TestUtils.randomPositiveInt();
+    int fileCacheMaxEntries = TestUtils.randomPositiveInt();
+    int maxCachedFileSize = TestUtils.randomPositiveInt();
     boolean compressionSupported = rand.nextBoolean();
     int maxWebsocketFrameSize = TestUtils.randomPositiveInt();
     String wsSubProtocol = TestUtils.randomAlphaString(10);
@@ -680,6 +879,9 @@ public class HttpTest extends HttpTestBase {
     options.setTrafficClass(trafficClass);
     options.setTcpNoDelay(tcpNoDelay);
     options.setTcpKeepAlive(tcpKeepAlive);
+    options.setTcpCork(tcpCork);
+    options.setSslSessionCacheSize(sslSessionCacheSize);
+    options.setSslSessionTimeout(sslSessionTimeout);
     options.setSoLinger(soLinger);
     options.setUsePooledBuffers(usePooledBuffers);
     options.setIdleTimeout(idleTimeout);
@@ -692,6 +894,13 @@ public class HttpTest extends HttpTestBase {
     options.setPort(port);
     options.setHost(host);
     options.setAcceptBacklog(acceptBacklog);
+    options.setReusePort(reusePort);
+    options.setPipelining(pipelining);
+    options.setMaxPipelinedRequests(maxPipelinedRequests);
+    options.setMaxPipelinedBytes(maxPipelinedBytes);
+    options.setFileCacheTtl(fileCacheTtl);
+    options.setFileCacheMaxEntries(fileCacheMaxEntries);
+    options.setMaxCachedFileSize(maxCachedFileSize);
     options.setCompressionSupported(compressionSupported);
     options.setMaxWebsocketFrameSize(maxWebsocketFrameSize);
     options.addWebsocketSubProtocol(wsSubProtocol);
@@ -702,6 +911,9 @@ public class HttpTest extends HttpTestBase {
     assertEquals(trafficClass, copy.getTrafficClass());
     assertEquals(tcpNoDelay, copy.isTcpNoDelay());
     assertEquals(tcpKeepAlive, copy.isTcpKeepAlive());
+    assertEquals(tcpCork, copy.isTcpCork());
+    assertEquals(sslSessionCacheSize, copy.getSslSessionCacheSize());
+    assertEquals(sslSessionTimeout, copy.getSslSessionTimeout());
     assertEquals(soLinger, copy.getSoLinger());
     assertEquals(usePooledBuffers, copy.isUsePooledBuffers());
     assertEquals(idleTimeout, copy.getIdleTimeout());
@@ -719,6 +931,13 @@ public class HttpTest extends HttpTestBase {
     assertEquals(port, copy.getPort());
     assertEquals(host, copy.getHost());
     assertEquals(acceptBacklog, copy.getAcceptBacklog());
+    assertEquals(reusePort, copy.isReusePort());
+    assertEquals(pipelining, copy.isPipelining());
+    assertEquals(maxPipelinedRequests, copy.getMaxPipelinedRequests());
+    assertEquals(maxPipelinedBytes, copy.getMaxPipelinedBytes());
+    assertEquals(fileCacheTtl, copy.getFileCacheTtl());
+    assertEquals(fileCacheMaxEntries, copy.getFileCacheMaxEntries());
+    assertEquals(maxCachedFileSize, copy.getMaxCachedFileSize());
     assertEquals(compressionSupported, copy.isCompressionSupported());
     assertEquals(maxWebsocketFrameSize, options.getMaxWebsocketFrameSize());
     assertTrue(options.getWebsocketSubProtocols().contains(wsSubProtocol));
@@ -731,6 +950,13 @@ public class HttpTest extends HttpTestBase {
     assertEquals(def.getMaxWebsocketFrameSize(), json.getMaxWebsocketFrameSize());
     assertEquals(def.getWebsocketSubProtocols(), json.getWebsocketSubProtocols());
     assertEquals(def.isCompressionSupported(), json.isCompressionSupported());
+    assertEquals(def.isReusePort(), json.isReusePort());
+    assertEquals(def.isPipelining(), json.isPipelining());
+    assertEquals(def.getMaxPipelinedRequests(), json.getMaxPipelinedRequests());
+    assertEquals(def.getMaxPipelinedBytes(), json.getMaxPipelinedBytes());
+    assertEquals(def.getFileCacheTtl(), json.getFileCacheTtl());
+    assertEquals(def.getFileCacheMaxEntries(), json.getFileCacheMaxEntries());
+    assertEquals(def.getMaxCachedFileSize(), json.getMaxCachedFileSize());
     testDefaultNetServerOptionsBase(def, json);
   }
 
@@ -743,6 +969,9 @@ public class HttpTest extends HttpTestBase {
     int trafficClass = TestUtils.randomByte() + 127;
     boolean tcpNoDelay = rand.nextBoolean();
     boolean tcpKeepAlive = rand.nextBoolean();
+    boolean tcpCork = rand.nextBoolean();
+    int sslSessionCacheSize = TestUtils.randomPositiveInt();
+    int sslSessionTimeout = TestUtils.randomPositiveInt();
     int soLinger = TestUtils.randomPositiveInt();
     boolean usePooledBuffers = rand.nextBoolean();
     int idleTimeout = TestUtils.randomPositiveInt();
@@ -762,6 +991,13 @@ public class HttpTest extends HttpTestBase {
     int port = 1234;
     String host = TestUtils.randomAlphaString(100);
     int acceptBacklog = TestUtils.randomPortInt();
+    boolean reusePort = rand.nextBoolean();
+    boolean pipelining = rand.nextBoolean();
+    int maxPipelinedRequests = TestUtils.randomPositiveInt();
+    int maxPipelinedBytes = TestUtils.randomPositiveInt();
+    int fileCacheTtl = TestUtils.randomPositiveInt();
+    int fileCacheMaxEntries = TestUtils.randomPositiveInt();
+    int maxCachedFileSize = TestUtils.randomPositiveInt();
     boolean compressionSupported = rand.nextBoolean();
     int maxWebsocketFrameSize = TestUtils.randomPositiveInt();
     String wsSubProtocol = TestUtils.randomAlphaString(10);
@@ -773,6 +1009,9 @@ public class HttpTest extends HttpTestBase {
       .putNumber("trafficClass", trafficClass)
       .putBoolean("tcpNoDelay", tcpNoDelay)
       .putBoolean("tcpKeepAlive", tcpKeepAlive)
+      .putBoolean("tcpCork", tcpCork)
+      .putNumber("sslSessionCacheSize", sslSessionCacheSize)
+      .putNumber("sslSessionTimeout", sslSessionTimeout)
       .putNumber("soLinger", soLinger)
       .putBoolean("usePooledBuffers", usePooledBuffers)
       .putNumber("idleTimeout", idleTimeout)
@@ -784,6 +1023,13 @@ public class HttpTest extends HttpTestBase {
       .putNumber("port", port)
       .putString("host", host)
       .putNumber("acceptBacklog", acceptBacklog)
+      .putBoolean("reusePort", reusePort)
+      .putBoolean("pipelining", pipelining)
+      .putNumber("maxPipelinedRequests", maxPipelinedRequests)
+      .putNumber("maxPipelinedBytes", maxPipelinedBytes)
+      .putNumber("fileCacheTtl", fileCacheTtl)
+      .putNumber("fileCacheMaxEntries", fileCacheMaxEntries)
+      .putNumber("maxCachedFileSize", maxCachedFileSize)
       .putBoolean("compressionSupported", compressionSupported)
       .putNumber("maxWebsocketFrameSize", maxWebsocketFrameSize)
       .putArray("websocketSubProtocols", new JsonArray().addString(wsSubProtocol));
@@ -794,6 +1040,9 @@ public class HttpTest extends HttpTestBase {
     assertEquals(reuseAddress, options.isReuseAddress());
     assertEquals(trafficClass, options.getTrafficClass());
     assertEquals(tcpKeepAlive, options.isTcpKeepAlive());
+    assertEquals(tcpCork, options.isTcpCork());
+    assertEquals(sslSessionCacheSize, options.getSslSessionCacheSize());
+    assertEquals(sslSessionTimeout, options.getSslSessionTimeout());
     assertEquals(tcpNoDelay, options.isTcpNoDelay());
     assertEquals(soLinger, options.getSoLinger());
     assertEquals(usePooledBuffers, options.isUsePooledBuffers());
@@ -812,6 +1061,13 @@ public class HttpTest extends HttpTestBase {
     assertEquals(port, options.getPort());
     assertEquals(host, options.getHost());
     assertEquals(acceptBacklog, options.getAcceptBacklog());
+    assertEquals(reusePort, options.isReusePort());
+    assertEquals(pipelining, options.isPipelining());
+    assertEquals(maxPipelinedRequests, options.getMaxPipelinedRequests());
+    assertEquals(maxPipelinedBytes, options.getMaxPipelinedBytes());
+    assertEquals(fileCacheTtl, options.getFileCacheTtl());
+    assertEquals(fileCacheMaxEntries, options.getFileCacheMaxEntries());
+    assertEquals(maxCachedFileSize, options.getMaxCachedFileSize());
     assertEquals(compressionSupported, options.isCompressionSupported());
     assertEquals(maxWebsocketFrameSize, options.getMaxWebsocketFrameSize());
     assertTrue(options.getWebsocketSubProtocols().contains(wsSubProtocol));
@@ -2104,6 +2360,169 @@ public class HttpTest extends HttpTestBase {
 
   }
 
+  @Test
+  public void testPipeliningReusesConnection() throws Exception {
+    int requests = 6;
+    int pipeliningLimit = 3;
+    client.close();
+    client = vertx.createHttpClient(HttpClientOptions.options().setKeepAlive(true).setPipelining(true)
+      .setPipeliningLimit(pipeliningLimit).setMaxPoolSize(requests));
+    server.close();
+    server = vertx.createHttpServer(HttpServerOptions.options().setPort(DEFAULT_HTTP_PORT).setHost(DEFAULT_HTTP_HOST).setPipelining(true));
+    Set<Integer> ports = new ConcurrentHashSet<>();
+    List<HttpServerRequest> received = new ArrayList<>();
+    AtomicInteger sent = new AtomicInteger();
+    CountDownLatch latch = new CountDownLatch(requests);
+    Runnable[] sendNext = new Runnable[1];
+    sendNext[0] = () -> {
+      int theCount = sent.getAndIncrement();
+      HttpClientRequest req = client.get(RequestOptions.options().setPort(DEFAULT_HTTP_PORT).setRequestURI(DEFAULT_TEST_URI), resp -> {
+        resp.bodyHandler(buff -> {
+          assertEquals("response-" + theCount, buff.toString());
+          latch.countDown();
+        });
+      });
+      req.headers().set("count", String.valueOf(theCount));
+      req.end();
+    };
+    server.requestHandler(req -> {
+      ports.add(req.remoteAddress().hostPort());
+      received.add(req);
+      if (received.size() < requests) {
+        // The previous request has been written, so its connection can take the next one unless it's full
+        sendNext[0].run();
+      } else {
+        for (HttpServerRequest theReq : received) {
+          theReq.response().writeStringAndEnd("response-" + theReq.headers().get("count"));
+        }
+      }
+    });
+    server.listen(onSuccess(s -> sendNext[0].run()));
+    awaitLatch(latch);
+    assertEquals(requests / pipeliningLimit, ports.size());
+  }
+
+  @Test
+  public void testServerPipeliningOrder() throws Exception {
+    server.close();
+    server = vertx.createHttpServer(HttpServerOptions.options().setPort(DEFAULT_HTTP_PORT).setHost(DEFAULT_HTTP_HOST).setPipelining(true));
+    testPipeliningOrder();
+  }
+
+  @Test
+  public void testServerPipeliningDispatchesConcurrently() throws Exception {
+    int requests = 10;
+    server.close();
+    server = vertx.createHttpServer(HttpServerOptions.options().setPort(DEFAULT_HTTP_PORT).setHost(DEFAULT_HTTP_HOST)
+      .setPipelining(true).setMaxPipelinedRequests(requests));
+    List<HttpServerRequest> dispatched = new ArrayList<>();
+    server.requestHandler(req -> {
+      dispatched.add(req);
+      if (dispatched.size() == requests) {
+        // All the requests are in progress at the same time, end them last first
+        for (int i = requests - 1; i >= 0; i--) {
+          HttpServerRequest theReq = dispatched.get(i);
+          theReq.response().setChunked(true).writeString("response-");
+          theReq.response().writeString(theReq.headers().get("count"));
+          theReq.response().end();
+        }
+      }
+    });
+    testServerPipelining(requests);
+  }
+
+  @Test
+  public void testServerPipeliningMaxRequests() throws Exception {
+    int requests = 20;
+    int maxPipelinedRequests = 3;
+    server.close();
+    server = vertx.createHttpServer(HttpServerOptions.options().setPort(DEFAULT_HTTP_PORT).setHost(DEFAULT_HTTP_HOST)
+      .setPipelining(true).setMaxPipelinedRequests(maxPipelinedRequests));
+    AtomicInteger inProgress = new AtomicInteger();
+    AtomicInteger maxInProgress = new AtomicInteger();
+    server.requestHandler(req -> {
+      int n = inProgress.incrementAndGet();
+      assertTrue(n <= maxPipelinedRequests);
+      maxInProgress.set(Math.max(maxInProgress.get(), n));
+      vertx.setTimer(1 + (long) (10 * Math.random()), id -> {
+        inProgress.decrementAndGet();
+        req.response().writeStringAndEnd("response-" + req.headers().get("count"));
+      });
+    });
+    testServerPipelining(requests);
+    assertEquals(maxPipelinedRequests, maxInProgress.get());
+  }
+
+  @Test
+  public void testServerPipeliningMaxBytes() throws Exception {
+    int requests = 5;
+    server.close();
+    server = vertx.createHttpServer(HttpServerOptions.options().setPort(DEFAULT_HTTP_PORT).setHost(DEFAULT_HTTP_HOST)
+      .setPipelining(true).setMaxPipelinedBytes(1));
+    List<HttpServerRequest> dispatched = new ArrayList<>();
+    server.requestHandler(req -> {
+      dispatched.add(req);
+      if (dispatched.size() == 1) {
+        // Hold the first response so the second one is held behind it
+        return;
+      }
+      req.response().writeStringAndEnd("response-" + req.headers().get("count"));
+      if (dispatched.size() == 2) {
+        // The held bytes are over the budget so the next request waits for the first response
+        vertx.setTimer(100, id -> {
+          assertEquals(2, dispatched.size());
+          dispatched.get(0).response().writeStringAndEnd("response-0");
+        });
+      }
+    });
+    testServerPipelining(requests);
+    assertEquals(requests, dispatched.size());
+  }
+
+  @Test
+  public void testServerPipeliningSendFile() throws Exception {
+    int requests = 10;
+    List<File> files = new ArrayList<>();
+    for (int i = 0; i < requests; i++) {
+      files.add(setupFile("pipelined-" + i + ".txt", "response-" + i));
+    }
+    server.close();
+    server = vertx.createHttpServer(HttpServerOptions.options().setPort(DEFAULT_HTTP_PORT).setHost(DEFAULT_HTTP_HOST)
+      .setPipelining(true).setMaxPipelinedRequests(requests));
+    server.requestHandler(req -> {
+      int count = Integer.parseInt(req.headers().get("count"));
+      // The files are sent once they are opened, the responses after them must wait for it
+      if (count % 2 == 0) {
+        req.response().sendFile(files.get(count).getAbsolutePath());
+      } else {
+        req.response().writeStringAndEnd("response-" + count);
+      }
+    });
+    testServerPipelining(requests);
+  }
+
+  private void testServerPipelining(int requests) throws Exception {
+    client.close();
+    client = vertx.createHttpClient(HttpClientOptions.options().setKeepAlive(true).setPipelining(true).setMaxPoolSize(1));
+    CountDownLatch latch = new CountDownLatch(requests);
+    AtomicInteger received = new AtomicInteger();
+    server.listen(onSuccess(s -> {
+      for (int count = 0; count < requests; count++) {
+        int theCount = count;
+        HttpClientRequest req = client.get(RequestOptions.options().setPort(DEFAULT_HTTP_PORT).setRequestURI(DEFAULT_TEST_URI), resp -> {
+          assertEquals(theCount, received.getAndIncrement());
+          resp.bodyHandler(buff -> {
+            assertEquals("response-" + theCount, buff.toString());
+            latch.countDown();
+          });
+        });
+        req.headers().set("count", String.valueOf(count));
+        req.end();
+      }
+    }));
+    awaitLatch(latch);
+  }
+
   @Test
   public void testKeepAlive() throws Exception {
     testKeepAlive(true, 5, 10, 5);
@@ -2114,6 +2533,130 @@ public class HttpTest extends HttpTestBase {
     testKeepAlive(false, 5, 10, 10);
   }
 
+  @Test
+  public void testKeepAliveReusesIdleConnection() throws Exception {
+    int requests = 5;
+    Set<Integer> ports = new ConcurrentHashSet<>();
+    server.requestHandler(req -> {
+      ports.add(req.remoteAddress().hostPort());
+      req.response().end();
+    });
+    AtomicInteger sent = new AtomicInteger();
+    Runnable[] sendNext = new Runnable[1];
+    sendNext[0] = () -> {
+      client.getNow(RequestOptions.options().setPort(DEFAULT_HTTP_PORT).setRequestURI(DEFAULT_TEST_URI), resp -> {
+        resp.endHandler(v -> {
+          if (sent.incrementAndGet() < requests) {
+            // Send the next one once the connection is back in the pool
+            vertx.runOnContext(v2 -> sendNext[0].run());
+          } else {
+            assertEquals(1, ports.size());
+            assertEquals(requests - 1, client.poolHitCount());
+            assertEquals(1, client.poolMissCount());
+            testComplete();
+          }
+        });
+      });
+    };
+    server.listen(onSuccess(s -> sendNext[0].run()));
+    await();
+  }
+
+  @Test
+  public void testKeepAliveTimeoutEvictsIdleConnection() throws Exception {
+    client.close();
+    client = vertx.createHttpClient(HttpClientOptions.options().setKeepAlive(true).setKeepAliveTimeout(1));
+    Set<Integer> ports = new ConcurrentHashSet<>();
+    server.requestHandler(req -> {
+      ports.add(req.remoteAddress().hostPort());
+      req.response().end();
+    });
+    server.listen(onSuccess(s -> {
+      client.getNow(RequestOptions.options().setPort(DEFAULT_HTTP_PORT).setRequestURI(DEFAULT_TEST_URI), resp -> {
+        resp.endHandler(v -> {
+          vertx.setTimer(2500, id -> {
+            assertEquals(1, client.poolEvictionCount());
+            client.getNow(RequestOptions.options().setPort(DEFAULT_HTTP_PORT).setRequestURI(DEFAULT_TEST_URI), resp2 -> {
+              resp2.endHandler(v2 -> {
+                assertEquals(2, ports.size());
+                assertEquals(0, client.poolHitCount());
+                testComplete();
+              });
+            });
+          });
+        });
+      });
+    }));
+    await();
+  }
+
+  @Test
+  public void testPoolSharedByEventLoops() throws Exception {
+    int poolSize = 2;
+    int eventLoops = 4;
+    int requests = 10;
+    client.close();
+    client = vertx.createHttpClient(HttpClientOptions.options().setKeepAlive(true).setMaxPoolSize(poolSize));
+    Set<Integer> ports = new ConcurrentHashSet<>();
+    server.requestHandler(req -> {
+      ports.add(req.remoteAddress().hostPort());
+      req.response().end();
+    });
+    CountDownLatch listenLatch = new CountDownLatch(1);
+    server.listen(onSuccess(s -> listenLatch.countDown()));
+    awaitLatch(listenLatch);
+    CountDownLatch latch = new CountDownLatch(eventLoops * requests);
+    for (int i = 0; i < eventLoops; i++) {
+      // Outside of a context each call creates a new one, on the next event loop
+      ContextImpl context = ((VertxInternal) vertx).getOrCreateContext();
+      context.runOnContext(v -> {
+        for (int j = 0; j < requests; j++) {
+          client.getNow(RequestOptions.options().setPort(DEFAULT_HTTP_PORT).setRequestURI(DEFAULT_TEST_URI), resp -> {
+            assertEquals(200, resp.statusCode());
+            resp.endHandler(v2 -> latch.countDown());
+          });
+        }
+      });
+    }
+    awaitLatch(latch);
+    // The event loops share the pool size, they take connections from each other rather than opening more
+    assertTrue(ports.size() <= poolSize);
+  }
+
+  @Test
+  public void testMaxIdlePoolSizeSharedByEventLoops() throws Exception {
+    int maxIdle = 1;
+    int eventLoops = 4;
+    client.close();
+    client = vertx.createHttpClient(HttpClientOptions.options().setKeepAlive(true).setMaxPoolSize(eventLoops)
+      .setMaxIdlePoolSize(maxIdle));
+    // Hold the responses back until every event loop has its own connection open
+    List<HttpServerRequest> requests = new ArrayList<>();
+    server.requestHandler(req -> {
+      requests.add(req);
+      if (requests.size() == eventLoops) {
+        requests.forEach(r -> r.response().end());
+      }
+    });
+    CountDownLatch listenLatch = new CountDownLatch(1);
+    server.listen(onSuccess(s -> listenLatch.countDown()));
+    awaitLatch(listenLatch);
+    CountDownLatch latch = new CountDownLatch(eventLoops);
+    for (int i = 0; i < eventLoops; i++) {
+      // Outside of a context each call creates a new one, on the next event loop
+      ContextImpl context = ((VertxInternal) vertx).getOrCreateContext();
+      context.runOnContext(v -> {
+        client.getNow(RequestOptions.options().setPort(DEFAULT_HTTP_PORT).setRequestURI(DEFAULT_TEST_URI), resp -> {
+          assertEquals(200, resp.statusCode());
+          resp.endHandler(v2 -> latch.countDown());
+        });
+      });
+    }
+    awaitLatch(latch);
+    // The limit is for the host, not for each event loop, so all but one of the connections are closed
+    waitUntil(() -> client.poolEvictionCount() == eventLoops - maxIdle);
+  }
+
   private void testKeepAlive(boolean keepAlive, int poolSize, int numServers, int expectedConnectedServers) throws Exception {
     client.close();
     server.close();
@@ -2278,6 +2821,160 @@ public class HttpTest extends HttpTestBase {
     await();
   }
 
+  @Test
+  public void testSendFileClientClosedWhileLoading() throws Exception {
+    File file = setupFile("test-send-file.html", TestUtils.randomAlphaString(1000));
+    CountDownLatch closed = new CountDownLatch(1);
+    server.requestHandler(req -> {
+      req.response().closeHandler(v -> closed.countDown());
+      // The file is loaded on the worker pool, keep all its threads busy until the client is gone
+      ThreadPoolExecutor workerPool = (ThreadPoolExecutor) ((VertxInternal) vertx).getWorkerPool();
+      for (int i = 0; i < workerPool.getMaximumPoolSize(); i++) {
+        workerPool.execute(() -> {
+          try {
+            closed.await();
+          } catch (InterruptedException e) {
+            throw new VertxException(e);
+          }
+        });
+      }
+      req.response().sendFile(file.getAbsolutePath(), null, ar -> {
+        assertTrue(ar.failed());
+        assertTrue(ar.cause() instanceof ClosedChannelException);
+        file.delete();
+        testComplete();
+      });
+    });
+    server.listen(onSuccess(s -> {
+      vertx.createNetClient(NetClientOptions.options()).connect(DEFAULT_HTTP_PORT, DEFAULT_HTTP_HOST, onSuccess(socket -> {
+        socket.writeString("GET " + DEFAULT_TEST_URI + " HTTP/1.1\r\n\r\n");
+        socket.close();
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testSendFileValidators() throws Exception {
+    File file = setupFile("test-send-file.html", TestUtils.randomAlphaString(1000));
+    server.requestHandler(req -> req.response().sendFile(file.getAbsolutePath()));
+
+    server.listen(onSuccess(s -> {
+      client.getNow(RequestOptions.options().setPort(DEFAULT_HTTP_PORT).setRequestURI(DEFAULT_TEST_URI), resp -> {
+        assertEquals(200, resp.statusCode());
+        assertEquals("bytes", resp.headers().get("accept-ranges"));
+        String etag = resp.headers().get("etag");
+        String lastModified = resp.headers().get("last-modified");
+        assertNotNull(etag);
+        assertNotNull(lastModified);
+        resp.bodyHandler(buff -> {
+          HttpClientRequest req = client.get(RequestOptions.options().setPort(DEFAULT_HTTP_PORT).setRequestURI(DEFAULT_TEST_URI), resp2 -> {
+            assertEquals(304, resp2.statusCode());
+            assertEquals(etag, resp2.headers().get("etag"));
+            resp2.bodyHandler(buff2 -> {
+              assertEquals(0, buff2.length());
+              HttpClientRequest req2 = client.get(RequestOptions.options().setPort(DEFAULT_HTTP_PORT).setRequestURI(DEFAULT_TEST_URI), resp3 -> {
+                assertEquals(304, resp3.statusCode());
+                resp3.bodyHandler(buff3 -> {
+                  file.delete();
+                  testComplete();
+                });
+              });
+              req2.headers().set("if-modified-since", lastModified);
+              req2.end();
+            });
+          });
+          req.headers().set("if-none-match", etag);
+          req.end();
+        });
+      });
+    }));
+
+    await();
+  }
+
+  @Test
+  public void testSendFileRange() throws Exception {
+    testSendFileRange(HttpServerOptions.options().setPort(DEFAULT_HTTP_PORT).setHost(DEFAULT_HTTP_HOST));
+  }
+
+  @Test
+  public void testSendCachedFileRange() throws Exception {
+    testSendFileRange(HttpServerOptions.options().setPort(DEFAULT_HTTP_PORT).setHost(DEFAULT_HTTP_HOST)
+      .setFileCacheTtl(60000));
+  }
+
+  private void testSendFileRange(HttpServerOptions options) throws Exception {
+    String content = TestUtils.randomAlphaString(1000);
+    File file = setupFile("test-send-file.html", content);
+    server.close();
+    server = vertx.createHttpServer(options);
+    server.requestHandler(req -> req.response().sendFile(file.getAbsolutePath()));
+
+    server.listen(onSuccess(s -> {
+      HttpClientRequest req = client.get(RequestOptions.options().setPort(DEFAULT_HTTP_PORT).setRequestURI(DEFAULT_TEST_URI), resp -> {
+        assertEquals(206, resp.statusCode());
+        assertEquals("bytes 100-199/1000", resp.headers().get("content-range"));
+        assertEquals("100", resp.headers().get("content-length"));
+        resp.bodyHandler(buff -> {
+          assertEquals(content.substring(100, 200), buff.toString());
+          HttpClientRequest req2 = client.get(RequestOptions.options().setPort(DEFAULT_HTTP_PORT).setRequestURI(DEFAULT_TEST_URI), resp2 -> {
+            assertEquals(206, resp2.statusCode());
+            assertEquals("bytes 990-999/1000", resp2.headers().get("content-range"));
+            resp2.bodyHandler(buff2 -> {
+              assertEquals(content.substring(990), buff2.toString());
+              HttpClientRequest req3 = client.get(RequestOptions.options().setPort(DEFAULT_HTTP_PORT).setRequestURI(DEFAULT_TEST_URI), resp3 -> {
+                assertEquals(416, resp3.statusCode());
+                assertEquals("bytes */1000", resp3.headers().get("content-range"));
+                resp3.bodyHandler(buff3 -> {
+                  file.delete();
+                  testComplete();
+                });
+              });
+              req3.headers().set("range", "bytes=1000-");
+              req3.end();
+            });
+          });
+          req2.headers().set("range", "bytes=-10");
+          req2.end();
+        });
+      });
+      req.headers().set("range", "bytes=100-199");
+      req.end();
+    }));
+
+    await();
+  }
+
+  @Test
+  public void testSendCachedFile() throws Exception {
+    String content = TestUtils.randomAlphaString(1000);
+    File file = setupFile("test-send-file.html", content);
+    server.close();
+    server = vertx.createHttpServer(HttpServerOptions.options().setPort(DEFAULT_HTTP_PORT).setHost(DEFAULT_HTTP_HOST)
+      .setFileCacheTtl(60000));
+    server.requestHandler(req -> req.response().sendFile(file.getAbsolutePath()));
+
+    server.listen(onSuccess(s -> {
+      client.getNow(RequestOptions.options().setPort(DEFAULT_HTTP_PORT).setRequestURI(DEFAULT_TEST_URI), resp -> {
+        resp.bodyHandler(buff -> {
+          assertEquals(content, buff.toString());
+          // It's served from the cache until the entry expires
+          assertTrue(file.delete());
+          client.getNow(RequestOptions.options().setPort(DEFAULT_HTTP_PORT).setRequestURI(DEFAULT_TEST_URI), resp2 -> {
+            assertEquals(200, resp2.statusCode());
+            resp2.bodyHandler(buff2 -> {
+              assertEquals(content, buff2.toString());
+              testComplete();
+            });
+          });
+        });
+      });
+    }));
+
+    await();
+  }
+
   @Test
   public void test100ContinueDefault() throws Exception {
     Buffer toSend = TestUtils.randomBuffer(1000);
@@ -3178,6 +3875,51 @@ public class HttpTest extends HttpTestBase {
     testSharedServersRoundRobin();
   }
 
+  @Test
+  public void testReusePortListenerPerEventLoop() throws Exception {
+    Vertx nativeVertx = Vertx.vertx(VertxOptions.options().setPreferNativeTransport(true));
+    int numServers = 4;
+    int numRequests = numServers * 10;
+    Set<EventLoop> serverLoops = new ConcurrentHashSet<>();
+    List<Runnable> responses = Collections.synchronizedList(new ArrayList<>());
+    AtomicInteger requestCount = new AtomicInteger();
+    CountDownLatch latchListen = new CountDownLatch(numServers);
+    for (int i = 0; i < numServers; i++) {
+      HttpServer theServer = nativeVertx.createHttpServer(HttpServerOptions.options().setPort(DEFAULT_HTTP_PORT).setHost(DEFAULT_HTTP_HOST).setReusePort(true));
+      theServer.requestHandler(req -> {
+        Context ctx = nativeVertx.currentContext();
+        assertTrue(serverLoops.contains(((ContextImpl) ctx).getEventLoop()));
+        responses.add(() -> ctx.runOnContext(v -> req.response().end()));
+        if (requestCount.incrementAndGet() == numRequests) {
+          // Every request has its own connection, they're all open until the responses are sent
+          Map<EventLoop, Integer> counts = ((HttpServerImpl) theServer).connectionCounts();
+          assertEquals(new HashSet<>(serverLoops), counts.keySet());
+          assertEquals(numRequests, counts.values().stream().mapToInt(Integer::intValue).sum());
+          responses.forEach(Runnable::run);
+        }
+      }).listen(onSuccess(s -> {
+        serverLoops.add(((ContextImpl) nativeVertx.currentContext()).getEventLoop());
+        latchListen.countDown();
+      }));
+    }
+    awaitLatch(latchListen);
+
+    HttpClient nativeClient = nativeVertx.createHttpClient(HttpClientOptions.options().setMaxPoolSize(numRequests));
+    CountDownLatch latchResponses = new CountDownLatch(numRequests);
+    for (int i = 0; i < numRequests; i++) {
+      nativeClient.getNow(RequestOptions.options().setPort(DEFAULT_HTTP_PORT).setRequestURI(DEFAULT_TEST_URI), resp -> {
+        assertEquals(200, resp.statusCode());
+        latchResponses.countDown();
+      });
+    }
+    awaitLatch(latchResponses);
+    nativeVertx.close(ar -> {
+      assertTrue(ar.succeeded());
+      testComplete();
+    });
+    await();
+  }
+
   @Test
   public void testHeadNoBody() {
     server.requestHandler(req -> {
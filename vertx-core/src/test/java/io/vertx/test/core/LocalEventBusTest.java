@@ -92,6 +92,62 @@ public class LocalEventBusTest extends EventBusTestBase {
     testComplete();
   }
 
+  @Test
+  public void testConcurrentRegisterUnregister() throws Exception {
+    int numThreads = 8;
+    int numIterations = 500;
+    Registration[] kept = new Registration[numThreads];
+    Set<Integer> received = new ConcurrentHashSet<>();
+    CountDownLatch receivedLatch = new CountDownLatch(numThreads);
+    CountDownLatch start = new CountDownLatch(1);
+    Thread[] threads = new Thread[numThreads];
+    for (int i = 0; i < numThreads; i++) {
+      int index = i;
+      threads[i] = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        for (int j = 0; j < numIterations; j++) {
+          if (j == numIterations / 2) {
+            kept[index] = eb.registerHandler(ADDRESS1, (Message<String> msg) -> {
+              assertTrue(received.add(index));
+              receivedLatch.countDown();
+            });
+          }
+          Registration reg = eb.registerHandler(ADDRESS1, (Message<String> msg) -> fail("Unregistered handler received message"));
+          reg.unregister();
+        }
+      });
+      threads[i].start();
+    }
+    start.countDown();
+    for (Thread thread: threads) {
+      thread.join();
+    }
+    // Every kept handler gets the message once, none of the unregistered ones get it at all
+    eb.publish(ADDRESS1, "foo");
+    assertTrue(receivedLatch.await(10, TimeUnit.SECONDS));
+    for (int i = 0; i < numThreads; i++) {
+      int index = i;
+      threads[i] = new Thread(() -> kept[index].unregister());
+      threads[i].start();
+    }
+    for (Thread thread: threads) {
+      thread.join();
+    }
+    // The address is gone once its last handler is
+    eb.send(ADDRESS1, "foo", (AsyncResult<Message<String>> ar) -> {
+      assertFalse(ar.succeeded());
+      assertTrue(ar.cause() instanceof ReplyException);
+      assertEquals(ReplyFailure.NO_HANDLERS, ((ReplyException) ar.cause()).failureType());
+      assertEquals(numThreads, received.size());
+      testComplete();
+    });
+    await();
+  }
+
   @Test
   public void testRegisterLocal() {
     String str = TestUtils.randomUnicodeString(100);
@@ -151,6 +207,32 @@ public class LocalEventBusTest extends EventBusTestBase {
     await();
   }
 
+  @Test
+  public void testSendRoundRobinAfterRegister() {
+    String str = TestUtils.randomUnicodeString(100);
+    Set<Handler> received = new ConcurrentHashSet<>();
+    Handler<Message<String>>[] handlers = new Handler[3];
+    for (int i = 0; i < handlers.length; i++) {
+      int index = i;
+      handlers[i] = (Message<String> msg) -> {
+        assertEquals(str, msg.body());
+        assertTrue("Handler received more than one message", received.add(handlers[index]));
+        if (received.size() == handlers.length) {
+          testComplete();
+        }
+      };
+    }
+    eb.registerHandler(ADDRESS1, handlers[0]);
+    eb.registerHandler(ADDRESS1, handlers[1]);
+    eb.send(ADDRESS1, str);
+    // Registering another handler mustn't start the round robin from the first handler again
+    eb.registerHandler(ADDRESS1, handlers[2]);
+    eb.send(ADDRESS1, str);
+    eb.send(ADDRESS1, str);
+
+    await();
+  }
+
   @Test
   public void testSendRegisterSomeUnregisterOne() {
     String str = TestUtils.randomUnicodeString(100);
@@ -373,6 +455,41 @@ public class LocalEventBusTest extends EventBusTestBase {
     await();
   }
 
+  @Test
+  public void testSendWithTimeoutWhileRepliesGoIdle() throws Exception {
+    // The reply timeouts stop ticking whenever no reply is pending, senders keep adding replies while that happens
+    int numThreads = 4;
+    int numMessages = 200;
+    eb.registerHandler(ADDRESS1, (Message<String> msg) -> {});
+    CountDownLatch latch = new CountDownLatch(numThreads * numMessages);
+    Thread[] threads = new Thread[numThreads];
+    for (int i = 0; i < numThreads; i++) {
+      threads[i] = new Thread(() -> {
+        for (int j = 0; j < numMessages; j++) {
+          eb.sendWithOptions(ADDRESS1, "foo", DeliveryOptions.options().setSendTimeout(1 + j % 20), (AsyncResult<Message<String>> ar) -> {
+            assertFalse(ar.succeeded());
+            assertEquals(ReplyFailure.TIMEOUT, ((ReplyException) ar.cause()).failureType());
+            latch.countDown();
+          });
+          if (j % 10 == 0) {
+            try {
+              Thread.sleep(j % 25);
+            } catch (InterruptedException e) {
+              return;
+            }
+          }
+        }
+      });
+      threads[i].start();
+    }
+    for (Thread thread: threads) {
+      thread.join();
+    }
+    // Every send times out, none is left behind by a tick that was stopped under it
+    assertTrue(latch.await(30, TimeUnit.SECONDS));
+    testComplete();
+  }
+
   @Test
   public void testSendWithTimeoutRecipientFailure() {
     String str = TestUtils.randomUnicodeString(1000);
@@ -439,6 +556,45 @@ public class LocalEventBusTest extends EventBusTestBase {
     await();
   }
 
+  @Test
+  public void testSendWithTimeoutManyRepliesAndTimeouts() {
+    int num = 1000;
+    long timeout = 500;
+    eb.registerHandler(ADDRESS1, (Message<Integer> msg) -> {
+      // Only reply to even messages, the others time out
+      if (msg.body() % 2 == 0) {
+        msg.reply(msg.body());
+      }
+    });
+    Set<Integer> replied = new ConcurrentHashSet<>();
+    Set<Integer> timedOut = new ConcurrentHashSet<>();
+    AtomicInteger count = new AtomicInteger();
+    long start = System.currentTimeMillis();
+    for (int i = 0; i < num; i++) {
+      int val = i;
+      eb.sendWithOptions(ADDRESS1, val, DeliveryOptions.options().setSendTimeout(timeout), (AsyncResult<Message<Integer>> ar) -> {
+        if (ar.succeeded()) {
+          assertEquals(0, val % 2);
+          assertEquals(val, (int) ar.result().body());
+          assertTrue(replied.add(val));
+        } else {
+          assertEquals(1, val % 2);
+          assertEquals(ReplyFailure.TIMEOUT, ((ReplyException) ar.cause()).failureType());
+          assertTrue(System.currentTimeMillis() - start >= timeout);
+          assertTrue(timedOut.add(val));
+        }
+        if (count.incrementAndGet() == num) {
+          // Make sure nothing is called twice
+          vertx.setTimer(timeout * 2, tid -> {
+            assertEquals(num, count.get());
+            testComplete();
+          });
+        }
+      });
+    }
+    await();
+  }
+
   // Sends with different types
 
   @Test
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.test.core;
+
+import io.netty.channel.epoll.Epoll;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.impl.VertxInternal;
+import io.vertx.core.net.NetClient;
+import io.vertx.core.net.NetClientOptions;
+import io.vertx.core.net.NetServer;
+import io.vertx.core.net.NetServerOptions;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Runs the net tests on the native transport, they are skipped where it isn't available.
+ */
+public class NativeTransportNetTest extends NetTest {
+
+  @Override
+  public void setUp() throws Exception {
+    // Otherwise this would just run the net tests on NIO a second time
+    Assume.assumeTrue("Native transport not available", Epoll.isAvailable());
+    super.setUp();
+  }
+
+  @Override
+  protected VertxOptions getOptions() {
+    return VertxOptions.options().setPreferNativeTransport(true);
+  }
+
+  @Test
+  public void testNativeTransportUsed() {
+    assertTrue(((VertxInternal) vertx).transport().isNative());
+    testComplete();
+  }
+
+  @Test
+  public void testEchoWithTcpCork() {
+    Buffer sent = TestUtils.randomBuffer(100);
+    NetServer server = vertx.createNetServer(NetServerOptions.options().setPort(4321).setHost("localhost").setTcpCork(true));
+    server.connectHandler(sock -> sock.dataHandler(sock::writeBuffer));
+    server.listen(ar -> {
+      assertTrue(ar.succeeded());
+      NetClient client = vertx.createNetClient(NetClientOptions.options().setTcpCork(true));
+      client.connect(4321, "localhost", res -> {
+        assertTrue(res.succeeded());
+        Buffer received = Buffer.buffer();
+        res.result().dataHandler(buff -> {
+          received.appendBuffer(buff);
+          if (received.length() == sent.length()) {
+            assertEquals(sent, received);
+            client.close();
+            server.close(v -> testComplete());
+          }
+        });
+        res.result().writeBuffer(sent);
+      });
+    });
+    await();
+  }
+}
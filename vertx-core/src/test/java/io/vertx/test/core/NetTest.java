@@ -16,6 +16,7 @@
 
 package io.vertx.test.core;
 
+import io.netty.channel.EventLoop;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.AsyncResultHandler;
@@ -25,6 +26,8 @@ import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.eventbus.Registration;
+import io.vertx.core.file.AsyncFile;
+import io.vertx.core.file.OpenOptions;
 import io.vertx.core.impl.ConcurrentHashSet;
 import io.vertx.core.impl.ContextImpl;
 import io.vertx.core.impl.EventLoopContext;
@@ -42,7 +45,10 @@ import io.vertx.core.net.NetServerOptions;
 import io.vertx.core.net.NetSocket;
 import io.vertx.core.net.PKCS12Options;
 import io.vertx.core.net.SocketAddress;
+import io.vertx.core.net.impl.NetServerImpl;
+import io.vertx.core.net.impl.SSLHelper;
 import io.vertx.core.net.impl.SocketDefaults;
+import io.vertx.core.streams.Pump;
 import org.junit.Test;
 
 import java.io.BufferedWriter;
@@ -51,6 +57,8 @@ import java.io.FileOutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -163,6 +171,28 @@ public class NetTest extends NetTestBase {
     assertEquals(options, options.setTcpKeepAlive(!tcpKeepAlive));
     assertEquals(!tcpKeepAlive, options.isTcpKeepAlive());
 
+    assertEquals(-1, options.getSslSessionCacheSize());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setSslSessionCacheSize(rand));
+    assertEquals(rand, options.getSslSessionCacheSize());
+    try {
+      options.setSslSessionCacheSize(-1);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+
+    assertEquals(-1, options.getSslSessionTimeout());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setSslSessionTimeout(rand));
+    assertEquals(rand, options.getSslSessionTimeout());
+    try {
+      options.setSslSessionTimeout(-1);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+
     int soLinger = SocketDefaults.instance.getSoLinger();
     assertEquals(soLinger, options.getSoLinger());
     rand = TestUtils.randomPositiveInt();
@@ -212,6 +242,10 @@ public class NetTest extends NetTestBase {
     assertEquals(options, options.setReconnectInterval(rand));
     assertEquals(rand, options.getReconnectInterval());
 
+    assertFalse(options.isDirectReadBuffers());
+    assertEquals(options, options.setDirectReadBuffers(true));
+    assertTrue(options.isDirectReadBuffers());
+
     assertTrue(options.getEnabledCipherSuites().isEmpty());
     assertEquals(options, options.addEnabledCipherSuite("foo"));
     assertEquals(options, options.addEnabledCipherSuite("bar"));
@@ -292,6 +326,28 @@ public class NetTest extends NetTestBase {
     assertEquals(options, options.setTcpKeepAlive(!tcpKeepAlive));
     assertEquals(!tcpKeepAlive, options.isTcpKeepAlive());
 
+    assertEquals(-1, options.getSslSessionCacheSize());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setSslSessionCacheSize(rand));
+    assertEquals(rand, options.getSslSessionCacheSize());
+    try {
+      options.setSslSessionCacheSize(-1);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+
+    assertEquals(-1, options.getSslSessionTimeout());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setSslSessionTimeout(rand));
+    assertEquals(rand, options.getSslSessionTimeout());
+    try {
+      options.setSslSessionTimeout(-1);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+
     int soLinger = SocketDefaults.instance.getSoLinger();
     assertEquals(soLinger, options.getSoLinger());
     rand = TestUtils.randomPositiveInt();
@@ -339,6 +395,14 @@ public class NetTest extends NetTestBase {
     assertEquals(options, options.setAcceptBacklog(rand));
     assertEquals(rand, options.getAcceptBacklog());
 
+    assertFalse(options.isReusePort());
+    assertEquals(options, options.setReusePort(true));
+    assertTrue(options.isReusePort());
+
+    assertFalse(options.isDirectReadBuffers());
+    assertEquals(options, options.setDirectReadBuffers(true));
+    assertTrue(options.isDirectReadBuffers());
+
     assertEquals(0, options.getPort());
     assertEquals(options, options.setPort(1234));
     assertEquals(1234, options.getPort());
@@ -380,6 +444,9 @@ public class NetTest extends NetTestBase {
     int trafficClass = TestUtils.randomByte() + 127;
     boolean tcpNoDelay = rand.nextBoolean();
     boolean tcpKeepAlive = rand.nextBoolean();
+    boolean tcpCork = rand.nextBoolean();
+    int sslSessionCacheSize = TestUtils.randomPositiveInt();
+    int sslSessionTimeout = TestUtils.randomPositiveInt();
     int soLinger = TestUtils.randomPositiveInt();
     boolean usePooledBuffers = rand.nextBoolean();
     int idleTimeout = TestUtils.randomPositiveInt();
@@ -404,6 +471,9 @@ public class NetTest extends NetTestBase {
     options.setSsl(ssl);
     options.setTcpNoDelay(tcpNoDelay);
     options.setTcpKeepAlive(tcpKeepAlive);
+    options.setTcpCork(tcpCork);
+    options.setSslSessionCacheSize(sslSessionCacheSize);
+    options.setSslSessionTimeout(sslSessionTimeout);
     options.setSoLinger(soLinger);
     options.setUsePooledBuffers(usePooledBuffers);
     options.setIdleTimeout(idleTimeout);
@@ -423,6 +493,9 @@ public class NetTest extends NetTestBase {
     assertEquals(trafficClass, copy.getTrafficClass());
     assertEquals(tcpNoDelay, copy.isTcpNoDelay());
     assertEquals(tcpKeepAlive, copy.isTcpKeepAlive());
+    assertEquals(tcpCork, copy.isTcpCork());
+    assertEquals(sslSessionCacheSize, copy.getSslSessionCacheSize());
+    assertEquals(sslSessionTimeout, copy.getSslSessionTimeout());
     assertEquals(soLinger, copy.getSoLinger());
     assertEquals(usePooledBuffers, copy.isUsePooledBuffers());
     assertEquals(idleTimeout, copy.getIdleTimeout());
@@ -461,6 +534,9 @@ public class NetTest extends NetTestBase {
     int trafficClass = TestUtils.randomByte() + 127;
     boolean tcpNoDelay = rand.nextBoolean();
     boolean tcpKeepAlive = rand.nextBoolean();
+    boolean tcpCork = rand.nextBoolean();
+    int sslSessionCacheSize = TestUtils.randomPositiveInt();
+    int sslSessionTimeout = TestUtils.randomPositiveInt();
     int soLinger = TestUtils.randomPositiveInt();
     boolean usePooledBuffers = rand.nextBoolean();
     int idleTimeout = TestUtils.randomPositiveInt();
@@ -489,6 +565,9 @@ public class NetTest extends NetTestBase {
         .putNumber("trafficClass", trafficClass)
         .putBoolean("tcpNoDelay", tcpNoDelay)
         .putBoolean("tcpKeepAlive", tcpKeepAlive)
+        .putBoolean("tcpCork", tcpCork)
+        .putNumber("sslSessionCacheSize", sslSessionCacheSize)
+        .putNumber("sslSessionTimeout", sslSessionTimeout)
         .putNumber("soLinger", soLinger)
         .putBoolean("usePooledBuffers", usePooledBuffers)
         .putNumber("idleTimeout", idleTimeout)
@@ -508,6 +587,9 @@ public class NetTest extends NetTestBase {
     assertEquals(reuseAddress, options.isReuseAddress());
     assertEquals(trafficClass, options.getTrafficClass());
     assertEquals(tcpKeepAlive, options.isTcpKeepAlive());
+    assertEquals(tcpCork, options.isTcpCork());
+    assertEquals(sslSessionCacheSize, options.getSslSessionCacheSize());
+    assertEquals(sslSessionTimeout, options.getSslSessionTimeout());
     assertEquals(tcpNoDelay, options.isTcpNoDelay());
     assertEquals(soLinger, options.getSoLinger());
     assertEquals(usePooledBuffers, options.isUsePooledBuffers());
@@ -568,6 +650,9 @@ public class NetTest extends NetTestBase {
     boolean reuseAddress = rand.nextBoolean();
     int trafficClass = TestUtils.randomByte() + 127;boolean tcpNoDelay = rand.nextBoolean();
     boolean tcpKeepAlive = rand.nextBoolean();
+    boolean tcpCork = rand.nextBoolean();
+    int sslSessionCacheSize = TestUtils.randomPositiveInt();
+    int sslSessionTimeout = TestUtils.randomPositiveInt();
     int soLinger = TestUtils.randomPositiveInt();
     boolean usePooledBuffers = rand.nextBoolean();
     int idleTimeout = TestUtils.randomPositiveInt();
@@ -584,12 +669,16 @@ public class NetTest extends NetTestBase {
     int port = 1234;
     String host = TestUtils.randomAlphaString(100);
     int acceptBacklog = TestUtils.randomPortInt();
+    boolean reusePort = rand.nextBoolean();
     options.setSendBufferSize(sendBufferSize);
     options.setReceiveBufferSize(receiverBufferSize);
     options.setReuseAddress(reuseAddress);
     options.setTrafficClass(trafficClass);
     options.setTcpNoDelay(tcpNoDelay);
     options.setTcpKeepAlive(tcpKeepAlive);
+    options.setTcpCork(tcpCork);
+    options.setSslSessionCacheSize(sslSessionCacheSize);
+    options.setSslSessionTimeout(sslSessionTimeout);
     options.setSoLinger(soLinger);
     options.setUsePooledBuffers(usePooledBuffers);
     options.setIdleTimeout(idleTimeout);
@@ -602,6 +691,7 @@ public class NetTest extends NetTestBase {
     options.setPort(port);
     options.setHost(host);
     options.setAcceptBacklog(acceptBacklog);
+    options.setReusePort(reusePort);
     NetServerOptions copy = NetServerOptions.copiedOptions(options);
     assertEquals(sendBufferSize, copy.getSendBufferSize());
     assertEquals(receiverBufferSize, copy.getReceiveBufferSize());
@@ -609,6 +699,9 @@ public class NetTest extends NetTestBase {
     assertEquals(trafficClass, copy.getTrafficClass());
     assertEquals(tcpNoDelay, copy.isTcpNoDelay());
     assertEquals(tcpKeepAlive, copy.isTcpKeepAlive());
+    assertEquals(tcpCork, copy.isTcpCork());
+    assertEquals(sslSessionCacheSize, copy.getSslSessionCacheSize());
+    assertEquals(sslSessionTimeout, copy.getSslSessionTimeout());
     assertEquals(soLinger, copy.getSoLinger());
     assertEquals(usePooledBuffers, copy.isUsePooledBuffers());
     assertEquals(idleTimeout, copy.getIdleTimeout());
@@ -626,6 +719,7 @@ public class NetTest extends NetTestBase {
     assertEquals(port, copy.getPort());
     assertEquals(host, copy.getHost());
     assertEquals(acceptBacklog, copy.getAcceptBacklog());
+    assertEquals(reusePort, copy.isReusePort());
   }
 
   @Test
@@ -636,6 +730,7 @@ public class NetTest extends NetTestBase {
     assertEquals(def.getCrlPaths(), json.getCrlPaths());
     assertEquals(def.getCrlValues(), json.getCrlValues());
     assertEquals(def.getAcceptBacklog(), json.getAcceptBacklog());
+    assertEquals(def.isReusePort(), json.isReusePort());
     assertEquals(def.getPort(), json.getPort());
     assertEquals(def.getHost(), json.getHost());
     testDefaultNetServerOptionsBase(def, json);
@@ -650,6 +745,9 @@ public class NetTest extends NetTestBase {
     int trafficClass = TestUtils.randomByte() + 127;
     boolean tcpNoDelay = rand.nextBoolean();
     boolean tcpKeepAlive = rand.nextBoolean();
+    boolean tcpCork = rand.nextBoolean();
+    int sslSessionCacheSize = TestUtils.randomPositiveInt();
+    int sslSessionTimeout = TestUtils.randomPositiveInt();
     int soLinger = TestUtils.randomPositiveInt();
     boolean usePooledBuffers = rand.nextBoolean();
     int idleTimeout = TestUtils.randomInt();
@@ -669,6 +767,7 @@ public class NetTest extends NetTestBase {
     int port = 1234;
     String host = TestUtils.randomAlphaString(100);
     int acceptBacklog = TestUtils.randomPortInt();
+    boolean reusePort = rand.nextBoolean();
 
     JsonObject json = new JsonObject();
     json.putNumber("sendBufferSize", sendBufferSize)
@@ -677,6 +776,9 @@ public class NetTest extends NetTestBase {
       .putNumber("trafficClass", trafficClass)
       .putBoolean("tcpNoDelay", tcpNoDelay)
       .putBoolean("tcpKeepAlive", tcpKeepAlive)
+      .putBoolean("tcpCork", tcpCork)
+      .putNumber("sslSessionCacheSize", sslSessionCacheSize)
+      .putNumber("sslSessionTimeout", sslSessionTimeout)
       .putNumber("soLinger", soLinger)
       .putBoolean("usePooledBuffers", usePooledBuffers)
       .putNumber("idleTimeout", idleTimeout)
@@ -687,7 +789,8 @@ public class NetTest extends NetTestBase {
       .putObject("trustStoreOptions", new JsonObject().putString("type", "jks").putString("password", tsPassword).putString("path", tsPath))
       .putNumber("port", port)
       .putString("host", host)
-      .putNumber("acceptBacklog", acceptBacklog);
+      .putNumber("acceptBacklog", acceptBacklog)
+      .putBoolean("reusePort", reusePort);
 
     NetServerOptions options = NetServerOptions.optionsFromJson(json);
     assertEquals(sendBufferSize, options.getSendBufferSize());
@@ -695,6 +798,9 @@ public class NetTest extends NetTestBase {
     assertEquals(reuseAddress, options.isReuseAddress());
     assertEquals(trafficClass, options.getTrafficClass());
     assertEquals(tcpKeepAlive, options.isTcpKeepAlive());
+    assertEquals(tcpCork, options.isTcpCork());
+    assertEquals(sslSessionCacheSize, options.getSslSessionCacheSize());
+    assertEquals(sslSessionTimeout, options.getSslSessionTimeout());
     assertEquals(tcpNoDelay, options.isTcpNoDelay());
     assertEquals(soLinger, options.getSoLinger());
     assertEquals(usePooledBuffers, options.isUsePooledBuffers());
@@ -713,6 +819,7 @@ public class NetTest extends NetTestBase {
     assertEquals(port, options.getPort());
     assertEquals(host, options.getHost());
     assertEquals(acceptBacklog, options.getAcceptBacklog());
+    assertEquals(reusePort, options.isReusePort());
 
     // Test other keystore/truststore types
     json.putObject("keyStoreOptions", new JsonObject().putString("type", "pkcs12").putString("password", ksPassword))
@@ -751,6 +858,47 @@ public class NetTest extends NetTestBase {
     testEcho(sock -> sock.writeBuffer(sent), buff -> assertEquals(sent, buff), sent.length());
   }
 
+  @Test
+  public void testEchoBytesDirectReadBuffers() {
+    server.close();
+    server = vertx.createNetServer(NetServerOptions.options().setPort(1234).setHost("localhost").setDirectReadBuffers(true));
+    client.close();
+    client = vertx.createNetClient(NetClientOptions.options().setDirectReadBuffers(true));
+    // The echo server writes back the very buffer it was handed, the client copies what it gets
+    Buffer sent = TestUtils.randomBuffer(10000);
+    testEcho(sock -> sock.writeBuffer(sent), buff -> assertEquals(sent, buff), sent.length());
+  }
+
+  @Test
+  public void testRetainDirectReadBuffer() {
+    server.close();
+    server = vertx.createNetServer(NetServerOptions.options().setPort(1234).setHost("localhost").setDirectReadBuffers(true));
+    Buffer sent = TestUtils.randomBuffer(10000);
+    List<Buffer> retained = new ArrayList<>();
+    AtomicInteger received = new AtomicInteger();
+    server.connectHandler(sock -> {
+      sock.dataHandler(buff -> {
+        retained.add(buff.retain());
+        if (received.addAndGet(buff.length()) == sent.length()) {
+          // Read the buffers once their handler has long returned
+          vertx.setTimer(10, id -> {
+            Buffer all = Buffer.buffer();
+            for (Buffer b : retained) {
+              all.appendBuffer(b);
+              assertTrue(b.release());
+            }
+            assertEquals(sent, all);
+            testComplete();
+          });
+        }
+      });
+    }).listen(ar -> {
+      assertTrue(ar.succeeded());
+      client.connect(1234, "localhost", res -> res.result().writeBuffer(sent));
+    });
+    await();
+  }
+
   @Test
   public void testEchoString() {
     String sent = TestUtils.randomUnicodeString(100);
@@ -1153,6 +1301,35 @@ public class NetTest extends NetTestBase {
     testTLS(false, false, true, false, false, true, true, false, ENABLED_CIPHER_SUITES);
   }
 
+  @Test
+  public void testTLSSessionResumption() throws Exception {
+    server.close();
+    NetServerOptions options = NetServerOptions.options().setPort(4043).setSsl(true).setSslSessionCacheSize(100)
+      .setKeyStoreOptions(JKSOptions.options().setPath(findFileOnClasspath("tls/server-keystore.jks")).setPassword("wibble"));
+    server = vertx.createNetServer(options);
+    server.connectHandler(socket -> socket.dataHandler(socket::writeBuffer));
+    CountDownLatch listenLatch = new CountDownLatch(1);
+    server.listen(onSuccess(s -> listenLatch.countDown()));
+    awaitLatch(listenLatch);
+    client.close();
+    client = vertx.createNetClient(NetClientOptions.options().setSsl(true).setTrustAll(true));
+    // The second connection resumes the session of the first one rather than doing a full handshake
+    for (int i = 0; i < 2; i++) {
+      CountDownLatch latch = new CountDownLatch(1);
+      client.connect(4043, "localhost", onSuccess(socket -> {
+        socket.dataHandler(buff -> socket.close());
+        socket.closeHandler(v -> latch.countDown());
+        socket.writeString("ping");
+      }));
+      awaitLatch(latch);
+    }
+    SSLHelper sslHelper = ((NetServerImpl) server).sslHelper();
+    waitUntil(() -> sslHelper.getFullHandshakeCount() + sslHelper.getResumedHandshakeCount() == 2);
+    assertEquals(1, sslHelper.getFullHandshakeCount());
+    assertEquals(1, sslHelper.getResumedHandshakeCount());
+    assertTrue(sslHelper.getHandshakeTime() > 0);
+  }
+
   void testTLS(boolean clientCert, boolean clientTrust,
                boolean serverCert, boolean serverTrust,
                boolean requireClientAuth, boolean clientTrustAll,
@@ -1386,6 +1563,64 @@ public class NetTest extends NetTestBase {
     testSharedServersRoundRobin();
   }
 
+  @Test
+  public void testReusePortListenerPerEventLoop() throws Exception {
+    int numServers = 4;
+    int numConnections = numServers * 25;
+    List<NetServer> servers = new ArrayList<>();
+    Map<NetServer, EventLoop> serverLoops = new ConcurrentHashMap<>();
+    Set<EventLoop> connectionLoops = new ConcurrentHashSet<>();
+    AtomicReference<CountDownLatch> latchConns = new AtomicReference<>(new CountDownLatch(numConnections));
+    CountDownLatch latchListen = new CountDownLatch(numServers);
+    for (int i = 0; i < numServers; i++) {
+      NetServer theServer = vertx.createNetServer(NetServerOptions.options().setHost("localhost").setPort(1234).setReusePort(true));
+      servers.add(theServer);
+      theServer.connectHandler(sock -> {
+        EventLoop eventLoop = ((ContextImpl) vertx.currentContext()).getEventLoop();
+        assertSame(serverLoops.get(theServer), eventLoop);
+        connectionLoops.add(eventLoop);
+        latchConns.get().countDown();
+      }).listen(onSuccess(s -> {
+        serverLoops.put(theServer, ((ContextImpl) vertx.currentContext()).getEventLoop());
+        latchListen.countDown();
+      }));
+    }
+    awaitLatch(latchListen);
+
+    for (int i = 0; i < numConnections; i++) {
+      client.connect(1234, "localhost", onSuccess(sock -> {}));
+    }
+    awaitLatch(latchConns.get());
+    // Every event loop with a server gets connections, and they're counted on the event loop they're on
+    assertEquals(new HashSet<>(serverLoops.values()), new HashSet<>(connectionLoops));
+    Map<EventLoop, Integer> counts = ((NetServerImpl) servers.get(0)).connectionCounts();
+    assertEquals(new HashSet<>(connectionLoops), counts.keySet());
+    assertEquals(numConnections, counts.values().stream().mapToInt(Integer::intValue).sum());
+
+    // Only the event loop of the last server is left accepting
+    for (int i = 0; i < numServers - 1; i++) {
+      CountDownLatch closeLatch = new CountDownLatch(1);
+      servers.get(i).close(ar -> {
+        assertTrue(ar.succeeded());
+        closeLatch.countDown();
+      });
+      awaitLatch(closeLatch);
+    }
+    NetServer last = servers.get(numServers - 1);
+    connectionLoops.clear();
+    latchConns.set(new CountDownLatch(numConnections));
+    for (int i = 0; i < numConnections; i++) {
+      client.connect(1234, "localhost", onSuccess(sock -> {}));
+    }
+    awaitLatch(latchConns.get());
+    assertEquals(Collections.singleton(serverLoops.get(last)), new HashSet<>(connectionLoops));
+    last.close(ar -> {
+      assertTrue(ar.succeeded());
+      testComplete();
+    });
+    await();
+  }
+
   @Test
   // This tests using NetSocket.writeHandlerID (on the server side)
   // Send some data and make sure it is fanned out to all connections
@@ -1535,6 +1770,49 @@ public class NetTest extends NetTestBase {
     await();
   }
 
+  @Test
+  public void testPumpFileToSocket() throws Exception {
+    File fDir = Files.createTempDirectory("vertx-test").toFile();
+    // Several transfers, the last one partial
+    byte[] content = TestUtils.randomByteArray(5 * 1024 * 1024 / 2 + 123);
+    File file = new File(fDir, "some-file.dat");
+    file.deleteOnExit();
+    Files.write(file.toPath(), content);
+    Buffer received = Buffer.buffer();
+    AtomicInteger done = new AtomicInteger();
+    server.connectHandler(sock -> {
+      vertx.fileSystem().open(file.getAbsolutePath(), OpenOptions.options().setWrite(false), ar -> {
+        assertTrue(ar.succeeded());
+        AsyncFile asyncFile = ar.result();
+        Pump pump = Pump.pump(asyncFile, sock).start();
+        asyncFile.endHandler(v -> {
+          assertEquals(content.length, pump.bytesPumped());
+          asyncFile.close();
+          if (done.incrementAndGet() == 2) {
+            testComplete();
+          }
+        });
+      });
+    });
+    server.listen(ar -> {
+      assertTrue(ar.succeeded());
+      client.connect(1234, "localhost", ar2 -> {
+        assertTrue(ar2.succeeded());
+        ar2.result().dataHandler(buff -> {
+          received.appendBuffer(buff);
+          if (received.length() == content.length) {
+            assertEquals(Buffer.buffer(content), received);
+            if (done.incrementAndGet() == 2) {
+              testComplete();
+            }
+          }
+        });
+      });
+    });
+
+    await();
+  }
+
   @Test
   public void testSendFileDirectory() throws Exception {
     File fDir = Files.createTempDirectory("vertx-test").toFile();
@@ -46,6 +46,7 @@ public class NetTestBase extends VertxTestBase {
   public void testDefaultTCPOptions(TCPOptions def, TCPOptions json) {
     assertEquals(def.isTcpNoDelay(), json.isTcpNoDelay());
     assertEquals(def.isTcpKeepAlive(), json.isTcpKeepAlive());
+    assertEquals(def.isTcpCork(), json.isTcpCork());
     assertEquals(def.getSoLinger(), json.getSoLinger());
     assertEquals(def.isUsePooledBuffers(), json.isUsePooledBuffers());
     assertEquals(def.isSsl(), json.isSsl());
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.test.core;
+
+import io.vertx.core.impl.OrderedExecutorFactory;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class OrderedExecutorTest extends AsyncTestBase {
+
+  private ExecutorService pool;
+
+  public void setUp() throws Exception {
+    super.setUp();
+    disableThreadChecks();
+    pool = Executors.newFixedThreadPool(4);
+  }
+
+  protected void tearDown() throws Exception {
+    pool.shutdownNow();
+    super.tearDown();
+  }
+
+  @Test
+  public void testOrderFromManyThreads() throws Exception {
+    int numThreads = 8;
+    int numTasks = 10000;
+    OrderedExecutorFactory.OrderedExecutor executor = new OrderedExecutorFactory(pool).getExecutor();
+    int[] expected = new int[numThreads];
+    AtomicBoolean running = new AtomicBoolean();
+    CountDownLatch latch = new CountDownLatch(numThreads * numTasks);
+    for (int i = 0; i < numThreads; i++) {
+      int thread = i;
+      new Thread(() -> {
+        for (int j = 0; j < numTasks; j++) {
+          int seq = j;
+          executor.execute(() -> {
+            assertTrue(running.compareAndSet(false, true));
+            assertEquals(expected[thread]++, seq);
+            running.set(false);
+            latch.countDown();
+          });
+        }
+      }).start();
+    }
+    assertTrue(latch.await(30, TimeUnit.SECONDS));
+    waitUntilIdle(executor);
+    assertTrue(executor.peakQueueDepth() >= 1);
+    testComplete();
+  }
+
+  @Test
+  public void testBatchSize() throws Exception {
+    AtomicInteger submits = new AtomicInteger();
+    OrderedExecutorFactory.OrderedExecutor executor = new OrderedExecutorFactory(task -> {
+      submits.incrementAndGet();
+      pool.execute(task);
+    }, 10).getExecutor();
+    CountDownLatch blocker = new CountDownLatch(1);
+    CountDownLatch latch = new CountDownLatch(101);
+    executor.execute(() -> {
+      try {
+        blocker.await();
+      } catch (InterruptedException e) {
+        fail(e.getMessage());
+      }
+      latch.countDown();
+    });
+    for (int i = 0; i < 100; i++) {
+      executor.execute(latch::countDown);
+    }
+    assertEquals(101, executor.queueDepth());
+    assertEquals(1, submits.get());
+    blocker.countDown();
+    assertTrue(latch.await(30, TimeUnit.SECONDS));
+    waitUntilIdle(executor);
+    // The runner gives its thread up after every 10 tasks
+    assertEquals(11, submits.get());
+    assertEquals(101, executor.peakQueueDepth());
+    testComplete();
+  }
+
+  @Test
+  public void testInvalidBatchSize() {
+    try {
+      new OrderedExecutorFactory(pool, 0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    testComplete();
+  }
+
+  private void waitUntilIdle(OrderedExecutorFactory.OrderedExecutor executor) throws Exception {
+    long start = System.currentTimeMillis();
+    while (executor.queueDepth() != 0) {
+      assertTrue(System.currentTimeMillis() - start < 10000);
+      Thread.sleep(1);
+    }
+  }
+}
@@ -262,4 +262,72 @@ public class RecordParserTest {
     doTestDelimited(Buffer.buffer("start-ab-c-dddabc"), "abc".getBytes(),
       new Integer[] { 18 }, Buffer.buffer("start-ab-c-ddd"));
   }
+
+  @Test
+  public void testRecordsAreCopiedByDefault() {
+    List<Buffer> records = new ArrayList<>();
+    RecordParser parser = RecordParser.newDelimited("\n", records::add);
+    Buffer input = Buffer.buffer("foo\nbar\nba");
+    parser.handle(input);
+    assertEquals(2, records.size());
+    // The record can be appended to and changed without touching the input
+    records.get(0).appendString("d");
+    records.get(1).setByte(0, (byte) 'c');
+    assertEquals(Buffer.buffer("food"), records.get(0));
+    assertEquals(Buffer.buffer("car"), records.get(1));
+    assertEquals(Buffer.buffer("foo\nbar\nba"), input);
+    // The input can be reused once handed to the parser
+    input.setByte(8, (byte) 'x');
+    parser.handle(Buffer.buffer("z\n"));
+    assertEquals(3, records.size());
+    assertEquals(Buffer.buffer("baz"), records.get(2));
+  }
+
+  @Test
+  public void testRecordsAreSlicesOfInput() {
+    List<Buffer> records = new ArrayList<>();
+    RecordParser parser = RecordParser.newDelimited("\n", records::add);
+    parser.setZeroCopy(true);
+    Buffer input = Buffer.buffer("foo\nbar\nba");
+    parser.handle(input);
+    assertEquals(2, records.size());
+    assertEquals(Buffer.buffer("foo"), records.get(0));
+    // The record shares the memory of the input buffer
+    input.setByte(0, (byte) 'g');
+    assertEquals(Buffer.buffer("goo"), records.get(0));
+    parser.handle(Buffer.buffer("z\n"));
+    assertEquals(3, records.size());
+    assertEquals(Buffer.buffer("baz"), records.get(2));
+  }
+
+  @Test
+  public void testLongRecordAcrossManyChunks() {
+    Buffer line = TestUtils.randomBuffer(100000, true, (byte) '\n');
+    doTestDelimited(line.copy().appendString("\n"), new byte[]{'\n'}, new Integer[]{7, 1, 13}, line);
+  }
+
+  @Test
+  public void testMaxRecordSize() {
+    List<Buffer> records = new ArrayList<>();
+    RecordParser parser = RecordParser.newDelimited("\r\n", records::add);
+    parser.setMaxRecordSize(10);
+    parser.handle(Buffer.buffer("0123456789\r\n0123"));
+    assertEquals(1, records.size());
+    try {
+      parser.handle(Buffer.buffer("456789X"));
+      fail("Should throw exception");
+    } catch (IllegalStateException e) {
+      // OK
+    }
+    // The oversized record was discarded, parsing goes on with the next input
+    parser.handle(Buffer.buffer("abc\r\n"));
+    assertEquals(2, records.size());
+    assertEquals(Buffer.buffer("abc"), records.get(1));
+    try {
+      parser.setMaxRecordSize(0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+  }
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.test.core;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.VertxOptions;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the timer tests against the timer wheel.
+ */
+public class TimerWheelTest extends TimerTest {
+
+  @Override
+  protected VertxOptions getOptions() {
+    return VertxOptions.options().setTimerWheelEnabled(true);
+  }
+
+  @Test
+  public void testCancelTimer() throws Exception {
+    long id = vertx.setTimer(100, timerID -> fail("Should not fire"));
+    assertTrue(vertx.cancelTimer(id));
+    assertFalse(vertx.cancelTimer(id));
+    vertx.setTimer(200, timerID -> testComplete());
+    await();
+  }
+
+  @Test
+  public void testCancelTimerFromOtherTimer() throws Exception {
+    vertx.runOnContext(v -> {
+      long id = vertx.setTimer(50, timerID -> fail("Should not fire"));
+      vertx.setTimer(10, timerID -> {
+        assertTrue(vertx.cancelTimer(id));
+        vertx.setTimer(100, tid -> testComplete());
+      });
+    });
+    await();
+  }
+
+  @Test
+  public void testCancelFiredTimer() throws Exception {
+    vertx.setTimer(10, id1 -> {
+      // A new timer never gets the ID of one which has fired, so cancelling a stale ID has no effect
+      long id2 = vertx.setTimer(50, id -> testComplete());
+      assertTrue(id1 != id2);
+      assertFalse(vertx.cancelTimer(id1));
+    });
+    await();
+  }
+
+  @Test
+  public void testScheduleAndCancelFromOtherThreads() throws Exception {
+    int numThreads = 4;
+    int num = 2000;
+    AtomicInteger fired = new AtomicInteger();
+    Thread[] threads = new Thread[numThreads];
+    for (int i = 0; i < numThreads; i++) {
+      threads[i] = new Thread(() -> {
+        for (int j = 0; j < num; j++) {
+          long id = vertx.setTimer(1 + (j % 300), timerID -> fired.incrementAndGet());
+          if (j % 2 == 1) {
+            assertTrue(vertx.cancelTimer(id));
+          }
+        }
+      });
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    vertx.setTimer(1000, timerID -> {
+      assertEquals(numThreads * num / 2, fired.get());
+      testComplete();
+    });
+    await();
+  }
+
+  @Test
+  public void testTimerOnHigherLevel() throws Exception {
+    // Longer than the span of the lowest level so the timer has to be moved down before it fires
+    long delay = 700;
+    long start = System.currentTimeMillis();
+    vertx.setTimer(delay, timerID -> {
+      assertTrue(System.currentTimeMillis() - start >= delay);
+      testComplete();
+    });
+    await();
+  }
+
+  @Test
+  public void testManyTimers() throws Exception {
+    int num = 10000;
+    AtomicInteger fired = new AtomicInteger();
+    vertx.runOnContext(v -> {
+      long start = System.currentTimeMillis();
+      for (int i = 0; i < num; i++) {
+        long delay = 1 + (i % 500);
+        long id = vertx.setTimer(delay, timerID -> {
+          assertTrue(System.currentTimeMillis() - start >= delay);
+          fired.incrementAndGet();
+        });
+        if (i % 2 == 1) {
+          assertTrue(vertx.cancelTimer(id));
+        }
+      }
+      vertx.setTimer(1000, timerID -> {
+        assertEquals(num / 2, fired.get());
+        testComplete();
+      });
+    });
+    await();
+  }
+
+  @Test
+  public void testTimersCancelledOnUndeploy() throws Exception {
+    AtomicBoolean fired = new AtomicBoolean();
+    vertx.deployVerticle(new AbstractVerticle() {
+      @Override
+      public void start() {
+        vertx.setTimer(200, id -> fired.set(true));
+        vertx.setPeriodic(50, id -> fired.set(true));
+      }
+    }, onSuccess(deploymentID -> {
+      vertx.undeployVerticle(deploymentID, onSuccess(v -> {
+        vertx.setTimer(400, id -> {
+          assertFalse(fired.get());
+          testComplete();
+        });
+      }));
+    }));
+    await();
+  }
+}
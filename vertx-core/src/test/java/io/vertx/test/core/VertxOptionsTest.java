@@ -151,6 +151,58 @@ public class VertxOptionsTest extends VertxTestBase {
     randString = TestUtils.randomUnicodeString(100);
     assertEquals(options, options.setHAGroup(randString));
     assertEquals(randString, options.getHAGroup());
+    assertFalse(options.isClusterWriteBatching());
+    assertEquals(options, options.setClusterWriteBatching(true));
+    assertTrue(options.isClusterWriteBatching());
+    assertEquals(64, options.getClusterWriteBatchMaxMessages());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setClusterWriteBatchMaxMessages(rand));
+    assertEquals(rand, options.getClusterWriteBatchMaxMessages());
+    try {
+      options.setClusterWriteBatchMaxMessages(0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    assertEquals(64 * 1024, options.getClusterWriteBatchMaxBytes());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setClusterWriteBatchMaxBytes(rand));
+    assertEquals(rand, options.getClusterWriteBatchMaxBytes());
+    try {
+      options.setClusterWriteBatchMaxBytes(0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    assertFalse(options.isTimerWheelEnabled());
+    assertEquals(options, options.setTimerWheelEnabled(true));
+    assertTrue(options.isTimerWheelEnabled());
+    assertEquals(1, options.getTimerWheelTick());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setTimerWheelTick(rand));
+    assertEquals(rand, options.getTimerWheelTick());
+    try {
+      options.setTimerWheelTick(0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    assertEquals(1024, options.getOrderedExecutorBatchSize());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setOrderedExecutorBatchSize(rand));
+    assertEquals(rand, options.getOrderedExecutorBatchSize());
+    try {
+      options.setOrderedExecutorBatchSize(0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    assertFalse(options.isElasticWorkerPool());
+    assertEquals(options, options.setElasticWorkerPool(true));
+    assertTrue(options.isElasticWorkerPool());
+    assertFalse(options.isPreferNativeTransport());
+    assertEquals(options, options.setPreferNativeTransport(true));
+    assertTrue(options.isPreferNativeTransport());
   }
 
   @Test
@@ -170,6 +222,14 @@ public class VertxOptionsTest extends VertxTestBase {
     boolean haEnabled = rand.nextBoolean();
     int quorumSize = 51214;
     String haGroup = TestUtils.randomAlphaString(100);
+    boolean clusterWriteBatching = rand.nextBoolean();
+    int clusterWriteBatchMaxMessages = TestUtils.randomPositiveInt();
+    int clusterWriteBatchMaxBytes = TestUtils.randomPositiveInt();
+    boolean timerWheelEnabled = rand.nextBoolean();
+    int timerWheelTick = TestUtils.randomPositiveInt();
+    int orderedExecutorBatchSize = TestUtils.randomPositiveInt();
+    boolean elasticWorkerPool = rand.nextBoolean();
+    boolean preferNativeTransport = rand.nextBoolean();
     options.setClusterPort(clusterPort);
     options.setEventLoopPoolSize(eventLoopPoolSize);
     options.setInternalBlockingPoolSize(internalBlockingPoolSize);
@@ -182,6 +242,14 @@ public class VertxOptionsTest extends VertxTestBase {
     options.setHAEnabled(haEnabled);
     options.setQuorumSize(quorumSize);
     options.setHAGroup(haGroup);
+    options.setClusterWriteBatching(clusterWriteBatching);
+    options.setClusterWriteBatchMaxMessages(clusterWriteBatchMaxMessages);
+    options.setClusterWriteBatchMaxBytes(clusterWriteBatchMaxBytes);
+    options.setTimerWheelEnabled(timerWheelEnabled);
+    options.setTimerWheelTick(timerWheelTick);
+    options.setOrderedExecutorBatchSize(orderedExecutorBatchSize);
+    options.setElasticWorkerPool(elasticWorkerPool);
+    options.setPreferNativeTransport(preferNativeTransport);
     options = VertxOptions.copiedOptions(options);
     assertEquals(clusterPort, options.getClusterPort());
     assertEquals(eventLoopPoolSize, options.getEventLoopPoolSize());
@@ -195,6 +263,14 @@ public class VertxOptionsTest extends VertxTestBase {
     assertEquals(haEnabled, options.isHAEnabled());
     assertEquals(quorumSize, options.getQuorumSize());
     assertEquals(haGroup, options.getHAGroup());
+    assertEquals(clusterWriteBatching, options.isClusterWriteBatching());
+    assertEquals(clusterWriteBatchMaxMessages, options.getClusterWriteBatchMaxMessages());
+    assertEquals(clusterWriteBatchMaxBytes, options.getClusterWriteBatchMaxBytes());
+    assertEquals(timerWheelEnabled, options.isTimerWheelEnabled());
+    assertEquals(timerWheelTick, options.getTimerWheelTick());
+    assertEquals(orderedExecutorBatchSize, options.getOrderedExecutorBatchSize());
+    assertEquals(elasticWorkerPool, options.isElasticWorkerPool());
+    assertEquals(preferNativeTransport, options.isPreferNativeTransport());
   }
 
   @Test
@@ -213,6 +289,14 @@ public class VertxOptionsTest extends VertxTestBase {
     assertEquals(def.isHAEnabled(), json.isHAEnabled());
     assertEquals(def.getQuorumSize(), json.getQuorumSize());
     assertEquals(def.getHAGroup(), json.getHAGroup());
+    assertEquals(def.isClusterWriteBatching(), json.isClusterWriteBatching());
+    assertEquals(def.getClusterWriteBatchMaxMessages(), json.getClusterWriteBatchMaxMessages());
+    assertEquals(def.getClusterWriteBatchMaxBytes(), json.getClusterWriteBatchMaxBytes());
+    assertEquals(def.isTimerWheelEnabled(), json.isTimerWheelEnabled());
+    assertEquals(def.getTimerWheelTick(), json.getTimerWheelTick());
+    assertEquals(def.getOrderedExecutorBatchSize(), json.getOrderedExecutorBatchSize());
+    assertEquals(def.isElasticWorkerPool(), json.isElasticWorkerPool());
+    assertEquals(def.isPreferNativeTransport(), json.isPreferNativeTransport());
   }
 
   @Test
@@ -232,6 +316,14 @@ public class VertxOptionsTest extends VertxTestBase {
     assertFalse(options.isHAEnabled());
     assertEquals(1, options.getQuorumSize());
     assertNull(options.getHAGroup());
+    assertFalse(options.isClusterWriteBatching());
+    assertEquals(64, options.getClusterWriteBatchMaxMessages());
+    assertEquals(64 * 1024, options.getClusterWriteBatchMaxBytes());
+    assertFalse(options.isTimerWheelEnabled());
+    assertEquals(1, options.getTimerWheelTick());
+    assertEquals(1024, options.getOrderedExecutorBatchSize());
+    assertFalse(options.isElasticWorkerPool());
+    assertFalse(options.isPreferNativeTransport());
 
     int clusterPort = TestUtils.randomPortInt();
     int eventLoopPoolSize = TestUtils.randomPositiveInt();
@@ -246,6 +338,14 @@ public class VertxOptionsTest extends VertxTestBase {
     boolean haEnabled = rand.nextBoolean();
     int quorumSize = TestUtils.randomShort() + 1;
     String haGroup = TestUtils.randomAlphaString(100);
+    boolean clusterWriteBatching = rand.nextBoolean();
+    int clusterWriteBatchMaxMessages = TestUtils.randomPositiveInt();
+    int clusterWriteBatchMaxBytes = TestUtils.randomPositiveInt();
+    boolean timerWheelEnabled = rand.nextBoolean();
+    int timerWheelTick = TestUtils.randomPositiveInt();
+    int orderedExecutorBatchSize = TestUtils.randomPositiveInt();
+    boolean elasticWorkerPool = rand.nextBoolean();
+    boolean preferNativeTransport = rand.nextBoolean();
     options = VertxOptions.optionsFromJson(new JsonObject().
         putNumber("clusterPort", clusterPort).
         putNumber("eventLoopPoolSize", eventLoopPoolSize).
@@ -258,7 +358,15 @@ public class VertxOptionsTest extends VertxTestBase {
         putNumber("proxyOperationTimeout", proxyOperationTimeout).
         putBoolean("haEnabled", haEnabled).
         putNumber("quorumSize", quorumSize).
-        putString("haGroup", haGroup)
+        putString("haGroup", haGroup).
+        putBoolean("clusterWriteBatching", clusterWriteBatching).
+        putNumber("clusterWriteBatchMaxMessages", clusterWriteBatchMaxMessages).
+        putNumber("clusterWriteBatchMaxBytes", clusterWriteBatchMaxBytes).
+        putBoolean("timerWheelEnabled", timerWheelEnabled).
+        putNumber("timerWheelTick", timerWheelTick).
+        putNumber("orderedExecutorBatchSize", orderedExecutorBatchSize).
+        putBoolean("elasticWorkerPool", elasticWorkerPool).
+        putBoolean("preferNativeTransport", preferNativeTransport)
     );
     assertEquals(clusterPort, options.getClusterPort());
     assertEquals(eventLoopPoolSize, options.getEventLoopPoolSize());
@@ -273,5 +381,13 @@ public class VertxOptionsTest extends VertxTestBase {
     assertEquals(haEnabled, options.isHAEnabled());
     assertEquals(quorumSize, options.getQuorumSize());
     assertEquals(haGroup, options.getHAGroup());
+    assertEquals(clusterWriteBatching, options.isClusterWriteBatching());
+    assertEquals(clusterWriteBatchMaxMessages, options.getClusterWriteBatchMaxMessages());
+    assertEquals(clusterWriteBatchMaxBytes, options.getClusterWriteBatchMaxBytes());
+    assertEquals(timerWheelEnabled, options.isTimerWheelEnabled());
+    assertEquals(timerWheelTick, options.getTimerWheelTick());
+    assertEquals(orderedExecutorBatchSize, options.getOrderedExecutorBatchSize());
+    assertEquals(elasticWorkerPool, options.isElasticWorkerPool());
+    assertEquals(preferNativeTransport, options.isPreferNativeTransport());
   }
 }
@@ -42,7 +42,7 @@ public class VertxTestBase extends AsyncTestBase {
   public void setUp() throws Exception {
     super.setUp();
     vinit();
-    vertx = Vertx.vertx();
+    vertx = Vertx.vertx(getOptions());
   }
 
   protected void tearDown() throws Exception {
@@ -75,6 +75,10 @@ public class VertxTestBase extends AsyncTestBase {
     return null;
   }
 
+  protected VertxOptions getOptions() {
+    return VertxOptions.options();
+  }
+
   protected void startNodes(int numNodes) {
     startNodes(numNodes, VertxOptions.options());
   }
@@ -44,6 +44,7 @@ import org.apache.mina.transport.socket.DatagramSessionConfig;
 import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author <a href="mailto:nmaurer@redhat.com">Norman Maurer</a>
@@ -53,9 +54,20 @@ public final class FakeDNSServer extends DnsServer {
   public static final int PORT = 53530;
 
   private final RecordStore store;
+  private final AtomicInteger questions = new AtomicInteger();
 
   private FakeDNSServer(RecordStore store) {
-    this.store = store;
+    this.store = questionRecord -> {
+      questions.incrementAndGet();
+      return store.getRecords(questionRecord);
+    };
+  }
+
+  /**
+   * @return how many questions the server was asked so far
+   */
+  public int questionCount() {
+    return questions.get();
   }
 
   public static FakeDNSServer testResolveA(final String ipAddress) {
@@ -18,9 +18,13 @@ package io.vertx.spi.cluster.impl.hazelcast;
 
 import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.EntryListener;
+import com.hazelcast.core.IExecutorService;
+import com.hazelcast.core.PartitionService;
+import com.hazelcast.spi.exception.RetryableException;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.VertxException;
 
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.impl.LoggerFactory;
@@ -29,9 +33,9 @@ import io.vertx.core.spi.cluster.ChoosableIterable;
 import io.vertx.core.spi.cluster.VertxSPI;
 
 import java.util.Collection;
-import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
@@ -40,8 +44,16 @@ class HazelcastAsyncMultiMap<K, V> implements AsyncMultiMap<K, V>, EntryListener
 
   private static final Logger log = LoggerFactory.getLogger(HazelcastAsyncMultiMap.class);
 
+  private static final long CLUSTER_SAFE_TIMEOUT = 30000;
+  private static final long CLUSTER_SAFE_POLL_INTERVAL = 100;
+  private static final int MAX_REMOVE_PASSES = 10;
+  private static final long RETRY_INITIAL_DELAY = 100;
+  private static final long RETRY_MAX_DELAY = 5000;
+
   private final VertxSPI vertx;
   private final com.hazelcast.core.MultiMap<K, V> map;
+  private final IExecutorService executor;
+  private final PartitionService partitionService;
 
   /*
    The Hazelcast near cache is very slow so we use our own one.
@@ -55,25 +67,76 @@ class HazelcastAsyncMultiMap<K, V> implements AsyncMultiMap<K, V>, EntryListener
     */
   private ConcurrentMap<K, ChoosableSet<V>> cache = new ConcurrentHashMap<>();
 
-  public HazelcastAsyncMultiMap(VertxSPI vertx, com.hazelcast.core.MultiMap<K, V> map) {
+  public HazelcastAsyncMultiMap(VertxSPI vertx, com.hazelcast.core.MultiMap<K, V> map, IExecutorService executor,
+                                PartitionService partitionService) {
     this.vertx = vertx;
     this.map = map;
+    this.executor = executor;
+    this.partitionService = partitionService;
     map.addEntryListener(this, true);
   }
 
   @Override
   public void removeAllForValue(final V val, final Handler<AsyncResult<Void>> completionHandler) {
     vertx.executeBlocking(() -> {
-      for (Map.Entry<K, V> entry : map.entrySet()) {
-        V v = entry.getValue();
-        if (val.equals(v)) {
-          map.remove(entry.getKey(), v);
+      // Each member removes the value from the keys it owns. The keys of a partition which is migrating, e.g. as a
+      // member has just left, may not be owned by any member yet, and a member may leave while it runs, so it goes
+      // on until every member is done and none of them found anything left to remove, up to a number of passes
+      RemoveAllForValueTask task = new RemoveAllForValueTask(map.getName(), HazelcastServerID.convertServerID(val));
+      long retryDelay = RETRY_INITIAL_DELAY;
+      for (int pass = 1; pass <= MAX_REMOVE_PASSES; pass++) {
+        awaitClusterSafe();
+        boolean done = true;
+        boolean interrupted = false;
+        for (java.util.concurrent.Future<Integer> future : executor.<Integer>submitToAllMembers(task).values()) {
+          try {
+            if (future.get() > 0) {
+              done = false;
+            }
+          } catch (ExecutionException e) {
+            if (!(e instanceof RetryableException) && !(e.getCause() instanceof RetryableException)) {
+              throw new VertxException(e);
+            }
+            log.debug("Removing all for value interrupted by a cluster change, will retry", e);
+            done = false;
+            interrupted = true;
+          } catch (InterruptedException e) {
+            throw new VertxException(e);
+          }
+        }
+        if (done) {
+          return null;
+        }
+        if (interrupted) {
+          // Give the cluster time to settle, the same change would most likely interrupt the next pass too
+          sleep(retryDelay);
+          retryDelay = Math.min(retryDelay * 2, RETRY_MAX_DELAY);
         }
       }
-      return null;
+      throw new VertxException("Failed to remove all for value " + val + " after " + MAX_REMOVE_PASSES + " passes");
     }, completionHandler);
   }
 
+  private void awaitClusterSafe() {
+    long deadline = System.currentTimeMillis() + CLUSTER_SAFE_TIMEOUT;
+    while (!partitionService.isClusterSafe()) {
+      if (System.currentTimeMillis() >= deadline) {
+        // Go ahead anyway, whatever is missed this time round is removed by the next one
+        log.warn("Cluster still not safe after " + CLUSTER_SAFE_TIMEOUT + " ms, removing all for value anyway");
+        return;
+      }
+      sleep(CLUSTER_SAFE_POLL_INTERVAL);
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      throw new VertxException(e);
+    }
+  }
+
   @Override
   public void add(final K k, final V v, final Handler<AsyncResult<Void>> completionHandler) {
     vertx.executeBlocking(() -> {
@@ -62,6 +62,8 @@ public class HazelcastClusterManager implements ClusterManager, MembershipListen
   private static final Logger log = LoggerFactory.getLogger(HazelcastClusterManager.class);
 
   private static final String LOCK_SEMAPHORE_PREFIX = "__vertx.";
+  // Runs the tasks removing multimap entries on the members owning them
+  private static final String EXECUTOR_NAME = "__vertx.executor";
 
   // Hazelcast config file
   private static final String DEFAULT_CONFIG_FILE = "default-cluster.xml";
@@ -133,7 +135,9 @@ public class HazelcastClusterManager implements ClusterManager, MembershipListen
       return multiMap;
     }, ar -> {
       if (ar.succeeded()) {
-        resultHandler.handle(Future.completedFuture(new HazelcastAsyncMultiMap<>(vertx, ar.result())));
+        HazelcastAsyncMultiMap<K, V> multiMap = new HazelcastAsyncMultiMap<>(vertx, ar.result(),
+            hazelcast.getExecutorService(EXECUTOR_NAME), hazelcast.getPartitionService());
+        resultHandler.handle(Future.completedFuture(multiMap));
       } else {
         resultHandler.handle(Future.completedFuture(ar.cause()));
       }
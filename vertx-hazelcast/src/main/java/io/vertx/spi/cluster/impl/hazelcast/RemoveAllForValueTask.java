@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2011-2014 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.spi.cluster.impl.hazelcast;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceAware;
+import com.hazelcast.core.MultiMap;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+
+/**
+ * Removes a value from all the keys of a multimap that are owned by the member it runs on. Submitted to every member
+ * it removes the value from the whole map with local operations only, instead of one node iterating the entries of
+ * the whole cluster and removing them one remote call at a time.<p>
+ * The keys are scanned rather than looked up in an index kept by an entry listener, as such an index would miss the
+ * entries a member takes over when partitions migrate, which is precisely what happens when a node dies.
+ */
+class RemoveAllForValueTask implements Callable<Integer>, DataSerializable, HazelcastInstanceAware {
+
+  private String mapName;
+  private Object value;
+  private transient HazelcastInstance hazelcast;
+
+  public RemoveAllForValueTask() {
+  }
+
+  public RemoveAllForValueTask(String mapName, Object value) {
+    this.mapName = mapName;
+    this.value = value;
+  }
+
+  @Override
+  public void setHazelcastInstance(HazelcastInstance hazelcast) {
+    this.hazelcast = hazelcast;
+  }
+
+  @Override
+  public Integer call() throws Exception {
+    MultiMap<Object, Object> map = hazelcast.getMultiMap(mapName);
+    int removed = 0;
+    for (Object key : map.localKeySet()) {
+      if (map.remove(key, value)) {
+        removed++;
+      }
+    }
+    return removed;
+  }
+
+  @Override
+  public void writeData(ObjectDataOutput dataOutput) throws IOException {
+    dataOutput.writeUTF(mapName);
+    dataOutput.writeObject(value);
+  }
+
+  @Override
+  public void readData(ObjectDataInput dataInput) throws IOException {
+    mapName = dataInput.readUTF();
+    value = dataInput.readObject();
+  }
+}
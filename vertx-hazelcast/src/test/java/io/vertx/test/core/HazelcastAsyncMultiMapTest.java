@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2011-2014 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.test.core;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.impl.LoggerFactory;
+import io.vertx.core.net.impl.ServerID;
+import io.vertx.core.spi.cluster.AsyncMultiMap;
+import io.vertx.core.spi.cluster.ClusterManager;
+import io.vertx.spi.cluster.impl.hazelcast.HazelcastClusterManager;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Removes all the subscriptions of a node from a multimap spread over several in-JVM members, the way the event bus
+ * cleans up after a node it lost.
+ */
+public class HazelcastAsyncMultiMapTest extends VertxTestBase {
+
+  private static final Logger log = LoggerFactory.getLogger(HazelcastAsyncMultiMapTest.class);
+
+  static {
+    System.setProperty("hazelcast.wait.seconds.before.join", "0");
+    System.setProperty("hazelcast.local.localAddress", "127.0.0.1");
+  }
+
+  private final List<ClusterManager> clusterManagers = new ArrayList<>();
+
+  @Override
+  protected ClusterManager getClusterManager() {
+    ClusterManager clusterManager = new HazelcastClusterManager();
+    clusterManagers.add(clusterManager);
+    return clusterManager;
+  }
+
+  private static final int NUM_KEYS = 5000;
+  private static final ServerID DEAD = new ServerID(1234, "localhost");
+  private static final ServerID ALIVE = new ServerID(4321, "localhost");
+
+  @Test
+  public void testRemoveAllForValue() throws Exception {
+    startNodes(3);
+    addEntries(getMultiMap(0));
+
+    // Clean up from another member than the one which added the entries
+    CountDownLatch removed = new CountDownLatch(1);
+    long start = System.nanoTime();
+    this.<String, ServerID>getMultiMap(1).removeAllForValue(DEAD, ar -> {
+      assertTrue(ar.succeeded());
+      removed.countDown();
+    });
+    awaitLatch(removed);
+    log.info("Removed all for value from " + NUM_KEYS + " keys on 3 members in " +
+             TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+
+    // And check from a third one, which never read these keys so gets them from the cluster
+    checkEntries(getMultiMap(2));
+  }
+
+  @Test
+  public void testRemoveAllForValueWhileMemberDies() throws Exception {
+    startNodes(3);
+    addEntries(getMultiMap(0));
+
+    // Kill a member while the others clean up, its partitions migrate and its task never completes
+    CountDownLatch removed = new CountDownLatch(1);
+    this.<String, ServerID>getMultiMap(1).removeAllForValue(DEAD, ar -> {
+      assertTrue(ar.succeeded());
+      removed.countDown();
+    });
+    String nodeID = clusterManagers.get(2).getNodeID();
+    for (HazelcastInstance instance : Hazelcast.getAllHazelcastInstances()) {
+      if (instance.getCluster().getLocalMember().getUuid().equals(nodeID)) {
+        instance.getLifecycleService().terminate();
+      }
+    }
+    awaitLatch(removed);
+
+    // The entries it owned were restored from their backups, without the value
+    checkEntries(getMultiMap(0));
+  }
+
+  private void addEntries(AsyncMultiMap<String, ServerID> subs) throws Exception {
+    CountDownLatch added = new CountDownLatch(NUM_KEYS + NUM_KEYS / 2);
+    for (int i = 0; i < NUM_KEYS; i++) {
+      subs.add("address-" + i, DEAD, ar -> {
+        assertTrue(ar.succeeded());
+        added.countDown();
+      });
+      if (i % 2 == 0) {
+        subs.add("address-" + i, ALIVE, ar -> {
+          assertTrue(ar.succeeded());
+          added.countDown();
+        });
+      }
+    }
+    awaitLatch(added);
+  }
+
+  private void checkEntries(AsyncMultiMap<String, ServerID> subs) throws Exception {
+    CountDownLatch checked = new CountDownLatch(NUM_KEYS);
+    for (int i = 0; i < NUM_KEYS; i++) {
+      boolean even = i % 2 == 0;
+      subs.get("address-" + i, ar -> {
+        assertTrue(ar.succeeded());
+        List<ServerID> values = new ArrayList<>();
+        ar.result().forEach(values::add);
+        assertFalse(values.contains(DEAD));
+        assertEquals(even, values.contains(ALIVE));
+        checked.countDown();
+      });
+    }
+    awaitLatch(checked);
+  }
+
+  private <K, V> AsyncMultiMap<K, V> getMultiMap(int node) throws Exception {
+    AtomicReference<AsyncMultiMap<K, V>> ref = new AtomicReference<>();
+    CountDownLatch latch = new CountDownLatch(1);
+    clusterManagers.get(node).<K, V>getAsyncMultiMap("subs-test", null, ar -> {
+      assertTrue(ar.succeeded());
+      ref.set(ar.result());
+      latch.countDown();
+    });
+    awaitLatch(latch);
+    return ref.get();
+  }
+}